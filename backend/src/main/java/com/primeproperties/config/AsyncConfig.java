@@ -0,0 +1,49 @@
+package com.primeproperties.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Background executors for work that must not hold up requests
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class AsyncConfig {
+
+    /**
+     * Thumbnail generation. Small and bounded: image decoding is CPU and memory
+     * heavy, and dropped tasks are retried the next time a thumbnail is requested.
+     */
+    @Bean(name = "mediaTaskExecutor")
+    public ThreadPoolTaskExecutor mediaTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(2);
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("media-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Similar-property index retraining. One thread: the index only queues a retrain
+     * when none is running, and a rejected one is queued again by a later update.
+     */
+    @Bean(name = "indexTaskExecutor")
+    public ThreadPoolTaskExecutor indexTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("index-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,63 @@
+package com.primeproperties.config;
+
+import com.primeproperties.dto.JsonFragmentArray;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Writes a JsonFragmentArray by copying its fragments straight into the response buffer.
+ * Picked up by Spring Boot ahead of the Jackson converter.
+ */
+@Component
+public class JsonFragmentArrayMessageConverter extends AbstractHttpMessageConverter<JsonFragmentArray> {
+
+    public JsonFragmentArrayMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return JsonFragmentArray.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected JsonFragmentArray readInternal(Class<? extends JsonFragmentArray> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("JSON fragments are write-only", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(JsonFragmentArray body, MediaType contentType) {
+        long length = 2 + Math.max(body.size() - 1, 0);
+        for (byte[] fragment : body.getFragments()) {
+            length += fragment.length;
+        }
+        return length;
+    }
+
+    @Override
+    protected void writeInternal(JsonFragmentArray body, HttpOutputMessage outputMessage) throws IOException {
+        OutputStream out = outputMessage.getBody();
+        List<byte[]> fragments = body.getFragments();
+        out.write('[');
+        for (int i = 0; i < fragments.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(fragments.get(i));
+        }
+        out.write(']');
+    }
+}
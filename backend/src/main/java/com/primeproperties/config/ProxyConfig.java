@@ -23,6 +23,26 @@ public class ProxyConfig implements WebMvcConfigurer {
         return new ProxyHeaderInterceptor();
     }
 
+    /**
+     * Client IP for per-client decisions such as rate limiting.
+     * With trustedHops = 0 this is the address Tomcat's RemoteIpValve resolved from
+     * X-Forwarded-For (server.tomcat.remoteip.*). When the proxy is not covered by
+     * the valve's internal-proxies, set trustedHops to the number of proxies in front
+     * of the app: the entry that many places from the right of X-Forwarded-For was
+     * appended by our own proxy, while anything further left is client-controlled.
+     */
+    public static String clientIp(HttpServletRequest request, int trustedHops) {
+        String forwardedFor = request.getHeader("X-Forwarded-For");
+        if (trustedHops > 0 && forwardedFor != null && !forwardedFor.isBlank()) {
+            String[] hops = forwardedFor.split(",");
+            String hop = hops[Math.max(0, hops.length - trustedHops)].trim();
+            if (!hop.isEmpty()) {
+                return hop;
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
     /**
      * Interceptor to handle Railway proxy headers and ensure HTTPS
      */
@@ -0,0 +1,135 @@
+package com.primeproperties.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rate limit settings (app.rate-limit.*). Each route has a bucket per client IP
+ * and, optionally, one per account; a request must get a token from both.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private int stripes = 64;
+    private int maxKeys = 200_000;
+    private long evictionMillis = 60_000;
+    private Map<String, Route> routes = new LinkedHashMap<>();
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getStripes() {
+        return stripes;
+    }
+
+    public void setStripes(int stripes) {
+        this.stripes = stripes;
+    }
+
+    public int getMaxKeys() {
+        return maxKeys;
+    }
+
+    public void setMaxKeys(int maxKeys) {
+        this.maxKeys = maxKeys;
+    }
+
+    public long getEvictionMillis() {
+        return evictionMillis;
+    }
+
+    public void setEvictionMillis(long evictionMillis) {
+        this.evictionMillis = evictionMillis;
+    }
+
+    public Map<String, Route> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, Route> routes) {
+        this.routes = routes;
+    }
+
+    // Inner class for one rate-limited route
+    public static class Route {
+        // Ant-style path pattern; the most specific matching route applies
+        private String pattern;
+        private List<String> methods = new ArrayList<>(List.of("POST"));
+        private int ipCapacity = 20;
+        private double ipRefillPerMinute = 10;
+        // "principal" for the authenticated user, "body:<field>" for a JSON body field, empty for none
+        private String account = "";
+        private int accountCapacity = 5;
+        private double accountRefillPerMinute = 5;
+
+        // Getters and Setters
+        public String getPattern() {
+            return pattern;
+        }
+
+        public void setPattern(String pattern) {
+            this.pattern = pattern;
+        }
+
+        public List<String> getMethods() {
+            return methods;
+        }
+
+        public void setMethods(List<String> methods) {
+            this.methods = methods;
+        }
+
+        public int getIpCapacity() {
+            return ipCapacity;
+        }
+
+        public void setIpCapacity(int ipCapacity) {
+            this.ipCapacity = ipCapacity;
+        }
+
+        public double getIpRefillPerMinute() {
+            return ipRefillPerMinute;
+        }
+
+        public void setIpRefillPerMinute(double ipRefillPerMinute) {
+            this.ipRefillPerMinute = ipRefillPerMinute;
+        }
+
+        public String getAccount() {
+            return account;
+        }
+
+        public void setAccount(String account) {
+            this.account = account;
+        }
+
+        public int getAccountCapacity() {
+            return accountCapacity;
+        }
+
+        public void setAccountCapacity(int accountCapacity) {
+            this.accountCapacity = accountCapacity;
+        }
+
+        public double getAccountRefillPerMinute() {
+            return accountRefillPerMinute;
+        }
+
+        public void setAccountRefillPerMinute(double accountRefillPerMinute) {
+            this.accountRefillPerMinute = accountRefillPerMinute;
+        }
+    }
+}
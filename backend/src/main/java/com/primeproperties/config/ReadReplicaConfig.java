@@ -0,0 +1,87 @@
+package com.primeproperties.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Read-replica routing, enabled when app.datasource.replica.urls lists one or more
+ * replica JDBC URLs. @Transactional(readOnly = true) work goes to a replica that
+ * is within the lag budget; writes and everything else stay on the primary.
+ * The primary side is WorkloadPoolConfig's per-workload pools; without replica URLs
+ * those are used directly.
+ */
+@Configuration
+@ConditionalOnExpression("!'${app.datasource.replica.urls:}'.isBlank()")
+public class ReadReplicaConfig {
+
+    @Value("${app.datasource.replica.urls}")
+    private String replicaUrls;
+
+    @Value("${app.datasource.replica.username:}")
+    private String replicaUsername;
+
+    @Value("${app.datasource.replica.password:}")
+    private String replicaPassword;
+
+    @Value("${app.datasource.replica.pool-size:10}")
+    private int replicaPoolSize;
+
+    @Value("${app.datasource.replica.max-lag-millis:1000}")
+    private long maxLagMillis;
+
+    @Value("${app.datasource.replica.check-interval-millis:1000}")
+    private long checkIntervalMillis;
+
+    @Bean
+    public ReplicaRoutingDataSource routingDataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                                      @Qualifier("primaryPoolConfig") HikariConfig template,
+                                                      ReadYourWritesTracker readYourWritesTracker) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        List<String> urls = Arrays.stream(replicaUrls.split(","))
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .toList();
+        for (int i = 0; i < urls.size(); i++) {
+            // Same pool tuning as the primary, but its own size, name and credentials
+            HikariConfig config = new HikariConfig();
+            template.copyStateTo(config);
+            config.setJdbcUrl(urls.get(i));
+            config.setPoolName(ReplicaRoutingDataSource.replicaKey(i));
+            config.setMaximumPoolSize(replicaPoolSize);
+            config.setMinimumIdle(Math.min(config.getMinimumIdle(), replicaPoolSize));
+            config.setReadOnly(true);
+            if (!replicaUsername.isBlank()) {
+                config.setUsername(replicaUsername);
+                config.setPassword(replicaPassword);
+            }
+            // Do not block startup on a replica that is still being provisioned
+            config.setInitializationFailTimeout(-1);
+            replicas.add(new HikariDataSource(config));
+        }
+        System.out.println("🗄️ Routing read-only transactions across " + replicas.size() + " replica(s)");
+        return new ReplicaRoutingDataSource(primary, replicas, readYourWritesTracker, maxLagMillis, checkIntervalMillis);
+    }
+
+    /**
+     * The datasource everything else (JPA, JdbcTemplate) sees. Connections are
+     * fetched lazily, after the transaction manager has set the read-only flag.
+     * Statements are timed by SlowQueryMonitor.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource routingDataSource, SlowQueryMonitor slowQueryMonitor) {
+        return slowQueryMonitor.wrap(new LazyConnectionDataSourceProxy(routingDataSource));
+    }
+}
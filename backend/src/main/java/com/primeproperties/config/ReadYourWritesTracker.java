@@ -0,0 +1,98 @@
+package com.primeproperties.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-your-writes for replica routing: after a user's successful mutating
+ * request, that user's reads stay on the primary for a short window so they
+ * never see a replica that has not replayed their own change yet.
+ * Pins are kept per application instance.
+ */
+@Component
+public class ReadYourWritesTracker implements HandlerInterceptor, WebMvcConfigurer {
+
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final long stickyMillis;
+
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(@Value("${app.datasource.replica.sticky-millis:5000}") long stickyMillis) {
+        this.stickyMillis = stickyMillis;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(this);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (ex == null && response.getStatus() < 400 && isMutating(request.getMethod())) {
+            String username = currentUsername();
+            if (username != null) {
+                markWrite(username);
+            }
+        }
+    }
+
+    /**
+     * Pin a user's reads to the primary (for writes made outside an authenticated request, e.g. sign-up)
+     */
+    public void markWrite(String username) {
+        long now = System.currentTimeMillis();
+        if (pinnedUntil.size() >= PRUNE_THRESHOLD) {
+            pinnedUntil.values().removeIf(until -> until <= now);
+        }
+        pinnedUntil.put(username, now + stickyMillis);
+    }
+
+    public boolean isPinned(String username) {
+        Long until = pinnedUntil.get(username);
+        if (until == null) {
+            return false;
+        }
+        if (until <= System.currentTimeMillis()) {
+            pinnedUntil.remove(username, until);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Whether the user of the current request recently wrote
+     */
+    public boolean isCurrentUserPinned() {
+        if (pinnedUntil.isEmpty()) {
+            return false;
+        }
+        String username = currentUsername();
+        return username != null && isPinned(username);
+    }
+
+    private static boolean isMutating(String method) {
+        return !("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method));
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,188 @@
+package com.primeproperties.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a streaming replica and everything else to the primary.
+ * Each replica's replay lag is sampled in the background; a replica that is
+ * unreachable or further behind than maxLagMillis is skipped until it catches up.
+ * Users who have just written are pinned to the primary (see ReadYourWritesTracker).
+ * Must be wrapped in a LazyConnectionDataSourceProxy so the connection is only
+ * fetched once the transaction's read-only flag is known.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    // Bytes of WAL the replica still has to replay, and how old its last replayed commit is
+    private static final String REPLICA_LAG_SQL =
+            "SELECT pg_is_in_recovery(), pg_wal_lsn_diff(?::pg_lsn, pg_last_wal_replay_lsn()), " +
+            "EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000";
+
+    private final DataSource primary;
+    private final List<? extends DataSource> replicas;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final long maxLagMillis;
+    private final long staleAfterMillis;
+    private final ReplicaState[] states;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final ScheduledExecutorService lagChecker;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<? extends DataSource> replicas,
+                                    ReadYourWritesTracker readYourWritesTracker,
+                                    long maxLagMillis, long checkIntervalMillis) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.maxLagMillis = maxLagMillis;
+        this.staleAfterMillis = checkIntervalMillis * 3;
+        this.states = new ReplicaState[replicas.size()];
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(replicaKey(i), replicas.get(i));
+            states[i] = new ReplicaState();
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+
+        if (checkIntervalMillis > 0 && !replicas.isEmpty()) {
+            lagChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "replica-lag-check");
+                thread.setDaemon(true);
+                return thread;
+            });
+            lagChecker.scheduleWithFixedDelay(this::checkReplicas, 0, checkIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            lagChecker = null;
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || readYourWritesTracker.isCurrentUserPinned()) {
+            return PRIMARY;
+        }
+        // Round-robin over usable replicas, falling back to the primary when none are
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(1, states.length));
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < states.length; i++) {
+            int candidate = (start + i) % states.length;
+            if (states[candidate].isUsable(now, maxLagMillis, staleAfterMillis)) {
+                return replicaKey(candidate);
+            }
+        }
+        return PRIMARY;
+    }
+
+    /**
+     * Sample every replica's lag against the primary's current WAL position
+     */
+    void checkReplicas() {
+        String primaryLsn;
+        try (Connection connection = primary.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT pg_current_wal_lsn()::text");
+             ResultSet rs = statement.executeQuery()) {
+            rs.next();
+            primaryLsn = rs.getString(1);
+        } catch (SQLException e) {
+            return; // Nothing can be compared; states go stale and reads fall back to the primary
+        }
+
+        for (int i = 0; i < replicas.size(); i++) {
+            try (Connection connection = replicas.get(i).getConnection();
+                 PreparedStatement statement = connection.prepareStatement(REPLICA_LAG_SQL)) {
+                statement.setString(1, primaryLsn);
+                try (ResultSet rs = statement.executeQuery()) {
+                    rs.next();
+                    boolean inRecovery = rs.getBoolean(1);
+                    Double bytesBehind = rs.getObject(2, Double.class);
+                    Double replayAge = rs.getObject(3, Double.class);
+                    // Not in recovery means a standalone copy (local testing): treat it as current
+                    boolean caughtUp = !inRecovery || (bytesBehind != null && bytesBehind <= 0);
+                    long lag = caughtUp ? 0 : (replayAge != null ? replayAge.longValue() : Long.MAX_VALUE);
+                    recordLag(i, lag);
+                }
+            } catch (SQLException e) {
+                recordLag(i, Long.MAX_VALUE);
+            }
+        }
+    }
+
+    /**
+     * Record a lag sample for a replica (Long.MAX_VALUE marks it unreachable)
+     */
+    void recordLag(int replica, long lagMillis) {
+        ReplicaState state = states[replica];
+        boolean wasUsable = state.lagMillis <= maxLagMillis;
+        state.lagMillis = lagMillis;
+        state.checkedAt = System.currentTimeMillis();
+        boolean usable = lagMillis <= maxLagMillis;
+        if (wasUsable != usable) {
+            System.out.println((usable ? "✅ Replica " : "⚠️ Replica ") + replica
+                    + (usable ? " is back in rotation" : " removed from rotation (lag " + describeLag(lagMillis) + ")"));
+        }
+    }
+
+    /**
+     * Current lag per replica in milliseconds, -1 when unknown or unreachable
+     */
+    public long[] getReplicaLagMillis() {
+        long[] lags = new long[states.length];
+        for (int i = 0; i < states.length; i++) {
+            long lag = states[i].lagMillis;
+            lags[i] = lag == Long.MAX_VALUE ? -1 : lag;
+        }
+        return lags;
+    }
+
+    @Override
+    public void close() {
+        if (lagChecker != null) {
+            lagChecker.shutdownNow();
+        }
+        for (DataSource replica : replicas) {
+            if (replica instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    System.err.println("❌ Error closing replica pool: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    static String replicaKey(int index) {
+        return "replica-" + index;
+    }
+
+    private static String describeLag(long lagMillis) {
+        return lagMillis == Long.MAX_VALUE ? "unreachable" : lagMillis + " ms";
+    }
+
+    private static class ReplicaState {
+        // Unknown until the first check, so fresh replicas start out of rotation
+        private volatile long lagMillis = Long.MAX_VALUE;
+        private volatile long checkedAt;
+
+        boolean isUsable(long now, long maxLagMillis, long staleAfterMillis) {
+            return lagMillis <= maxLagMillis && (staleAfterMillis <= 0 || now - checkedAt <= staleAfterMillis);
+        }
+    }
+}
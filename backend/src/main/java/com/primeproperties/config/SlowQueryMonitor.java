@@ -0,0 +1,369 @@
+package com.primeproperties.config;
+
+import com.primeproperties.dto.SlowQueryReport;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.StatementType;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Times every JDBC statement and attributes it to the repository method that issued it
+ * (RepositoryMethodAspect), or to the first application frame for plain JdbcTemplate work.
+ * Statements over the threshold go to a bounded ring buffer with their bind-parameter
+ * shapes (types and sizes, never values). A sample of them is re-run on a background
+ * thread under EXPLAIN (ANALYZE, BUFFERS) to capture the plan.
+ */
+@Component
+public class SlowQueryMonitor implements QueryExecutionListener, DisposableBean {
+
+    static final String UNATTRIBUTED = "(jdbc)";
+
+    private static final int EXPLAIN_QUEUE_CAPACITY = 16;
+    private static final int MAX_COOLDOWN_ENTRIES = 10_000;
+
+    // Not the proxied datasource, so plans are not timed and captured themselves
+    @Autowired
+    private WorkloadRoutingDataSource primaryDataSource;
+
+    @Value("${app.slow-query.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.slow-query.threshold-millis:200}")
+    private long thresholdMillis;
+
+    @Value("${app.slow-query.buffer-size:200}")
+    private int bufferSize;
+
+    @Value("${app.slow-query.explain-sample-rate:0.2}")
+    private double explainSampleRate;
+
+    @Value("${app.slow-query.explain-cooldown-seconds:300}")
+    private long explainCooldownSeconds;
+
+    @Value("${app.slow-query.explain-timeout-millis:10000}")
+    private long explainTimeoutMillis;
+
+    private final Map<String, SourceStatistics> statisticsBySource = new ConcurrentHashMap<>();
+    private final ArrayDeque<CapturedQuery> captured = new ArrayDeque<>();
+    private final Map<String, Long> lastExplainedAt = new ConcurrentHashMap<>();
+
+    // One plan at a time on the batch pool; when the queue is full further plans are skipped
+    private final ThreadPoolExecutor explainer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(EXPLAIN_QUEUE_CAPACITY), runnable -> {
+                Thread thread = new Thread(runnable, "slow-query-explain");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    /**
+     * Wrap the datasource the application uses so its statements are timed
+     */
+    public DataSource wrap(DataSource dataSource) {
+        if (!enabled) {
+            return dataSource;
+        }
+        System.out.println("🐢 Slow-query log: statements over " + thresholdMillis + " ms are kept for GET /admin/slow-queries");
+        return ProxyDataSourceBuilder.create(dataSource)
+                .name("prime-properties")
+                .listener(this)
+                .build();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedMillis = execInfo.getElapsedTime();
+        boolean slow = elapsedMillis >= thresholdMillis;
+        String repositoryMethod = RepositoryMethodAspect.current();
+        statisticsBySource
+                .computeIfAbsent(repositoryMethod != null ? repositoryMethod : UNATTRIBUTED, SourceStatistics::new)
+                .record(elapsedMillis, slow);
+        if (!slow || queryInfoList.isEmpty()) {
+            return;
+        }
+
+        // Only slow statements pay for the stack walk
+        String source = repositoryMethod != null ? repositoryMethod : applicationCaller();
+        QueryInfo query = queryInfoList.get(0);
+        List<ParameterSetOperation> parameters = query.getParametersList().isEmpty()
+                ? List.of() : query.getParametersList().get(0);
+        int batchSize = execInfo.isBatch() ? Math.max(execInfo.getBatchSize(), queryInfoList.size()) : 1;
+        CapturedQuery entry = new CapturedQuery(LocalDateTime.now(), source, query.getQuery(), elapsedMillis,
+                batchSize, execInfo.isSuccess(), parameterShapes(parameters));
+        record(entry);
+
+        if (batchSize > 1 || execInfo.getStatementType() == StatementType.CALLABLE || !isExplainable(entry.sql)) {
+            entry.planStatus = "not explainable";
+        } else if (!sampled(entry.sql)) {
+            entry.planStatus = "not sampled";
+        } else {
+            // The values are only held until the plan has run
+            List<ParameterSetOperation> values = new ArrayList<>(parameters);
+            entry.planStatus = "pending";
+            try {
+                explainer.execute(() -> explain(entry, values));
+            } catch (RejectedExecutionException e) {
+                entry.planStatus = "skipped: explain queue full";
+            }
+        }
+    }
+
+    /**
+     * Get statement timings per source (slowest total first) and the captured slow queries (newest first)
+     */
+    public SlowQueryReport getReport() {
+        List<SlowQueryReport.StatementStatistics> statements = new ArrayList<>();
+        for (SourceStatistics statistics : statisticsBySource.values()) {
+            statements.add(statistics.toResponse());
+        }
+        statements.sort(Comparator.comparingLong(SlowQueryReport.StatementStatistics::getTotalMillis).reversed());
+
+        List<SlowQueryReport.SlowQuery> slowQueries = new ArrayList<>();
+        synchronized (captured) {
+            Iterator<CapturedQuery> newestFirst = captured.descendingIterator();
+            while (newestFirst.hasNext()) {
+                slowQueries.add(newestFirst.next().toResponse());
+            }
+        }
+        return new SlowQueryReport(thresholdMillis, statements, slowQueries);
+    }
+
+    /**
+     * Forget all timings and captured statements, e.g. after a deploy
+     */
+    public void clear() {
+        statisticsBySource.clear();
+        lastExplainedAt.clear();
+        synchronized (captured) {
+            captured.clear();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        explainer.shutdownNow();
+    }
+
+    private void record(CapturedQuery entry) {
+        synchronized (captured) {
+            while (captured.size() >= Math.max(bufferSize, 1)) {
+                captured.removeFirst();
+            }
+            captured.addLast(entry);
+        }
+    }
+
+    // At most one plan per statement text per cooldown, and only for a sample of those
+    private boolean sampled(String sql) {
+        if (ThreadLocalRandom.current().nextDouble() >= explainSampleRate) {
+            return false;
+        }
+        if (lastExplainedAt.size() > MAX_COOLDOWN_ENTRIES) {
+            lastExplainedAt.clear();
+        }
+        long now = System.currentTimeMillis();
+        long cooldownMillis = TimeUnit.SECONDS.toMillis(explainCooldownSeconds);
+        boolean[] due = new boolean[1];
+        lastExplainedAt.compute(sql, (key, last) -> {
+            due[0] = last == null || now - last >= cooldownMillis;
+            return due[0] ? now : last;
+        });
+        return due[0];
+    }
+
+    /**
+     * Re-run the statement with its original binds. ANALYZE executes it, so that happens in a
+     * read-only transaction that is rolled back; PostgreSQL refuses writes, row locks and
+     * nextval() there, and those statements fall back to a plain EXPLAIN.
+     */
+    private void explain(CapturedQuery entry, List<ParameterSetOperation> parameters) {
+        Workload previous = WorkloadRoutingDataSource.enter(Workload.BATCH);
+        try (Connection connection = primaryDataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                entry.plan = runExplain(connection, "EXPLAIN (ANALYZE, BUFFERS) ", entry.sql, parameters, true);
+                entry.planStatus = "analyzed";
+            } catch (SQLException e) {
+                connection.rollback();
+                entry.plan = runExplain(connection, "EXPLAIN ", entry.sql, parameters, false);
+                entry.planStatus = "estimated only: " + e.getMessage();
+            } finally {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+        } catch (Exception e) {
+            entry.planStatus = "failed: " + e.getMessage();
+        } finally {
+            WorkloadRoutingDataSource.restore(previous);
+        }
+    }
+
+    private String runExplain(Connection connection, String prefix, String sql,
+                              List<ParameterSetOperation> parameters, boolean readOnly)
+            throws SQLException, ReflectiveOperationException {
+        try (Statement setup = connection.createStatement()) {
+            if (readOnly) {
+                setup.execute("SET TRANSACTION READ ONLY");
+            }
+            setup.execute("SET LOCAL statement_timeout = " + explainTimeoutMillis);
+        }
+        try (PreparedStatement statement = connection.prepareStatement(prefix + sql)) {
+            for (ParameterSetOperation parameter : parameters) {
+                parameter.getMethod().invoke(statement, parameter.getArgs());
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    plan.append(rows.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        }
+    }
+
+    static boolean isExplainable(String sql) {
+        String head = sql.stripLeading().toLowerCase(Locale.ROOT);
+        return head.startsWith("select") || head.startsWith("with") || head.startsWith("insert")
+                || head.startsWith("update") || head.startsWith("delete");
+    }
+
+    static List<String> parameterShapes(List<ParameterSetOperation> parameters) {
+        List<String> shapes = new ArrayList<>(parameters.size());
+        for (ParameterSetOperation parameter : parameters) {
+            Object[] args = parameter.getArgs();
+            if (args == null || args.length == 0) {
+                continue;
+            }
+            boolean setNull = "setNull".equals(parameter.getMethod().getName());
+            shapes.add("$" + args[0] + " " + (setNull || args.length < 2 ? "null" : shape(args[1])));
+        }
+        return shapes;
+    }
+
+    // Type and size only; literal values may be personal data
+    static String shape(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof CharSequence text) {
+            return "String(" + text.length() + ")";
+        }
+        if (value instanceof Collection<?> collection) {
+            return value.getClass().getSimpleName() + "[" + collection.size() + "]";
+        }
+        if (value instanceof java.sql.Array) {
+            // Reading a driver array back may need its connection
+            return "Array";
+        }
+        if (value.getClass().isArray()) {
+            return value.getClass().getComponentType().getSimpleName() + "[" + Array.getLength(value) + "]";
+        }
+        return value.getClass().getSimpleName();
+    }
+
+    // First application frame outside this package, e.g. "OutboxRelay.poll"
+    private static String applicationCaller() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith("com.primeproperties.")
+                        && !frame.getClassName().startsWith("com.primeproperties.config."))
+                .findFirst()
+                .map(frame -> simpleName(frame.getClassName()) + "." + frame.getMethodName())
+                .orElse(UNATTRIBUTED));
+    }
+
+    static String simpleName(String className) {
+        String name = className.substring(className.lastIndexOf('.') + 1);
+        int generated = name.indexOf("$$");
+        return generated >= 0 ? name.substring(0, generated) : name;
+    }
+
+    private static final class SourceStatistics {
+        private final String source;
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder slowExecutions = new LongAdder();
+        private final LongAdder totalMillis = new LongAdder();
+        private final AtomicLong maxMillis = new AtomicLong();
+
+        SourceStatistics(String source) {
+            this.source = source;
+        }
+
+        void record(long elapsedMillis, boolean slow) {
+            executions.increment();
+            totalMillis.add(elapsedMillis);
+            maxMillis.accumulateAndGet(elapsedMillis, Math::max);
+            if (slow) {
+                slowExecutions.increment();
+            }
+        }
+
+        SlowQueryReport.StatementStatistics toResponse() {
+            long count = executions.sum();
+            long total = totalMillis.sum();
+            return new SlowQueryReport.StatementStatistics(source, count, slowExecutions.sum(), total,
+                    count > 0 ? (double) total / count : 0, maxMillis.get());
+        }
+    }
+
+    private static final class CapturedQuery {
+        private final LocalDateTime capturedAt;
+        private final String source;
+        private final String sql;
+        private final long elapsedMillis;
+        private final int batchSize;
+        private final boolean success;
+        private final List<String> parameters;
+        private volatile String planStatus;
+        private volatile String plan;
+
+        CapturedQuery(LocalDateTime capturedAt, String source, String sql, long elapsedMillis,
+                      int batchSize, boolean success, List<String> parameters) {
+            this.capturedAt = capturedAt;
+            this.source = source;
+            this.sql = sql;
+            this.elapsedMillis = elapsedMillis;
+            this.batchSize = batchSize;
+            this.success = success;
+            this.parameters = parameters;
+        }
+
+        SlowQueryReport.SlowQuery toResponse() {
+            return new SlowQueryReport.SlowQuery(capturedAt, source, sql, elapsedMillis, batchSize,
+                    success, parameters, planStatus, plan);
+        }
+    }
+}
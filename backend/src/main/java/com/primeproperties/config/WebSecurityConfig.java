@@ -1,9 +1,11 @@
 package com.primeproperties.config;
 
 import com.primeproperties.security.JwtAuthenticationFilter;
+import com.primeproperties.security.RateLimitFilter;
 import com.primeproperties.model.User;
 import com.primeproperties.repository.UserRepository;
 import com.primeproperties.util.JwtUtils;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -42,13 +44,16 @@ import static org.springframework.security.config.Customizer.withDefaults;
 public class WebSecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final UserRepository userRepository;
     private final JwtUtils jwtUtils;
 
     public WebSecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, 
+                            RateLimitFilter rateLimitFilter,
                             UserRepository userRepository, 
                             JwtUtils jwtUtils) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.rateLimitFilter = rateLimitFilter;
         this.userRepository = userRepository;
         this.jwtUtils = jwtUtils;
     }
@@ -66,6 +71,8 @@ public class WebSecurityConfig {
                         .requestMatchers("/oauth2/**").permitAll()
                         .requestMatchers("/login/oauth2/code/**").permitAll()
                         .requestMatchers("/properties/**").permitAll()
+                        // STOMP sessions authenticate on CONNECT (see WebSocketConfig)
+                        .requestMatchers("/ws/**").permitAll()
                         .requestMatchers("/actuator/health", "/health").permitAll()
                         .anyRequest().authenticated())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED))
@@ -79,9 +86,22 @@ public class WebSecurityConfig {
 
         // Only add JWT filter for non-OAuth requests
         http.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+        // Rate limits run after JWT so write limits can be keyed by the authenticated user
+        http.addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
         return http.build();
     }
 
+    /**
+     * Keep the rate limit filter out of the servlet container's own chain:
+     * it must only run inside the security chain, after authentication
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter filter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     @Bean
     CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
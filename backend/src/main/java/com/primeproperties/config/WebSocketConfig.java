@@ -1,7 +1,19 @@
 package com.primeproperties.config;
 
+import com.primeproperties.service.UserDetailsServiceImpl;
+import com.primeproperties.util.JwtUtils;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
@@ -13,12 +25,45 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    @Autowired
+    private JwtUtils jwtUtils;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
-        // Enable simple broker for destinations prefixed with "/topic"
-        config.enableSimpleBroker("/topic");
+        // Enable simple broker for public "/topic" and per-user "/queue" destinations
+        config.enableSimpleBroker("/topic", "/queue");
         // Set application destination prefix
         config.setApplicationDestinationPrefixes("/app");
+        // Clients subscribe to /user/queue/... to receive their own messages
+        config.setUserDestinationPrefix("/user");
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // Browsers cannot set headers on the WebSocket handshake, so the JWT is
+        // sent as an Authorization header on the STOMP CONNECT frame instead.
+        // Connections without a valid token stay anonymous (public topics only).
+        registration.interceptors(new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+                if (accessor != null && StompCommand.CONNECT.equals(accessor.getCommand())) {
+                    String authorizationHeader = accessor.getFirstNativeHeader("Authorization");
+                    if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
+                        String jwt = authorizationHeader.substring(7);
+                        if (jwtUtils.validateToken(jwt)) {
+                            UserDetails userDetails = userDetailsService.loadUserByUsername(jwtUtils.extractUsername(jwt));
+                            accessor.setUser(new UsernamePasswordAuthenticationToken(
+                                    userDetails, null, userDetails.getAuthorities()));
+                        }
+                    }
+                }
+                return message;
+            }
+        });
     }
 
     @Override
@@ -0,0 +1,29 @@
+package com.primeproperties.config;
+
+/**
+ * Classes of database traffic that get their own connection pool on the primary,
+ * so one of them saturating cannot starve the others (see WorkloadPool)
+ */
+public enum Workload {
+    // Catalog browsing and other read-only requests (default for readOnly transactions)
+    INTERACTIVE_READ("interactive"),
+    // Purchases, listing edits and other writes (default for everything else)
+    WRITE("write"),
+    // Login, registration and per-request user lookups
+    AUTH("auth"),
+    // Imports, index rebuilds and background relays
+    BATCH("batch");
+
+    private final String poolName;
+
+    Workload(String poolName) {
+        this.poolName = poolName;
+    }
+
+    /**
+     * Key under app.datasource.workloads.pools and suffix of the Hikari pool name
+     */
+    public String getPoolName() {
+        return poolName;
+    }
+}
@@ -0,0 +1,21 @@
+package com.primeproperties.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a Spring bean method (or every method of a class) against the connection
+ * pool of the given workload. The workload in effect when a transaction first
+ * touches the database picks its pool; without the annotation read-only
+ * transactions use INTERACTIVE_READ and everything else WRITE.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface WorkloadPool {
+
+    Workload value();
+}
@@ -0,0 +1,38 @@
+package com.primeproperties.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies @WorkloadPool. Ordered ahead of @Transactional so the workload is
+ * already set when the transaction fetches its connection.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class WorkloadPoolAspect {
+
+    @Around("@annotation(com.primeproperties.config.WorkloadPool) || @within(com.primeproperties.config.WorkloadPool)")
+    public Object withWorkload(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        WorkloadPool annotation = AnnotatedElementUtils.findMergedAnnotation(signature.getMethod(), WorkloadPool.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(joinPoint.getTarget().getClass(), WorkloadPool.class);
+        }
+        if (annotation == null) {
+            return joinPoint.proceed();
+        }
+        Workload previous = WorkloadRoutingDataSource.enter(annotation.value());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            WorkloadRoutingDataSource.restore(previous);
+        }
+    }
+}
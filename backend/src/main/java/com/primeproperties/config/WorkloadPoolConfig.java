@@ -0,0 +1,93 @@
+package com.primeproperties.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Primary database connections, split into one Hikari pool per Workload.
+ * ReadReplicaConfig layers replica routing on top when replicas are configured.
+ */
+@Configuration
+public class WorkloadPoolConfig {
+
+    /**
+     * Settings shared by every primary and replica pool, from spring.datasource.*
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariConfig primaryPoolConfig(DataSourceProperties properties) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(properties.determineUrl());
+        config.setUsername(properties.determineUsername());
+        config.setPassword(properties.determinePassword());
+        config.setDriverClassName(properties.determineDriverClassName());
+        return config;
+    }
+
+    @Bean
+    public WorkloadRoutingDataSource primaryDataSource(@Qualifier("primaryPoolConfig") HikariConfig template,
+                                                       WorkloadPoolProperties properties) {
+        Map<Workload, HikariDataSource> pools = new EnumMap<>(Workload.class);
+        if (!properties.isEnabled()) {
+            HikariDataSource shared = new HikariDataSource(poolConfig(template, "primary", null));
+            for (Workload workload : Workload.values()) {
+                pools.put(workload, shared);
+            }
+            return new WorkloadRoutingDataSource(pools);
+        }
+
+        int total = 0;
+        for (Workload workload : Workload.values()) {
+            HikariConfig config = poolConfig(template, "primary-" + workload.getPoolName(),
+                    properties.getPools().get(workload.getPoolName()));
+            pools.put(workload, new HikariDataSource(config));
+            total += config.getMaximumPoolSize();
+        }
+        System.out.println("🗄️ Primary connection pools per workload: " + Workload.values().length
+                + " pools, up to " + total + " connections");
+        return new WorkloadRoutingDataSource(pools);
+    }
+
+    /**
+     * Without replicas this is the datasource JPA and JdbcTemplate see. Connections are
+     * fetched lazily, once the transaction's read-only flag (and so its workload) is known.
+     * Statements are timed by SlowQueryMonitor.
+     */
+    @Bean
+    @Primary
+    @ConditionalOnExpression("'${app.datasource.replica.urls:}'.isBlank()")
+    public DataSource dataSource(WorkloadRoutingDataSource primaryDataSource, SlowQueryMonitor slowQueryMonitor) {
+        return slowQueryMonitor.wrap(new LazyConnectionDataSourceProxy(primaryDataSource));
+    }
+
+    private static HikariConfig poolConfig(HikariConfig template, String name, WorkloadPoolProperties.Pool pool) {
+        HikariConfig config = new HikariConfig();
+        template.copyStateTo(config);
+        config.setPoolName(name);
+        if (pool != null) {
+            if (pool.getPoolSize() != null) {
+                config.setMaximumPoolSize(pool.getPoolSize());
+            }
+            if (pool.getMinimumIdle() != null) {
+                config.setMinimumIdle(pool.getMinimumIdle());
+            }
+            if (pool.getConnectionTimeoutMillis() != null) {
+                config.setConnectionTimeout(pool.getConnectionTimeoutMillis());
+            }
+        }
+        config.setMinimumIdle(Math.min(config.getMinimumIdle(), config.getMaximumPoolSize()));
+        return config;
+    }
+}
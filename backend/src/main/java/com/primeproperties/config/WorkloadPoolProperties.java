@@ -0,0 +1,69 @@
+package com.primeproperties.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-workload pool settings (app.datasource.workloads.*), keyed by
+ * Workload.getPoolName(). Anything left unset falls back to spring.datasource.hikari.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.datasource.workloads")
+public class WorkloadPoolProperties {
+
+    // When false every workload shares one pool, as before
+    private boolean enabled = true;
+    private Map<String, Pool> pools = new LinkedHashMap<>();
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Map<String, Pool> getPools() {
+        return pools;
+    }
+
+    public void setPools(Map<String, Pool> pools) {
+        this.pools = pools;
+    }
+
+    // Inner class for one workload's pool
+    public static class Pool {
+        private Integer poolSize;
+        private Integer minimumIdle;
+        private Long connectionTimeoutMillis;
+
+        // Getters and Setters
+        public Integer getPoolSize() {
+            return poolSize;
+        }
+
+        public void setPoolSize(Integer poolSize) {
+            this.poolSize = poolSize;
+        }
+
+        public Integer getMinimumIdle() {
+            return minimumIdle;
+        }
+
+        public void setMinimumIdle(Integer minimumIdle) {
+            this.minimumIdle = minimumIdle;
+        }
+
+        public Long getConnectionTimeoutMillis() {
+            return connectionTimeoutMillis;
+        }
+
+        public void setConnectionTimeoutMillis(Long connectionTimeoutMillis) {
+            this.connectionTimeoutMillis = connectionTimeoutMillis;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.primeproperties.config;
+
+import com.primeproperties.dto.PoolStatisticsResponse;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bulkheads on the primary: hands out connections from the pool of the current
+ * Workload, so a login storm or a long import can only exhaust its own pool.
+ * Also counts acquisitions, time spent waiting and timeouts per pool.
+ */
+public class WorkloadRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    private final Map<Workload, Partition> partitions = new EnumMap<>(Workload.class);
+    private final List<Partition> pools = new ArrayList<>();
+
+    /**
+     * One pool per workload; workloads may share a pool
+     */
+    public WorkloadRoutingDataSource(Map<Workload, HikariDataSource> poolsByWorkload) {
+        Map<HikariDataSource, Partition> byPool = new IdentityHashMap<>();
+        for (Workload workload : Workload.values()) {
+            HikariDataSource pool = poolsByWorkload.get(workload);
+            if (pool == null) {
+                throw new IllegalArgumentException("No connection pool for workload " + workload);
+            }
+            Partition partition = byPool.computeIfAbsent(pool, Partition::new);
+            partition.workloads.add(workload.getPoolName());
+            partitions.put(workload, partition);
+        }
+        pools.addAll(byPool.values());
+    }
+
+    /**
+     * Workload of the calling thread: the innermost @WorkloadPool, otherwise
+     * derived from the current transaction's read-only flag
+     */
+    public static Workload current() {
+        Workload workload = CURRENT.get();
+        if (workload != null) {
+            return workload;
+        }
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? Workload.INTERACTIVE_READ : Workload.WRITE;
+    }
+
+    static Workload enter(Workload workload) {
+        Workload previous = CURRENT.get();
+        CURRENT.set(workload);
+        return previous;
+    }
+
+    static void restore(Workload previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Partition partition = partitions.get(current());
+        long start = System.nanoTime();
+        try {
+            Connection connection = partition.pool.getConnection();
+            partition.recordAcquire(System.nanoTime() - start);
+            return connection;
+        } catch (SQLTransientConnectionException e) {
+            // Hikari's connection-timeout: this pool is saturated
+            partition.timeouts.increment();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Workload pools use the configured credentials");
+    }
+
+    /**
+     * Current occupancy and acquisition counters of every pool
+     */
+    public List<PoolStatisticsResponse.PoolStatistics> getPoolStatistics() {
+        List<PoolStatisticsResponse.PoolStatistics> statistics = new ArrayList<>();
+        for (Partition partition : pools) {
+            HikariPoolMXBean bean = partition.pool.getHikariPoolMXBean();
+            long acquisitions = partition.acquisitions.sum();
+            statistics.add(new PoolStatisticsResponse.PoolStatistics(
+                    partition.pool.getPoolName(),
+                    List.copyOf(partition.workloads),
+                    partition.pool.getMaximumPoolSize(),
+                    bean != null ? bean.getActiveConnections() : 0,
+                    bean != null ? bean.getIdleConnections() : 0,
+                    bean != null ? bean.getThreadsAwaitingConnection() : 0,
+                    acquisitions,
+                    partition.timeouts.sum(),
+                    acquisitions > 0 ? TimeUnit.NANOSECONDS.toMicros(partition.waitNanos.sum() / acquisitions) / 1000.0 : 0,
+                    TimeUnit.NANOSECONDS.toMillis(partition.maxWaitNanos.get())));
+        }
+        return statistics;
+    }
+
+    @Override
+    public void close() {
+        for (Partition partition : pools) {
+            partition.pool.close();
+        }
+    }
+
+    private static class Partition {
+        private final HikariDataSource pool;
+        private final List<String> workloads = new ArrayList<>();
+        private final LongAdder acquisitions = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+        private final LongAdder timeouts = new LongAdder();
+
+        Partition(HikariDataSource pool) {
+            this.pool = pool;
+        }
+
+        void recordAcquire(long nanos) {
+            acquisitions.increment();
+            waitNanos.add(nanos);
+            maxWaitNanos.accumulateAndGet(nanos, Math::max);
+        }
+    }
+}
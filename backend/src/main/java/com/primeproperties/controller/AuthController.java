@@ -1,5 +1,8 @@
 package com.primeproperties.controller;
 
+import com.primeproperties.config.ReadYourWritesTracker;
+import com.primeproperties.config.Workload;
+import com.primeproperties.config.WorkloadPool;
 import com.primeproperties.dto.JwtResponse;
 import com.primeproperties.dto.LoginRequest;
 import com.primeproperties.dto.RegisterRequest;
@@ -27,6 +30,7 @@ import java.util.Map;
 @RestController
 @RequestMapping("/auth")
 @CrossOrigin(origins = "*")
+@WorkloadPool(Workload.AUTH)
 public class AuthController {
 
     @Autowired
@@ -44,6 +48,9 @@ public class AuthController {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private ReadYourWritesTracker readYourWritesTracker;
+
     /**
      * Register a new user
      */
@@ -82,6 +89,7 @@ public class AuthController {
         
         User savedUser = userRepository.save(user);
         System.out.println("✅ User saved with ID: " + savedUser.getId());
+        readYourWritesTracker.markWrite(savedUser.getUsername());
         
         // Force flush to ensure the user is committed to database immediately
         userRepository.flush();
@@ -193,16 +201,15 @@ public class AuthController {
     }
 
     /**
-     * Create sample users with different IDs to avoid conflicts
+     * Create sample users
      */
     @PostMapping("/debug/create-sample-users")
     public ResponseEntity<?> createSampleUsers() {
         try {
             System.out.println("=== Creating Sample Users ===");
             
-            // Create Developer User with ID 100 (to avoid conflicts)
+            // Create Developer User
             User developer = new User();
-            developer.setId(100L);
             developer.setUsername("developer");
             developer.setName("Developer User");
             developer.setEmail("developer@prime.com");
@@ -212,9 +219,8 @@ public class AuthController {
             userRepository.save(developer);
             System.out.println("✅ Created Developer User");
 
-            // Create Customer User with ID 200 (to avoid conflicts)
+            // Create Customer User
             User customer = new User();
-            customer.setId(200L);
             customer.setUsername("customer");
             customer.setName("Customer User");
             customer.setEmail("customer@prime.com");
@@ -260,7 +266,6 @@ public class AuthController {
             
             // Create Developer User
             User developer = new User();
-            developer.setId(1L);
             developer.setUsername("developer");
             developer.setName("Developer User");
             developer.setEmail("developer@prime.com");
@@ -272,7 +277,6 @@ public class AuthController {
 
             // Create Customer User
             User customer = new User();
-            customer.setId(2L);
             customer.setUsername("customer");
             customer.setName("Customer User");
             customer.setEmail("customer@prime.com");
@@ -0,0 +1,29 @@
+package com.primeproperties.controller;
+
+import com.primeproperties.dto.CacheStatisticsResponse;
+import com.primeproperties.service.EntityCacheService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Operational view of the Hibernate second-level cache (admin only)
+ */
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/admin/cache")
+public class CacheController {
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    /**
+     * Get hits, misses, puts, entry count and capacity per cache region
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CacheStatisticsResponse> getStatistics() {
+        return ResponseEntity.ok(entityCacheService.getStatistics());
+    }
+}
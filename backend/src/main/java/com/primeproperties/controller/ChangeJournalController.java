@@ -0,0 +1,48 @@
+package com.primeproperties.controller;
+
+import com.primeproperties.dto.ChangeJournalResponse;
+import com.primeproperties.service.PropertyChangeJournal;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Read access to the property change journal (admin only).
+ * Consumers tail it by passing the nextOffset of one response as the from of the next.
+ */
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/admin/journal")
+public class ChangeJournalController {
+
+    private static final int MAX_LIMIT = 1000;
+
+    @Autowired
+    private PropertyChangeJournal propertyChangeJournal;
+
+    /**
+     * Get the journal's offsets and up to limit entries from an offset (default: the latest)
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getEntries(@RequestParam(required = false) Long from,
+                                        @RequestParam(defaultValue = "100") int limit) {
+        if (limit < 0 || limit > MAX_LIMIT || (from != null && from < 0)) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "from must be >= 0 and limit between 0 and " + MAX_LIMIT);
+            return ResponseEntity.badRequest().body(error);
+        }
+        try {
+            ChangeJournalResponse response = propertyChangeJournal.read(from, limit);
+            return ResponseEntity.ok(response);
+        } catch (IllegalStateException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(503).body(error);
+        }
+    }
+}
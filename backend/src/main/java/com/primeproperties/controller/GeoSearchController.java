@@ -0,0 +1,89 @@
+package com.primeproperties.controller;
+
+import com.primeproperties.dto.GeoSearchResponse;
+import com.primeproperties.service.GeoSearchService;
+import com.primeproperties.util.GeoGridIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Map searches over available listings with coordinates (available to everyone)
+ */
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/properties/search")
+public class GeoSearchController {
+
+    private static final double MAX_RADIUS_KM = 500;
+    private static final int MAX_LIMIT = 500;
+
+    @Autowired
+    private GeoSearchService geoSearchService;
+
+    /**
+     * Listings within radiusKm of a point, nearest first
+     */
+    @GetMapping("/radius")
+    public ResponseEntity<?> searchRadius(
+            @RequestParam("latitude") double latitude,
+            @RequestParam("longitude") double longitude,
+            @RequestParam(value = "radiusKm", defaultValue = "5") double radiusKm,
+            @RequestParam(value = "minPrice", required = false) Double minPrice,
+            @RequestParam(value = "maxPrice", required = false) Double maxPrice,
+            @RequestParam(value = "propertyType", required = false) String propertyType,
+            @RequestParam(value = "limit", defaultValue = "100") int limit) {
+        if (!validLatitude(latitude) || !validLongitude(longitude)) {
+            return badRequest("Latitude must be between -90 and 90 and longitude between -180 and 180");
+        }
+        if (!(radiusKm > 0) || radiusKm > MAX_RADIUS_KM) {
+            return badRequest("radiusKm must be greater than 0 and at most " + (int) MAX_RADIUS_KM);
+        }
+        GeoSearchResponse response = geoSearchService.searchRadius(latitude, longitude, radiusKm * 1000,
+                new GeoGridIndex.Filter(minPrice, maxPrice, propertyType), boundedLimit(limit));
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Listings inside a map viewport. When the box crosses the antimeridian, west is greater than east.
+     */
+    @GetMapping("/bbox")
+    public ResponseEntity<?> searchBox(
+            @RequestParam("south") double south,
+            @RequestParam("west") double west,
+            @RequestParam("north") double north,
+            @RequestParam("east") double east,
+            @RequestParam(value = "minPrice", required = false) Double minPrice,
+            @RequestParam(value = "maxPrice", required = false) Double maxPrice,
+            @RequestParam(value = "propertyType", required = false) String propertyType,
+            @RequestParam(value = "limit", defaultValue = "200") int limit) {
+        if (!validLatitude(south) || !validLatitude(north) || south > north
+                || !validLongitude(west) || !validLongitude(east)) {
+            return badRequest("Invalid bounding box");
+        }
+        GeoSearchResponse response = geoSearchService.searchBox(south, west, north, east,
+                new GeoGridIndex.Filter(minPrice, maxPrice, propertyType), boundedLimit(limit));
+        return ResponseEntity.ok(response);
+    }
+
+    private static boolean validLatitude(double latitude) {
+        return latitude >= -90 && latitude <= 90;
+    }
+
+    private static boolean validLongitude(double longitude) {
+        return longitude >= -180 && longitude <= 180;
+    }
+
+    private static int boundedLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    private static ResponseEntity<?> badRequest(String message) {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", message);
+        return ResponseEntity.badRequest().body(error);
+    }
+}
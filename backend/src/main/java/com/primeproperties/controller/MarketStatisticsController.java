@@ -0,0 +1,42 @@
+package com.primeproperties.controller;
+
+import com.primeproperties.dto.MarketStatisticsResponse;
+import com.primeproperties.service.MarketStatisticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Market statistics served from memory (available to everyone)
+ */
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/properties/stats")
+public class MarketStatisticsController {
+
+    @Autowired
+    private MarketStatisticsService marketStatisticsService;
+
+    /**
+     * Get price, price per square meter and area distributions for a segment.
+     * Omit location and/or propertyType to aggregate over all values.
+     */
+    @GetMapping
+    public ResponseEntity<MarketStatisticsResponse> getStatistics(
+            @RequestParam(value = "location", required = false) String location,
+            @RequestParam(value = "propertyType", required = false) String propertyType) {
+        Optional<MarketStatisticsResponse> statistics = marketStatisticsService.getStatistics(location, propertyType);
+        return statistics.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Get statistics for every location
+     */
+    @GetMapping("/locations")
+    public ResponseEntity<List<MarketStatisticsResponse>> getLocationStatistics() {
+        return ResponseEntity.ok(marketStatisticsService.getLocationStatistics());
+    }
+}
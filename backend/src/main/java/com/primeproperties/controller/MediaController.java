@@ -0,0 +1,298 @@
+package com.primeproperties.controller;
+
+import com.primeproperties.dto.PropertyMediaResponse;
+import com.primeproperties.model.User;
+import com.primeproperties.repository.UserRepository;
+import com.primeproperties.service.MediaStorageService;
+import com.primeproperties.service.PropertyMediaService;
+import com.primeproperties.service.ThumbnailService;
+import com.primeproperties.util.ByteRange;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Media Controller for listing photo uploads and immutable, range-capable file serving
+ */
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/properties")
+public class MediaController {
+    
+    // Files are addressed by content hash, so a URL's bytes can never change
+    private static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    
+    @Autowired
+    private PropertyMediaService propertyMediaService;
+    
+    @Autowired
+    private MediaStorageService mediaStorageService;
+    
+    @Autowired
+    private ThumbnailService thumbnailService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    /**
+     * Get the media of a property (available to everyone)
+     */
+    @GetMapping("/{id}/media")
+    public ResponseEntity<?> getMedia(@PathVariable Long id) {
+        try {
+            List<PropertyMediaResponse> media = propertyMediaService.getMedia(id);
+            return ResponseEntity.ok(media);
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+    
+    /**
+     * Upload a photo from a multipart form (developer only - own properties)
+     */
+    @PostMapping(value = "/developer/{id}/media", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('DEVELOPER')")
+    public ResponseEntity<?> uploadMedia(@PathVariable Long id,
+                                       @RequestParam("file") MultipartFile file,
+                                       Authentication authentication) {
+        try (InputStream input = file.getInputStream()) {
+            return uploadMedia(id, input, file.getContentType(), file.getOriginalFilename(), authentication);
+        } catch (IOException e) {
+            return uploadError(e);
+        }
+    }
+    
+    /**
+     * Upload a photo as the raw request body (developer only - own properties)
+     */
+    @PostMapping(value = "/developer/{id}/media", consumes = {"image/jpeg", "image/png", "image/gif", "image/webp"})
+    @PreAuthorize("hasRole('DEVELOPER')")
+    public ResponseEntity<?> uploadMediaStream(@PathVariable Long id,
+                                             @RequestParam(value = "filename", required = false) String filename,
+                                             HttpServletRequest request,
+                                             Authentication authentication) {
+        // The multipart limits do not cover a raw body; refuse a declared oversize body before reading it
+        if (request.getContentLengthLong() > mediaStorageService.getMaxUploadBytes()) {
+            return uploadTooLarge();
+        }
+        try (InputStream input = request.getInputStream()) {
+            return uploadMedia(id, input, request.getContentType(), filename, authentication);
+        } catch (IOException e) {
+            return uploadError(e);
+        }
+    }
+    
+    /**
+     * Remove a photo from a property (developer only - own properties)
+     */
+    @DeleteMapping("/developer/{id}/media/{mediaId}")
+    @PreAuthorize("hasRole('DEVELOPER')")
+    public ResponseEntity<?> deleteMedia(@PathVariable Long id, @PathVariable Long mediaId,
+                                       Authentication authentication) {
+        try {
+            User currentUser = getCurrentUser(authentication);
+            propertyMediaService.delete(id, mediaId, currentUser.getId());
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "Media deleted successfully");
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            if (e.getMessage().contains("not found")) {
+                return ResponseEntity.notFound().build();
+            } else if (e.getMessage().contains("own properties")) {
+                return ResponseEntity.status(403).body(error);
+            }
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    /**
+     * Serve an original media file (available to everyone)
+     */
+    @GetMapping("/media/{hash}")
+    public void getMediaFile(@PathVariable String hash, HttpServletRequest request,
+                             HttpServletResponse response) throws IOException {
+        Optional<String> contentType = MediaStorageService.isValidHash(hash)
+                ? propertyMediaService.getContentType(hash)
+                : Optional.empty();
+        if (contentType.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        serveFile(mediaStorageService.objectPath(hash), contentType.get(), "\"" + hash + "\"", request, response);
+    }
+    
+    /**
+     * Serve a downscaled JPEG thumbnail (available to everyone).
+     * Until the thumbnail exists, redirects to the original and queues generation;
+     * originals that cannot be thumbnailed always redirect and are never queued again.
+     */
+    @GetMapping("/media/{hash}/thumbnail/{width}")
+    public void getThumbnail(@PathVariable String hash, @PathVariable int width, HttpServletRequest request,
+                             HttpServletResponse response) throws IOException {
+        if (!MediaStorageService.isValidHash(hash) || !mediaStorageService.getThumbnailWidths().contains(width)
+                || propertyMediaService.getContentType(hash).isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        Path thumbnail = mediaStorageService.thumbnailPath(hash, width);
+        if (!Files.exists(thumbnail)) {
+            if (!mediaStorageService.isThumbnailUnsupported(hash)) {
+                thumbnailService.generateThumbnails(hash);
+            }
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+            response.setStatus(HttpServletResponse.SC_SEE_OTHER);
+            response.setHeader(HttpHeaders.LOCATION, request.getContextPath() + "/properties/media/" + hash);
+            return;
+        }
+        serveFile(thumbnail, MediaType.IMAGE_JPEG_VALUE, "\"" + hash + "-w" + width + "\"", request, response);
+    }
+    
+    private ResponseEntity<?> uploadMedia(Long id, InputStream input, String contentType, String filename,
+                                        Authentication authentication) throws IOException {
+        try {
+            User currentUser = getCurrentUser(authentication);
+            PropertyMediaResponse media = propertyMediaService.upload(id, currentUser.getId(), input, contentType, filename);
+            return ResponseEntity.ok(media);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            if (e.getMessage().contains("not found")) {
+                return ResponseEntity.notFound().build();
+            } else if (e.getMessage().contains("own properties")) {
+                return ResponseEntity.status(403).body(error);
+            }
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    private ResponseEntity<?> uploadError(IOException e) {
+        if (MediaStorageService.TOO_LARGE_MESSAGE.equals(e.getMessage())) {
+            return uploadTooLarge();
+        }
+        Map<String, String> error = new HashMap<>();
+        error.put("message", "Error reading upload: " + e.getMessage());
+        return ResponseEntity.badRequest().body(error);
+    }
+    
+    private ResponseEntity<?> uploadTooLarge() {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", MediaStorageService.TOO_LARGE_MESSAGE + " of " + mediaStorageService.getMaxUploadBytes() + " bytes");
+        return ResponseEntity.status(413).body(error);
+    }
+    
+    // Zero-copy serving: Tomcat sendfile when the connector offers it, FileChannel.transferTo otherwise
+    private void serveFile(Path path, String contentType, String etag, HttpServletRequest request,
+                           HttpServletResponse response) throws IOException {
+        long size;
+        try {
+            size = Files.size(path);
+        } catch (NoSuchFileException e) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, IMMUTABLE_CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (matchesEtag(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        
+        ByteRange range = null;
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null || ifRange.trim().equals(etag)) {
+            try {
+                range = ByteRange.parse(request.getHeader(HttpHeaders.RANGE), size);
+            } catch (IllegalArgumentException e) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+        }
+        long start = range != null ? range.getStart() : 0;
+        long length = range != null ? range.getLength() : size;
+        if (range != null) {
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, range.toContentRange(size));
+        }
+        response.setContentType(contentType);
+        response.setContentLengthLong(length);
+        if ("HEAD".equals(request.getMethod()) || length == 0) {
+            return;
+        }
+        
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + length);
+            return;
+        }
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long sent = file.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+    
+    private static boolean matchesEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private User getCurrentUser(Authentication authentication) {
+        String username = authentication.getName();
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+}
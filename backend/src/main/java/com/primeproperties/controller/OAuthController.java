@@ -1,5 +1,8 @@
 package com.primeproperties.controller;
 
+import com.primeproperties.config.ReadYourWritesTracker;
+import com.primeproperties.config.Workload;
+import com.primeproperties.config.WorkloadPool;
 import com.primeproperties.model.User;
 import com.primeproperties.repository.UserRepository;
 import com.primeproperties.util.JwtUtils;
@@ -19,6 +22,7 @@ import jakarta.servlet.http.HttpServletRequest;
  */
 @RestController
 @RequestMapping("/auth")
+@WorkloadPool(Workload.AUTH)
 public class OAuthController {
 
     @Autowired
@@ -27,6 +31,9 @@ public class OAuthController {
     @Autowired
     private JwtUtils jwtUtils;
 
+    @Autowired
+    private ReadYourWritesTracker readYourWritesTracker;
+
     /**
      * Handle Google ID token verification from frontend
      */
@@ -73,6 +80,7 @@ public class OAuthController {
                     user.setGoogleId(googleId);
                     user.setProvider("GOOGLE");
                     userRepository.save(user);
+                    readYourWritesTracker.markWrite(user.getUsername());
                     System.out.println("✅ Linked Google account to existing user: " + email);
                 } else {
                     // Create new user
@@ -85,6 +93,7 @@ public class OAuthController {
                     user.setProvider("GOOGLE");
                     
                     userRepository.save(user);
+                    readYourWritesTracker.markWrite(user.getUsername());
                     System.out.println("✅ Created new Google user: " + email);
                 }
             } else {
@@ -0,0 +1,29 @@
+package com.primeproperties.controller;
+
+import com.primeproperties.dto.OutboxStatusResponse;
+import com.primeproperties.service.OutboxRelay;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Operational view of the transactional outbox (admin only)
+ */
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/admin/outbox")
+public class OutboxController {
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    /**
+     * Get each subscriber's offset, pending event count and lag
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<OutboxStatusResponse> getStatus() {
+        return ResponseEntity.ok(outboxRelay.getStatus());
+    }
+}
@@ -0,0 +1,29 @@
+package com.primeproperties.controller;
+
+import com.primeproperties.config.WorkloadRoutingDataSource;
+import com.primeproperties.dto.PoolStatisticsResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Operational view of the per-workload connection pools (admin only)
+ */
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/admin/pools")
+public class PoolController {
+
+    @Autowired
+    private WorkloadRoutingDataSource workloadRoutingDataSource;
+
+    /**
+     * Get active, idle and waiting counts, acquisition waits and timeouts per pool
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PoolStatisticsResponse> getStatistics() {
+        return ResponseEntity.ok(new PoolStatisticsResponse(workloadRoutingDataSource.getPoolStatistics()));
+    }
+}
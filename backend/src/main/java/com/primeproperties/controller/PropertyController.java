@@ -1,22 +1,41 @@
 package com.primeproperties.controller;
 
+import com.primeproperties.config.WireFormatConfig;
+import com.primeproperties.dto.BulkStatusUpdateRequest;
+import com.primeproperties.dto.BulkStatusUpdateResponse;
 import com.primeproperties.dto.CreatePropertyRequest;
+import com.primeproperties.dto.JsonFragmentArray;
+import com.primeproperties.dto.PropertyImportResponse;
 import com.primeproperties.dto.PropertyResponse;
 import com.primeproperties.dto.UpdatePropertyRequest;
+import com.primeproperties.model.PropertyField;
 import com.primeproperties.model.User;
 import com.primeproperties.repository.UserRepository;
+import com.primeproperties.service.IdempotencyService;
+import com.primeproperties.service.PropertyImportService;
 import com.primeproperties.service.PropertyService;
+import com.primeproperties.service.SimilarPropertyService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 /**
  * Property Controller with CRUD endpoints and role-based security
@@ -29,15 +48,40 @@ public class PropertyController {
     @Autowired
     private PropertyService propertyService;
     
+    @Autowired
+    private PropertyImportService propertyImportService;
+    
+    @Autowired
+    private SimilarPropertyService similarPropertyService;
+    
+    @Autowired
+    private IdempotencyService idempotencyService;
+    
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private ContentNegotiationManager contentNegotiationManager;
+    
     /**
-     * Get all properties (available to everyone)
+     * Get all properties (available to everyone).
+     * fields= (e.g. "title,price" or "card") returns only those fields, read without the other columns.
+     * With normalized=true each developer is sent once in a developers dictionary.
      */
     @GetMapping
-    public ResponseEntity<List<PropertyResponse>> getAllProperties() {
-        List<PropertyResponse> properties = propertyService.getAllProperties();
+    public ResponseEntity<?> getAllProperties(@RequestParam(value = "fields", required = false) String fields,
+                                              @RequestParam(value = "normalized", defaultValue = "false") boolean normalized,
+                                              HttpServletRequest request) {
+        if (fields != null) {
+            return withFields(fields, selected -> propertyService.getAllProperties(selected));
+        }
+        if (normalized) {
+            return ResponseEntity.ok(propertyService.getAllPropertiesNormalized());
+        }
+        if (prefersBinary(request)) {
+            return ResponseEntity.ok(propertyService.getAllProperties());
+        }
+        JsonFragmentArray properties = propertyService.getAllPropertiesJson();
         return ResponseEntity.ok(properties);
     }
     
@@ -56,14 +100,51 @@ public class PropertyController {
         }
     }
     
+    /**
+     * Get listings similar to a property (available to everyone)
+     */
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<?> getSimilarProperties(@PathVariable Long id,
+                                                @RequestParam(value = "limit", defaultValue = "10") int limit,
+                                                @RequestParam(value = "fields", required = false) String fields,
+                                                @RequestParam(value = "normalized", defaultValue = "false") boolean normalized,
+                                                HttpServletRequest request) {
+        int boundedLimit = Math.max(1, Math.min(limit, 50));
+        Optional<List<Long>> similarIds = similarPropertyService.findSimilar(id, boundedLimit);
+        if (similarIds.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (fields != null) {
+            return withFields(fields, selected -> propertyService.getPropertiesByIds(similarIds.get(), selected));
+        }
+        if (normalized) {
+            return ResponseEntity.ok(propertyService.getPropertiesByIdsNormalized(similarIds.get()));
+        }
+        if (prefersBinary(request)) {
+            return ResponseEntity.ok(propertyService.getPropertiesByIds(similarIds.get()));
+        }
+        return ResponseEntity.ok(propertyService.getPropertiesByIdsJson(similarIds.get()));
+    }
+    
     /**
      * Get properties by developer (developer only)
      */
     @GetMapping("/developer/my-properties")
     @PreAuthorize("hasRole('DEVELOPER')")
-    public ResponseEntity<List<PropertyResponse>> getMyProperties(Authentication authentication) {
+    public ResponseEntity<?> getMyProperties(@RequestParam(value = "fields", required = false) String fields,
+                                             @RequestParam(value = "normalized", defaultValue = "false") boolean normalized,
+                                             Authentication authentication, HttpServletRequest request) {
         User currentUser = getCurrentUser(authentication);
-        List<PropertyResponse> properties = propertyService.getPropertiesByDeveloper(currentUser.getId());
+        if (fields != null) {
+            return withFields(fields, selected -> propertyService.getPropertiesByDeveloper(currentUser.getId(), selected));
+        }
+        if (normalized) {
+            return ResponseEntity.ok(propertyService.getPropertiesByDeveloperNormalized(currentUser.getId()));
+        }
+        if (prefersBinary(request)) {
+            return ResponseEntity.ok(propertyService.getPropertiesByDeveloper(currentUser.getId()));
+        }
+        JsonFragmentArray properties = propertyService.getPropertiesByDeveloperJson(currentUser.getId());
         return ResponseEntity.ok(properties);
     }
     
@@ -73,14 +154,53 @@ public class PropertyController {
     @PostMapping("/developer")
     @PreAuthorize("hasRole('DEVELOPER')")
     public ResponseEntity<?> createProperty(@Valid @RequestBody CreatePropertyRequest request, 
+                                          @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
                                           Authentication authentication) {
-        try {
-            User currentUser = getCurrentUser(authentication);
-            PropertyResponse property = propertyService.createProperty(request, currentUser.getId());
-            return ResponseEntity.ok(property);
-        } catch (Exception e) {
+        // Retries with the same Idempotency-Key replay the first response instead of creating a duplicate
+        String fingerprint = idempotencyService.fingerprint("POST /properties/developer", request);
+        return idempotencyService.execute(authentication.getName(), idempotencyKey, fingerprint, () -> {
+            try {
+                User currentUser = getCurrentUser(authentication);
+                PropertyResponse property = propertyService.createProperty(request, currentUser.getId());
+                return ResponseEntity.ok(property);
+            } catch (Exception e) {
+                Map<String, String> error = new HashMap<>();
+                error.put("message", "Error creating property: " + e.getMessage());
+                return ResponseEntity.badRequest().body(error);
+            }
+        });
+    }
+    
+    /**
+     * Bulk import properties from a multipart CSV or NDJSON upload (developer only)
+     */
+    @PostMapping(value = "/developer/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('DEVELOPER')")
+    public ResponseEntity<?> importProperties(@RequestParam("file") MultipartFile file,
+                                            @RequestParam(value = "format", required = false) String format,
+                                            Authentication authentication) {
+        try (InputStream input = file.getInputStream()) {
+            return importProperties(input, format, file.getContentType(), file.getOriginalFilename(), authentication);
+        } catch (IOException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Error reading upload: " + e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    /**
+     * Bulk import properties from a raw CSV or NDJSON request body (developer only)
+     */
+    @PostMapping(value = "/developer/import", consumes = {"text/csv", "application/x-ndjson"})
+    @PreAuthorize("hasRole('DEVELOPER')")
+    public ResponseEntity<?> importPropertiesStream(HttpServletRequest request,
+                                                  @RequestParam(value = "format", required = false) String format,
+                                                  Authentication authentication) {
+        try (InputStream input = request.getInputStream()) {
+            return importProperties(input, format, request.getContentType(), null, authentication);
+        } catch (IOException e) {
             Map<String, String> error = new HashMap<>();
-            error.put("message", "Error creating property: " + e.getMessage());
+            error.put("message", "Error reading upload: " + e.getMessage());
             return ResponseEntity.badRequest().body(error);
         }
     }
@@ -155,6 +275,42 @@ public class PropertyController {
         }
     }
     
+    private ResponseEntity<?> importProperties(InputStream input, String format, String contentType,
+                                              String filename, Authentication authentication) throws IOException {
+        try {
+            PropertyImportService.Format importFormat = PropertyImportService.Format.resolve(format, contentType, filename);
+            User currentUser = getCurrentUser(authentication);
+            PropertyImportResponse result = propertyImportService.importProperties(input, importFormat, currentUser.getId());
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Error importing properties: " + e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
+    /**
+     * Move many properties to a new status at once (developer only - own properties)
+     */
+    @PutMapping("/developer/status")
+    @PreAuthorize("hasRole('DEVELOPER')")
+    public ResponseEntity<?> bulkUpdateStatus(@Valid @RequestBody BulkStatusUpdateRequest request,
+                                            Authentication authentication) {
+        try {
+            User currentUser = getCurrentUser(authentication);
+            BulkStatusUpdateResponse result = propertyService.bulkUpdateStatus(request, currentUser.getId());
+            return ResponseEntity.ok(result);
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+    
     /**
      * Get current authenticated user
      */
@@ -163,4 +319,31 @@ public class PropertyController {
         return userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
-}
\ No newline at end of file
+    
+    /**
+     * Run a sparse-fieldset query, or 400 for an unknown field name
+     */
+    private ResponseEntity<?> withFields(String fields, Function<Set<PropertyField>, List<Map<String, Object>>> query) {
+        Set<PropertyField> selected;
+        try {
+            selected = PropertyField.parse(fields);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+        return ResponseEntity.ok(query.apply(selected));
+    }
+    
+    /**
+     * Whether the client asked for CBOR or Smile. Those get DTOs for the binary
+     * converters; JSON clients get the pre-serialised fragments.
+     */
+    private boolean prefersBinary(HttpServletRequest request) {
+        try {
+            return WireFormatConfig.prefersBinary(contentNegotiationManager.resolveMediaTypes(new ServletWebRequest(request)));
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.primeproperties.controller;
+
+import com.primeproperties.dto.SavedSearchRequest;
+import com.primeproperties.dto.SavedSearchResponse;
+import com.primeproperties.model.User;
+import com.primeproperties.repository.UserRepository;
+import com.primeproperties.service.SavedSearchService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Saved search endpoints for customers. Matching new listings are pushed to
+ * /user/queue/saved-searches on the STOMP endpoint.
+ */
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/saved-searches")
+@PreAuthorize("hasRole('CUSTOMER')")
+public class SavedSearchController {
+
+    @Autowired
+    private SavedSearchService savedSearchService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    /**
+     * Get my saved searches
+     */
+    @GetMapping
+    public ResponseEntity<List<SavedSearchResponse>> getSavedSearches(Authentication authentication) {
+        User currentUser = getCurrentUser(authentication);
+        return ResponseEntity.ok(savedSearchService.getSavedSearches(currentUser.getId()));
+    }
+
+    /**
+     * Create a saved search
+     */
+    @PostMapping
+    public ResponseEntity<?> createSavedSearch(@Valid @RequestBody SavedSearchRequest request,
+                                               Authentication authentication) {
+        try {
+            User currentUser = getCurrentUser(authentication);
+            return ResponseEntity.ok(savedSearchService.createSavedSearch(request, currentUser.getId()));
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    /**
+     * Update a saved search
+     */
+    @PutMapping("/{id}")
+    public ResponseEntity<?> updateSavedSearch(@PathVariable Long id, @Valid @RequestBody SavedSearchRequest request,
+                                               Authentication authentication) {
+        try {
+            User currentUser = getCurrentUser(authentication);
+            return ResponseEntity.ok(savedSearchService.updateSavedSearch(id, request, currentUser.getId()));
+        } catch (RuntimeException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            if (e.getMessage().contains("not found")) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    /**
+     * Delete a saved search
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> deleteSavedSearch(@PathVariable Long id, Authentication authentication) {
+        try {
+            User currentUser = getCurrentUser(authentication);
+            savedSearchService.deleteSavedSearch(id, currentUser.getId());
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "Saved search deleted successfully");
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Get current authenticated user
+     */
+    private User getCurrentUser(Authentication authentication) {
+        String username = authentication.getName();
+        return userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+}
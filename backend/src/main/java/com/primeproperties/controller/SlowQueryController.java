@@ -0,0 +1,39 @@
+package com.primeproperties.controller;
+
+import com.primeproperties.config.SlowQueryMonitor;
+import com.primeproperties.dto.SlowQueryReport;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Operational view of statement timings and captured slow queries (admin only)
+ */
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/admin/slow-queries")
+public class SlowQueryController {
+
+    @Autowired
+    private SlowQueryMonitor slowQueryMonitor;
+
+    /**
+     * Get timings per repository method and the slowest recent statements with their plans
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SlowQueryReport> getReport() {
+        return ResponseEntity.ok(slowQueryMonitor.getReport());
+    }
+
+    /**
+     * Reset timings and captured statements
+     */
+    @DeleteMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> clear() {
+        slowQueryMonitor.clear();
+        return ResponseEntity.ok().build();
+    }
+}
@@ -1,11 +1,15 @@
 package com.primeproperties.controller;
 
+import com.primeproperties.dto.PurchaseResponse;
+import com.primeproperties.dto.TransactionResponse;
 import com.primeproperties.model.Transaction;
 import com.primeproperties.model.User;
-import com.primeproperties.model.Property;
 import com.primeproperties.repository.TransactionRepository;
 import com.primeproperties.repository.UserRepository;
 import com.primeproperties.repository.PropertyRepository;
+import com.primeproperties.service.IdempotencyService;
+import com.primeproperties.service.PurchaseIntake;
+import com.primeproperties.service.TransactionService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -13,8 +17,12 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RestController
@@ -30,53 +38,73 @@ public class TransactionController {
     @Autowired
     PropertyRepository propertyRepository;
     
+    @Autowired
+    PurchaseIntake purchaseIntake;
+    
+    @Autowired
+    IdempotencyService idempotencyService;
+    
+    @Autowired
+    TransactionService transactionService;
+    
     @GetMapping("/customer")
     @PreAuthorize("hasRole('CUSTOMER')")
-    public ResponseEntity<List<Transaction>> getCustomerTransactions() {
+    public ResponseEntity<List<TransactionResponse>> getCustomerTransactions() {
         User currentUser = getCurrentUser();
-        List<Transaction> transactions = transactionRepository.findByCustomer(currentUser);
+        List<TransactionResponse> transactions = transactionRepository.findResponsesByCustomerId(currentUser.getId());
         return ResponseEntity.ok(transactions);
     }
     
     @GetMapping("/property/{propertyId}")
     @PreAuthorize("hasRole('DEVELOPER')")
-    public ResponseEntity<List<Transaction>> getPropertyTransactions(@PathVariable Long propertyId) {
+    public ResponseEntity<List<TransactionResponse>> getPropertyTransactions(@PathVariable Long propertyId) {
         User currentUser = getCurrentUser();
-        Optional<Property> propertyOptional = propertyRepository.findById(propertyId);
+        Optional<Long> developerId = propertyRepository.findDeveloperIdById(propertyId);
         
-        if (propertyOptional.isEmpty()) {
+        if (developerId.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
         
-        Property property = propertyOptional.get();
-        
         // Check if the property belongs to the current developer
-        if (!property.getDeveloper().getId().equals(currentUser.getId())) {
+        if (!developerId.get().equals(currentUser.getId())) {
             return ResponseEntity.status(403).build();
         }
         
-        List<Transaction> transactions = transactionRepository.findByProperty(property);
+        List<TransactionResponse> transactions = transactionRepository.findResponsesByPropertyId(propertyId);
         return ResponseEntity.ok(transactions);
     }
     
+    /**
+     * Buy an available property. Exactly one concurrent buyer succeeds; the rest get 409.
+     * Attempts go through the sharded purchase intake, so the servlet thread is released while queued.
+     */
+    @PostMapping("/purchase/{propertyId}")
+    @PreAuthorize("hasRole('CUSTOMER')")
+    public CompletableFuture<ResponseEntity<?>> purchaseProperty(@PathVariable Long propertyId,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        // Both purchase endpoints share a fingerprint, so a retry through either one replays the first answer
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        String fingerprint = idempotencyService.fingerprint("purchase", propertyId);
+        return idempotencyService.executeAsync(username, idempotencyKey, fingerprint, () -> purchase(propertyId));
+    }
+    
+    /**
+     * Legacy create endpoint: goes through the same purchase path, at the listed price
+     */
     @PostMapping("/create")
     @PreAuthorize("hasRole('CUSTOMER')")
-    public ResponseEntity<?> createTransaction(@RequestBody Transaction transaction) {
-        try {
-            User currentUser = getCurrentUser();
-            transaction.setCustomer(currentUser);
-            
-            Transaction savedTransaction = transactionRepository.save(transaction);
-            return ResponseEntity.ok(savedTransaction);
-        } catch (Exception e) {
-            return ResponseEntity.badRequest()
-                .body("Error creating transaction: " + e.getMessage());
+    public CompletableFuture<ResponseEntity<?>> createTransaction(@RequestBody Transaction transaction,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        if (transaction.getProperty() == null || transaction.getProperty().getId() == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest()
+                .body("Error creating transaction: property id is required"));
         }
+        return purchaseProperty(transaction.getProperty().getId(), idempotencyKey);
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<Transaction> getTransaction(@PathVariable Long id) {
-        Optional<Transaction> transactionOptional = transactionRepository.findById(id);
+    public ResponseEntity<TransactionResponse> getTransaction(@PathVariable Long id) {
+        Optional<TransactionResponse> transactionOptional = transactionRepository.findResponseById(id);
         
         if (transactionOptional.isEmpty()) {
             return ResponseEntity.notFound().build();
@@ -90,27 +118,46 @@ public class TransactionController {
     public ResponseEntity<?> deleteTransaction(@PathVariable Long id) {
         try {
             User currentUser = getCurrentUser();
-            Optional<Transaction> transactionOptional = transactionRepository.findById(id);
-            
-            if (transactionOptional.isEmpty()) {
+            transactionService.deleteTransaction(id, currentUser.getId());
+            return ResponseEntity.ok().build();
+        } catch (RuntimeException e) {
+            String message = String.valueOf(e.getMessage());
+            if (message.contains("not found")) {
                 return ResponseEntity.notFound().build();
-            }
-            
-            Transaction transaction = transactionOptional.get();
-            
-            // Check if the transaction belongs to the current customer
-            if (!transaction.getCustomer().getId().equals(currentUser.getId())) {
+            } else if (message.contains("your own transactions")) {
                 return ResponseEntity.status(403).build();
             }
-            
-            transactionRepository.delete(transaction);
-            return ResponseEntity.ok().build();
-        } catch (Exception e) {
             return ResponseEntity.badRequest()
                 .body("Error deleting transaction: " + e.getMessage());
         }
     }
     
+    private CompletableFuture<ResponseEntity<?>> purchase(Long propertyId) {
+        CompletableFuture<PurchaseResponse> purchase;
+        try {
+            User currentUser = getCurrentUser();
+            purchase = purchaseIntake.submit(propertyId, currentUser.getId());
+        } catch (RuntimeException e) {
+            return CompletableFuture.completedFuture(purchaseError(e));
+        }
+        return purchase.<ResponseEntity<?>>thenApply(ResponseEntity::ok)
+                .exceptionally(e -> purchaseError(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e));
+    }
+    
+    private ResponseEntity<?> purchaseError(Throwable e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", e.getMessage());
+        String message = String.valueOf(e.getMessage());
+        if (message.contains("not found")) {
+            return ResponseEntity.notFound().build();
+        } else if (message.contains("no longer available")) {
+            return ResponseEntity.status(409).body(error);
+        } else if (message.contains("retry")) {
+            return ResponseEntity.status(503).body(error);
+        }
+        return ResponseEntity.badRequest().body(error);
+    }
+    
     private User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication.getName();
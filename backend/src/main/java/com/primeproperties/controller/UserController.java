@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
@@ -26,6 +27,7 @@ public class UserController {
      * Get current user profile
      */
     @GetMapping("/me")
+    @Transactional(readOnly = true)
     public ResponseEntity<?> getCurrentUser(Authentication authentication) {
         String username = authentication.getName();
         
@@ -46,6 +48,7 @@ public class UserController {
      * Get user by ID (for developers to see customer info)
      */
     @GetMapping("/{id}")
+    @Transactional(readOnly = true)
     @PreAuthorize("hasRole('DEVELOPER') or hasRole('ADMIN')")
     public ResponseEntity<?> getUserById(@PathVariable Long id) {
         User user = userRepository.findById(id)
@@ -65,6 +68,7 @@ public class UserController {
      * Get all users (admin only)
      */
     @GetMapping
+    @Transactional(readOnly = true)
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<?> getAllUsers() {
         return ResponseEntity.ok(userRepository.findAll());
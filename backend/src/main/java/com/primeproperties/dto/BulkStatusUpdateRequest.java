@@ -0,0 +1,57 @@
+package com.primeproperties.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * DTO for moving many properties to a new status at once
+ */
+public class BulkStatusUpdateRequest {
+
+    @NotEmpty(message = "At least one property id is required")
+    @Size(max = 10000, message = "At most 10000 properties can be updated at once")
+    private List<Long> propertyIds;
+
+    @NotBlank(message = "Status is required")
+    private String status;
+
+    // Optional guard: only rows currently in this status are moved
+    private String expectedStatus;
+
+    // Constructors
+    public BulkStatusUpdateRequest() {}
+
+    public BulkStatusUpdateRequest(List<Long> propertyIds, String status, String expectedStatus) {
+        this.propertyIds = propertyIds;
+        this.status = status;
+        this.expectedStatus = expectedStatus;
+    }
+
+    // Getters and Setters
+    public List<Long> getPropertyIds() {
+        return propertyIds;
+    }
+
+    public void setPropertyIds(List<Long> propertyIds) {
+        this.propertyIds = propertyIds;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getExpectedStatus() {
+        return expectedStatus;
+    }
+
+    public void setExpectedStatus(String expectedStatus) {
+        this.expectedStatus = expectedStatus;
+    }
+}
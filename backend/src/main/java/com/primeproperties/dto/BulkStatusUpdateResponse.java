@@ -0,0 +1,47 @@
+package com.primeproperties.dto;
+
+import java.util.List;
+
+/**
+ * DTO for bulk status update results
+ */
+public class BulkStatusUpdateResponse {
+
+    private String status;
+    private List<Long> updatedIds;
+    private List<Long> skippedIds;
+
+    // Constructors
+    public BulkStatusUpdateResponse() {}
+
+    public BulkStatusUpdateResponse(String status, List<Long> updatedIds, List<Long> skippedIds) {
+        this.status = status;
+        this.updatedIds = updatedIds;
+        this.skippedIds = skippedIds;
+    }
+
+    // Getters and Setters
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public List<Long> getUpdatedIds() {
+        return updatedIds;
+    }
+
+    public void setUpdatedIds(List<Long> updatedIds) {
+        this.updatedIds = updatedIds;
+    }
+
+    public List<Long> getSkippedIds() {
+        return skippedIds;
+    }
+
+    public void setSkippedIds(List<Long> skippedIds) {
+        this.skippedIds = skippedIds;
+    }
+}
@@ -0,0 +1,128 @@
+package com.primeproperties.dto;
+
+import java.util.List;
+
+/**
+ * DTO for Hibernate second-level cache statistics
+ */
+public class CacheStatisticsResponse {
+
+    private boolean enabled;
+    private boolean statisticsEnabled;
+    private List<RegionStatistics> regions;
+
+    // Constructors
+    public CacheStatisticsResponse() {}
+
+    public CacheStatisticsResponse(boolean enabled, boolean statisticsEnabled, List<RegionStatistics> regions) {
+        this.enabled = enabled;
+        this.statisticsEnabled = statisticsEnabled;
+        this.regions = regions;
+    }
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isStatisticsEnabled() {
+        return statisticsEnabled;
+    }
+
+    public void setStatisticsEnabled(boolean statisticsEnabled) {
+        this.statisticsEnabled = statisticsEnabled;
+    }
+
+    public List<RegionStatistics> getRegions() {
+        return regions;
+    }
+
+    public void setRegions(List<RegionStatistics> regions) {
+        this.regions = regions;
+    }
+
+    // Inner class for one cache region's counters and size
+    public static class RegionStatistics {
+        private String region;
+        private long hits;
+        private long misses;
+        private long puts;
+        private double hitRatio;
+        private long entries;
+        private String capacity;
+
+        public RegionStatistics() {}
+
+        public RegionStatistics(String region, long hits, long misses, long puts, double hitRatio,
+                                long entries, String capacity) {
+            this.region = region;
+            this.hits = hits;
+            this.misses = misses;
+            this.puts = puts;
+            this.hitRatio = hitRatio;
+            this.entries = entries;
+            this.capacity = capacity;
+        }
+
+        // Getters and Setters
+        public String getRegion() {
+            return region;
+        }
+
+        public void setRegion(String region) {
+            this.region = region;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public void setHits(long hits) {
+            this.hits = hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public void setMisses(long misses) {
+            this.misses = misses;
+        }
+
+        public long getPuts() {
+            return puts;
+        }
+
+        public void setPuts(long puts) {
+            this.puts = puts;
+        }
+
+        public double getHitRatio() {
+            return hitRatio;
+        }
+
+        public void setHitRatio(double hitRatio) {
+            this.hitRatio = hitRatio;
+        }
+
+        public long getEntries() {
+            return entries;
+        }
+
+        public void setEntries(long entries) {
+            this.entries = entries;
+        }
+
+        public String getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(String capacity) {
+            this.capacity = capacity;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.primeproperties.dto;
+
+import com.primeproperties.event.PropertySnapshot;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for the change journal's position and a page of its entries
+ */
+public class ChangeJournalResponse {
+
+    private String directory;
+    private long firstOffset;
+    private long nextOffset;
+    private int segmentCount;
+    private long sizeBytes;
+    private long checkpointOffset;
+    private Integer catalogListings;
+    private List<Entry> entries;
+
+    // Constructors
+    public ChangeJournalResponse() {}
+
+    public ChangeJournalResponse(String directory, long firstOffset, long nextOffset, int segmentCount, long sizeBytes,
+                                 long checkpointOffset, Integer catalogListings, List<Entry> entries) {
+        this.directory = directory;
+        this.firstOffset = firstOffset;
+        this.nextOffset = nextOffset;
+        this.segmentCount = segmentCount;
+        this.sizeBytes = sizeBytes;
+        this.checkpointOffset = checkpointOffset;
+        this.catalogListings = catalogListings;
+        this.entries = entries;
+    }
+
+    // Getters and Setters
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public long getFirstOffset() {
+        return firstOffset;
+    }
+
+    public void setFirstOffset(long firstOffset) {
+        this.firstOffset = firstOffset;
+    }
+
+    public long getNextOffset() {
+        return nextOffset;
+    }
+
+    public void setNextOffset(long nextOffset) {
+        this.nextOffset = nextOffset;
+    }
+
+    public int getSegmentCount() {
+        return segmentCount;
+    }
+
+    public void setSegmentCount(int segmentCount) {
+        this.segmentCount = segmentCount;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public long getCheckpointOffset() {
+        return checkpointOffset;
+    }
+
+    public void setCheckpointOffset(long checkpointOffset) {
+        this.checkpointOffset = checkpointOffset;
+    }
+
+    public Integer getCatalogListings() {
+        return catalogListings;
+    }
+
+    public void setCatalogListings(Integer catalogListings) {
+        this.catalogListings = catalogListings;
+    }
+
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    public void setEntries(List<Entry> entries) {
+        this.entries = entries;
+    }
+
+    // Inner class for one journal entry; after is null for deletions
+    public static class Entry {
+        private long offset;
+        private LocalDateTime recordedAt;
+        private String type;
+        private Long propertyId;
+        private PropertySnapshot after;
+
+        public Entry() {}
+
+        public Entry(long offset, LocalDateTime recordedAt, String type, Long propertyId, PropertySnapshot after) {
+            this.offset = offset;
+            this.recordedAt = recordedAt;
+            this.type = type;
+            this.propertyId = propertyId;
+            this.after = after;
+        }
+
+        public long getOffset() {
+            return offset;
+        }
+
+        public void setOffset(long offset) {
+            this.offset = offset;
+        }
+
+        public LocalDateTime getRecordedAt() {
+            return recordedAt;
+        }
+
+        public void setRecordedAt(LocalDateTime recordedAt) {
+            this.recordedAt = recordedAt;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public void setType(String type) {
+            this.type = type;
+        }
+
+        public Long getPropertyId() {
+            return propertyId;
+        }
+
+        public void setPropertyId(Long propertyId) {
+            this.propertyId = propertyId;
+        }
+
+        public PropertySnapshot getAfter() {
+            return after;
+        }
+
+        public void setAfter(PropertySnapshot after) {
+            this.after = after;
+        }
+    }
+}
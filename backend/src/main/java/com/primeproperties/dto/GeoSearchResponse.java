@@ -0,0 +1,78 @@
+package com.primeproperties.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for radius and bounding-box search results
+ */
+public class GeoSearchResponse {
+
+    private long totalMatches;
+    private boolean truncated;
+    private List<Result> results = new ArrayList<>();
+
+    // Constructors
+    public GeoSearchResponse() {}
+
+    public GeoSearchResponse(long totalMatches, boolean truncated, List<Result> results) {
+        this.totalMatches = totalMatches;
+        this.truncated = truncated;
+        this.results = results;
+    }
+
+    // Getters and Setters
+    public long getTotalMatches() {
+        return totalMatches;
+    }
+
+    public void setTotalMatches(long totalMatches) {
+        this.totalMatches = totalMatches;
+    }
+
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+
+    public List<Result> getResults() {
+        return results;
+    }
+
+    public void setResults(List<Result> results) {
+        this.results = results;
+    }
+
+    // Inner class for one listing; distance is only set for radius searches
+    public static class Result {
+        private PropertyResponse property;
+        private Double distanceMeters;
+
+        public Result() {}
+
+        public Result(PropertyResponse property, Double distanceMeters) {
+            this.property = property;
+            this.distanceMeters = distanceMeters;
+        }
+
+        // Getters and Setters
+        public PropertyResponse getProperty() {
+            return property;
+        }
+
+        public void setProperty(PropertyResponse property) {
+            this.property = property;
+        }
+
+        public Double getDistanceMeters() {
+            return distanceMeters;
+        }
+
+        public void setDistanceMeters(Double distanceMeters) {
+            this.distanceMeters = distanceMeters;
+        }
+    }
+}
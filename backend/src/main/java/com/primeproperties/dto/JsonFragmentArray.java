@@ -0,0 +1,26 @@
+package com.primeproperties.dto;
+
+import java.util.List;
+
+/**
+ * Response body made of pre-serialised JSON objects, written out as one JSON array
+ * by JsonFragmentArrayMessageConverter without going through Jackson
+ */
+public class JsonFragmentArray {
+
+    private final List<byte[]> fragments;
+
+    // Constructors
+    public JsonFragmentArray(List<byte[]> fragments) {
+        this.fragments = fragments;
+    }
+
+    // Getters
+    public List<byte[]> getFragments() {
+        return fragments;
+    }
+
+    public int size() {
+        return fragments.size();
+    }
+}
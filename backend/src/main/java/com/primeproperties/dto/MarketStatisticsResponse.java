@@ -0,0 +1,201 @@
+package com.primeproperties.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for market statistics of one location / property type segment
+ */
+public class MarketStatisticsResponse {
+
+    private String location;
+    private String propertyType;
+    private long activeListings;
+    private Map<String, Long> statusCounts;
+    private Distribution price;
+    private Distribution pricePerSquareMeter;
+    private Distribution area;
+
+    // Constructors
+    public MarketStatisticsResponse() {}
+
+    public MarketStatisticsResponse(String location, String propertyType, long activeListings,
+                                    Map<String, Long> statusCounts, Distribution price,
+                                    Distribution pricePerSquareMeter, Distribution area) {
+        this.location = location;
+        this.propertyType = propertyType;
+        this.activeListings = activeListings;
+        this.statusCounts = statusCounts;
+        this.price = price;
+        this.pricePerSquareMeter = pricePerSquareMeter;
+        this.area = area;
+    }
+
+    // Getters and Setters
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public String getPropertyType() {
+        return propertyType;
+    }
+
+    public void setPropertyType(String propertyType) {
+        this.propertyType = propertyType;
+    }
+
+    public long getActiveListings() {
+        return activeListings;
+    }
+
+    public void setActiveListings(long activeListings) {
+        this.activeListings = activeListings;
+    }
+
+    public Map<String, Long> getStatusCounts() {
+        return statusCounts;
+    }
+
+    public void setStatusCounts(Map<String, Long> statusCounts) {
+        this.statusCounts = statusCounts;
+    }
+
+    public Distribution getPrice() {
+        return price;
+    }
+
+    public void setPrice(Distribution price) {
+        this.price = price;
+    }
+
+    public Distribution getPricePerSquareMeter() {
+        return pricePerSquareMeter;
+    }
+
+    public void setPricePerSquareMeter(Distribution pricePerSquareMeter) {
+        this.pricePerSquareMeter = pricePerSquareMeter;
+    }
+
+    public Distribution getArea() {
+        return area;
+    }
+
+    public void setArea(Distribution area) {
+        this.area = area;
+    }
+
+    // Inner class for an approximate distribution (quantiles within 1% relative error)
+    public static class Distribution {
+        private long count;
+        private Double mean;
+        private Double p10;
+        private Double median;
+        private Double p90;
+        private List<HistogramBin> histogram;
+
+        public Distribution() {}
+
+        public Distribution(long count, Double mean, Double p10, Double median, Double p90,
+                            List<HistogramBin> histogram) {
+            this.count = count;
+            this.mean = mean;
+            this.p10 = p10;
+            this.median = median;
+            this.p90 = p90;
+            this.histogram = histogram;
+        }
+
+        // Getters and Setters
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+
+        public Double getMean() {
+            return mean;
+        }
+
+        public void setMean(Double mean) {
+            this.mean = mean;
+        }
+
+        public Double getP10() {
+            return p10;
+        }
+
+        public void setP10(Double p10) {
+            this.p10 = p10;
+        }
+
+        public Double getMedian() {
+            return median;
+        }
+
+        public void setMedian(Double median) {
+            this.median = median;
+        }
+
+        public Double getP90() {
+            return p90;
+        }
+
+        public void setP90(Double p90) {
+            this.p90 = p90;
+        }
+
+        public List<HistogramBin> getHistogram() {
+            return histogram;
+        }
+
+        public void setHistogram(List<HistogramBin> histogram) {
+            this.histogram = histogram;
+        }
+    }
+
+    // Inner class for one histogram bin [lower, upper)
+    public static class HistogramBin {
+        private double lower;
+        private double upper;
+        private long count;
+
+        public HistogramBin() {}
+
+        public HistogramBin(double lower, double upper, long count) {
+            this.lower = lower;
+            this.upper = upper;
+            this.count = count;
+        }
+
+        // Getters and Setters
+        public double getLower() {
+            return lower;
+        }
+
+        public void setLower(double lower) {
+            this.lower = lower;
+        }
+
+        public double getUpper() {
+            return upper;
+        }
+
+        public void setUpper(double upper) {
+            this.upper = upper;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.primeproperties.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for a normalised listing: properties carry only developerId, and each
+ * developer appears once in the developers dictionary, keyed by id
+ */
+public class NormalizedPropertyListResponse {
+
+    private List<PropertyResponse> properties;
+    private Map<Long, Developer> developers;
+
+    // Constructors
+    public NormalizedPropertyListResponse() {}
+
+    public NormalizedPropertyListResponse(List<PropertyResponse> properties, Map<Long, Developer> developers) {
+        this.properties = properties;
+        this.developers = developers;
+    }
+
+    // Getters and Setters
+    public List<PropertyResponse> getProperties() {
+        return properties;
+    }
+
+    public void setProperties(List<PropertyResponse> properties) {
+        this.properties = properties;
+    }
+
+    public Map<Long, Developer> getDevelopers() {
+        return developers;
+    }
+
+    public void setDevelopers(Map<Long, Developer> developers) {
+        this.developers = developers;
+    }
+
+    // Inner class for one developer's contact details
+    public static class Developer {
+        private Long id;
+        private String name;
+        private String email;
+
+        public Developer() {}
+
+        public Developer(Long id, String name, String email) {
+            this.id = id;
+            this.name = name;
+            this.email = email;
+        }
+
+        // Getters and Setters
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        public void setEmail(String email) {
+            this.email = email;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.primeproperties.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for transactional outbox delivery status
+ */
+public class OutboxStatusResponse {
+
+    private List<SubscriberLag> subscribers;
+
+    // Constructors
+    public OutboxStatusResponse() {}
+
+    public OutboxStatusResponse(List<SubscriberLag> subscribers) {
+        this.subscribers = subscribers;
+    }
+
+    // Getters and Setters
+    public List<SubscriberLag> getSubscribers() {
+        return subscribers;
+    }
+
+    public void setSubscribers(List<SubscriberLag> subscribers) {
+        this.subscribers = subscribers;
+    }
+
+    // Inner class for one subscriber's position and lag
+    public static class SubscriberLag {
+        private String subscriber;
+        private long lastEventId;
+        private long pendingEvents;
+        private long oldestPendingAgeMillis;
+        private LocalDateTime offsetUpdatedAt;
+        private long delivered;
+        private long failures;
+        private String lastError;
+
+        public SubscriberLag() {}
+
+        public SubscriberLag(String subscriber, long lastEventId, long pendingEvents, long oldestPendingAgeMillis,
+                             LocalDateTime offsetUpdatedAt, long delivered, long failures, String lastError) {
+            this.subscriber = subscriber;
+            this.lastEventId = lastEventId;
+            this.pendingEvents = pendingEvents;
+            this.oldestPendingAgeMillis = oldestPendingAgeMillis;
+            this.offsetUpdatedAt = offsetUpdatedAt;
+            this.delivered = delivered;
+            this.failures = failures;
+            this.lastError = lastError;
+        }
+
+        // Getters and Setters
+        public String getSubscriber() {
+            return subscriber;
+        }
+
+        public void setSubscriber(String subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        public long getLastEventId() {
+            return lastEventId;
+        }
+
+        public void setLastEventId(long lastEventId) {
+            this.lastEventId = lastEventId;
+        }
+
+        public long getPendingEvents() {
+            return pendingEvents;
+        }
+
+        public void setPendingEvents(long pendingEvents) {
+            this.pendingEvents = pendingEvents;
+        }
+
+        public long getOldestPendingAgeMillis() {
+            return oldestPendingAgeMillis;
+        }
+
+        public void setOldestPendingAgeMillis(long oldestPendingAgeMillis) {
+            this.oldestPendingAgeMillis = oldestPendingAgeMillis;
+        }
+
+        public LocalDateTime getOffsetUpdatedAt() {
+            return offsetUpdatedAt;
+        }
+
+        public void setOffsetUpdatedAt(LocalDateTime offsetUpdatedAt) {
+            this.offsetUpdatedAt = offsetUpdatedAt;
+        }
+
+        public long getDelivered() {
+            return delivered;
+        }
+
+        public void setDelivered(long delivered) {
+            this.delivered = delivered;
+        }
+
+        public long getFailures() {
+            return failures;
+        }
+
+        public void setFailures(long failures) {
+            this.failures = failures;
+        }
+
+        public String getLastError() {
+            return lastError;
+        }
+
+        public void setLastError(String lastError) {
+            this.lastError = lastError;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.primeproperties.dto;
+
+import java.util.List;
+
+/**
+ * DTO for per-workload connection pool saturation
+ */
+public class PoolStatisticsResponse {
+
+    private List<PoolStatistics> pools;
+
+    // Constructors
+    public PoolStatisticsResponse() {}
+
+    public PoolStatisticsResponse(List<PoolStatistics> pools) {
+        this.pools = pools;
+    }
+
+    // Getters and Setters
+    public List<PoolStatistics> getPools() {
+        return pools;
+    }
+
+    public void setPools(List<PoolStatistics> pools) {
+        this.pools = pools;
+    }
+
+    // Inner class for one pool's occupancy and acquisition counters
+    public static class PoolStatistics {
+        private String pool;
+        private List<String> workloads;
+        private int maxSize;
+        private int active;
+        private int idle;
+        private int waiting;
+        private long acquisitions;
+        private long timeouts;
+        private double averageWaitMillis;
+        private long maxWaitMillis;
+
+        public PoolStatistics() {}
+
+        public PoolStatistics(String pool, List<String> workloads, int maxSize, int active, int idle, int waiting,
+                              long acquisitions, long timeouts, double averageWaitMillis, long maxWaitMillis) {
+            this.pool = pool;
+            this.workloads = workloads;
+            this.maxSize = maxSize;
+            this.active = active;
+            this.idle = idle;
+            this.waiting = waiting;
+            this.acquisitions = acquisitions;
+            this.timeouts = timeouts;
+            this.averageWaitMillis = averageWaitMillis;
+            this.maxWaitMillis = maxWaitMillis;
+        }
+
+        // Getters and Setters
+        public String getPool() {
+            return pool;
+        }
+
+        public void setPool(String pool) {
+            this.pool = pool;
+        }
+
+        public List<String> getWorkloads() {
+            return workloads;
+        }
+
+        public void setWorkloads(List<String> workloads) {
+            this.workloads = workloads;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public int getActive() {
+            return active;
+        }
+
+        public void setActive(int active) {
+            this.active = active;
+        }
+
+        public int getIdle() {
+            return idle;
+        }
+
+        public void setIdle(int idle) {
+            this.idle = idle;
+        }
+
+        public int getWaiting() {
+            return waiting;
+        }
+
+        public void setWaiting(int waiting) {
+            this.waiting = waiting;
+        }
+
+        public long getAcquisitions() {
+            return acquisitions;
+        }
+
+        public void setAcquisitions(long acquisitions) {
+            this.acquisitions = acquisitions;
+        }
+
+        public long getTimeouts() {
+            return timeouts;
+        }
+
+        public void setTimeouts(long timeouts) {
+            this.timeouts = timeouts;
+        }
+
+        public double getAverageWaitMillis() {
+            return averageWaitMillis;
+        }
+
+        public void setAverageWaitMillis(double averageWaitMillis) {
+            this.averageWaitMillis = averageWaitMillis;
+        }
+
+        public long getMaxWaitMillis() {
+            return maxWaitMillis;
+        }
+
+        public void setMaxWaitMillis(long maxWaitMillis) {
+            this.maxWaitMillis = maxWaitMillis;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.primeproperties.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for bulk property import results
+ */
+public class PropertyImportResponse {
+
+    private long totalRows;
+    private long importedCount;
+    private long rejectedCount;
+    private boolean errorsTruncated;
+    private List<RowError> errors = new ArrayList<>();
+
+    // Constructors
+    public PropertyImportResponse() {}
+
+    public PropertyImportResponse(long totalRows, long importedCount, long rejectedCount,
+                                  boolean errorsTruncated, List<RowError> errors) {
+        this.totalRows = totalRows;
+        this.importedCount = importedCount;
+        this.rejectedCount = rejectedCount;
+        this.errorsTruncated = errorsTruncated;
+        this.errors = errors;
+    }
+
+    // Getters and Setters
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(long totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public long getImportedCount() {
+        return importedCount;
+    }
+
+    public void setImportedCount(long importedCount) {
+        this.importedCount = importedCount;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    public void setRejectedCount(long rejectedCount) {
+        this.rejectedCount = rejectedCount;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public void setErrorsTruncated(boolean errorsTruncated) {
+        this.errorsTruncated = errorsTruncated;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<RowError> errors) {
+        this.errors = errors;
+    }
+
+    // Inner class for a rejected row
+    public static class RowError {
+        private long row;
+        private List<String> messages;
+
+        public RowError() {}
+
+        public RowError(long row, List<String> messages) {
+            this.row = row;
+            this.messages = messages;
+        }
+
+        // Getters and Setters
+        public long getRow() {
+            return row;
+        }
+
+        public void setRow(long row) {
+            this.row = row;
+        }
+
+        public List<String> getMessages() {
+            return messages;
+        }
+
+        public void setMessages(List<String> messages) {
+            this.messages = messages;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.primeproperties.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for property media responses
+ */
+public class PropertyMediaResponse {
+
+    private Long id;
+    private Long propertyId;
+    private String contentHash;
+    private String contentType;
+    private long sizeBytes;
+    private String originalFilename;
+    private int position;
+    private String url;
+    private String thumbnailUrl;
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public PropertyMediaResponse() {}
+
+    public PropertyMediaResponse(Long id, Long propertyId, String contentHash, String contentType, long sizeBytes,
+                                 String originalFilename, int position, String url, String thumbnailUrl,
+                                 LocalDateTime createdAt) {
+        this.id = id;
+        this.propertyId = propertyId;
+        this.contentHash = contentHash;
+        this.contentType = contentType;
+        this.sizeBytes = sizeBytes;
+        this.originalFilename = originalFilename;
+        this.position = position;
+        this.url = url;
+        this.thumbnailUrl = thumbnailUrl;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getPropertyId() {
+        return propertyId;
+    }
+
+    public void setPropertyId(Long propertyId) {
+        this.propertyId = propertyId;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+
+    public void setOriginalFilename(String originalFilename) {
+        this.originalFilename = originalFilename;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    public void setPosition(int position) {
+        this.position = position;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getThumbnailUrl() {
+        return thumbnailUrl;
+    }
+
+    public void setThumbnailUrl(String thumbnailUrl) {
+        this.thumbnailUrl = thumbnailUrl;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
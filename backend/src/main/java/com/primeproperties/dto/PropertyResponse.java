@@ -1,5 +1,7 @@
 package com.primeproperties.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
@@ -17,18 +19,25 @@ public class PropertyResponse {
     private Integer bedrooms;
     private Integer bathrooms;
     private Double area;
+    private Double latitude;
+    private Double longitude;
     private String status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long developerId;
+    // Left out of normalised listings, which carry a developers dictionary instead
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String developerName;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String developerEmail;
 
     // Constructors
     public PropertyResponse() {}
 
     public PropertyResponse(Long id, String title, String description, BigDecimal price, String location,
-                           String propertyType, Integer bedrooms, Integer bathrooms, Double area, String status,
-                           LocalDateTime createdAt, LocalDateTime updatedAt, String developerName, String developerEmail) {
+                           String propertyType, Integer bedrooms, Integer bathrooms, Double area, Double latitude,
+                           Double longitude, String status, LocalDateTime createdAt, LocalDateTime updatedAt, Long developerId,
+                           String developerName, String developerEmail) {
         this.id = id;
         this.title = title;
         this.description = description;
@@ -38,9 +47,12 @@ public class PropertyResponse {
         this.bedrooms = bedrooms;
         this.bathrooms = bathrooms;
         this.area = area;
+        this.latitude = latitude;
+        this.longitude = longitude;
         this.status = status;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
+        this.developerId = developerId;
         this.developerName = developerName;
         this.developerEmail = developerEmail;
     }
@@ -118,6 +130,22 @@ public class PropertyResponse {
         this.area = area;
     }
 
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+
     public String getStatus() {
         return status;
     }
@@ -142,6 +170,14 @@ public class PropertyResponse {
         this.updatedAt = updatedAt;
     }
 
+    public Long getDeveloperId() {
+        return developerId;
+    }
+
+    public void setDeveloperId(Long developerId) {
+        this.developerId = developerId;
+    }
+
     public String getDeveloperName() {
         return developerName;
     }
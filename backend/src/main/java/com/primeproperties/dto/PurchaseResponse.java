@@ -0,0 +1,69 @@
+package com.primeproperties.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a completed purchase
+ */
+public class PurchaseResponse {
+
+    private Long transactionId;
+    private Long propertyId;
+    private String propertyStatus;
+    private BigDecimal amount;
+    private LocalDateTime transactionDate;
+
+    // Constructors
+    public PurchaseResponse() {}
+
+    public PurchaseResponse(Long transactionId, Long propertyId, String propertyStatus, BigDecimal amount,
+                            LocalDateTime transactionDate) {
+        this.transactionId = transactionId;
+        this.propertyId = propertyId;
+        this.propertyStatus = propertyStatus;
+        this.amount = amount;
+        this.transactionDate = transactionDate;
+    }
+
+    // Getters and Setters
+    public Long getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(Long transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public Long getPropertyId() {
+        return propertyId;
+    }
+
+    public void setPropertyId(Long propertyId) {
+        this.propertyId = propertyId;
+    }
+
+    public String getPropertyStatus() {
+        return propertyStatus;
+    }
+
+    public void setPropertyStatus(String propertyStatus) {
+        this.propertyStatus = propertyStatus;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public LocalDateTime getTransactionDate() {
+        return transactionDate;
+    }
+
+    public void setTransactionDate(LocalDateTime transactionDate) {
+        this.transactionDate = transactionDate;
+    }
+}
@@ -0,0 +1,96 @@
+package com.primeproperties.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO for creating or updating a saved search (omitted criteria match any value)
+ */
+public class SavedSearchRequest {
+
+    @NotBlank(message = "Name is required")
+    @Size(max = 100, message = "Name must not exceed 100 characters")
+    private String name;
+
+    @Size(max = 100, message = "Location must not exceed 100 characters")
+    private String location;
+
+    @Size(max = 50, message = "Property type must not exceed 50 characters")
+    private String propertyType;
+
+    @PositiveOrZero(message = "Minimum price must not be negative")
+    private BigDecimal minPrice;
+
+    @Positive(message = "Maximum price must be positive")
+    private BigDecimal maxPrice;
+
+    @PositiveOrZero(message = "Minimum bedrooms must not be negative")
+    private Integer minBedrooms;
+
+    @PositiveOrZero(message = "Maximum bedrooms must not be negative")
+    private Integer maxBedrooms;
+
+    // Constructors
+    public SavedSearchRequest() {}
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public String getPropertyType() {
+        return propertyType;
+    }
+
+    public void setPropertyType(String propertyType) {
+        this.propertyType = propertyType;
+    }
+
+    public BigDecimal getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(BigDecimal minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public BigDecimal getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(BigDecimal maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+
+    public Integer getMinBedrooms() {
+        return minBedrooms;
+    }
+
+    public void setMinBedrooms(Integer minBedrooms) {
+        this.minBedrooms = minBedrooms;
+    }
+
+    public Integer getMaxBedrooms() {
+        return maxBedrooms;
+    }
+
+    public void setMaxBedrooms(Integer maxBedrooms) {
+        this.maxBedrooms = maxBedrooms;
+    }
+}
@@ -0,0 +1,110 @@
+package com.primeproperties.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO for saved search responses
+ */
+public class SavedSearchResponse {
+
+    private Long id;
+    private String name;
+    private String location;
+    private String propertyType;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private Integer minBedrooms;
+    private Integer maxBedrooms;
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public SavedSearchResponse() {}
+
+    public SavedSearchResponse(Long id, String name, String location, String propertyType,
+                               BigDecimal minPrice, BigDecimal maxPrice, Integer minBedrooms,
+                               Integer maxBedrooms, LocalDateTime createdAt) {
+        this.id = id;
+        this.name = name;
+        this.location = location;
+        this.propertyType = propertyType;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.minBedrooms = minBedrooms;
+        this.maxBedrooms = maxBedrooms;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public String getPropertyType() {
+        return propertyType;
+    }
+
+    public void setPropertyType(String propertyType) {
+        this.propertyType = propertyType;
+    }
+
+    public BigDecimal getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(BigDecimal minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public BigDecimal getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(BigDecimal maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+
+    public Integer getMinBedrooms() {
+        return minBedrooms;
+    }
+
+    public void setMinBedrooms(Integer minBedrooms) {
+        this.minBedrooms = minBedrooms;
+    }
+
+    public Integer getMaxBedrooms() {
+        return maxBedrooms;
+    }
+
+    public void setMaxBedrooms(Integer maxBedrooms) {
+        this.maxBedrooms = maxBedrooms;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
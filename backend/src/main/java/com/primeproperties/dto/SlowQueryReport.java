@@ -0,0 +1,220 @@
+package com.primeproperties.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for per-repository-method statement timings and captured slow queries
+ */
+public class SlowQueryReport {
+
+    private long thresholdMillis;
+    private List<StatementStatistics> statements;
+    private List<SlowQuery> slowQueries;
+
+    // Constructors
+    public SlowQueryReport() {}
+
+    public SlowQueryReport(long thresholdMillis, List<StatementStatistics> statements, List<SlowQuery> slowQueries) {
+        this.thresholdMillis = thresholdMillis;
+        this.statements = statements;
+        this.slowQueries = slowQueries;
+    }
+
+    // Getters and Setters
+    public long getThresholdMillis() {
+        return thresholdMillis;
+    }
+
+    public void setThresholdMillis(long thresholdMillis) {
+        this.thresholdMillis = thresholdMillis;
+    }
+
+    public List<StatementStatistics> getStatements() {
+        return statements;
+    }
+
+    public void setStatements(List<StatementStatistics> statements) {
+        this.statements = statements;
+    }
+
+    public List<SlowQuery> getSlowQueries() {
+        return slowQueries;
+    }
+
+    public void setSlowQueries(List<SlowQuery> slowQueries) {
+        this.slowQueries = slowQueries;
+    }
+
+    // Inner class for the timings of one statement source
+    public static class StatementStatistics {
+        private String source;
+        private long executions;
+        private long slowExecutions;
+        private long totalMillis;
+        private double averageMillis;
+        private long maxMillis;
+
+        public StatementStatistics() {}
+
+        public StatementStatistics(String source, long executions, long slowExecutions, long totalMillis,
+                                   double averageMillis, long maxMillis) {
+            this.source = source;
+            this.executions = executions;
+            this.slowExecutions = slowExecutions;
+            this.totalMillis = totalMillis;
+            this.averageMillis = averageMillis;
+            this.maxMillis = maxMillis;
+        }
+
+        // Getters and Setters
+        public String getSource() {
+            return source;
+        }
+
+        public void setSource(String source) {
+            this.source = source;
+        }
+
+        public long getExecutions() {
+            return executions;
+        }
+
+        public void setExecutions(long executions) {
+            this.executions = executions;
+        }
+
+        public long getSlowExecutions() {
+            return slowExecutions;
+        }
+
+        public void setSlowExecutions(long slowExecutions) {
+            this.slowExecutions = slowExecutions;
+        }
+
+        public long getTotalMillis() {
+            return totalMillis;
+        }
+
+        public void setTotalMillis(long totalMillis) {
+            this.totalMillis = totalMillis;
+        }
+
+        public double getAverageMillis() {
+            return averageMillis;
+        }
+
+        public void setAverageMillis(double averageMillis) {
+            this.averageMillis = averageMillis;
+        }
+
+        public long getMaxMillis() {
+            return maxMillis;
+        }
+
+        public void setMaxMillis(long maxMillis) {
+            this.maxMillis = maxMillis;
+        }
+    }
+
+    // Inner class for one statement over the threshold, with its plan once captured
+    public static class SlowQuery {
+        private LocalDateTime capturedAt;
+        private String source;
+        private String sql;
+        private long elapsedMillis;
+        private int batchSize;
+        private boolean success;
+        private List<String> parameters;
+        private String planStatus;
+        private String plan;
+
+        public SlowQuery() {}
+
+        public SlowQuery(LocalDateTime capturedAt, String source, String sql, long elapsedMillis, int batchSize,
+                         boolean success, List<String> parameters, String planStatus, String plan) {
+            this.capturedAt = capturedAt;
+            this.source = source;
+            this.sql = sql;
+            this.elapsedMillis = elapsedMillis;
+            this.batchSize = batchSize;
+            this.success = success;
+            this.parameters = parameters;
+            this.planStatus = planStatus;
+            this.plan = plan;
+        }
+
+        // Getters and Setters
+        public LocalDateTime getCapturedAt() {
+            return capturedAt;
+        }
+
+        public void setCapturedAt(LocalDateTime capturedAt) {
+            this.capturedAt = capturedAt;
+        }
+
+        public String getSource() {
+            return source;
+        }
+
+        public void setSource(String source) {
+            this.source = source;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public void setSql(String sql) {
+            this.sql = sql;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        public void setElapsedMillis(long elapsedMillis) {
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public boolean isSuccess() {
+            return success;
+        }
+
+        public void setSuccess(boolean success) {
+            this.success = success;
+        }
+
+        public List<String> getParameters() {
+            return parameters;
+        }
+
+        public void setParameters(List<String> parameters) {
+            this.parameters = parameters;
+        }
+
+        public String getPlanStatus() {
+            return planStatus;
+        }
+
+        public void setPlanStatus(String planStatus) {
+            this.planStatus = planStatus;
+        }
+
+        public String getPlan() {
+            return plan;
+        }
+
+        public void setPlan(String plan) {
+            this.plan = plan;
+        }
+    }
+}
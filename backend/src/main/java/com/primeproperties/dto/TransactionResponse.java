@@ -0,0 +1,89 @@
+package com.primeproperties.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a transaction in a purchase history
+ */
+public class TransactionResponse {
+
+    private Long id;
+    private Long customerId;
+    private Long propertyId;
+    private String propertyTitle;
+    private BigDecimal amount;
+    private LocalDateTime transactionDate;
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public TransactionResponse() {}
+
+    public TransactionResponse(Long id, Long customerId, Long propertyId, String propertyTitle, BigDecimal amount,
+                               LocalDateTime transactionDate, LocalDateTime createdAt) {
+        this.id = id;
+        this.customerId = customerId;
+        this.propertyId = propertyId;
+        this.propertyTitle = propertyTitle;
+        this.amount = amount;
+        this.transactionDate = transactionDate;
+        this.createdAt = createdAt;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Long customerId) {
+        this.customerId = customerId;
+    }
+
+    public Long getPropertyId() {
+        return propertyId;
+    }
+
+    public void setPropertyId(Long propertyId) {
+        this.propertyId = propertyId;
+    }
+
+    public String getPropertyTitle() {
+        return propertyTitle;
+    }
+
+    public void setPropertyTitle(String propertyTitle) {
+        this.propertyTitle = propertyTitle;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public LocalDateTime getTransactionDate() {
+        return transactionDate;
+    }
+
+    public void setTransactionDate(LocalDateTime transactionDate) {
+        this.transactionDate = transactionDate;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,22 @@
+package com.primeproperties.event;
+
+/**
+ * A local cache that ClusterInvalidationBus keeps coherent across backend nodes
+ */
+public interface InvalidationListener {
+
+    /**
+     * Entity type whose invalidations this cache receives, e.g. "property"
+     */
+    String getEntityType();
+
+    /**
+     * Drop the cached entity; version is 0 when the sender does not know it
+     */
+    void invalidate(String id, long version);
+
+    /**
+     * Drop everything: invalidations may have been missed while disconnected
+     */
+    void resync();
+}
@@ -0,0 +1,124 @@
+package com.primeproperties.event;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Compact cache invalidation carried over PostgreSQL NOTIFY.
+ * A payload is "node|type:id:version;type:id:version..." and the special entry
+ * "*" asks every receiver to resync. Payloads are split to stay under the
+ * NOTIFY size limit. Entity types and ids must not contain ':', ';' or '|'.
+ */
+public class InvalidationMessage {
+
+    public static final String RESYNC = "*";
+
+    private final String entityType;
+    private final String id;
+    private final long version;
+
+    public InvalidationMessage(String entityType, String id, long version) {
+        this.entityType = entityType;
+        this.id = id;
+        this.version = version;
+    }
+
+    public static InvalidationMessage resync() {
+        return new InvalidationMessage(RESYNC, "", 0);
+    }
+
+    /**
+     * Coalescing key: later messages for the same entity replace earlier ones
+     */
+    public String key() {
+        return entityType + ':' + id;
+    }
+
+    public boolean isResync() {
+        return RESYNC.equals(entityType);
+    }
+
+    /**
+     * Pack messages into as few payloads as fit in maxBytes each
+     */
+    public static List<String> encode(String node, Collection<InvalidationMessage> messages, int maxBytes) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder(node).append('|');
+        int header = payload.length();
+        int headerBytes = utf8Length(payload);
+        int bytes = headerBytes;
+        for (InvalidationMessage message : messages) {
+            String entry = message.isResync() ? RESYNC : message.key() + ':' + message.version;
+            int entryBytes = utf8Length(entry);
+            if (payload.length() > header && bytes + 1 + entryBytes > maxBytes) {
+                payloads.add(payload.toString());
+                payload.setLength(header);
+                bytes = headerBytes;
+            }
+            if (payload.length() > header) {
+                payload.append(';');
+                bytes++;
+            }
+            payload.append(entry);
+            bytes += entryBytes;
+        }
+        if (payload.length() > header) {
+            payloads.add(payload.toString());
+        }
+        return payloads;
+    }
+
+    /**
+     * Sender node of a payload
+     */
+    public static String node(String payload) {
+        int separator = payload.indexOf('|');
+        return separator < 0 ? "" : payload.substring(0, separator);
+    }
+
+    /**
+     * Messages of a payload; malformed entries are skipped
+     */
+    public static List<InvalidationMessage> decode(String payload) {
+        List<InvalidationMessage> messages = new ArrayList<>();
+        int separator = payload.indexOf('|');
+        if (separator < 0) {
+            return messages;
+        }
+        for (String entry : payload.substring(separator + 1).split(";")) {
+            if (entry.equals(RESYNC)) {
+                messages.add(resync());
+                continue;
+            }
+            String[] parts = entry.split(":");
+            if (parts.length != 3) {
+                continue;
+            }
+            try {
+                messages.add(new InvalidationMessage(parts[0], parts[1], Long.parseLong(parts[2])));
+            } catch (NumberFormatException e) {
+                // Skip malformed entry
+            }
+        }
+        return messages;
+    }
+
+    private static int utf8Length(CharSequence text) {
+        return text.toString().getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    // Getters
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,51 @@
+package com.primeproperties.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * One committed outbox event as delivered to subscribers. payload is JSON.
+ */
+public class OutboxMessage {
+
+    private final long id;
+    private final String eventType;
+    private final String aggregateType;
+    private final Long aggregateId;
+    private final String payload;
+    private final LocalDateTime createdAt;
+
+    public OutboxMessage(long id, String eventType, String aggregateType, Long aggregateId, String payload,
+                         LocalDateTime createdAt) {
+        this.id = id;
+        this.eventType = eventType;
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+
+    // Getters
+    public long getId() {
+        return id;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    public Long getAggregateId() {
+        return aggregateId;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
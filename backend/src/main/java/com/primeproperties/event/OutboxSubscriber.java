@@ -0,0 +1,26 @@
+package com.primeproperties.event;
+
+import java.util.List;
+
+/**
+ * In-process consumer of outbox events. Every bean implementing this is fed
+ * by OutboxRelay in commit order with at-least-once delivery: if handle throws,
+ * the same batch is offered again on the next poll, so handlers must be idempotent.
+ */
+public interface OutboxSubscriber {
+
+    /**
+     * Stable name without '@'; the subscriber's offset is stored under it
+     */
+    String getSubscriberName();
+
+    /**
+     * True when the subscriber feeds state held by this instance (local caches, STOMP sessions),
+     * so every instance must see every event. Otherwise one instance handles each event.
+     */
+    default boolean isNodeLocal() {
+        return false;
+    }
+
+    void handle(List<OutboxMessage> messages) throws Exception;
+}
@@ -0,0 +1,80 @@
+package com.primeproperties.event;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Application event published by PropertyService after catalog mutations.
+ * One event covers every row touched by a single operation, so bulk
+ * operations produce one aggregated event instead of one per property.
+ */
+public class PropertyChangeEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        STATUS_CHANGED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Long developerId;
+    private final List<Change> changes;
+
+    public PropertyChangeEvent(Type type, Long developerId, List<Change> changes) {
+        this.type = type;
+        this.developerId = developerId;
+        this.changes = List.copyOf(changes);
+    }
+
+    public static PropertyChangeEvent single(Type type, PropertySnapshot before, PropertySnapshot after) {
+        PropertySnapshot any = after != null ? after : before;
+        return new PropertyChangeEvent(type, any.getDeveloperId(), List.of(new Change(before, after)));
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getDeveloperId() {
+        return developerId;
+    }
+
+    public List<Change> getChanges() {
+        return changes;
+    }
+
+    public List<Long> getPropertyIds() {
+        return changes.stream()
+                .map(Change::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * State of one property before and after the operation.
+     * before is null for CREATED, after is null for DELETED.
+     */
+    public static class Change {
+        private final PropertySnapshot before;
+        private final PropertySnapshot after;
+
+        public Change(PropertySnapshot before, PropertySnapshot after) {
+            this.before = before;
+            this.after = after;
+        }
+
+        public PropertySnapshot getBefore() {
+            return before;
+        }
+
+        public PropertySnapshot getAfter() {
+            return after;
+        }
+
+        public Long getId() {
+            return after != null ? after.getId() : before.getId();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.primeproperties.event;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pushes one aggregated STOMP message to /topic/properties per committed change event.
+ * Fed from the outbox, so a push is never lost when the instance that made the change dies.
+ * Node-local: every instance pushes to the clients connected to its own simple broker.
+ */
+@Component
+public class PropertyNotificationListener implements OutboxSubscriber {
+
+    public static final String PROPERTIES_TOPIC = "/topic/properties";
+
+    // Large imports still produce one message; beyond this only the count is sent
+    private static final int MAX_IDS_PER_MESSAGE = 1000;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Override
+    public String getSubscriberName() {
+        return "websocket-properties";
+    }
+
+    @Override
+    public boolean isNodeLocal() {
+        return true;
+    }
+
+    @Override
+    public void handle(List<OutboxMessage> messages) throws Exception {
+        for (OutboxMessage outboxMessage : messages) {
+            if (!outboxMessage.getEventType().startsWith("PROPERTY_")) {
+                continue;
+            }
+            JsonNode payload = objectMapper.readTree(outboxMessage.getPayload());
+            List<Long> ids = new ArrayList<>();
+            for (JsonNode id : payload.path("propertyIds")) {
+                ids.add(id.asLong());
+            }
+
+            Map<String, Object> message = new HashMap<>();
+            message.put("type", payload.path("type").asText());
+            message.put("developerId", payload.hasNonNull("developerId") ? payload.get("developerId").asLong() : null);
+            message.put("count", ids.size());
+            message.put("propertyIds", ids.size() <= MAX_IDS_PER_MESSAGE ? ids : ids.subList(0, MAX_IDS_PER_MESSAGE));
+            if (payload.hasNonNull("status")) {
+                message.put("status", payload.get("status").asText());
+            }
+
+            messagingTemplate.convertAndSend(PROPERTIES_TOPIC, message);
+        }
+    }
+}
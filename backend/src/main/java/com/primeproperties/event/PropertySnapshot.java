@@ -0,0 +1,125 @@
+package com.primeproperties.event;
+
+import com.primeproperties.model.Property;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Immutable view of the listing fields that change listeners care about.
+ * Built from entities or straight from SQL rows, so bulk operations never
+ * have to hydrate Property objects just to publish events.
+ */
+public class PropertySnapshot {
+
+    private final Long id;
+    private final Long developerId;
+    private final BigDecimal price;
+    private final String location;
+    private final String propertyType;
+    private final Integer bedrooms;
+    private final Integer bathrooms;
+    private final Double area;
+    private final String status;
+    private final LocalDateTime updatedAt;
+    private final Double latitude;
+    private final Double longitude;
+
+    public PropertySnapshot(Long id, Long developerId, BigDecimal price, String location, String propertyType,
+                            Integer bedrooms, Integer bathrooms, Double area, String status,
+                            LocalDateTime updatedAt, Double latitude, Double longitude) {
+        this.id = id;
+        this.developerId = developerId;
+        this.price = price;
+        this.location = location;
+        this.propertyType = propertyType;
+        this.bedrooms = bedrooms;
+        this.bathrooms = bathrooms;
+        this.area = area;
+        this.status = status;
+        this.updatedAt = updatedAt;
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    /**
+     * Snapshot an entity (does not initialize the lazy developer association)
+     */
+    public static PropertySnapshot of(Property property) {
+        return new PropertySnapshot(
+                property.getId(),
+                property.getDeveloper() != null ? property.getDeveloper().getId() : null,
+                property.getPrice(),
+                property.getLocation(),
+                property.getPropertyType(),
+                property.getBedrooms(),
+                property.getBathrooms(),
+                property.getArea(),
+                property.getStatus(),
+                property.getUpdatedAt(),
+                property.getLatitude(),
+                property.getLongitude()
+        );
+    }
+
+    /**
+     * Copy of this snapshot with a different status
+     */
+    public PropertySnapshot withStatus(String status, LocalDateTime updatedAt) {
+        return new PropertySnapshot(id, developerId, price, location, propertyType,
+                bedrooms, bathrooms, area, status, updatedAt, latitude, longitude);
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getDeveloperId() {
+        return developerId;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public String getPropertyType() {
+        return propertyType;
+    }
+
+    public Integer getBedrooms() {
+        return bedrooms;
+    }
+
+    public Integer getBathrooms() {
+        return bathrooms;
+    }
+
+    public Double getArea() {
+        return area;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Double getLatitude() {
+        return latitude;
+    }
+
+    public Double getLongitude() {
+        return longitude;
+    }
+
+    public boolean hasCoordinates() {
+        return latitude != null && longitude != null;
+    }
+}
@@ -0,0 +1,72 @@
+package com.primeproperties.event;
+
+import com.primeproperties.service.SavedSearchMatcher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Pushes saved-search matches for newly available or changed listings to
+ * each owner's /user/queue/saved-searches destination
+ */
+@Component
+public class SavedSearchNotificationListener {
+
+    public static final String SAVED_SEARCH_QUEUE = "/queue/saved-searches";
+
+    private static final String AVAILABLE = "AVAILABLE";
+    private static final int MAX_MATCHES_PER_MESSAGE = 100;
+
+    @Autowired
+    private SavedSearchMatcher savedSearchMatcher;
+
+    @Autowired
+    private SimpMessagingTemplate messagingTemplate;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChange(PropertyChangeEvent event) {
+        Map<String, List<Map<String, Object>>> matchesByUser = new LinkedHashMap<>();
+        for (PropertyChangeEvent.Change change : event.getChanges()) {
+            PropertySnapshot after = change.getAfter();
+            if (after == null || !AVAILABLE.equals(after.getStatus())) {
+                continue;
+            }
+
+            // Only notify searches the listing did not already match before this change
+            Set<Long> alreadyMatched = new HashSet<>();
+            PropertySnapshot before = change.getBefore();
+            if (before != null && AVAILABLE.equals(before.getStatus())) {
+                savedSearchMatcher.match(before).forEach(match -> alreadyMatched.add(match.getSavedSearchId()));
+            }
+
+            for (SavedSearchMatcher.Match match : savedSearchMatcher.match(after)) {
+                if (alreadyMatched.contains(match.getSavedSearchId())) {
+                    continue;
+                }
+                Map<String, Object> item = new HashMap<>();
+                item.put("savedSearchId", match.getSavedSearchId());
+                item.put("savedSearchName", match.getSavedSearchName());
+                item.put("propertyId", after.getId());
+                matchesByUser.computeIfAbsent(match.getUsername(), username -> new ArrayList<>()).add(item);
+            }
+        }
+
+        matchesByUser.forEach((username, matches) -> {
+            Map<String, Object> message = new HashMap<>();
+            message.put("type", "SAVED_SEARCH_MATCH");
+            message.put("count", matches.size());
+            message.put("matches", matches.size() <= MAX_MATCHES_PER_MESSAGE
+                    ? matches : matches.subList(0, MAX_MATCHES_PER_MESSAGE));
+            messagingTemplate.convertAndSendToUser(username, SAVED_SEARCH_QUEUE, message);
+        });
+    }
+}
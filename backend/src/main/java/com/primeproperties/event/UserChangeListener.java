@@ -0,0 +1,28 @@
+package com.primeproperties.event;
+
+import com.primeproperties.model.User;
+import com.primeproperties.service.ClusterInvalidationBus;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that invalidates cached logins of a changed user on every node.
+ * New users are included: other nodes may have cached "no such email" query results.
+ * Users are saved from many places (registration, OAuth, seeding), so this hooks the entity itself.
+ */
+@Component
+public class UserChangeListener {
+
+    @Autowired
+    private ClusterInvalidationBus invalidationBus;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onUserChange(User user) {
+        invalidationBus.publish(ClusterInvalidationBus.USER, String.valueOf(user.getId()), 0);
+    }
+}
@@ -0,0 +1,15 @@
+package com.primeproperties.model;
+
+/**
+ * Hibernate second-level cache region names; each one is a cache in ehcache.xml
+ */
+public final class CacheRegions {
+
+    public static final String USERS = "users";
+    public static final String USERS_NATURAL_ID = "users-natural-id";
+    public static final String USERS_QUERIES = "users-queries";
+    public static final String PROPERTIES = "properties";
+    public static final String PROPERTIES_QUERIES = "properties-queries";
+
+    private CacheRegions() {}
+}
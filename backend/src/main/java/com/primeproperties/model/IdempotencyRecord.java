@@ -0,0 +1,97 @@
+package com.primeproperties.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Persisted outcome of a request made with an Idempotency-Key, so retries that
+ * land on another instance (or after a restart) still replay the first response
+ */
+@Entity
+@Table(name = "idempotency_records", indexes = @Index(name = "idx_idempotency_expires", columnList = "expires_at"))
+public class IdempotencyRecord {
+    
+    // User scope plus the client's key
+    @Id
+    @Column(name = "record_key", length = 512)
+    private String recordKey;
+    
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+    
+    @Column(name = "status_code", nullable = false)
+    private int statusCode;
+    
+    @Column(name = "response_body", columnDefinition = "TEXT")
+    private String responseBody;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+    
+    // Constructors
+    public IdempotencyRecord() {
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    public IdempotencyRecord(String recordKey, String fingerprint, int statusCode, String responseBody,
+                             LocalDateTime expiresAt) {
+        this();
+        this.recordKey = recordKey;
+        this.fingerprint = fingerprint;
+        this.statusCode = statusCode;
+        this.responseBody = responseBody;
+        this.expiresAt = expiresAt;
+    }
+    
+    // Getters and Setters
+    public String getRecordKey() {
+        return recordKey;
+    }
+    
+    public void setRecordKey(String recordKey) {
+        this.recordKey = recordKey;
+    }
+    
+    public String getFingerprint() {
+        return fingerprint;
+    }
+    
+    public void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+    
+    public int getStatusCode() {
+        return statusCode;
+    }
+    
+    public void setStatusCode(int statusCode) {
+        this.statusCode = statusCode;
+    }
+    
+    public String getResponseBody() {
+        return responseBody;
+    }
+    
+    public void setResponseBody(String responseBody) {
+        this.responseBody = responseBody;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+    
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,64 @@
+package com.primeproperties.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * How far one outbox subscriber has consumed, as a (txid, id) position.
+ * Maintained with JDBC by OutboxRelay; the entity only defines the table.
+ */
+@Entity
+@Table(name = "outbox_offsets")
+public class OutboxOffset {
+    
+    @Id
+    @Column(length = 100)
+    private String subscriber;
+    
+    @Column(name = "last_txid", columnDefinition = "xid8 NOT NULL DEFAULT '0'")
+    private String lastTxid;
+    
+    @Column(name = "last_event_id", nullable = false)
+    private long lastEventId;
+    
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+    
+    // Constructors
+    public OutboxOffset() {
+        this.updatedAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public String getSubscriber() {
+        return subscriber;
+    }
+    
+    public void setSubscriber(String subscriber) {
+        this.subscriber = subscriber;
+    }
+    
+    public String getLastTxid() {
+        return lastTxid;
+    }
+    
+    public void setLastTxid(String lastTxid) {
+        this.lastTxid = lastTxid;
+    }
+    
+    public long getLastEventId() {
+        return lastEventId;
+    }
+    
+    public void setLastEventId(long lastEventId) {
+        this.lastEventId = lastEventId;
+    }
+    
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+    
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
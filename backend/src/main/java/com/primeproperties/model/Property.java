@@ -1,20 +1,32 @@
 package com.primeproperties.model;
 
 import jakarta.persistence.*;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 @Entity
-@Table(name = "properties")
+@Table(name = "properties", indexes = {
+        @Index(name = "idx_properties_developer_status", columnList = "developer_id, status"),
+        @Index(name = "idx_properties_status", columnList = "status")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.PROPERTIES)
 public class Property {
     
+    // Pooled sequence (allocationSize must match the sequence INCREMENT BY) so inserts can be batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "properties_seq")
+    @SequenceGenerator(name = "properties_seq", sequenceName = "properties_id_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank
@@ -49,6 +61,14 @@ public class Property {
     @Positive
     private Double area; // in square meters
     
+    @DecimalMin("-90.0")
+    @DecimalMax("90.0")
+    private Double latitude;
+    
+    @DecimalMin("-180.0")
+    @DecimalMax("180.0")
+    private Double longitude;
+    
     @Column(nullable = false)
     private String status = "AVAILABLE";
     
@@ -66,14 +86,10 @@ public class Property {
     private List<Transaction> transactions;
     
     // Constructors
-    public Property() {
-        this.createdAt = LocalDateTime.now();
-        this.updatedAt = LocalDateTime.now();
-    }
+    public Property() {}
     
     public Property(String title, String description, BigDecimal price, String location, 
                    String propertyType, Integer bedrooms, Integer bathrooms, Double area, User developer) {
-        this();
         this.title = title;
         this.description = description;
         this.price = price;
@@ -158,6 +174,22 @@ public class Property {
         this.area = area;
     }
     
+    public Double getLatitude() {
+        return latitude;
+    }
+    
+    public void setLatitude(Double latitude) {
+        this.latitude = latitude;
+    }
+    
+    public Double getLongitude() {
+        return longitude;
+    }
+    
+    public void setLongitude(Double longitude) {
+        this.longitude = longitude;
+    }
+    
     public String getStatus() {
         return status;
     }
@@ -198,8 +230,21 @@ public class Property {
         this.transactions = transactions;
     }
     
+    // Stamped here rather than in the constructor, which Hibernate also runs for every row it loads.
+    // Microseconds, like the TIMESTAMP(6) columns, so snapshots taken from the entity match the stored row.
+    @PrePersist
+    public void prePersist() {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        if (this.createdAt == null) {
+            this.createdAt = now;
+        }
+        if (this.updatedAt == null) {
+            this.updatedAt = now;
+        }
+    }
+    
     @PreUpdate
     public void preUpdate() {
-        this.updatedAt = LocalDateTime.now();
+        this.updatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
     }
 }
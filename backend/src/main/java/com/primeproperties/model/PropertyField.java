@@ -0,0 +1,97 @@
+package com.primeproperties.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * PropertyResponse fields that can be requested with fields=, in response order,
+ * with the column each one is read from
+ */
+public enum PropertyField {
+    ID("id", "p.id", Long.class),
+    TITLE("title", "p.title", String.class),
+    DESCRIPTION("description", "p.description", String.class),
+    PRICE("price", "p.price", BigDecimal.class),
+    LOCATION("location", "p.location", String.class),
+    PROPERTY_TYPE("propertyType", "p.property_type", String.class),
+    BEDROOMS("bedrooms", "p.bedrooms", Integer.class),
+    BATHROOMS("bathrooms", "p.bathrooms", Integer.class),
+    AREA("area", "p.area", Double.class),
+    LATITUDE("latitude", "p.latitude", Double.class),
+    LONGITUDE("longitude", "p.longitude", Double.class),
+    STATUS("status", "p.status", String.class),
+    CREATED_AT("createdAt", "p.created_at", LocalDateTime.class),
+    UPDATED_AT("updatedAt", "p.updated_at", LocalDateTime.class),
+    DEVELOPER_ID("developerId", "p.developer_id", Long.class),
+    DEVELOPER_NAME("developerName", "u.name", String.class),
+    DEVELOPER_EMAIL("developerEmail", "u.email", String.class);
+
+    /**
+     * What a listing card shows; fields=card
+     */
+    public static final Set<PropertyField> CARD = Collections.unmodifiableSet(
+            EnumSet.of(ID, TITLE, PRICE, LOCATION, PROPERTY_TYPE, BEDROOMS, BATHROOMS, AREA, STATUS));
+
+    private final String name;
+    private final String column;
+    private final Class<?> type;
+
+    PropertyField(String name, String column, Class<?> type) {
+        this.name = name;
+        this.column = column;
+        this.type = type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     * Whether reading this field needs the developer's users row
+     */
+    public boolean isDeveloperField() {
+        return column.startsWith("u.");
+    }
+
+    /**
+     * Parse a fields= value: comma-separated field names, or the presets "card" and "full".
+     * The id is always included.
+     */
+    public static Set<PropertyField> parse(String fields) {
+        EnumSet<PropertyField> parsed = EnumSet.of(ID);
+        for (String token : fields.split(",")) {
+            String name = token.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (name.equalsIgnoreCase("card")) {
+                parsed.addAll(CARD);
+            } else if (name.equalsIgnoreCase("full")) {
+                parsed.addAll(EnumSet.allOf(PropertyField.class));
+            } else {
+                parsed.add(byName(name));
+            }
+        }
+        return parsed;
+    }
+
+    private static PropertyField byName(String name) {
+        for (PropertyField field : values()) {
+            if (field.name.equalsIgnoreCase(name)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown field: " + name);
+    }
+}
@@ -0,0 +1,122 @@
+package com.primeproperties.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDateTime;
+
+/**
+ * Metadata for one uploaded media file. The bytes live on disk, addressed by
+ * their SHA-256 hash, so identical uploads share a single file.
+ */
+@Entity
+@Table(name = "property_media", indexes = {
+        @Index(name = "idx_property_media_property_position", columnList = "property_id, position, id"),
+        @Index(name = "idx_property_media_hash", columnList = "content_hash")
+})
+public class PropertyMedia {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "property_media_seq")
+    @SequenceGenerator(name = "property_media_seq", sequenceName = "property_media_id_seq", allocationSize = 50)
+    private Long id;
+    
+    // Plain column rather than an association: media rows are cleaned up after the property is deleted
+    @NotNull
+    @Column(name = "property_id", nullable = false)
+    private Long propertyId;
+    
+    @NotBlank
+    @Size(max = 64)
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+    
+    @NotBlank
+    @Size(max = 100)
+    @Column(name = "content_type", nullable = false)
+    private String contentType;
+    
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+    
+    @Size(max = 255)
+    @Column(name = "original_filename")
+    private String originalFilename;
+    
+    @Column(nullable = false)
+    private int position;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    // Constructors
+    public PropertyMedia() {
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Long getPropertyId() {
+        return propertyId;
+    }
+    
+    public void setPropertyId(Long propertyId) {
+        this.propertyId = propertyId;
+    }
+    
+    public String getContentHash() {
+        return contentHash;
+    }
+    
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+    
+    public String getContentType() {
+        return contentType;
+    }
+    
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+    
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+    
+    public void setSizeBytes(long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+    
+    public String getOriginalFilename() {
+        return originalFilename;
+    }
+    
+    public void setOriginalFilename(String originalFilename) {
+        this.originalFilename = originalFilename;
+    }
+    
+    public int getPosition() {
+        return position;
+    }
+    
+    public void setPosition(int position) {
+        this.position = position;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
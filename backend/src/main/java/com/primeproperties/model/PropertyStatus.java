@@ -2,5 +2,7 @@ package com.primeproperties.model;
 
 public enum PropertyStatus {
     AVAILABLE,
-    SOLD
+    RESERVED,
+    SOLD,
+    WITHDRAWN
 }
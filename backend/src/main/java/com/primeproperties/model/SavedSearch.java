@@ -0,0 +1,136 @@
+package com.primeproperties.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "saved_searches", indexes = @Index(name = "idx_saved_searches_customer_created", columnList = "customer_id, created_at DESC"))
+public class SavedSearch {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "saved_searches_seq")
+    @SequenceGenerator(name = "saved_searches_seq", sequenceName = "saved_searches_id_seq", allocationSize = 50)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "customer_id", nullable = false)
+    @NotNull
+    private User customer;
+    
+    @NotBlank
+    @Size(max = 100)
+    private String name;
+    
+    // Null criteria match any value
+    @Size(max = 100)
+    private String location;
+    
+    @Size(max = 50)
+    @Column(name = "property_type")
+    private String propertyType;
+    
+    @Column(name = "min_price")
+    private BigDecimal minPrice;
+    
+    @Column(name = "max_price")
+    private BigDecimal maxPrice;
+    
+    @Column(name = "min_bedrooms")
+    private Integer minBedrooms;
+    
+    @Column(name = "max_bedrooms")
+    private Integer maxBedrooms;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+    
+    // Constructors
+    public SavedSearch() {
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public User getCustomer() {
+        return customer;
+    }
+    
+    public void setCustomer(User customer) {
+        this.customer = customer;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public void setName(String name) {
+        this.name = name;
+    }
+    
+    public String getLocation() {
+        return location;
+    }
+    
+    public void setLocation(String location) {
+        this.location = location;
+    }
+    
+    public String getPropertyType() {
+        return propertyType;
+    }
+    
+    public void setPropertyType(String propertyType) {
+        this.propertyType = propertyType;
+    }
+    
+    public BigDecimal getMinPrice() {
+        return minPrice;
+    }
+    
+    public void setMinPrice(BigDecimal minPrice) {
+        this.minPrice = minPrice;
+    }
+    
+    public BigDecimal getMaxPrice() {
+        return maxPrice;
+    }
+    
+    public void setMaxPrice(BigDecimal maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+    
+    public Integer getMinBedrooms() {
+        return minBedrooms;
+    }
+    
+    public void setMinBedrooms(Integer minBedrooms) {
+        this.minBedrooms = minBedrooms;
+    }
+    
+    public Integer getMaxBedrooms() {
+        return maxBedrooms;
+    }
+    
+    public void setMaxBedrooms(Integer maxBedrooms) {
+        this.maxBedrooms = maxBedrooms;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -7,11 +7,15 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_customer", columnList = "customer_id"),
+        @Index(name = "idx_transactions_property", columnList = "property_id")
+})
 public class Transaction {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_id_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -35,13 +39,9 @@ public class Transaction {
     private LocalDateTime createdAt;
     
     // Constructors
-    public Transaction() {
-        this.transactionDate = LocalDateTime.now();
-        this.createdAt = LocalDateTime.now();
-    }
+    public Transaction() {}
     
     public Transaction(User customer, Property property, BigDecimal amount) {
-        this();
         this.customer = customer;
         this.property = property;
         this.amount = amount;
@@ -95,4 +95,16 @@ public class Transaction {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+    
+    // Stamped on insert, not in the constructor that every loaded row runs through
+    @PrePersist
+    public void prePersist() {
+        LocalDateTime now = LocalDateTime.now();
+        if (this.transactionDate == null) {
+            this.transactionDate = now;
+        }
+        if (this.createdAt == null) {
+            this.createdAt = now;
+        }
+    }
 }
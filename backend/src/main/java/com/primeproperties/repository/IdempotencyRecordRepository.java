@@ -0,0 +1,43 @@
+package com.primeproperties.repository;
+
+import com.primeproperties.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+    // Derived query without a read-only transaction, so it is answered by the primary, never a lagging replica
+    Optional<IdempotencyRecord> findByRecordKeyAndExpiresAtAfter(String recordKey, LocalDateTime now);
+
+    // Inserts an in-progress record (status 0) unless the key is taken; 1 when this caller now owns the key
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO idempotency_records (record_key, fingerprint, status_code, created_at, expires_at) " +
+            "VALUES (:recordKey, :fingerprint, 0, :now, :expiresAt) ON CONFLICT (record_key) DO NOTHING",
+            nativeQuery = true)
+    int claim(@Param("recordKey") String recordKey, @Param("fingerprint") String fingerprint,
+              @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+
+    // Frees a key whose request failed, unless it was completed meanwhile
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.recordKey = :recordKey AND r.statusCode = 0")
+    int releaseClaim(@Param("recordKey") String recordKey);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.recordKey = :recordKey AND r.expiresAt < :now")
+    int deleteExpired(@Param("recordKey") String recordKey, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
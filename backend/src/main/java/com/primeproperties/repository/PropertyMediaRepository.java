@@ -0,0 +1,17 @@
+package com.primeproperties.repository;
+
+import com.primeproperties.model.PropertyMedia;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PropertyMediaRepository extends JpaRepository<PropertyMedia, Long> {
+    List<PropertyMedia> findByPropertyIdOrderByPositionAscIdAsc(Long propertyId);
+    Optional<PropertyMedia> findByIdAndPropertyId(Long id, Long propertyId);
+    Optional<PropertyMedia> findFirstByContentHash(String contentHash);
+    boolean existsByContentHash(String contentHash);
+    long countByPropertyId(Long propertyId);
+}
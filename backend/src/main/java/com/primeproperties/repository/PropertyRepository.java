@@ -1,15 +1,62 @@
 package com.primeproperties.repository;
 
+import com.primeproperties.dto.PropertyResponse;
+import com.primeproperties.model.CacheRegions;
 import com.primeproperties.model.Property;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface PropertyRepository extends JpaRepository<Property, Long> {
+public interface PropertyRepository extends JpaRepository<Property, Long>, PropertyRepositoryCustom {
+    // Read paths select straight into the DTO: no entities, lazy proxies or persistence-context entries
+    String SELECT_RESPONSE = "SELECT new com.primeproperties.dto.PropertyResponse(p.id, p.title, p.description, " +
+            "p.price, p.location, p.propertyType, p.bedrooms, p.bathrooms, p.area, p.latitude, p.longitude, " +
+            "p.status, p.createdAt, p.updatedAt, d.id, d.name, d.email) FROM Property p JOIN p.developer d";
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.PROPERTIES_QUERIES)
+    })
     List<Property> findByStatus(String status);
+
     List<Property> findByStatusNot(String status);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.PROPERTIES_QUERIES)
+    })
     List<Property> findByDeveloperId(Long developerId);
+
     List<Property> findByDeveloperIdAndStatus(Long developerId, String status);
+
+    @Query("SELECT p.id FROM Property p WHERE p.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.developer.id FROM Property p WHERE p.id = :id")
+    Optional<Long> findDeveloperIdById(@Param("id") Long id);
+
+    @Query(SELECT_RESPONSE)
+    List<PropertyResponse> findAllResponses();
+
+    @Query(SELECT_RESPONSE + " WHERE p.id = :id")
+    Optional<PropertyResponse> findResponseById(@Param("id") Long id);
+
+    @Query(SELECT_RESPONSE + " WHERE p.id IN :ids")
+    List<PropertyResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.PROPERTIES_QUERIES)
+    })
+    @Query(SELECT_RESPONSE + " WHERE d.id = :developerId")
+    List<PropertyResponse> findResponsesByDeveloperId(@Param("developerId") Long developerId);
 }
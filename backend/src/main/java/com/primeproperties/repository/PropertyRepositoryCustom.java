@@ -0,0 +1,44 @@
+package com.primeproperties.repository;
+
+import com.primeproperties.event.PropertySnapshot;
+import com.primeproperties.model.PropertyField;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Set-based property operations that bypass entity hydration
+ */
+public interface PropertyRepositoryCustom {
+
+    /**
+     * Move the given properties of one developer to a new status in a single UPDATE.
+     * Rows owned by other developers, already in the target status, not in
+     * expectedStatus (when given) or with a purchase transaction are left untouched.
+     * Returns every row that changed, carrying its previous status and new updated_at.
+     */
+    List<PropertySnapshot> updateStatusForDeveloper(Long developerId, Collection<Long> propertyIds,
+                                                    String status, String expectedStatus);
+
+    /**
+     * Atomically flip one AVAILABLE property to SOLD with a conditional UPDATE.
+     * Returns the sold row, or null when the property does not exist or was no
+     * longer AVAILABLE (a concurrent buyer won).
+     */
+    PropertySnapshot markSoldIfAvailable(Long propertyId);
+
+    /**
+     * Batch form of markSoldIfAvailable: one UPDATE for many properties.
+     * Returns only the rows that were AVAILABLE and are now SOLD.
+     */
+    List<PropertySnapshot> markSoldIfAvailable(Collection<Long> propertyIds);
+
+    /**
+     * Read only the given fields, as field name to value in PropertyField order, ordered by id.
+     * Filters by developer and/or ids when those are not null. Unrequested columns
+     * (typically description) are never read, and users is only joined for developer fields.
+     */
+    List<Map<String, Object>> findFields(Set<PropertyField> fields, Long developerId, Collection<Long> ids);
+}
@@ -0,0 +1,151 @@
+package com.primeproperties.repository;
+
+import com.primeproperties.event.PropertySnapshot;
+import com.primeproperties.model.PropertyField;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JDBC implementation of PropertyRepositoryCustom
+ */
+public class PropertyRepositoryImpl implements PropertyRepositoryCustom {
+
+    /**
+     * Columns expected by mapSnapshot, usable in SELECT lists and RETURNING clauses
+     */
+    public static final String SNAPSHOT_COLUMNS =
+            "id, developer_id, price, location, property_type, bedrooms, bathrooms, area, status, updated_at, " +
+            "latitude, longitude";
+
+    // The FOR UPDATE sub-select captures the old status inside the same statement;
+    // a unit a customer has bought keeps its status, so it can never be sold twice
+    private static final String UPDATE_STATUS_SQL =
+            "UPDATE properties p SET status = ?, updated_at = now() " +
+            "FROM (SELECT id, status FROM properties " +
+            "      WHERE developer_id = ? AND id = ANY(?) AND status <> ? AND (?::varchar IS NULL OR status = ?) " +
+            "      AND NOT EXISTS (SELECT 1 FROM transactions t WHERE t.property_id = properties.id) " +
+            "      FOR UPDATE) old " +
+            "WHERE p.id = old.id " +
+            "RETURNING p.id, p.developer_id, p.price, p.location, p.property_type, p.bedrooms, p.bathrooms, " +
+            "p.area, old.status, p.updated_at, p.latitude, p.longitude";
+
+    // Concurrent buyers block on the row lock, then re-check the status and update nothing
+    private static final String MARK_SOLD_SQL =
+            "UPDATE properties SET status = 'SOLD', updated_at = now() " +
+            "WHERE id = ANY(?) AND status = 'AVAILABLE' " +
+            "RETURNING " + SNAPSHOT_COLUMNS;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<PropertySnapshot> updateStatusForDeveloper(Long developerId, Collection<Long> propertyIds,
+                                                           String status, String expectedStatus) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(UPDATE_STATUS_SQL);
+            statement.setString(1, status);
+            statement.setLong(2, developerId);
+            statement.setArray(3, connection.createArrayOf("bigint", propertyIds.toArray()));
+            statement.setString(4, status);
+            statement.setString(5, expectedStatus);
+            statement.setString(6, expectedStatus);
+            return statement;
+        }, PropertyRepositoryImpl::mapSnapshot);
+    }
+
+    @Override
+    public PropertySnapshot markSoldIfAvailable(Long propertyId) {
+        List<PropertySnapshot> sold = markSoldIfAvailable(List.of(propertyId));
+        return sold.isEmpty() ? null : sold.get(0);
+    }
+
+    @Override
+    public List<PropertySnapshot> markSoldIfAvailable(Collection<Long> propertyIds) {
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(MARK_SOLD_SQL);
+            statement.setArray(1, connection.createArrayOf("bigint", propertyIds.toArray()));
+            return statement;
+        }, PropertyRepositoryImpl::mapSnapshot);
+    }
+
+    @Override
+    public List<Map<String, Object>> findFields(Set<PropertyField> fields, Long developerId, Collection<Long> ids) {
+        List<PropertyField> columns = new ArrayList<>(fields);
+        columns.sort(Comparator.naturalOrder());
+        String sql = fieldsSql(columns, developerId != null, ids != null);
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            int index = 1;
+            if (developerId != null) {
+                statement.setLong(index++, developerId);
+            }
+            if (ids != null) {
+                statement.setArray(index, connection.createArrayOf("bigint", ids.toArray()));
+            }
+            return statement;
+        }, (rs, rowNum) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < columns.size(); i++) {
+                row.put(columns.get(i).getName(), rs.getObject(i + 1, columns.get(i).getType()));
+            }
+            return row;
+        });
+    }
+
+    static String fieldsSql(List<PropertyField> columns, boolean byDeveloper, boolean byIds) {
+        StringBuilder sql = new StringBuilder("SELECT ");
+        boolean joinDeveloper = false;
+        for (int i = 0; i < columns.size(); i++) {
+            sql.append(i > 0 ? ", " : "").append(columns.get(i).getColumn());
+            joinDeveloper |= columns.get(i).isDeveloperField();
+        }
+        sql.append(" FROM properties p");
+        if (joinDeveloper) {
+            sql.append(" JOIN users u ON u.id = p.developer_id");
+        }
+        List<String> conditions = new ArrayList<>();
+        if (byDeveloper) {
+            conditions.add("p.developer_id = ?");
+        }
+        if (byIds) {
+            conditions.add("p.id = ANY(?)");
+        }
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        return sql.append(" ORDER BY p.id").toString();
+    }
+
+    /**
+     * Map a row selected with SNAPSHOT_COLUMNS
+     */
+    public static PropertySnapshot mapSnapshot(ResultSet rs, int rowNum) throws SQLException {
+        Timestamp updatedAt = rs.getTimestamp(10);
+        return new PropertySnapshot(
+                rs.getLong(1),
+                rs.getLong(2),
+                rs.getBigDecimal(3),
+                rs.getString(4),
+                rs.getString(5),
+                rs.getInt(6),
+                rs.getInt(7),
+                rs.getDouble(8),
+                rs.getString(9),
+                updatedAt != null ? updatedAt.toLocalDateTime() : null,
+                rs.getObject(11, Double.class),
+                rs.getObject(12, Double.class)
+        );
+    }
+}
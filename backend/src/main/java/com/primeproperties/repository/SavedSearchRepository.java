@@ -0,0 +1,15 @@
+package com.primeproperties.repository;
+
+import com.primeproperties.model.SavedSearch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SavedSearchRepository extends JpaRepository<SavedSearch, Long> {
+    List<SavedSearch> findByCustomerIdOrderByCreatedAtDesc(Long customerId);
+    Optional<SavedSearch> findByIdAndCustomerId(Long id, Long customerId);
+    long countByCustomerId(Long customerId);
+}
@@ -1,17 +1,37 @@
 package com.primeproperties.repository;
 
+import com.primeproperties.dto.TransactionResponse;
 import com.primeproperties.model.Transaction;
 import com.primeproperties.model.User;
 import com.primeproperties.model.Property;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
+// History lookups are read-only (routed to a replica when configured); save/delete keep their own transactions
 @Repository
+@Transactional(readOnly = true)
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
     List<Transaction> findByCustomer(User customer);
     List<Transaction> findByProperty(Property property);
     List<Transaction> findByCustomerId(Long customerId);
     List<Transaction> findByPropertyId(Long propertyId);
+
+    // History is served as DTOs selected by constructor expression, without hydrating the entities
+    String SELECT_RESPONSE = "SELECT new com.primeproperties.dto.TransactionResponse(t.id, t.customer.id, " +
+            "p.id, p.title, t.amount, t.transactionDate, t.createdAt) FROM Transaction t JOIN t.property p";
+
+    @Query(SELECT_RESPONSE + " WHERE t.id = :id")
+    Optional<TransactionResponse> findResponseById(@Param("id") Long id);
+
+    @Query(SELECT_RESPONSE + " WHERE t.customer.id = :customerId")
+    List<TransactionResponse> findResponsesByCustomerId(@Param("customerId") Long customerId);
+
+    @Query(SELECT_RESPONSE + " WHERE p.id = :propertyId")
+    List<TransactionResponse> findResponsesByPropertyId(@Param("propertyId") Long propertyId);
 }
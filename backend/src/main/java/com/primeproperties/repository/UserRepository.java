@@ -1,15 +1,23 @@
 package com.primeproperties.repository;
 
+import com.primeproperties.model.CacheRegions;
 import com.primeproperties.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByUsername(String username);
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheRegions.USERS_QUERIES)
+    })
     Optional<User> findByEmail(String email);
+
     Optional<User> findByGoogleId(String googleId);
     Boolean existsByUsername(String username);
     Boolean existsByEmail(String email);
@@ -0,0 +1,17 @@
+package com.primeproperties.repository;
+
+import com.primeproperties.model.User;
+
+import java.util.Optional;
+
+/**
+ * User lookups served from the Hibernate second-level cache
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Find a user by username through the natural-id cache, so repeated
+     * lookups of the same username need no query
+     */
+    Optional<User> findByUsername(String username);
+}
@@ -0,0 +1,262 @@
+package com.primeproperties.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.primeproperties.config.ProxyConfig;
+import com.primeproperties.config.RateLimitProperties;
+import com.primeproperties.util.TokenBucketMap;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token-bucket rate limiting for authentication and write endpoints.
+ * Runs inside the security filter chain right after JWT authentication, so
+ * rejected requests never reach a controller, BCrypt or the connection pool.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String BODY_ACCOUNT_PREFIX = "body:";
+    private static final String PRINCIPAL_ACCOUNT = "principal";
+
+    // Account names are only read from small JSON bodies
+    private static final int MAX_INSPECTED_BODY_BYTES = 16 * 1024;
+
+    @Autowired
+    private RateLimitProperties properties;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.proxy.trusted-hops:0}")
+    private int trustedHops;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private TokenBucketMap buckets;
+
+    @PostConstruct
+    public void init() {
+        buckets = new TokenBucketMap(properties.getStripes(), properties.getMaxKeys());
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.eviction-millis:60000}")
+    public void evictIdleBuckets() {
+        buckets.evictIdle(System.nanoTime());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Map.Entry<String, RateLimitProperties.Route> match = properties.isEnabled() ? findRoute(request) : null;
+        if (match == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String name = match.getKey();
+        RateLimitProperties.Route route = match.getValue();
+        long now = System.nanoTime();
+
+        long wait = buckets.tryAcquire(name + ":ip", ProxyConfig.clientIp(request, trustedHops),
+                route.getIpCapacity(), route.getIpRefillPerMinute() / 60.0, now);
+
+        HttpServletRequest forwarded = request;
+        if (wait == 0 && !route.getAccount().isBlank()) {
+            String account;
+            if (route.getAccount().startsWith(BODY_ACCOUNT_PREFIX)) {
+                CachedBodyRequest cached = CachedBodyRequest.wrap(request, MAX_INSPECTED_BODY_BYTES);
+                forwarded = cached;
+                account = bodyField(cached, route.getAccount().substring(BODY_ACCOUNT_PREFIX.length()));
+            } else {
+                account = PRINCIPAL_ACCOUNT.equals(route.getAccount()) ? principal() : null;
+            }
+            if (account != null) {
+                wait = buckets.tryAcquire(name + ":account", account.trim().toLowerCase(Locale.ROOT),
+                        route.getAccountCapacity(), route.getAccountRefillPerMinute() / 60.0, now);
+            }
+        }
+
+        if (wait > 0) {
+            reject(response, wait);
+            return;
+        }
+        filterChain.doFilter(forwarded, response);
+    }
+
+    private Map.Entry<String, RateLimitProperties.Route> findRoute(HttpServletRequest request) {
+        String path = request.getServletPath() + (request.getPathInfo() != null ? request.getPathInfo() : "");
+        String method = request.getMethod();
+        Comparator<String> specificity = pathMatcher.getPatternComparator(path);
+        Map.Entry<String, RateLimitProperties.Route> best = null;
+        for (Map.Entry<String, RateLimitProperties.Route> entry : properties.getRoutes().entrySet()) {
+            RateLimitProperties.Route route = entry.getValue();
+            if (route.getPattern() == null
+                    || route.getMethods().stream().noneMatch(method::equalsIgnoreCase)
+                    || !pathMatcher.match(route.getPattern(), path)) {
+                continue;
+            }
+            if (best == null || specificity.compare(route.getPattern(), best.getValue().getPattern()) < 0) {
+                best = entry;
+            }
+        }
+        return best;
+    }
+
+    private String bodyField(CachedBodyRequest request, String field) {
+        if (request.body == null || request.body.length == 0) {
+            return null;
+        }
+        try {
+            JsonNode value = objectMapper.readTree(request.body).get(field);
+            return value != null && value.isTextual() && !value.asText().isBlank() ? value.asText() : null;
+        } catch (IOException e) {
+            // Malformed JSON: only the IP bucket applies, the controller rejects the body
+            return null;
+        }
+    }
+
+    private String principal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+        response.setStatus(429);
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write(objectMapper.writeValueAsString(
+                Map.of("message", "Too many requests, please retry in " + retryAfterSeconds + " seconds")));
+    }
+
+    /**
+     * Request whose first bytes have been read up front and are replayed to the controller
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        // Null when the body was too large to inspect
+        private final byte[] body;
+        private final byte[] prefix;
+        private final InputStream rest;
+        // One stream and reader per request, as the container would hand out
+        private ServletInputStream stream;
+        private BufferedReader reader;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] prefix, InputStream rest) {
+            super(request);
+            this.body = rest == null ? prefix : null;
+            this.prefix = prefix;
+            this.rest = rest;
+        }
+
+        static CachedBodyRequest wrap(HttpServletRequest request, int maxBytes) throws IOException {
+            if (request.getContentLengthLong() > maxBytes) {
+                return new CachedBodyRequest(request, new byte[0], request.getInputStream());
+            }
+            InputStream input = request.getInputStream();
+            byte[] prefix = input.readNBytes(maxBytes + 1);
+            return new CachedBodyRequest(request, prefix, prefix.length > maxBytes ? input : null);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            if (stream == null) {
+                if (prefix.length == 0 && rest instanceof ServletInputStream container) {
+                    // Nothing was read up front: the container's own stream, async reads included
+                    stream = container;
+                } else {
+                    InputStream replay = new ByteArrayInputStream(prefix);
+                    stream = new ReplayInputStream(rest == null ? replay : new SequenceInputStream(replay, rest));
+                }
+            }
+            return stream;
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            if (reader == null) {
+                String encoding = getCharacterEncoding();
+                reader = new BufferedReader(new InputStreamReader(getInputStream(),
+                        encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+            }
+            return reader;
+        }
+    }
+
+    private static class ReplayInputStream extends ServletInputStream {
+        private final InputStream source;
+        private boolean finished;
+
+        ReplayInputStream(InputStream source) {
+            this.source = source;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int next = source.read();
+            finished = next < 0;
+            return next;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = source.read(buffer, offset, length);
+            finished = read < 0;
+            return read;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        // The bytes are already at hand (or readable without waiting), so the listener is called right away
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            try {
+                readListener.onDataAvailable();
+                if (finished) {
+                    readListener.onAllDataRead();
+                }
+            } catch (IOException e) {
+                readListener.onError(e);
+            }
+        }
+    }
+}
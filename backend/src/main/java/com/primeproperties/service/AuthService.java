@@ -1,5 +1,7 @@
 package com.primeproperties.service;
 
+import com.primeproperties.config.Workload;
+import com.primeproperties.config.WorkloadPool;
 import com.primeproperties.dto.LoginRequest;
 import com.primeproperties.dto.RegisterRequest;
 import com.primeproperties.model.User;
@@ -16,6 +18,7 @@ import org.springframework.stereotype.Service;
  * Authentication Service for user management
  */
 @Service
+@WorkloadPool(Workload.AUTH)
 public class AuthService {
 
     @Autowired
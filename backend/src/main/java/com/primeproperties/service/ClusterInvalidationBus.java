@@ -0,0 +1,267 @@
+package com.primeproperties.service;
+
+import com.primeproperties.event.InvalidationListener;
+import com.primeproperties.event.InvalidationMessage;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps in-process caches coherent across backend nodes with PostgreSQL LISTEN/NOTIFY.
+ * A single thread owns a dedicated connection outside the Hikari pool: it listens on
+ * the channel and, every coalesce interval, sends the invalidations published since the
+ * last round as a few compact NOTIFY payloads (later messages for the same entity
+ * replace earlier ones). After every (re)connect local caches are resynced, since
+ * notifications sent while disconnected are lost, and while disconnected isCoherent()
+ * is false so caches read through to the database.
+ */
+@Service
+public class ClusterInvalidationBus {
+
+    public static final String PROPERTY = "property";
+    public static final String USER = "user";
+    public static final String SAVED_SEARCH = "saved-search";
+    // Any property of the developer (the id) was created, changed or deleted
+    public static final String PROPERTY_LISTINGS = "property-listings";
+
+    // NOTIFY payloads must stay below 8000 bytes
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+
+    @Value("${app.cache.invalidation.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.cache.invalidation.channel:prime_invalidation}")
+    private String channel;
+
+    @Value("${app.cache.invalidation.coalesce-millis:50}")
+    private int coalesceMillis;
+
+    @Value("${app.cache.invalidation.max-pending:10000}")
+    private int maxPending;
+
+    @Value("${app.cache.invalidation.reconnect-millis:2000}")
+    private long reconnectMillis;
+
+    @Value("${app.cache.invalidation.keepalive-millis:15000}")
+    private long keepaliveMillis;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    // Resolved lazily: the caches themselves depend on this bus
+    @Autowired
+    private ObjectProvider<InvalidationListener> listenerProvider;
+
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+
+    // Guarded by itself
+    private final LinkedHashMap<String, InvalidationMessage> pending = new LinkedHashMap<>();
+    private boolean pendingOverflow;
+
+    private volatile Map<String, List<InvalidationListener>> listenersByType = Map.of();
+    private volatile boolean connected;
+    private volatile boolean running;
+    private Thread worker;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Map<String, List<InvalidationListener>> byType = new HashMap<>();
+        listenerProvider.orderedStream().forEach(listener ->
+                byType.computeIfAbsent(listener.getEntityType(), type -> new ArrayList<>()).add(listener));
+        listenersByType = byType;
+        if (!enabled || !channel.matches("[a-z_][a-z0-9_]*")) {
+            System.out.println("⚠️ Cluster cache invalidation disabled; caches are local to this node");
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, "invalidation-bus");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * True when caches may serve entries: either this node runs alone or it is
+     * currently listening, so it hears every invalidation from other nodes
+     */
+    public boolean isCoherent() {
+        return !enabled || connected;
+    }
+
+    /**
+     * Invalidate an entity on this node and every other one. Inside a transaction
+     * nothing happens until it commits; version is 0 when unknown.
+     */
+    public void publish(String entityType, String id, long version) {
+        InvalidationMessage message = new InvalidationMessage(entityType, id, version);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    send(message);
+                }
+            });
+        } else {
+            send(message);
+        }
+    }
+
+    private void send(InvalidationMessage message) {
+        dispatch(message);
+        if (!running) {
+            return;
+        }
+        synchronized (pending) {
+            if (pendingOverflow) {
+                return;
+            }
+            pending.merge(message.key(), message,
+                    (previous, next) -> previous.getVersion() >= next.getVersion() ? previous : next);
+            if (pending.size() > maxPending) {
+                // Too much to send one by one: tell every node to resync instead
+                pending.clear();
+                pendingOverflow = true;
+            }
+        }
+    }
+
+    private void run() {
+        String url = dataSourceProperties.determineUrl();
+        String username = dataSourceProperties.determineUsername();
+        String password = dataSourceProperties.determinePassword();
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+
+                // Listening again: anything missed while disconnected is dropped with a full resync
+                resyncLocal();
+                connected = true;
+                System.out.println("📡 Cache invalidation bus listening on " + channel + " as node " + nodeId);
+
+                long lastKeepalive = System.currentTimeMillis();
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(coalesceMillis);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                    flush(connection);
+                    if (System.currentTimeMillis() - lastKeepalive > keepaliveMillis) {
+                        try (Statement statement = connection.createStatement()) {
+                            statement.execute("SELECT 1");
+                        }
+                        lastKeepalive = System.currentTimeMillis();
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    System.err.println("❌ Cache invalidation bus disconnected: " + e.getMessage());
+                }
+            } finally {
+                connected = false;
+            }
+            sleepBeforeReconnect();
+        }
+    }
+
+    private void flush(Connection connection) throws SQLException {
+        List<InvalidationMessage> batch;
+        synchronized (pending) {
+            if (pending.isEmpty() && !pendingOverflow) {
+                return;
+            }
+            batch = pendingOverflow ? List.of(InvalidationMessage.resync()) : new ArrayList<>(pending.values());
+            pending.clear();
+            pendingOverflow = false;
+        }
+        try (PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            for (String payload : InvalidationMessage.encode(nodeId, batch, MAX_PAYLOAD_BYTES)) {
+                statement.setString(1, channel);
+                statement.setString(2, payload);
+                statement.execute();
+            }
+        } catch (SQLException e) {
+            // Peers may have missed part of the batch; have them resync once reconnected
+            synchronized (pending) {
+                pending.clear();
+                pendingOverflow = true;
+            }
+            throw e;
+        }
+    }
+
+    private void receive(String payload) {
+        if (payload == null || nodeId.equals(InvalidationMessage.node(payload))) {
+            return;
+        }
+        for (InvalidationMessage message : InvalidationMessage.decode(payload)) {
+            dispatch(message);
+        }
+    }
+
+    private void dispatch(InvalidationMessage message) {
+        if (message.isResync()) {
+            resyncLocal();
+            return;
+        }
+        for (InvalidationListener listener : listenersByType.getOrDefault(message.getEntityType(), List.of())) {
+            try {
+                listener.invalidate(message.getId(), message.getVersion());
+            } catch (RuntimeException e) {
+                System.err.println("❌ Cache invalidation failed for " + message.key() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private void resyncLocal() {
+        for (List<InvalidationListener> listeners : listenersByType.values()) {
+            for (InvalidationListener listener : listeners) {
+                listener.resync();
+            }
+        }
+    }
+
+    private void sleepBeforeReconnect() {
+        if (!running) {
+            return;
+        }
+        try {
+            Thread.sleep(reconnectMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -43,7 +43,6 @@ public class DataInitializationService implements CommandLineRunner {
         try {
             // Create Developer User
             User developer = new User();
-            developer.setId(1L);
             developer.setUsername("developer");
             developer.setName("Developer User");
             developer.setEmail("developer@prime.com");
@@ -55,7 +54,6 @@ public class DataInitializationService implements CommandLineRunner {
 
             // Create Customer User
             User customer = new User();
-            customer.setId(2L);
             customer.setUsername("customer");
             customer.setName("Customer User");
             customer.setEmail("customer@prime.com");
@@ -0,0 +1,142 @@
+package com.primeproperties.service;
+
+import com.primeproperties.dto.CacheStatisticsResponse;
+import com.primeproperties.event.InvalidationListener;
+import com.primeproperties.model.CacheRegions;
+import com.primeproperties.model.Property;
+import com.primeproperties.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.ehcache.config.ResourcePools;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.SizedResourcePool;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Maintenance and statistics for the Hibernate second-level cache.
+ * Hibernate keeps its regions in step with entity writes made on this node; JDBC
+ * writes (bulk status updates, purchases, imports) and writes on other nodes reach
+ * the regions through ClusterInvalidationBus instead.
+ */
+@Service
+public class EntityCacheService implements InvalidationListener {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Receives PROPERTY_LISTINGS: any property was created, changed or deleted
+     */
+    @Override
+    public String getEntityType() {
+        return ClusterInvalidationBus.PROPERTY_LISTINGS;
+    }
+
+    @Override
+    public void invalidate(String id, long version) {
+        cache().evictQueryRegion(CacheRegions.PROPERTIES_QUERIES);
+    }
+
+    @Override
+    public void resync() {
+        cache().evictAllRegions();
+    }
+
+    /**
+     * Drop one property from the entity region
+     */
+    public void evictProperty(Long id) {
+        cache().evictEntityData(Property.class, id);
+    }
+
+    /**
+     * Drop one user, the username lookups and cached email queries
+     */
+    public void evictUser(Long id) {
+        CacheImplementor cache = cache();
+        cache.evictEntityData(User.class, id);
+        // Natural-id entries are keyed by username, which the sender does not know
+        cache.evictNaturalIdData(User.class);
+        cache.evictQueryRegion(CacheRegions.USERS_QUERIES);
+    }
+
+    /**
+     * Get hit, miss and put counts with current size and capacity for every region
+     */
+    public CacheStatisticsResponse getStatistics() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Statistics statistics = sessionFactory.getStatistics();
+        RegionFactory regionFactory = sessionFactory.getCache().getRegionFactory();
+        if (!(regionFactory instanceof JCacheRegionFactory jcache)) {
+            return new CacheStatisticsResponse(false, statistics.isStatisticsEnabled(), List.of());
+        }
+
+        CacheManager cacheManager = jcache.getCacheManager();
+        List<CacheStatisticsResponse.RegionStatistics> regions = new ArrayList<>();
+        TreeSet<String> names = new TreeSet<>();
+        cacheManager.getCacheNames().forEach(names::add);
+        for (String name : names) {
+            Cache<Object, Object> cache = cacheManager.getCache(name);
+            if (cache == null) {
+                continue;
+            }
+            CacheRegionStatistics region = regionStatistics(statistics, name);
+            long hits = region != null ? region.getHitCount() : 0;
+            long misses = region != null ? region.getMissCount() : 0;
+            long puts = region != null ? region.getPutCount() : 0;
+            regions.add(new CacheStatisticsResponse.RegionStatistics(
+                    name, hits, misses, puts,
+                    hits + misses > 0 ? (double) hits / (hits + misses) : 0,
+                    countEntries(cache), heapCapacity(cache)));
+        }
+        return new CacheStatisticsResponse(true, statistics.isStatisticsEnabled(), regions);
+    }
+
+    private CacheImplementor cache() {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class).getCache();
+    }
+
+    // JCache exposes no size; regions are small enough to count for an admin request
+    private static long countEntries(Cache<Object, Object> cache) {
+        long entries = 0;
+        for (Cache.Entry<Object, Object> ignored : cache) {
+            entries++;
+        }
+        return entries;
+    }
+
+    private static String heapCapacity(Cache<Object, Object> cache) {
+        try {
+            ResourcePools pools = cache.unwrap(org.ehcache.Cache.class).getRuntimeConfiguration().getResourcePools();
+            SizedResourcePool heap = pools.getPoolForResource(ResourceType.Core.HEAP);
+            return heap != null ? heap.getSize() + " " + heap.getUnit() : null;
+        } catch (IllegalArgumentException e) {
+            // Not an Ehcache-backed cache
+            return null;
+        }
+    }
+
+    private static CacheRegionStatistics regionStatistics(Statistics statistics, String region) {
+        if (!statistics.isStatisticsEnabled()) {
+            return null;
+        }
+        try {
+            return statistics.getCacheRegionStatistics(region);
+        } catch (IllegalArgumentException e) {
+            // Query regions are only built by Hibernate on first use
+            return null;
+        }
+    }
+}
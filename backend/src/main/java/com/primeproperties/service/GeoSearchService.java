@@ -0,0 +1,129 @@
+package com.primeproperties.service;
+
+import com.primeproperties.config.Workload;
+import com.primeproperties.config.WorkloadPool;
+import com.primeproperties.dto.GeoSearchResponse;
+import com.primeproperties.dto.PropertyResponse;
+import com.primeproperties.event.PropertyChangeEvent;
+import com.primeproperties.event.PropertySnapshot;
+import com.primeproperties.util.GeoGridIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Radius and bounding-box search over AVAILABLE listings with coordinates,
+ * served from an in-memory grid index kept in sync with property change events
+ */
+@Service
+public class GeoSearchService {
+
+    private static final String INDEXED_STATUS = "AVAILABLE";
+
+    private static final String LOAD_SQL =
+            "SELECT id, latitude, longitude, price, property_type FROM properties " +
+            "WHERE status = 'AVAILABLE' AND latitude IS NOT NULL AND longitude IS NOT NULL";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PropertyChangeJournal propertyChangeJournal;
+
+    @Autowired
+    private PropertyService propertyService;
+
+    private final double cellDegrees;
+    private final Object lock = new Object();
+    private volatile GeoGridIndex index;
+
+    public GeoSearchService(@Value("${app.geo.cell-degrees:0.1}") double cellDegrees) {
+        this.cellDegrees = cellDegrees;
+        this.index = new GeoGridIndex(cellDegrees);
+    }
+
+    /**
+     * Rebuild the index from the change journal's catalog, or the properties table
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @WorkloadPool(Workload.BATCH)
+    public void rebuild() {
+        synchronized (lock) {
+            GeoGridIndex rebuilt = new GeoGridIndex(cellDegrees);
+            boolean replayed = propertyChangeJournal.replayCatalog(snapshot -> {
+                if (INDEXED_STATUS.equals(snapshot.getStatus()) && snapshot.hasCoordinates()) {
+                    rebuilt.upsert(snapshot.getId(), snapshot.getLatitude(), snapshot.getLongitude(),
+                            snapshot.getPrice().doubleValue(), snapshot.getPropertyType());
+                }
+            });
+            if (!replayed) {
+                jdbcTemplate.query(LOAD_SQL, (RowCallbackHandler) rs -> rebuilt.upsert(
+                        rs.getLong("id"),
+                        rs.getDouble("latitude"),
+                        rs.getDouble("longitude"),
+                        rs.getBigDecimal("price").doubleValue(),
+                        rs.getString("property_type")));
+            }
+            index = rebuilt;
+            System.out.println("🗺️ Geo index rebuilt: " + rebuilt.size() + " listings");
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChange(PropertyChangeEvent event) {
+        synchronized (lock) {
+            for (PropertyChangeEvent.Change change : event.getChanges()) {
+                PropertySnapshot after = change.getAfter();
+                if (after != null && INDEXED_STATUS.equals(after.getStatus()) && after.hasCoordinates()) {
+                    index.upsert(after.getId(), after.getLatitude(), after.getLongitude(),
+                            after.getPrice().doubleValue(), after.getPropertyType());
+                } else {
+                    index.remove(change.getId());
+                }
+            }
+        }
+    }
+
+    /**
+     * Listings within radiusMeters of a point, nearest first
+     */
+    public GeoSearchResponse searchRadius(double latitude, double longitude, double radiusMeters,
+                                          GeoGridIndex.Filter filter, int limit) {
+        return toResponse(index.searchRadius(latitude, longitude, radiusMeters, filter, limit), limit);
+    }
+
+    /**
+     * Listings inside a bounding box (west may exceed east across the antimeridian)
+     */
+    public GeoSearchResponse searchBox(double south, double west, double north, double east,
+                                       GeoGridIndex.Filter filter, int limit) {
+        return toResponse(index.searchBox(south, west, north, east, filter, limit), limit);
+    }
+
+    private GeoSearchResponse toResponse(GeoGridIndex.Result result, int limit) {
+        List<Long> ids = result.getHits().stream().map(GeoGridIndex.Hit::getId).toList();
+        Map<Long, PropertyResponse> properties = propertyService.getPropertiesByIds(ids).stream()
+                .collect(Collectors.toMap(PropertyResponse::getId, Function.identity()));
+
+        List<GeoSearchResponse.Result> results = new ArrayList<>();
+        for (GeoGridIndex.Hit hit : result.getHits()) {
+            PropertyResponse property = properties.get(hit.getId());
+            if (property != null) {
+                Double distance = Double.isNaN(hit.getDistanceMeters()) ? null : hit.getDistanceMeters();
+                results.add(new GeoSearchResponse.Result(property, distance));
+            }
+        }
+        return new GeoSearchResponse(result.getTotalMatches(), result.getTotalMatches() > limit, results);
+    }
+}
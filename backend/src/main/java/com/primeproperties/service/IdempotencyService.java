@@ -0,0 +1,290 @@
+package com.primeproperties.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.primeproperties.model.IdempotencyRecord;
+import com.primeproperties.repository.IdempotencyRecordRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key support for create endpoints.
+ * The first request with a key runs and its response is recorded together with
+ * a fingerprint of the request; retries with the same key replay that response
+ * instead of running again. Records live in a bounded, TTL-evicted in-memory
+ * map and, when app.idempotency.persist is on, in idempotency_records as well.
+ * In that mode a key is claimed there with an insert before the request runs,
+ * so only one instance ever runs it.
+ * Keys are scoped per user. Only 2xx and deterministic 4xx (403, 404, 409) responses
+ * are recorded; anything else, such as the 400 the handlers return for an unexpected
+ * failure, releases the key so a retry runs again.
+ */
+@Service
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int PURGE_EVERY_WRITES = 1000;
+    // How long a claim blocks the key if its instance dies before recording a response
+    private static final long CLAIM_LEASE_MINUTES = 5;
+
+    @Value("${app.idempotency.ttl-minutes:1440}")
+    private long ttlMinutes;
+
+    @Value("${app.idempotency.max-entries:100000}")
+    private int maxEntries;
+
+    @Value("${app.idempotency.persist:false}")
+    private boolean persist;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Access-ordered so the least recently used records are evicted first; guarded by itself
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(1024, 0.75f, true);
+    private final AtomicInteger persistedWrites = new AtomicInteger();
+
+    /**
+     * Run action at most once per (scope, key); without a key it simply runs
+     */
+    public ResponseEntity<?> execute(String scope, String key, String fingerprint,
+                                     Supplier<ResponseEntity<?>> action) {
+        return executeAsync(scope, key, fingerprint, () -> CompletableFuture.completedFuture(action.get())).join();
+    }
+
+    /**
+     * Asynchronous form of execute for handlers that return a CompletableFuture
+     */
+    public CompletableFuture<ResponseEntity<?>> executeAsync(String scope, String key, String fingerprint,
+                                                             Supplier<CompletableFuture<ResponseEntity<?>>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            return CompletableFuture.completedFuture(error(400,
+                    HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters"));
+        }
+
+        String recordKey = scope + "\n" + key;
+        Entry entry = new Entry(fingerprint, System.currentTimeMillis() + ttlMinutes * 60_000);
+        Entry existing = claim(recordKey, entry);
+        if (existing != null) {
+            return CompletableFuture.completedFuture(replay(existing, fingerprint));
+        }
+
+        CompletableFuture<ResponseEntity<?>> result;
+        try {
+            result = action.get();
+        } catch (RuntimeException e) {
+            release(recordKey, entry);
+            throw e;
+        }
+        return result.whenComplete((response, failure) -> {
+            if (failure != null || response == null || !isRecordable(response)) {
+                release(recordKey, entry);
+            } else {
+                record(recordKey, entry, response);
+            }
+        });
+    }
+
+    /**
+     * SHA-256 of the operation name and request body, to detect a key reused for a different request
+     */
+    public String fingerprint(String operation, Object body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(objectMapper.writeValueAsBytes(body));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Could not fingerprint request", e);
+        }
+    }
+
+    // Returns the record that already owns the key, or null after installing entry as in progress
+    private Entry claim(String recordKey, Entry entry) {
+        synchronized (entries) {
+            Entry existing = entries.get(recordKey);
+            if (existing != null && !existing.isExpired()) {
+                return existing;
+            }
+            if (!persist) {
+                install(recordKey, entry);
+                return null;
+            }
+        }
+
+        // Not known locally: claim the key for this instance, or find who has it
+        Entry owner = claimStored(recordKey, entry);
+        synchronized (entries) {
+            if (owner == null) {
+                install(recordKey, entry);
+            } else if (owner.completed) {
+                install(recordKey, owner);
+            }
+            return owner;
+        }
+    }
+
+    // Returns null once this instance owns the key in idempotency_records, otherwise the record holding it
+    private Entry claimStored(String recordKey, Entry entry) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int attempt = 0; attempt < 2; attempt++) {
+            if (idempotencyRecordRepository.claim(recordKey, entry.fingerprint, now,
+                    now.plusMinutes(CLAIM_LEASE_MINUTES)) == 1) {
+                return null;
+            }
+            Optional<IdempotencyRecord> stored = idempotencyRecordRepository
+                    .findByRecordKeyAndExpiresAtAfter(recordKey, now);
+            if (stored.isPresent()) {
+                return Entry.restored(stored.get());
+            }
+            // Only an expired record holds the key
+            idempotencyRecordRepository.deleteExpired(recordKey, now);
+        }
+        // Lost the key to another instance twice in a row; the client retries
+        return new Entry(entry.fingerprint, entry.expiresAt);
+    }
+
+    // Caller holds the lock
+    private void install(String recordKey, Entry entry) {
+        entries.put(recordKey, entry);
+        evict();
+    }
+
+    private void release(String recordKey, Entry entry) {
+        synchronized (entries) {
+            entries.remove(recordKey, entry);
+        }
+        if (!persist) {
+            return;
+        }
+        try {
+            idempotencyRecordRepository.releaseClaim(recordKey);
+        } catch (RuntimeException e) {
+            // The claim lease runs out on its own
+            System.err.println("❌ Could not release idempotency claim: " + e.getMessage());
+        }
+    }
+
+    private void record(String recordKey, Entry entry, ResponseEntity<?> response) {
+        synchronized (entries) {
+            entry.complete(response.getStatusCode().value(), response.getBody());
+        }
+        if (!persist) {
+            return;
+        }
+        try {
+            String body = response.getBody() != null ? objectMapper.writeValueAsString(response.getBody()) : null;
+            idempotencyRecordRepository.save(new IdempotencyRecord(recordKey, entry.fingerprint,
+                    response.getStatusCode().value(), body, LocalDateTime.now().plusMinutes(ttlMinutes)));
+            if (persistedWrites.incrementAndGet() % PURGE_EVERY_WRITES == 0) {
+                idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+            }
+        } catch (JsonProcessingException | RuntimeException e) {
+            // The claim keeps other instances out until its lease ends; this instance replays from memory
+            System.err.println("❌ Could not persist idempotency record: " + e.getMessage());
+        }
+    }
+
+    private ResponseEntity<?> replay(Entry existing, String fingerprint) {
+        if (!existing.fingerprint.equals(fingerprint)) {
+            return error(422, HEADER + " was already used for a different request");
+        }
+        synchronized (entries) {
+            if (!existing.completed) {
+                return error(409, "A request with this " + HEADER + " is still being processed");
+            }
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(existing.statusCode).header(REPLAYED_HEADER, "true");
+        if (existing.persistedBody) {
+            return existing.body == null ? builder.build() : builder.contentType(MediaType.APPLICATION_JSON).body(existing.body);
+        }
+        return builder.body(existing.body);
+    }
+
+    // Caller holds the lock: drop expired records, then the least recently used completed ones
+    private void evict() {
+        if (entries.size() <= maxEntries) {
+            return;
+        }
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext() && entries.size() > maxEntries) {
+            Entry entry = iterator.next().getValue();
+            if (entry.isExpired() || entry.completed) {
+                iterator.remove();
+            }
+        }
+    }
+
+    // A retry of these gets the same answer; other failures may be transient
+    private static boolean isRecordable(ResponseEntity<?> response) {
+        int status = response.getStatusCode().value();
+        return response.getStatusCode().is2xxSuccessful() || status == 403 || status == 404 || status == 409;
+    }
+
+    private static ResponseEntity<?> error(int status, String message) {
+        Map<String, String> error = new LinkedHashMap<>();
+        error.put("message", message);
+        return ResponseEntity.status(status).body(error);
+    }
+
+    private static class Entry {
+        private final String fingerprint;
+        private final long expiresAt;
+        private boolean completed;
+        private int statusCode;
+        private Object body;
+        private boolean persistedBody;
+
+        Entry(String fingerprint, long expiresAt) {
+            this.fingerprint = fingerprint;
+            this.expiresAt = expiresAt;
+        }
+
+        // A stored record with status 0 is a claim whose request is still running
+        static Entry restored(IdempotencyRecord record) {
+            Entry entry = new Entry(record.getFingerprint(),
+                    record.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            if (record.getStatusCode() != 0) {
+                entry.complete(record.getStatusCode(), record.getResponseBody());
+                entry.persistedBody = true;
+            }
+            return entry;
+        }
+
+        void complete(int statusCode, Object body) {
+            this.statusCode = statusCode;
+            this.body = body;
+            this.completed = true;
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() > expiresAt;
+        }
+    }
+}
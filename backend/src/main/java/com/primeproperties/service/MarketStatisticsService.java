@@ -0,0 +1,214 @@
+package com.primeproperties.service;
+
+import com.primeproperties.config.Workload;
+import com.primeproperties.config.WorkloadPool;
+import com.primeproperties.dto.MarketStatisticsResponse;
+import com.primeproperties.event.PropertyChangeEvent;
+import com.primeproperties.event.PropertySnapshot;
+import com.primeproperties.repository.PropertyRepositoryImpl;
+import com.primeproperties.util.QuantileSketch;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory market statistics per location and property type.
+ * Every listing is counted in four segments (location+type, location, type, all),
+ * each holding mergeable quantile sketches for price, price per square meter and
+ * area of active listings plus per-status counters. Segments are rebuilt from the
+ * properties table at startup and then maintained from PropertyChangeEvents, so
+ * reads never touch the database.
+ */
+@Service
+public class MarketStatisticsService {
+
+    public static final String ANY = "*";
+
+    private static final double RELATIVE_ACCURACY = 0.01;
+    private static final int HISTOGRAM_BINS = 20;
+    private static final Set<String> ACTIVE_STATUSES = Set.of("AVAILABLE", "RESERVED");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PropertyChangeJournal propertyChangeJournal;
+
+    // Guards all segment mutation; reads use each segment's cached summary
+    private final Object lock = new Object();
+    private final Map<String, Segment> segments = new ConcurrentHashMap<>();
+
+    /**
+     * Rebuild all segments from the change journal's catalog, or the properties table
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @WorkloadPool(Workload.BATCH)
+    public void rebuild() {
+        synchronized (lock) {
+            segments.clear();
+            if (!propertyChangeJournal.replayCatalog(snapshot -> apply(null, snapshot))) {
+                jdbcTemplate.query("SELECT " + PropertyRepositoryImpl.SNAPSHOT_COLUMNS + " FROM properties",
+                        (RowCallbackHandler) rs -> apply(null, PropertyRepositoryImpl.mapSnapshot(rs, 0)));
+            }
+            System.out.println("📊 Market statistics rebuilt: " + segments.size() + " segments");
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChange(PropertyChangeEvent event) {
+        synchronized (lock) {
+            for (PropertyChangeEvent.Change change : event.getChanges()) {
+                apply(change.getBefore(), change.getAfter());
+            }
+        }
+    }
+
+    /**
+     * Statistics for a location and/or property type (null means any)
+     */
+    public Optional<MarketStatisticsResponse> getStatistics(String location, String propertyType) {
+        Segment segment = segments.get(key(location, propertyType));
+        return segment == null ? Optional.empty() : Optional.of(segment.summary());
+    }
+
+    /**
+     * Statistics for every location across all property types, busiest first
+     */
+    public List<MarketStatisticsResponse> getLocationStatistics() {
+        List<MarketStatisticsResponse> result = new ArrayList<>();
+        for (Segment segment : segments.values()) {
+            if (!ANY.equals(segment.location) && ANY.equals(segment.propertyType)) {
+                result.add(segment.summary());
+            }
+        }
+        result.sort(Comparator.comparingLong(MarketStatisticsResponse::getActiveListings).reversed());
+        return result;
+    }
+
+    private void apply(PropertySnapshot before, PropertySnapshot after) {
+        if (before != null) {
+            for (Segment segment : segmentsFor(before)) {
+                segment.remove(before);
+            }
+        }
+        if (after != null) {
+            for (Segment segment : segmentsFor(after)) {
+                segment.add(after);
+            }
+        }
+    }
+
+    private List<Segment> segmentsFor(PropertySnapshot snapshot) {
+        String location = snapshot.getLocation();
+        String type = snapshot.getPropertyType();
+        return List.of(
+                segment(location, type),
+                segment(location, ANY),
+                segment(ANY, type),
+                segment(ANY, ANY));
+    }
+
+    private Segment segment(String location, String propertyType) {
+        return segments.computeIfAbsent(key(location, propertyType),
+                k -> new Segment(display(location), display(propertyType)));
+    }
+
+    private static String key(String location, String propertyType) {
+        return normalize(location) + '\u0000' + normalize(propertyType);
+    }
+
+    private static String normalize(String value) {
+        return value == null || value.isBlank() ? ANY : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String display(String value) {
+        return value == null || value.isBlank() ? ANY : value.trim();
+    }
+
+    private static MarketStatisticsResponse.Distribution distribution(QuantileSketch sketch) {
+        if (sketch.getCount() == 0) {
+            return new MarketStatisticsResponse.Distribution(0, null, null, null, null, List.of());
+        }
+        List<MarketStatisticsResponse.HistogramBin> histogram = new ArrayList<>();
+        for (double[] bin : sketch.histogram(HISTOGRAM_BINS)) {
+            histogram.add(new MarketStatisticsResponse.HistogramBin(bin[0], bin[1], (long) bin[2]));
+        }
+        return new MarketStatisticsResponse.Distribution(
+                sketch.getCount(),
+                sketch.getMean(),
+                sketch.quantile(0.1),
+                sketch.quantile(0.5),
+                sketch.quantile(0.9),
+                histogram);
+    }
+
+    /**
+     * Sketches and counters for one segment
+     */
+    private class Segment {
+        private final String location;
+        private final String propertyType;
+        private final QuantileSketch price = new QuantileSketch(RELATIVE_ACCURACY);
+        private final QuantileSketch pricePerSquareMeter = new QuantileSketch(RELATIVE_ACCURACY);
+        private final QuantileSketch area = new QuantileSketch(RELATIVE_ACCURACY);
+        private final Map<String, Long> statusCounts = new HashMap<>();
+        private volatile MarketStatisticsResponse cached;
+
+        Segment(String location, String propertyType) {
+            this.location = location;
+            this.propertyType = propertyType;
+        }
+
+        void add(PropertySnapshot snapshot) {
+            statusCounts.merge(snapshot.getStatus(), 1L, Long::sum);
+            if (ACTIVE_STATUSES.contains(snapshot.getStatus())) {
+                double listPrice = snapshot.getPrice().doubleValue();
+                price.add(listPrice);
+                area.add(snapshot.getArea());
+                pricePerSquareMeter.add(listPrice / snapshot.getArea());
+            }
+            cached = null;
+        }
+
+        void remove(PropertySnapshot snapshot) {
+            statusCounts.computeIfPresent(snapshot.getStatus(), (status, count) -> count > 1 ? count - 1 : null);
+            if (ACTIVE_STATUSES.contains(snapshot.getStatus())) {
+                double listPrice = snapshot.getPrice().doubleValue();
+                price.remove(listPrice);
+                area.remove(snapshot.getArea());
+                pricePerSquareMeter.remove(listPrice / snapshot.getArea());
+            }
+            cached = null;
+        }
+
+        MarketStatisticsResponse summary() {
+            MarketStatisticsResponse summary = cached;
+            if (summary != null) {
+                return summary;
+            }
+            synchronized (lock) {
+                if (cached == null) {
+                    cached = new MarketStatisticsResponse(location, propertyType, price.getCount(),
+                            new TreeMap<>(statusCounts), distribution(price),
+                            distribution(pricePerSquareMeter), distribution(area));
+                }
+                return cached;
+            }
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.primeproperties.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed file store for media on local disk.
+ * Uploads stream through a SHA-256 digest into a temporary file and are then
+ * renamed to objects/ab/cd/&lt;hash&gt;, so identical content is stored once and
+ * files never change after they are written.
+ */
+@Service
+public class MediaStorageService {
+
+    public static final String TOO_LARGE_MESSAGE = "Upload exceeds the maximum size";
+
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    @Value("${app.media.dir:media-store}")
+    private String mediaDir;
+
+    @Value("${app.media.thumbnail-widths:320,960}")
+    private List<Integer> thumbnailWidths;
+
+    // Raw-body uploads bypass the multipart limits, so every upload is held to the same cap here
+    @Value("${spring.servlet.multipart.max-file-size:200MB}")
+    private DataSize maxUploadSize;
+
+    // Striped by the first byte of the hash
+    private final Object[] hashLocks = new Object[256];
+
+    private Path objectsDir;
+    private Path thumbnailsDir;
+    private Path tempDir;
+
+    @PostConstruct
+    public void init() throws IOException {
+        for (int i = 0; i < hashLocks.length; i++) {
+            hashLocks[i] = new Object();
+        }
+        Path root = Paths.get(mediaDir).toAbsolutePath().normalize();
+        objectsDir = Files.createDirectories(root.resolve("objects"));
+        thumbnailsDir = Files.createDirectories(root.resolve("thumbnails"));
+        tempDir = Files.createDirectories(root.resolve("tmp"));
+        System.out.println("🖼️ Media store: " + root);
+    }
+
+    /**
+     * Stream content to disk, then move it to its content address and register it (typically
+     * insert the row that references it) while holding the lock for its hash. deleteIfUnreferenced
+     * takes the same lock, so an object can never be deleted between being found on disk and
+     * being referenced. Throws an IOException with TOO_LARGE_MESSAGE once the upload passes the
+     * maximum size.
+     */
+    public <T> T store(InputStream input, Function<StoredObject, T> register) throws IOException {
+        Path temp = Files.createTempFile(tempDir, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (DigestInputStream in = new DigestInputStream(new SizeLimitedInputStream(input, getMaxUploadBytes()), digest)) {
+                size = Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            synchronized (lockFor(hash)) {
+                Path target = objectPath(hash);
+                boolean created = !Files.exists(target);
+                if (created) {
+                    Files.createDirectories(target.getParent());
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                }
+                try {
+                    return register.apply(new StoredObject(hash, size));
+                } catch (RuntimeException e) {
+                    // Nothing else can reference an object this call created
+                    if (created) {
+                        Files.deleteIfExists(target);
+                    }
+                    throw e;
+                }
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Remove a stored object and its thumbnails unless isReferenced still finds a reference,
+     * checked under the same lock as store. Returns whether it was removed.
+     */
+    public boolean deleteIfUnreferenced(String hash, Predicate<String> isReferenced) throws IOException {
+        synchronized (lockFor(hash)) {
+            if (isReferenced.test(hash)) {
+                return false;
+            }
+            delete(hash);
+            return true;
+        }
+    }
+
+    public Path objectPath(String hash) {
+        checkHash(hash);
+        return objectsDir.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    public Path thumbnailPath(String hash, int width) {
+        checkHash(hash);
+        return thumbnailsDir.resolve(Integer.toString(width)).resolve(hash.substring(0, 2)).resolve(hash + ".jpg");
+    }
+
+    /**
+     * Whether the original is known not to be thumbnailable (undecodable or too large)
+     */
+    public boolean isThumbnailUnsupported(String hash) {
+        return Files.exists(unsupportedMarkerPath(hash));
+    }
+
+    /**
+     * Remember that no thumbnail can be made from an original, so it is never queued again
+     */
+    public void markThumbnailUnsupported(String hash) throws IOException {
+        Path marker = unsupportedMarkerPath(hash);
+        Files.createDirectories(marker.getParent());
+        if (!Files.exists(marker)) {
+            Files.createFile(marker);
+        }
+    }
+
+    /**
+     * Temporary file in the store's volume, so finished files can be renamed into place atomically
+     */
+    public Path createTempFile(String prefix) throws IOException {
+        return Files.createTempFile(tempDir, prefix, ".part");
+    }
+
+    public long getMaxUploadBytes() {
+        return maxUploadSize.toBytes();
+    }
+
+    public List<Integer> getThumbnailWidths() {
+        return thumbnailWidths;
+    }
+
+    public static boolean isValidHash(String hash) {
+        return hash != null && HASH_PATTERN.matcher(hash).matches();
+    }
+
+    // Callers hold the hash's lock
+    private void delete(String hash) throws IOException {
+        Files.deleteIfExists(objectPath(hash));
+        Files.deleteIfExists(unsupportedMarkerPath(hash));
+        for (int width : thumbnailWidths) {
+            Files.deleteIfExists(thumbnailPath(hash, width));
+        }
+    }
+
+    private Path unsupportedMarkerPath(String hash) {
+        checkHash(hash);
+        return thumbnailsDir.resolve("unsupported").resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private Object lockFor(String hash) {
+        checkHash(hash);
+        return hashLocks[Integer.parseInt(hash.substring(0, 2), 16)];
+    }
+
+    private static void checkHash(String hash) {
+        if (!isValidHash(hash)) {
+            throw new IllegalArgumentException("Invalid content hash");
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Fails the copy as soon as more than limit bytes have been read
+    private static class SizeLimitedInputStream extends FilterInputStream {
+        private long remaining;
+
+        SizeLimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                consumed(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, (int) Math.min(length, remaining + 1));
+            if (n > 0) {
+                consumed(n);
+            }
+            return n;
+        }
+
+        private void consumed(long bytes) throws IOException {
+            remaining -= bytes;
+            if (remaining < 0) {
+                throw new IOException(TOO_LARGE_MESSAGE);
+            }
+        }
+    }
+
+    /**
+     * Hash and size of a stored upload
+     */
+    public static class StoredObject {
+        private final String hash;
+        private final long size;
+
+        public StoredObject(String hash, long size) {
+            this.hash = hash;
+            this.size = size;
+        }
+
+        public String getHash() {
+            return hash;
+        }
+
+        public long getSize() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.primeproperties.service;
+
+import com.primeproperties.config.Workload;
+import com.primeproperties.config.WorkloadPool;
+import com.primeproperties.dto.OutboxStatusResponse;
+import com.primeproperties.event.OutboxMessage;
+import com.primeproperties.event.OutboxSubscriber;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Background relay from outbox_events to in-process OutboxSubscribers.
+ * Each subscriber has its own offset row. A poll locks that row with
+ * FOR UPDATE SKIP LOCKED, so when several instances run the relay one of them
+ * serves each subscriber and the others move on instead of waiting. Events are
+ * read in (txid, id) order and only from transactions older than the oldest
+ * one still running, so a slow transaction can never commit an event behind an
+ * offset that has already moved past it.
+ * Node-local subscribers (state held by one instance, such as STOMP sessions) get an
+ * offset row per instance instead, "name@node-id", so every instance sees every event.
+ * Such a row starts at the head on each start, and rows of instances gone for longer
+ * than the retention are dropped so they never hold back the purge.
+ */
+@Service
+public class OutboxRelay {
+
+    private static final String LOCK_OFFSET_SQL =
+            "SELECT last_txid::text, last_event_id FROM outbox_offsets WHERE subscriber = ? FOR UPDATE SKIP LOCKED";
+
+    private static final String READ_BATCH_SQL =
+            "SELECT id, txid::text, event_type, aggregate_type, aggregate_id, payload, created_at " +
+            "FROM outbox_events " +
+            "WHERE (txid, id) > (?::xid8, ?) AND txid < pg_snapshot_xmin(pg_current_snapshot()) " +
+            "ORDER BY txid, id LIMIT ?";
+
+    private static final String ADVANCE_OFFSET_SQL =
+            "UPDATE outbox_offsets SET last_txid = ?::xid8, last_event_id = ?, updated_at = now() WHERE subscriber = ?";
+
+    // New subscribers start at the current head instead of replaying history
+    private static final String START_AT_HEAD_SQL =
+            "INSERT INTO outbox_offsets (subscriber, last_txid, last_event_id, updated_at) " +
+            "SELECT ?, COALESCE(MAX(txid), '0'::xid8), COALESCE(MAX(id), 0), now() FROM " +
+            "(SELECT txid, id FROM outbox_events ORDER BY txid DESC, id DESC LIMIT 1) head ";
+
+    private static final String REGISTER_SQL = START_AT_HEAD_SQL + "ON CONFLICT (subscriber) DO NOTHING";
+
+    // What a node-local subscriber fed died with the previous process, so it skips what it missed
+    private static final String RESTART_SQL = START_AT_HEAD_SQL + "ON CONFLICT (subscriber) DO UPDATE SET " +
+            "last_txid = EXCLUDED.last_txid, last_event_id = EXCLUDED.last_event_id, updated_at = now()";
+
+    private static final String DELETE_OFFSET_SQL = "DELETE FROM outbox_offsets WHERE subscriber = ?";
+
+    private static final String TOUCH_OFFSET_SQL = "UPDATE outbox_offsets SET updated_at = now() WHERE subscriber = ?";
+
+    private static final String DROP_IDLE_NODES_SQL =
+            "DELETE FROM outbox_offsets WHERE subscriber LIKE '%@%' AND updated_at < ?";
+
+    private static final String LAG_SQL =
+            "SELECT o.subscriber, o.last_event_id, o.updated_at, COUNT(e.id), MIN(e.created_at) " +
+            "FROM outbox_offsets o LEFT JOIN outbox_events e ON (e.txid, e.id) > (o.last_txid, o.last_event_id) " +
+            "GROUP BY o.subscriber, o.last_event_id, o.updated_at ORDER BY o.subscriber";
+
+    private static final String PURGE_SQL =
+            "DELETE FROM outbox_events e WHERE e.created_at < ? AND NOT EXISTS (" +
+            "SELECT 1 FROM outbox_offsets o WHERE (e.txid, e.id) > (o.last_txid, o.last_event_id))";
+
+    @Value("${app.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.outbox.max-batches-per-poll:20}")
+    private int maxBatchesPerPoll;
+
+    @Value("${app.outbox.retention-hours:72}")
+    private long retentionHours;
+
+    @Value("${app.outbox.node-id:local}")
+    private String nodeId;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired(required = false)
+    private List<OutboxSubscriber> subscribers = List.of();
+
+    private final Map<String, SubscriberStats> stats = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void registerSubscribers() {
+        for (OutboxSubscriber subscriber : subscribers) {
+            String name = subscriber.getSubscriberName();
+            if (name.contains("@")) {
+                throw new IllegalStateException("Outbox subscriber names must not contain '@': " + name);
+            }
+            if (subscriber.isNodeLocal()) {
+                // An offset shared under the plain name would only hold back the purge
+                jdbcTemplate.update(DELETE_OFFSET_SQL, name);
+                jdbcTemplate.update(RESTART_SQL, offsetKey(subscriber));
+            } else {
+                jdbcTemplate.update(REGISTER_SQL, name);
+            }
+            stats.put(offsetKey(subscriber), new SubscriberStats());
+        }
+        ready = true;
+        System.out.println("📮 Outbox relay serving " + subscribers.size() + " subscriber(s)");
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-millis:250}")
+    @WorkloadPool(Workload.BATCH)
+    public void poll() {
+        if (!ready) {
+            return;
+        }
+        for (OutboxSubscriber subscriber : subscribers) {
+            SubscriberStats subscriberStats = stats.get(offsetKey(subscriber));
+            try {
+                for (int batch = 0; batch < maxBatchesPerPoll; batch++) {
+                    Integer delivered = transactionTemplate.execute(status -> deliverBatch(subscriber));
+                    if (delivered == null || delivered < batchSize) {
+                        break;
+                    }
+                }
+            } catch (RuntimeException e) {
+                // Offset did not move; the same batch is retried on the next poll
+                subscriberStats.failures++;
+                subscriberStats.lastError = e.getMessage();
+                System.err.println("❌ Outbox subscriber " + offsetKey(subscriber) + " failed: " + e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.purge-millis:3600000}", initialDelayString = "${app.outbox.purge-millis:3600000}")
+    @WorkloadPool(Workload.BATCH)
+    public void purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(retentionHours);
+        for (OutboxSubscriber subscriber : subscribers) {
+            if (subscriber.isNodeLocal()) {
+                jdbcTemplate.update(TOUCH_OFFSET_SQL, offsetKey(subscriber));
+            }
+        }
+        int dropped = jdbcTemplate.update(DROP_IDLE_NODES_SQL, Timestamp.valueOf(cutoff));
+        if (dropped > 0) {
+            System.out.println("🧹 Dropped " + dropped + " outbox offsets of instances that are gone");
+        }
+        int purged = jdbcTemplate.update(PURGE_SQL, Timestamp.valueOf(cutoff));
+        if (purged > 0) {
+            System.out.println("🧹 Purged " + purged + " delivered outbox events");
+        }
+    }
+
+    /**
+     * Per-subscriber position and lag
+     */
+    public OutboxStatusResponse getStatus() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxStatusResponse.SubscriberLag> lags = new ArrayList<>();
+        jdbcTemplate.query(LAG_SQL, rs -> {
+            String name = rs.getString(1);
+            Timestamp oldestPending = rs.getTimestamp(5);
+            SubscriberStats subscriberStats = stats.getOrDefault(name, new SubscriberStats());
+            lags.add(new OutboxStatusResponse.SubscriberLag(
+                    name,
+                    rs.getLong(2),
+                    rs.getLong(4),
+                    oldestPending != null ? Duration.between(oldestPending.toLocalDateTime(), now).toMillis() : 0,
+                    rs.getTimestamp(3).toLocalDateTime(),
+                    subscriberStats.delivered,
+                    subscriberStats.failures,
+                    subscriberStats.lastError));
+        });
+        return new OutboxStatusResponse(lags);
+    }
+
+    // Returns the number of events delivered, or -1 when another instance holds this subscriber
+    private Integer deliverBatch(OutboxSubscriber subscriber) {
+        String name = offsetKey(subscriber);
+        List<Object[]> offset = jdbcTemplate.query(LOCK_OFFSET_SQL,
+                (rs, rowNum) -> new Object[] {rs.getString(1), rs.getLong(2)}, name);
+        if (offset.isEmpty()) {
+            if (subscriber.isNodeLocal()) {
+                // Dropped as idle while this instance was unreachable
+                jdbcTemplate.update(REGISTER_SQL, name);
+            }
+            return -1;
+        }
+
+        List<String> txids = new ArrayList<>();
+        List<OutboxMessage> messages = jdbcTemplate.query(READ_BATCH_SQL, (rs, rowNum) -> {
+            txids.add(rs.getString(2));
+            Timestamp createdAt = rs.getTimestamp(7);
+            return new OutboxMessage(rs.getLong(1), rs.getString(3), rs.getString(4),
+                    rs.getObject(5, Long.class), rs.getString(6),
+                    createdAt != null ? createdAt.toLocalDateTime() : null);
+        }, offset.get(0)[0], offset.get(0)[1], batchSize);
+        if (messages.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            subscriber.handle(messages);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
+
+        OutboxMessage last = messages.get(messages.size() - 1);
+        jdbcTemplate.update(ADVANCE_OFFSET_SQL, txids.get(txids.size() - 1), last.getId(), name);
+        stats.get(name).delivered += messages.size();
+        return messages.size();
+    }
+
+    private String offsetKey(OutboxSubscriber subscriber) {
+        return subscriber.isNodeLocal() ? subscriber.getSubscriberName() + "@" + nodeId : subscriber.getSubscriberName();
+    }
+
+    // Written only by the scheduler thread
+    private static class SubscriberStats {
+        private volatile long delivered;
+        private volatile long failures;
+        private volatile String lastError;
+    }
+}
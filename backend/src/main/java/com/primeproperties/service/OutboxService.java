@@ -0,0 +1,87 @@
+package com.primeproperties.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.primeproperties.event.PropertyChangeEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes domain events to outbox_events inside the caller's transaction, so an
+ * event exists if and only if its change committed. OutboxRelay delivers them.
+ */
+@Service
+public class OutboxService {
+
+    public static final String PROPERTY_AGGREGATE = "property";
+    public static final String TRANSACTION_AGGREGATE = "transaction";
+
+    // Bulk imports keep their full id list but not every before/after snapshot
+    private static final int MAX_CHANGES_IN_PAYLOAD = 1000;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO outbox_events (event_type, aggregate_type, aggregate_id, payload, created_at) " +
+            "VALUES (?, ?, ?, ?, now())";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Append one event in the current transaction
+     */
+    public void append(String eventType, String aggregateType, Long aggregateId, Object payload) {
+        jdbcTemplate.update(INSERT_SQL, eventType, aggregateType, aggregateId, toJson(payload));
+    }
+
+    /**
+     * Append several events of one type with a single JDBC batch
+     */
+    public void appendAll(String eventType, String aggregateType, Map<Long, ?> payloadByAggregateId) {
+        if (payloadByAggregateId.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(payloadByAggregateId.size());
+        payloadByAggregateId.forEach((aggregateId, payload) ->
+                rows.add(new Object[] {eventType, aggregateType, aggregateId, toJson(payload)}));
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    /**
+     * Record every property change event just before its transaction commits
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onPropertyChange(PropertyChangeEvent event) {
+        List<Long> ids = event.getPropertyIds();
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("type", event.getType().name());
+        payload.put("developerId", event.getDeveloperId());
+        payload.put("propertyIds", ids);
+        if (event.getType() == PropertyChangeEvent.Type.STATUS_CHANGED && !event.getChanges().isEmpty()) {
+            payload.put("status", event.getChanges().get(0).getAfter().getStatus());
+        }
+        if (event.getChanges().size() <= MAX_CHANGES_IN_PAYLOAD) {
+            payload.put("changes", event.getChanges());
+        }
+        append("PROPERTY_" + event.getType().name(), PROPERTY_AGGREGATE,
+                ids.size() == 1 ? ids.get(0) : null, payload);
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize outbox payload", e);
+        }
+    }
+}
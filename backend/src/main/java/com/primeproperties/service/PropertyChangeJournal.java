@@ -0,0 +1,437 @@
+package com.primeproperties.service;
+
+import com.primeproperties.dto.ChangeJournalResponse;
+import com.primeproperties.event.PropertyChangeEvent;
+import com.primeproperties.event.PropertySnapshot;
+import com.primeproperties.model.PropertyStatus;
+import com.primeproperties.repository.PropertyRepositoryImpl;
+import com.primeproperties.util.ChangeJournal;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Durable, replayable history of every property create, update, sale and deletion,
+ * appended after commit to a memory-mapped ChangeJournal on local disk (no database writes).
+ * Each entry carries the property's full after-image, so the journal also rebuilds the
+ * in-memory catalog behind market statistics, geo search and similar properties: after a
+ * restart the catalog is read from the last checkpoint plus the journal tail, then checked
+ * against a count and updated_at fingerprint of the properties table. Only if that differs
+ * (writes made by another node, or lost in a crash) is the table scanned instead.
+ * Once more than retention-segments segments exist, the oldest are deleted, but only those a
+ * checkpoint already covers.
+ */
+@Service
+public class PropertyChangeJournal {
+
+    /**
+     * What happened to a property; stored as the record type
+     */
+    public enum EntryType {
+        CREATED((byte) 1),
+        UPDATED((byte) 2),
+        STATUS_CHANGED((byte) 3),
+        SOLD((byte) 4),
+        DELETED((byte) 5);
+
+        private final byte code;
+
+        EntryType(byte code) {
+            this.code = code;
+        }
+
+        public byte getCode() {
+            return code;
+        }
+
+        static EntryType of(PropertyChangeEvent.Type type, PropertySnapshot after) {
+            if (after == null) {
+                return DELETED;
+            }
+            if (type == PropertyChangeEvent.Type.STATUS_CHANGED) {
+                return PropertyStatus.SOLD.name().equals(after.getStatus()) ? SOLD : STATUS_CHANGED;
+            }
+            return type == PropertyChangeEvent.Type.CREATED ? CREATED : UPDATED;
+        }
+
+        static EntryType fromCode(byte code) {
+            for (EntryType type : values()) {
+                if (type.code == code) {
+                    return type;
+                }
+            }
+            throw new IllegalStateException("Unknown journal entry type: " + code);
+        }
+    }
+
+    private static final String CHECKPOINT_FILE = "catalog.checkpoint";
+    private static final int CHECKPOINT_MAGIC = 0x50434a31;
+
+    // Whole seconds, which PostgreSQL and LocalDateTime agree on exactly
+    private static final String FINGERPRINT_SQL =
+            "SELECT count(*), coalesce(sum(floor(extract(epoch FROM updated_at))::bigint), 0) FROM properties";
+
+    @Value("${app.journal.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.journal.dir:change-journal}")
+    private String journalDir;
+
+    @Value("${app.journal.segment-bytes:67108864}")
+    private int segmentBytes;
+
+    @Value("${app.journal.fsync:false}")
+    private boolean fsync;
+
+    @Value("${app.journal.retention-segments:8}")
+    private int retentionSegments;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Guards appends and the catalog, so the catalog always reflects the journal up to its end
+    private final Object lock = new Object();
+    private Path root;
+    private ChangeJournal journal;
+    private Path checkpointFile;
+    private Map<Long, PropertySnapshot> catalog;
+    private long checkpointOffset;
+
+    @PostConstruct
+    public void open() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        root = Paths.get(journalDir).toAbsolutePath().normalize();
+        journal = new ChangeJournal(root, segmentBytes, fsync);
+        checkpointFile = root.resolve(CHECKPOINT_FILE);
+        System.out.println("📒 Change journal: " + root + " (offsets " + journal.getFirstOffset()
+                + ".." + journal.getNextOffset() + ")");
+    }
+
+    @PreDestroy
+    public void close() {
+        synchronized (lock) {
+            if (journal == null) {
+                return;
+            }
+            if (catalog != null) {
+                try {
+                    writeCheckpoint();
+                } catch (IOException e) {
+                    System.err.println("❌ Could not write catalog checkpoint: " + e.getMessage());
+                }
+            }
+            journal.close();
+        }
+    }
+
+    /**
+     * Append one entry per changed property (called after the change commits)
+     */
+    public void append(PropertyChangeEvent event) {
+        if (journal == null) {
+            return;
+        }
+        synchronized (lock) {
+            try {
+                for (PropertyChangeEvent.Change change : event.getChanges()) {
+                    PropertySnapshot after = change.getAfter();
+                    journal.append(EntryType.of(event.getType(), after).getCode(), encode(change.getId(), after));
+                    if (catalog != null) {
+                        apply(catalog, change.getId(), after);
+                    }
+                }
+                enforceRetention();
+            } catch (IOException | IllegalStateException e) {
+                // The change is committed either way; the fingerprint check catches the gap on restart
+                System.err.println("❌ Change journal append failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Feed every current listing to consumer, from the checkpoint and journal when they still
+     * match the properties table, otherwise from a table scan. False if the journal is disabled.
+     */
+    public boolean replayCatalog(Consumer<PropertySnapshot> consumer) {
+        if (journal == null) {
+            return false;
+        }
+        List<PropertySnapshot> listings;
+        synchronized (lock) {
+            loadCatalog();
+            listings = new ArrayList<>(catalog.values());
+        }
+        listings.forEach(consumer);
+        return true;
+    }
+
+    /**
+     * Reader for tailing the journal in process from fromOffset, or null if the journal is disabled
+     */
+    public ChangeJournal.Reader tail(long fromOffset) {
+        return journal != null ? journal.reader(fromOffset) : null;
+    }
+
+    /**
+     * Journal position plus up to limit entries from fromOffset (null: the latest entries)
+     */
+    public ChangeJournalResponse read(Long fromOffset, int limit) {
+        if (journal == null) {
+            throw new IllegalStateException("Change journal is disabled");
+        }
+        long from = fromOffset != null ? fromOffset : Math.max(journal.getFirstOffset(), journal.getNextOffset() - limit);
+        ChangeJournal.Reader reader = journal.reader(from);
+        List<ChangeJournalResponse.Entry> entries = new ArrayList<>();
+        for (ChangeJournal.Record record = reader.poll(); record != null && entries.size() < limit; record = reader.poll()) {
+            entries.add(decode(record));
+        }
+        synchronized (lock) {
+            return new ChangeJournalResponse(root.toString(), journal.getFirstOffset(), journal.getNextOffset(),
+                    journal.getSegmentCount(), journal.getSizeBytes(), checkpointOffset,
+                    catalog != null ? catalog.size() : null, entries);
+        }
+    }
+
+    private void loadCatalog() {
+        if (catalog != null) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        Map<Long, PropertySnapshot> loaded = new HashMap<>();
+        long from = readCheckpoint(loaded);
+        if (from < 0 && journal.getFirstOffset() == 0) {
+            from = 0;
+        }
+        // Segments may only be gone if a checkpoint covers them, but never trust a gap
+        if (from >= journal.getFirstOffset()) {
+            long replayed = replay(loaded, from);
+            if (matchesTable(loaded)) {
+                catalog = loaded;
+                checkpointOffset = from;
+                System.out.println("📒 Catalog restored from the change journal: " + loaded.size() + " listings, "
+                        + replayed + " entries replayed in " + (System.currentTimeMillis() - start) + " ms");
+                return;
+            }
+        }
+
+        Map<Long, PropertySnapshot> scanned = new HashMap<>();
+        jdbcTemplate.query("SELECT " + PropertyRepositoryImpl.SNAPSHOT_COLUMNS + " FROM properties",
+                (RowCallbackHandler) rs -> {
+                    PropertySnapshot snapshot = PropertyRepositoryImpl.mapSnapshot(rs, 0);
+                    scanned.put(snapshot.getId(), snapshot);
+                });
+        catalog = scanned;
+        try {
+            writeCheckpoint();
+        } catch (IOException e) {
+            System.err.println("❌ Could not write catalog checkpoint: " + e.getMessage());
+        }
+        System.out.println("📒 Catalog loaded from the properties table: " + scanned.size() + " listings in "
+                + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    private long replay(Map<Long, PropertySnapshot> listings, long fromOffset) {
+        ChangeJournal.Reader reader = journal.reader(fromOffset);
+        long replayed = 0;
+        for (ChangeJournal.Record record = reader.poll(); record != null; record = reader.poll()) {
+            ChangeJournalResponse.Entry entry = decode(record);
+            apply(listings, entry.getPropertyId(), entry.getAfter());
+            replayed++;
+        }
+        return replayed;
+    }
+
+    private boolean matchesTable(Map<Long, PropertySnapshot> listings) {
+        long[] table = jdbcTemplate.queryForObject(FINGERPRINT_SQL,
+                (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)});
+        long seconds = 0;
+        for (PropertySnapshot snapshot : listings.values()) {
+            if (snapshot.getUpdatedAt() != null) {
+                seconds += snapshot.getUpdatedAt().toEpochSecond(ZoneOffset.UTC);
+            }
+        }
+        return table[0] == listings.size() && table[1] == seconds;
+    }
+
+    // After-commit callbacks of two writes to one row can run in either order; keep the newer image
+    private static void apply(Map<Long, PropertySnapshot> listings, Long propertyId, PropertySnapshot after) {
+        if (after == null) {
+            listings.remove(propertyId);
+            return;
+        }
+        listings.merge(propertyId, after, (current, next) -> current.getUpdatedAt() != null && next.getUpdatedAt() != null
+                && next.getUpdatedAt().isBefore(current.getUpdatedAt()) ? current : next);
+    }
+
+    private void enforceRetention() throws IOException {
+        if (catalog == null || journal.getSegmentCount() <= retentionSegments) {
+            return;
+        }
+        writeCheckpoint();
+        journal.deleteSegmentsBefore(checkpointOffset, retentionSegments);
+    }
+
+    // [magic][journal offset][count] then length-prefixed listings, then a CRC32C of all of it
+    private void writeCheckpoint() throws IOException {
+        long offset = journal.getNextOffset();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + catalog.size() * 96);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(CHECKPOINT_MAGIC);
+            out.writeLong(offset);
+            out.writeInt(catalog.size());
+            for (PropertySnapshot snapshot : catalog.values()) {
+                byte[] encoded = encode(snapshot.getId(), snapshot);
+                out.writeInt(encoded.length);
+                out.write(encoded);
+            }
+        }
+        CRC32C checksum = new CRC32C();
+        checksum.update(bytes.toByteArray());
+        new DataOutputStream(bytes).writeInt((int) checksum.getValue());
+
+        journal.flush();
+        Path temp = checkpointFile.resolveSibling(CHECKPOINT_FILE + ".tmp");
+        Files.write(temp, bytes.toByteArray());
+        Files.move(temp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        checkpointOffset = offset;
+    }
+
+    // Journal offset the checkpoint covers up to, or -1 if there is no usable checkpoint
+    private long readCheckpoint(Map<Long, PropertySnapshot> listings) {
+        try {
+            if (!Files.exists(checkpointFile)) {
+                return -1;
+            }
+            byte[] bytes = Files.readAllBytes(checkpointFile);
+            if (bytes.length < 20) {
+                return -1;
+            }
+            CRC32C checksum = new CRC32C();
+            checksum.update(bytes, 0, bytes.length - 4);
+            if ((int) checksum.getValue() != ByteBuffer.wrap(bytes, bytes.length - 4, 4).getInt()) {
+                return -1;
+            }
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 0, bytes.length - 4));
+            if (in.readInt() != CHECKPOINT_MAGIC) {
+                return -1;
+            }
+            long offset = in.readLong();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                byte[] encoded = new byte[in.readInt()];
+                in.readFully(encoded);
+                PropertySnapshot snapshot = decodeSnapshot(encoded);
+                listings.put(snapshot.getId(), snapshot);
+            }
+            return offset;
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println("❌ Ignoring unreadable catalog checkpoint: " + e.getMessage());
+            listings.clear();
+            return -1;
+        }
+    }
+
+    private static ChangeJournalResponse.Entry decode(ChangeJournal.Record record) {
+        byte[] payload = record.getPayload();
+        return new ChangeJournalResponse.Entry(record.getOffset(),
+                LocalDateTime.ofInstant(Instant.ofEpochMilli(record.getTimestamp()), ZoneOffset.UTC),
+                EntryType.fromCode(record.getType()).name(),
+                ByteBuffer.wrap(payload).getLong(),
+                decodeSnapshot(payload));
+    }
+
+    /**
+     * Entry payload: the property id, then its after-image unless it was deleted
+     */
+    static byte[] encode(Long propertyId, PropertySnapshot after) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(96);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeLong(propertyId);
+            out.writeBoolean(after != null);
+            if (after != null) {
+                out.writeLong(after.getDeveloperId());
+                out.writeUTF(after.getPrice().toPlainString());
+                out.writeUTF(after.getLocation());
+                out.writeUTF(after.getPropertyType());
+                out.writeInt(after.getBedrooms());
+                out.writeInt(after.getBathrooms());
+                out.writeDouble(after.getArea());
+                out.writeUTF(after.getStatus());
+                out.writeBoolean(after.getUpdatedAt() != null);
+                if (after.getUpdatedAt() != null) {
+                    out.writeLong(after.getUpdatedAt().toEpochSecond(ZoneOffset.UTC));
+                    out.writeInt(after.getUpdatedAt().getNano());
+                }
+                out.writeBoolean(after.hasCoordinates());
+                if (after.hasCoordinates()) {
+                    out.writeDouble(after.getLatitude());
+                    out.writeDouble(after.getLongitude());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * After-image from an entry payload, or null for a deletion
+     */
+    static PropertySnapshot decodeSnapshot(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            long id = in.readLong();
+            if (!in.readBoolean()) {
+                return null;
+            }
+            long developerId = in.readLong();
+            BigDecimal price = new BigDecimal(in.readUTF());
+            String location = in.readUTF();
+            String propertyType = in.readUTF();
+            int bedrooms = in.readInt();
+            int bathrooms = in.readInt();
+            double area = in.readDouble();
+            String status = in.readUTF();
+            LocalDateTime updatedAt = in.readBoolean()
+                    ? LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC)
+                    : null;
+            Double latitude = null;
+            Double longitude = null;
+            if (in.readBoolean()) {
+                latitude = in.readDouble();
+                longitude = in.readDouble();
+            }
+            return new PropertySnapshot(id, developerId, price, location, propertyType, bedrooms, bathrooms,
+                    area, status, updatedAt, latitude, longitude);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
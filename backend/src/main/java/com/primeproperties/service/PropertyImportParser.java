@@ -0,0 +1,197 @@
+package com.primeproperties.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.primeproperties.dto.CreatePropertyRequest;
+import com.primeproperties.dto.PropertyImportResponse;
+import com.primeproperties.util.CsvReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Parses and validates a CSV or NDJSON property upload, writing accepted rows to
+ * staging as COPY-ready CSV and collecting a per-row error report for the rest.
+ * Touches no database, so the whole upload is read before any transaction opens.
+ */
+public class PropertyImportParser {
+
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final List<String> REQUIRED_COLUMNS = List.of(
+            "title", "description", "price", "location", "propertytype", "bedrooms", "bathrooms", "area");
+
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final Writer staging;
+    private final List<PropertyImportResponse.RowError> errors = new ArrayList<>();
+    private long totalRows;
+    private long rejectedRows;
+
+    public PropertyImportParser(Validator validator, ObjectMapper objectMapper, Writer staging) {
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.staging = staging;
+    }
+
+    /**
+     * Read the whole upload; a malformed CSV header throws IllegalArgumentException
+     */
+    public void parse(BufferedReader reader, PropertyImportService.Format format) throws IOException {
+        if (format == PropertyImportService.Format.NDJSON) {
+            readNdjson(reader);
+        } else {
+            readCsv(reader);
+        }
+        staging.flush();
+    }
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public long getAcceptedRows() {
+        return totalRows - rejectedRows;
+    }
+
+    public long getRejectedRows() {
+        return rejectedRows;
+    }
+
+    public boolean isErrorsTruncated() {
+        return rejectedRows > errors.size();
+    }
+
+    public List<PropertyImportResponse.RowError> getErrors() {
+        return errors;
+    }
+
+    private void readCsv(BufferedReader reader) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.readRecord();
+        if (header == null) {
+            return;
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(normalizeColumn(header.get(i)), i);
+        }
+        List<String> missing = REQUIRED_COLUMNS.stream()
+                .filter(column -> !columns.containsKey(column))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("CSV header is missing columns: " + String.join(", ", missing));
+        }
+
+        List<String> record;
+        while ((record = csv.readRecord()) != null) {
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            List<String> messages = new ArrayList<>();
+            CreatePropertyRequest request = new CreatePropertyRequest();
+            request.setTitle(column(record, columns, "title"));
+            request.setDescription(column(record, columns, "description"));
+            request.setLocation(column(record, columns, "location"));
+            request.setPropertyType(column(record, columns, "propertytype"));
+            request.setPrice(parse(column(record, columns, "price"), "price", BigDecimal::new, messages));
+            request.setBedrooms(parse(column(record, columns, "bedrooms"), "bedrooms", Integer::valueOf, messages));
+            request.setBathrooms(parse(column(record, columns, "bathrooms"), "bathrooms", Integer::valueOf, messages));
+            request.setArea(parse(column(record, columns, "area"), "area", Double::valueOf, messages));
+            if (columns.containsKey("latitude") && columns.containsKey("longitude")) {
+                request.setLatitude(parse(column(record, columns, "latitude"), "latitude", Double::valueOf, messages));
+                request.setLongitude(parse(column(record, columns, "longitude"), "longitude", Double::valueOf, messages));
+            }
+            add(request, messages);
+        }
+    }
+
+    private void readNdjson(BufferedReader reader) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            List<String> messages = new ArrayList<>();
+            CreatePropertyRequest request = null;
+            try {
+                request = objectMapper.readValue(line, CreatePropertyRequest.class);
+            } catch (JsonProcessingException e) {
+                messages.add("Malformed JSON: " + e.getOriginalMessage());
+            }
+            add(request, messages);
+        }
+    }
+
+    private void add(CreatePropertyRequest request, List<String> messages) throws IOException {
+        long row = ++totalRows;
+        if (request != null && messages.isEmpty()) {
+            for (ConstraintViolation<CreatePropertyRequest> violation : validator.validate(request)) {
+                messages.add(violation.getPropertyPath() + ": " + violation.getMessage());
+            }
+            if ((request.getLatitude() == null) != (request.getLongitude() == null)) {
+                messages.add("latitude: latitude and longitude must be provided together");
+            }
+        }
+        if (request == null || !messages.isEmpty()) {
+            rejectedRows++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                messages.sort(null);
+                errors.add(new PropertyImportResponse.RowError(row, messages));
+            }
+            return;
+        }
+
+        staging.append(Long.toString(row)).append(',');
+        appendQuoted(request.getTitle());
+        staging.append(',');
+        appendQuoted(request.getDescription());
+        staging.append(',').append(request.getPrice().toPlainString()).append(',');
+        appendQuoted(request.getLocation());
+        staging.append(',');
+        appendQuoted(request.getPropertyType());
+        staging.append(',').append(request.getBedrooms().toString())
+                .append(',').append(request.getBathrooms().toString())
+                .append(',').append(request.getArea().toString())
+                .append(',').append(request.getLatitude() != null ? request.getLatitude().toString() : "")
+                .append(',').append(request.getLongitude() != null ? request.getLongitude().toString() : "")
+                .append('\n');
+    }
+
+    private void appendQuoted(String value) throws IOException {
+        staging.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private static String normalizeColumn(String name) {
+        return name.trim().replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        int index = columns.get(name);
+        return index < record.size() ? record.get(index).trim() : null;
+    }
+
+    private static <T> T parse(String value, String field, Function<String, T> parser,
+                               List<String> messages) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return parser.apply(value);
+        } catch (NumberFormatException e) {
+            messages.add(field + ": must be a number");
+            return null;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.primeproperties.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.primeproperties.config.Workload;
+import com.primeproperties.config.WorkloadPool;
+import com.primeproperties.dto.PropertyImportResponse;
+import com.primeproperties.event.PropertyChangeEvent;
+import com.primeproperties.event.PropertySnapshot;
+import com.primeproperties.repository.PropertyRepositoryImpl;
+import com.primeproperties.repository.UserRepository;
+import jakarta.validation.Validator;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Service for high-volume property imports.
+ * Rows are parsed and validated one at a time into a spool file, streamed into a
+ * temporary staging table with PostgreSQL COPY and moved into properties with a
+ * single set-based INSERT.
+ */
+@Service
+public class PropertyImportService {
+
+    private static final int COPY_CHUNK_SIZE = 64 * 1024;
+
+    private static final String CREATE_STAGING_SQL =
+            "CREATE TEMP TABLE property_import_staging (" +
+            "row_number BIGINT, title VARCHAR(200), description TEXT, price NUMERIC(38,2), " +
+            "location VARCHAR(100), property_type VARCHAR(50), bedrooms INTEGER, bathrooms INTEGER, " +
+            "area DOUBLE PRECISION, latitude DOUBLE PRECISION, longitude DOUBLE PRECISION) ON COMMIT DROP";
+
+    private static final String COPY_SQL =
+            "COPY property_import_staging (row_number, title, description, price, location, " +
+            "property_type, bedrooms, bathrooms, area, latitude, longitude) FROM STDIN WITH (FORMAT csv)";
+
+    // INCREMENT BY of properties_id_seq and allocationSize of Property
+    private static final int ID_BLOCK_SIZE = 50;
+
+    // One nextval per ID_BLOCK_SIZE rows; like Hibernate's pooled optimizer, each value hi
+    // reserves the ids hi - ID_BLOCK_SIZE + 1 .. hi
+    private static final String INSERT_SQL =
+            "WITH staged AS (" +
+            "    SELECT s.*, row_number() OVER (ORDER BY s.row_number) - 1 AS position " +
+            "    FROM property_import_staging s), " +
+            "blocks AS (" +
+            "    SELECT block, nextval('properties_id_seq') AS hi " +
+            "    FROM generate_series(0, (SELECT (count(*) - 1) / " + ID_BLOCK_SIZE +
+            "        FROM property_import_staging)) AS block) " +
+            "INSERT INTO properties (id, title, description, price, location, property_type, bedrooms, " +
+            "bathrooms, area, latitude, longitude, status, created_at, updated_at, developer_id) " +
+            "SELECT b.hi - " + (ID_BLOCK_SIZE - 1) + " + st.position % " + ID_BLOCK_SIZE + ", st.title, " +
+            "st.description, st.price, st.location, st.property_type, st.bedrooms, st.bathrooms, st.area, " +
+            "st.latitude, st.longitude, 'AVAILABLE', now(), now(), ? " +
+            "FROM staged st JOIN blocks b ON b.block = st.position / " + ID_BLOCK_SIZE + " " +
+            "ORDER BY st.position " +
+            "RETURNING " + PropertyRepositoryImpl.SNAPSHOT_COLUMNS;
+
+    /**
+     * Supported upload formats
+     */
+    public enum Format {
+        CSV,
+        NDJSON;
+
+        /**
+         * Resolve the format from an explicit parameter, the content type or the file name
+         */
+        public static Format resolve(String format, String contentType, String filename) {
+            if (format != null && !format.isBlank()) {
+                try {
+                    return Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Unsupported import format: " + format);
+                }
+            }
+            if (contentType != null && contentType.toLowerCase(Locale.ROOT).contains("json")) {
+                return NDJSON;
+            }
+            if (filename != null) {
+                String name = filename.toLowerCase(Locale.ROOT);
+                if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+                    return NDJSON;
+                }
+            }
+            return CSV;
+        }
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Import properties for a developer from a CSV or NDJSON stream.
+     * The upload is parsed and validated into a local spool file first, so a slow client
+     * never holds a connection; only the COPY and INSERT run inside the transaction.
+     */
+    @WorkloadPool(Workload.BATCH)
+    public PropertyImportResponse importProperties(InputStream input, Format format, Long developerId)
+            throws IOException {
+        if (!userRepository.existsById(developerId)) {
+            throw new RuntimeException("Developer not found");
+        }
+
+        Path spool = Files.createTempFile("property-import-", ".csv");
+        try {
+            PropertyImportParser parser;
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+                 Writer staging = Files.newBufferedWriter(spool, StandardCharsets.UTF_8)) {
+                parser = new PropertyImportParser(validator, objectMapper, staging);
+                parser.parse(reader, format);
+            }
+
+            List<PropertySnapshot> imported = parser.getAcceptedRows() > 0
+                    ? transactionTemplate.execute(status -> load(spool, developerId))
+                    : List.of();
+            return new PropertyImportResponse(parser.getTotalRows(), imported.size(), parser.getRejectedRows(),
+                    parser.isErrorsTruncated(), parser.getErrors());
+        } finally {
+            Files.deleteIfExists(spool);
+        }
+    }
+
+    // Runs in the transaction: COPY the spooled rows into staging, then one set-based INSERT
+    private List<PropertySnapshot> load(Path spool, Long developerId) {
+        jdbcTemplate.execute(CREATE_STAGING_SQL);
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try (Reader rows = Files.newBufferedReader(spool, StandardCharsets.UTF_8)) {
+            connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL, rows, COPY_CHUNK_SIZE);
+        } catch (SQLException | IOException e) {
+            throw new RuntimeException("Error staging import: " + e.getMessage(), e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+
+        List<PropertySnapshot> imported = jdbcTemplate.query(
+                INSERT_SQL, PropertyRepositoryImpl::mapSnapshot, developerId);
+        if (!imported.isEmpty()) {
+            List<PropertyChangeEvent.Change> changes = imported.stream()
+                    .map(snapshot -> new PropertyChangeEvent.Change(null, snapshot))
+                    .toList();
+            eventPublisher.publishEvent(new PropertyChangeEvent(
+                    PropertyChangeEvent.Type.CREATED, developerId, changes));
+        }
+        return imported;
+    }
+}
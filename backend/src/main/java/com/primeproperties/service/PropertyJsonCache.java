@@ -0,0 +1,102 @@
+package com.primeproperties.service;
+
+import com.primeproperties.dto.PropertyResponse;
+import com.primeproperties.util.PropertyJsonWriter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Pre-serialised UTF-8 JSON per property version, so listing responses are assembled
+ * from cached bytes instead of running Jackson over every PropertyResponse.
+ * A fragment is reused only while the property's updatedAt and the developer's
+ * name and email are unchanged, so stale fragments are never served; invalidations
+ * just free the memory sooner. Past max-bytes the least recently used fragments are evicted.
+ */
+@Service
+public class PropertyJsonCache {
+
+    private final long maxBytes;
+
+    // Access-ordered so the least recently used fragments are evicted first; guarded by itself
+    private final LinkedHashMap<Long, Fragment> fragments = new LinkedHashMap<>(1024, 0.75f, true);
+    private long cachedBytes;
+
+    public PropertyJsonCache(@Value("${app.cache.property-json.max-bytes:67108864}") long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * JSON for one property, written (and cached) by PropertyJsonWriter on a miss
+     */
+    public byte[] getOrWrite(Long id, LocalDateTime updatedAt, String developerName, String developerEmail,
+                             Supplier<PropertyResponse> response) {
+        Fragment cached;
+        synchronized (fragments) {
+            cached = fragments.get(id);
+        }
+        if (cached != null && Objects.equals(cached.updatedAt(), updatedAt)
+                && Objects.equals(cached.developerName(), developerName)
+                && Objects.equals(cached.developerEmail(), developerEmail)) {
+            return cached.json();
+        }
+
+        byte[] json = PropertyJsonWriter.write(response.get());
+        if (json.length > maxBytes) {
+            return json;
+        }
+        synchronized (fragments) {
+            Fragment previous = fragments.put(id, new Fragment(updatedAt, developerName, developerEmail, json));
+            cachedBytes += json.length - (previous != null ? previous.json().length : 0);
+            evict();
+        }
+        return json;
+    }
+
+    /**
+     * Drop one property's fragment
+     */
+    public void invalidate(Long id) {
+        synchronized (fragments) {
+            Fragment previous = fragments.remove(id);
+            if (previous != null) {
+                cachedBytes -= previous.json().length;
+            }
+        }
+    }
+
+    /**
+     * Drop every fragment
+     */
+    public void clear() {
+        synchronized (fragments) {
+            fragments.clear();
+            cachedBytes = 0;
+        }
+    }
+
+    /**
+     * Bytes of JSON currently cached
+     */
+    public long getCachedBytes() {
+        synchronized (fragments) {
+            return cachedBytes;
+        }
+    }
+
+    // Caller holds the lock; the fragment just added is the most recently used, so it stays
+    private void evict() {
+        Iterator<Fragment> iterator = fragments.values().iterator();
+        while (cachedBytes > maxBytes && iterator.hasNext()) {
+            cachedBytes -= iterator.next().json().length;
+            iterator.remove();
+        }
+    }
+
+    private record Fragment(LocalDateTime updatedAt, String developerName, String developerEmail, byte[] json) {}
+}
@@ -0,0 +1,196 @@
+package com.primeproperties.service;
+
+import com.primeproperties.dto.PropertyMediaResponse;
+import com.primeproperties.event.PropertyChangeEvent;
+import com.primeproperties.model.Property;
+import com.primeproperties.model.PropertyMedia;
+import com.primeproperties.repository.PropertyMediaRepository;
+import com.primeproperties.repository.PropertyRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service for listing photos. Metadata lives in property_media; file bytes
+ * live in the content-addressed MediaStorageService.
+ */
+@Service
+public class PropertyMediaService {
+
+    private static final int MAX_MEDIA_PER_PROPERTY = 50;
+    private static final Set<String> ALLOWED_CONTENT_TYPES = Set.of(
+            "image/jpeg", "image/png", "image/gif", "image/webp");
+
+    @Autowired
+    private PropertyMediaRepository propertyMediaRepository;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private MediaStorageService mediaStorageService;
+
+    @Autowired
+    private ThumbnailService thumbnailService;
+
+    /**
+     * Get the media of a property in display order
+     */
+    @Transactional(readOnly = true)
+    public List<PropertyMediaResponse> getMedia(Long propertyId) {
+        if (!propertyRepository.existsById(propertyId)) {
+            throw new RuntimeException("Property not found");
+        }
+        return propertyMediaRepository.findByPropertyIdOrderByPositionAscIdAsc(propertyId).stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Stream an upload to disk and attach it to a property (developer only - own properties).
+     * Not transactional, so no database connection is held while the body streams in.
+     */
+    public PropertyMediaResponse upload(Long propertyId, Long developerId, InputStream input,
+                                        String contentType, String originalFilename) throws IOException {
+        Property property = propertyRepository.findById(propertyId)
+                .orElseThrow(() -> new RuntimeException("Property not found"));
+        if (!property.getDeveloper().getId().equals(developerId)) {
+            throw new RuntimeException("You can only update your own properties");
+        }
+        String normalizedType = normalizeContentType(contentType);
+        if (!ALLOWED_CONTENT_TYPES.contains(normalizedType)) {
+            throw new IllegalArgumentException("Unsupported media type: " + contentType);
+        }
+        long count = propertyMediaRepository.countByPropertyId(propertyId);
+        if (count >= MAX_MEDIA_PER_PROPERTY) {
+            throw new IllegalArgumentException("A property can have at most " + MAX_MEDIA_PER_PROPERTY + " media files");
+        }
+
+        // The row is inserted (and committed) while the store holds the hash's lock
+        PropertyMedia savedMedia = mediaStorageService.store(input, stored -> {
+            if (stored.getSize() == 0) {
+                throw new IllegalArgumentException("Upload is empty");
+            }
+            PropertyMedia media = new PropertyMedia();
+            media.setPropertyId(propertyId);
+            media.setContentHash(stored.getHash());
+            media.setContentType(normalizedType);
+            media.setSizeBytes(stored.getSize());
+            media.setOriginalFilename(truncate(originalFilename, 255));
+            media.setPosition((int) count);
+            return propertyMediaRepository.save(media);
+        });
+
+        thumbnailService.generateThumbnails(savedMedia.getContentHash());
+        return convertToResponse(savedMedia);
+    }
+
+    /**
+     * Remove a media file from a property (developer only - own properties)
+     */
+    @Transactional
+    public void delete(Long propertyId, Long mediaId, Long developerId) {
+        Property property = propertyRepository.findById(propertyId)
+                .orElseThrow(() -> new RuntimeException("Property not found"));
+        if (!property.getDeveloper().getId().equals(developerId)) {
+            throw new RuntimeException("You can only update your own properties");
+        }
+        PropertyMedia media = propertyMediaRepository.findByIdAndPropertyId(mediaId, propertyId)
+                .orElseThrow(() -> new RuntimeException("Media not found"));
+        propertyMediaRepository.delete(media);
+        deleteFilesAfterCommit(List.of(media.getContentHash()));
+    }
+
+    /**
+     * Content type recorded for a stored object, if any media row references it
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> getContentType(String contentHash) {
+        return propertyMediaRepository.findFirstByContentHash(contentHash).map(PropertyMedia::getContentType);
+    }
+
+    /**
+     * Drop media rows and unreferenced files once their property is deleted
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onPropertyChange(PropertyChangeEvent event) {
+        if (event.getType() != PropertyChangeEvent.Type.DELETED) {
+            return;
+        }
+        for (PropertyChangeEvent.Change change : event.getChanges()) {
+            List<PropertyMedia> media = propertyMediaRepository.findByPropertyIdOrderByPositionAscIdAsc(change.getId());
+            if (media.isEmpty()) {
+                continue;
+            }
+            propertyMediaRepository.deleteAll(media);
+            deleteFilesAfterCommit(media.stream().map(PropertyMedia::getContentHash).distinct().toList());
+        }
+    }
+
+    // Files are shared between rows with identical content. Checked once the row deletion has
+    // committed, so a rollback never loses a file and two concurrent deletions never both see the other's row.
+    private void deleteFilesAfterCommit(List<String> contentHashes) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    contentHashes.forEach(PropertyMediaService.this::deleteFileIfUnreferenced);
+                }
+            });
+        } else {
+            contentHashes.forEach(this::deleteFileIfUnreferenced);
+        }
+    }
+
+    private void deleteFileIfUnreferenced(String contentHash) {
+        try {
+            mediaStorageService.deleteIfUnreferenced(contentHash, propertyMediaRepository::existsByContentHash);
+        } catch (IOException e) {
+            System.err.println("❌ Could not delete media file " + contentHash + ": " + e.getMessage());
+        }
+    }
+
+    private static String normalizeContentType(String contentType) {
+        if (contentType == null) {
+            return "";
+        }
+        int separator = contentType.indexOf(';');
+        String type = separator >= 0 ? contentType.substring(0, separator) : contentType;
+        return type.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+
+    private PropertyMediaResponse convertToResponse(PropertyMedia media) {
+        String url = "/properties/media/" + media.getContentHash();
+        List<Integer> widths = mediaStorageService.getThumbnailWidths();
+        String thumbnailUrl = widths.isEmpty() ? url : url + "/thumbnail/" + widths.get(0);
+        return new PropertyMediaResponse(
+                media.getId(),
+                media.getPropertyId(),
+                media.getContentHash(),
+                media.getContentType(),
+                media.getSizeBytes(),
+                media.getOriginalFilename(),
+                media.getPosition(),
+                url,
+                thumbnailUrl,
+                media.getCreatedAt()
+        );
+    }
+}
@@ -1,24 +1,54 @@
 package com.primeproperties.service;
 
+import com.primeproperties.dto.BulkStatusUpdateRequest;
+import com.primeproperties.dto.BulkStatusUpdateResponse;
 import com.primeproperties.dto.CreatePropertyRequest;
+import com.primeproperties.dto.JsonFragmentArray;
+import com.primeproperties.dto.NormalizedPropertyListResponse;
 import com.primeproperties.dto.PropertyResponse;
 import com.primeproperties.dto.UpdatePropertyRequest;
+import com.primeproperties.event.InvalidationListener;
+import com.primeproperties.event.PropertyChangeEvent;
+import com.primeproperties.event.PropertySnapshot;
 import com.primeproperties.model.Property;
+import com.primeproperties.model.PropertyField;
+import com.primeproperties.model.PropertyStatus;
 import com.primeproperties.model.User;
 import com.primeproperties.repository.PropertyRepository;
 import com.primeproperties.repository.UserRepository;
+import com.primeproperties.util.VersionedCache;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
- * Service for property-related business logic
+ * Service for property-related business logic.
+ * Single-property reads are served from a local cache that ClusterInvalidationBus
+ * keeps coherent with writes made on any node.
  */
 @Service
-public class PropertyService {
+public class PropertyService implements InvalidationListener {
 
     @Autowired
     private PropertyRepository propertyRepository;
@@ -26,35 +56,156 @@ public class PropertyService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ClusterInvalidationBus invalidationBus;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    private PropertyJsonCache propertyJsonCache;
+
+    @Autowired
+    private PropertyChangeJournal propertyChangeJournal;
+
+    @Value("${app.cache.property.max-entries:20000}")
+    private int cacheMaxEntries;
+
+    @Value("${app.cache.property.ttl-seconds:600}")
+    private long cacheTtlSeconds;
+
+    private VersionedCache<Long, PropertyResponse> propertyCache;
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    public void initCache() {
+        propertyCache = new VersionedCache<>(cacheMaxEntries, cacheTtlSeconds * 1000,
+                response -> version(response.getUpdatedAt()));
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
     /**
      * Get all properties
      */
+    @Transactional(readOnly = true)
     public List<PropertyResponse> getAllProperties() {
-        return propertyRepository.findAll().stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return propertyRepository.findAllResponses();
+    }
+
+    /**
+     * Get all properties as pre-serialised JSON
+     */
+    @Transactional(readOnly = true)
+    public JsonFragmentArray getAllPropertiesJson() {
+        return toJson(propertyRepository.findAllResponses());
+    }
+
+    /**
+     * Get all properties with each developer listed once
+     */
+    @Transactional(readOnly = true)
+    public NormalizedPropertyListResponse getAllPropertiesNormalized() {
+        return normalize(propertyRepository.findAllResponses());
+    }
+
+    /**
+     * Get all properties with only the given fields, read without the other columns
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getAllProperties(Set<PropertyField> fields) {
+        return propertyRepository.findFields(fields, null, null);
     }
 
     /**
-     * Get property by ID
+     * Get property by ID (cache hits need no database connection)
      */
     public Optional<PropertyResponse> getPropertyById(Long id) {
-        return propertyRepository.findById(id)
-                .map(this::convertToResponse);
+        if (!invalidationBus.isCoherent()) {
+            return Optional.ofNullable(loadProperty(id));
+        }
+        return Optional.ofNullable(propertyCache.getOrLoad(id, this::loadProperty));
+    }
+
+    /**
+     * Get properties by IDs, preserving the order of the given IDs
+     */
+    @Transactional(readOnly = true)
+    public List<PropertyResponse> getPropertiesByIds(List<Long> ids) {
+        return findInOrder(ids);
+    }
+
+    /**
+     * Get properties by IDs as pre-serialised JSON, preserving the order of the given IDs
+     */
+    @Transactional(readOnly = true)
+    public JsonFragmentArray getPropertiesByIdsJson(List<Long> ids) {
+        return toJson(findInOrder(ids));
+    }
+
+    /**
+     * Get properties by IDs with each developer listed once, preserving the order of the given IDs
+     */
+    @Transactional(readOnly = true)
+    public NormalizedPropertyListResponse getPropertiesByIdsNormalized(List<Long> ids) {
+        return normalize(findInOrder(ids));
+    }
+
+    /**
+     * Get properties by IDs with only the given fields, preserving the order of the given IDs
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getPropertiesByIds(List<Long> ids, Set<PropertyField> fields) {
+        Map<Object, Map<String, Object>> rows = propertyRepository.findFields(fields, null, ids).stream()
+                .collect(Collectors.toMap(row -> row.get(PropertyField.ID.getName()), Function.identity()));
+        return ids.stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
     }
 
     /**
      * Get properties by developer
      */
+    @Transactional(readOnly = true)
     public List<PropertyResponse> getPropertiesByDeveloper(Long developerId) {
-        return propertyRepository.findByDeveloperId(developerId).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return propertyRepository.findResponsesByDeveloperId(developerId);
+    }
+
+    /**
+     * Get properties by developer as pre-serialised JSON
+     */
+    @Transactional(readOnly = true)
+    public JsonFragmentArray getPropertiesByDeveloperJson(Long developerId) {
+        return toJson(propertyRepository.findResponsesByDeveloperId(developerId));
+    }
+
+    /**
+     * Get properties by developer with only the given fields
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getPropertiesByDeveloper(Long developerId, Set<PropertyField> fields) {
+        return propertyRepository.findFields(fields, developerId, null);
+    }
+
+    /**
+     * Get properties by developer with the developer listed once
+     */
+    @Transactional(readOnly = true)
+    public NormalizedPropertyListResponse getPropertiesByDeveloperNormalized(Long developerId) {
+        return normalize(propertyRepository.findResponsesByDeveloperId(developerId));
     }
 
     /**
      * Create a new property
      */
+    @Transactional
     public PropertyResponse createProperty(CreatePropertyRequest request, Long developerId) {
         User developer = userRepository.findById(developerId)
                 .orElseThrow(() -> new RuntimeException("Developer not found"));
@@ -68,15 +219,19 @@ public class PropertyService {
         property.setBedrooms(request.getBedrooms());
         property.setBathrooms(request.getBathrooms());
         property.setArea(request.getArea());
+        setCoordinates(property, request.getLatitude(), request.getLongitude());
         property.setDeveloper(developer);
 
         Property savedProperty = propertyRepository.save(property);
+        eventPublisher.publishEvent(PropertyChangeEvent.single(
+                PropertyChangeEvent.Type.CREATED, null, PropertySnapshot.of(savedProperty)));
         return convertToResponse(savedProperty);
     }
 
     /**
      * Update a property
      */
+    @Transactional
     public PropertyResponse updateProperty(Long id, UpdatePropertyRequest request, Long developerId) {
         Property property = propertyRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Property not found"));
@@ -86,6 +241,7 @@ public class PropertyService {
             throw new RuntimeException("You can only update your own properties");
         }
 
+        PropertySnapshot before = PropertySnapshot.of(property);
         property.setTitle(request.getTitle());
         property.setDescription(request.getDescription());
         property.setPrice(request.getPrice());
@@ -94,14 +250,19 @@ public class PropertyService {
         property.setBedrooms(request.getBedrooms());
         property.setBathrooms(request.getBathrooms());
         property.setArea(request.getArea());
+        setCoordinates(property, request.getLatitude(), request.getLongitude());
 
-        Property updatedProperty = propertyRepository.save(property);
+        // Flushed so preUpdate stamps updatedAt before the snapshot versions the change
+        Property updatedProperty = propertyRepository.saveAndFlush(property);
+        eventPublisher.publishEvent(PropertyChangeEvent.single(
+                PropertyChangeEvent.Type.UPDATED, before, PropertySnapshot.of(updatedProperty)));
         return convertToResponse(updatedProperty);
     }
 
     /**
      * Delete a property
      */
+    @Transactional
     public void deleteProperty(Long id, Long developerId) {
         Property property = propertyRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Property not found"));
@@ -111,12 +272,15 @@ public class PropertyService {
             throw new RuntimeException("You can only delete your own properties");
         }
 
+        PropertySnapshot before = PropertySnapshot.of(property);
         propertyRepository.delete(property);
+        eventPublisher.publishEvent(PropertyChangeEvent.single(PropertyChangeEvent.Type.DELETED, before, null));
     }
 
     /**
      * Mark property as sold
      */
+    @Transactional
     public PropertyResponse markPropertyAsSold(Long id, Long developerId) {
         Property property = propertyRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Property not found"));
@@ -126,15 +290,154 @@ public class PropertyService {
             throw new RuntimeException("You can only update your own properties");
         }
 
+        PropertySnapshot before = PropertySnapshot.of(property);
         property.setStatus("SOLD");
-        Property updatedProperty = propertyRepository.save(property);
+        Property updatedProperty = propertyRepository.saveAndFlush(property);
+        eventPublisher.publishEvent(PropertyChangeEvent.single(
+                PropertyChangeEvent.Type.STATUS_CHANGED, before, PropertySnapshot.of(updatedProperty)));
         return convertToResponse(updatedProperty);
     }
 
+    /**
+     * Move many of a developer's properties to a new status with one set-based UPDATE.
+     * Ids that are not owned by the developer, already in the target status, not in
+     * the expected status or already bought by a customer are reported as skipped.
+     */
+    @Transactional
+    public BulkStatusUpdateResponse bulkUpdateStatus(BulkStatusUpdateRequest request, Long developerId) {
+        String status = parseStatus(request.getStatus());
+        String expectedStatus = request.getExpectedStatus() != null ? parseStatus(request.getExpectedStatus()) : null;
+
+        Set<Long> requestedIds = new LinkedHashSet<>();
+        request.getPropertyIds().stream().filter(Objects::nonNull).forEach(requestedIds::add);
+
+        List<PropertySnapshot> changed = propertyRepository.updateStatusForDeveloper(
+                developerId, requestedIds, status, expectedStatus);
+
+        List<PropertyChangeEvent.Change> changes = new ArrayList<>(changed.size());
+        Set<Long> updatedIds = new LinkedHashSet<>();
+        for (PropertySnapshot before : changed) {
+            changes.add(new PropertyChangeEvent.Change(before, before.withStatus(status, before.getUpdatedAt())));
+            updatedIds.add(before.getId());
+        }
+        if (!changes.isEmpty()) {
+            eventPublisher.publishEvent(new PropertyChangeEvent(
+                    PropertyChangeEvent.Type.STATUS_CHANGED, developerId, changes));
+        }
+
+        List<Long> skippedIds = requestedIds.stream()
+                .filter(id -> !updatedIds.contains(id))
+                .toList();
+        return new BulkStatusUpdateResponse(status, new ArrayList<>(updatedIds), skippedIds);
+    }
+
+    @Override
+    public String getEntityType() {
+        return ClusterInvalidationBus.PROPERTY;
+    }
+
+    @Override
+    public void invalidate(String id, long version) {
+        Long propertyId = Long.valueOf(id);
+        propertyCache.invalidate(propertyId, version);
+        entityCacheService.evictProperty(propertyId);
+        propertyJsonCache.invalidate(propertyId);
+    }
+
+    @Override
+    public void resync() {
+        propertyCache.clear();
+        propertyJsonCache.clear();
+    }
+
+    /**
+     * Invalidate changed properties on every node once the change commits
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onPropertyChange(PropertyChangeEvent event) {
+        // Cached findByStatus / findByDeveloperId / findResponsesByDeveloperId results may include or miss any of these rows
+        invalidationBus.publish(ClusterInvalidationBus.PROPERTY_LISTINGS, String.valueOf(event.getDeveloperId()), 0);
+        if (event.getType() == PropertyChangeEvent.Type.CREATED) {
+            return;
+        }
+        for (PropertyChangeEvent.Change change : event.getChanges()) {
+            // Deleted ids never come back, so no load may cache them again
+            long version = change.getAfter() != null ? version(change.getAfter().getUpdatedAt()) : Long.MAX_VALUE;
+            invalidationBus.publish(ClusterInvalidationBus.PROPERTY, String.valueOf(change.getId()), version);
+        }
+    }
+
+    /**
+     * Record committed changes (including purchases and imports) in the change journal
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void journalChange(PropertyChangeEvent event) {
+        propertyChangeJournal.append(event);
+    }
+
+    private PropertyResponse loadProperty(Long id) {
+        return readOnlyTransaction.execute(status -> propertyRepository.findResponseById(id).orElse(null));
+    }
+
+    private static long version(LocalDateTime updatedAt) {
+        return updatedAt != null ? updatedAt.toInstant(ZoneOffset.UTC).toEpochMilli() : 0;
+    }
+
+    private String parseStatus(String status) {
+        try {
+            return PropertyStatus.valueOf(status.trim().toUpperCase(Locale.ROOT)).name();
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid status: " + status);
+        }
+    }
+
+    /**
+     * Set both coordinates, or clear both
+     */
+    private void setCoordinates(Property property, Double latitude, Double longitude) {
+        if ((latitude == null) != (longitude == null)) {
+            throw new IllegalArgumentException("Latitude and longitude must be provided together");
+        }
+        property.setLatitude(latitude);
+        property.setLongitude(longitude);
+    }
+
+    private List<PropertyResponse> findInOrder(List<Long> ids) {
+        Map<Long, PropertyResponse> properties = propertyRepository.findResponsesByIdIn(ids).stream()
+                .collect(Collectors.toMap(PropertyResponse::getId, Function.identity()));
+        return ids.stream()
+                .map(properties::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    // Cached fragments are checked against updatedAt and the developer, so only misses are serialised
+    private JsonFragmentArray toJson(List<PropertyResponse> listings) {
+        List<byte[]> fragments = new ArrayList<>(listings.size());
+        for (PropertyResponse listing : listings) {
+            fragments.add(propertyJsonCache.getOrWrite(listing.getId(), listing.getUpdatedAt(),
+                    listing.getDeveloperName(), listing.getDeveloperEmail(), () -> listing));
+        }
+        return new JsonFragmentArray(fragments);
+    }
+
+    // Moves each developer's name and email from the listings into the dictionary
+    private NormalizedPropertyListResponse normalize(List<PropertyResponse> listings) {
+        Map<Long, NormalizedPropertyListResponse.Developer> dictionary = new LinkedHashMap<>();
+        for (PropertyResponse listing : listings) {
+            dictionary.computeIfAbsent(listing.getDeveloperId(), developerId -> new NormalizedPropertyListResponse.Developer(
+                    developerId, listing.getDeveloperName(), listing.getDeveloperEmail()));
+            listing.setDeveloperName(null);
+            listing.setDeveloperEmail(null);
+        }
+        return new NormalizedPropertyListResponse(listings, dictionary);
+    }
+
     /**
      * Convert Property entity to PropertyResponse DTO
      */
     private PropertyResponse convertToResponse(Property property) {
+        User developer = property.getDeveloper();
         return new PropertyResponse(
                 property.getId(),
                 property.getTitle(),
@@ -145,11 +448,14 @@ public class PropertyService {
                 property.getBedrooms(),
                 property.getBathrooms(),
                 property.getArea(),
+                property.getLatitude(),
+                property.getLongitude(),
                 property.getStatus(),
                 property.getCreatedAt(),
                 property.getUpdatedAt(),
-                property.getDeveloper().getName(),
-                property.getDeveloper().getEmail()
+                developer.getId(),
+                developer.getName(),
+                developer.getEmail()
         );
     }
 }
@@ -0,0 +1,288 @@
+package com.primeproperties.service;
+
+import com.primeproperties.dto.PurchaseResponse;
+import com.primeproperties.event.InvalidationListener;
+import com.primeproperties.event.PropertyChangeEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Purchase pipeline for launch-day bursts.
+ * Attempts are sharded by property id onto single-writer queues, so no two
+ * workers ever compete for the same properties row. Each worker drains its
+ * queue, keeps the first claimant per property and commits the claims in small
+ * multi-property transactions. The other claimants are answered once that outcome
+ * is known; if the first claimant's commit fails, the next one gets the property.
+ * Properties known to be taken are rejected on the caller's thread without
+ * touching the queue; a change to one on any node drops it from that set.
+ */
+@Service
+public class PurchaseIntake implements InvalidationListener {
+
+    public static final String UNAVAILABLE_MESSAGE = "Property is no longer available";
+    public static final String BUSY_MESSAGE = "Too many purchase requests, please retry";
+
+    // Bounds the known-unavailable set; clearing it only costs a trip through the queue
+    private static final int MAX_KNOWN_UNAVAILABLE = 100_000;
+
+    @Value("${app.purchase.intake.shards:4}")
+    private int shardCount;
+
+    @Value("${app.purchase.intake.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.purchase.intake.batch-size:32}")
+    private int batchSize;
+
+    @Autowired
+    private PurchaseService purchaseService;
+
+    private final Set<Long> knownUnavailable = ConcurrentHashMap.newKeySet();
+    private Shard[] shards;
+
+    @PostConstruct
+    public void start() {
+        shards = new Shard[Math.max(1, shardCount)];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard(i);
+            shards[i].thread.start();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        for (Shard shard : shards) {
+            shard.thread.interrupt();
+        }
+        for (Shard shard : shards) {
+            try {
+                shard.thread.join(5000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            List<Attempt> pending = new ArrayList<>();
+            shard.queue.drainTo(pending);
+            pending.forEach(attempt -> attempt.result.completeExceptionally(new RuntimeException(BUSY_MESSAGE)));
+        }
+    }
+
+    /**
+     * Queue a purchase attempt; the future fails with a RuntimeException whose message
+     * says why (not found, no longer available, or busy)
+     */
+    public CompletableFuture<PurchaseResponse> submit(Long propertyId, Long customerId) {
+        CompletableFuture<PurchaseResponse> result = new CompletableFuture<>();
+        if (knownUnavailable.contains(propertyId)) {
+            result.completeExceptionally(new RuntimeException(UNAVAILABLE_MESSAGE));
+            return result;
+        }
+        Shard shard = shards[Math.floorMod(Long.hashCode(propertyId), shards.length)];
+        if (!shard.queue.offer(new Attempt(propertyId, customerId, result))) {
+            result.completeExceptionally(new RuntimeException(BUSY_MESSAGE));
+        }
+        return result;
+    }
+
+    /**
+     * Keep the known-unavailable set in step with sales and relistings made on this node
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChange(PropertyChangeEvent event) {
+        for (PropertyChangeEvent.Change change : event.getChanges()) {
+            if (change.getAfter() != null && !"AVAILABLE".equals(change.getAfter().getStatus())) {
+                markUnavailable(change.getId());
+            } else {
+                knownUnavailable.remove(change.getId());
+            }
+        }
+    }
+
+    @Override
+    public String getEntityType() {
+        return ClusterInvalidationBus.PROPERTY;
+    }
+
+    /**
+     * Changed on another node, possibly relisted: let the next attempt find out through the queue
+     */
+    @Override
+    public void invalidate(String id, long version) {
+        knownUnavailable.remove(Long.valueOf(id));
+    }
+
+    @Override
+    public void resync() {
+        knownUnavailable.clear();
+    }
+
+    private void markUnavailable(Long propertyId) {
+        if (knownUnavailable.size() >= MAX_KNOWN_UNAVAILABLE) {
+            knownUnavailable.clear();
+        }
+        knownUnavailable.add(propertyId);
+    }
+
+    private void process(List<Attempt> attempts) {
+        // First claimant per property; retries by the same customer share its outcome
+        Map<Long, Claim> claims = new LinkedHashMap<>();
+        for (Attempt attempt : attempts) {
+            if (knownUnavailable.contains(attempt.propertyId)) {
+                attempt.result.completeExceptionally(new RuntimeException(UNAVAILABLE_MESSAGE));
+                continue;
+            }
+            Claim claim = claims.get(attempt.propertyId);
+            if (claim == null) {
+                claims.put(attempt.propertyId, new Claim(attempt));
+            } else {
+                claim.add(attempt);
+            }
+        }
+
+        List<Claim> pending = new ArrayList<>(claims.values());
+        for (int from = 0; from < pending.size(); from += batchSize) {
+            commit(pending.subList(from, Math.min(from + batchSize, pending.size())));
+        }
+    }
+
+    private void commit(List<Claim> batch) {
+        Map<Long, Long> customerByProperty = new LinkedHashMap<>();
+        batch.forEach(claim -> customerByProperty.put(claim.propertyId, claim.customerId));
+        PurchaseService.BatchResult outcome;
+        try {
+            outcome = purchaseService.purchaseBatch(customerByProperty);
+        } catch (RuntimeException e) {
+            // One bad claim must not sink the others: retry them one at a time
+            if (batch.size() > 1) {
+                batch.forEach(claim -> commit(List.of(claim)));
+            } else {
+                // Nothing was sold, so the property passes to the next claimant
+                Claim failed = batch.get(0);
+                failed.failFollowers(e);
+                Claim next = failed.next();
+                if (next != null) {
+                    commit(List.of(next));
+                }
+            }
+            return;
+        }
+
+        for (Claim claim : batch) {
+            PurchaseResponse purchase = outcome.getPurchases().get(claim.propertyId);
+            if (purchase != null) {
+                markUnavailable(claim.propertyId);
+                claim.complete(purchase);
+            } else if (outcome.getNotFound().contains(claim.propertyId)) {
+                claim.fail(new RuntimeException("Property not found"));
+            } else {
+                markUnavailable(claim.propertyId);
+                claim.fail(new RuntimeException(UNAVAILABLE_MESSAGE));
+            }
+        }
+    }
+
+    private static class Attempt {
+        private final Long propertyId;
+        private final Long customerId;
+        private final CompletableFuture<PurchaseResponse> result;
+
+        Attempt(Long propertyId, Long customerId, CompletableFuture<PurchaseResponse> result) {
+            this.propertyId = propertyId;
+            this.customerId = customerId;
+            this.result = result;
+        }
+    }
+
+    private static class Claim {
+        private final Long propertyId;
+        private final Long customerId;
+        private final List<CompletableFuture<PurchaseResponse>> followers = new ArrayList<>();
+        // Other customers' attempts, in arrival order, answered once this claim's outcome is known
+        private final List<Attempt> contenders = new ArrayList<>();
+
+        Claim(Attempt first) {
+            this.propertyId = first.propertyId;
+            this.customerId = first.customerId;
+            this.followers.add(first.result);
+        }
+
+        void add(Attempt attempt) {
+            if (customerId.equals(attempt.customerId)) {
+                followers.add(attempt.result);
+            } else {
+                contenders.add(attempt);
+            }
+        }
+
+        // The earliest contender's claim, carrying the remaining contenders, or null if there are none
+        Claim next() {
+            if (contenders.isEmpty()) {
+                return null;
+            }
+            Claim next = new Claim(contenders.get(0));
+            contenders.subList(1, contenders.size()).forEach(next::add);
+            return next;
+        }
+
+        void complete(PurchaseResponse purchase) {
+            followers.forEach(result -> result.complete(purchase));
+            RuntimeException taken = new RuntimeException(UNAVAILABLE_MESSAGE);
+            contenders.forEach(attempt -> attempt.result.completeExceptionally(taken));
+        }
+
+        void failFollowers(RuntimeException e) {
+            followers.forEach(result -> result.completeExceptionally(e));
+        }
+
+        void fail(RuntimeException e) {
+            failFollowers(e);
+            contenders.forEach(attempt -> attempt.result.completeExceptionally(e));
+        }
+    }
+
+    private class Shard {
+        private final BlockingQueue<Attempt> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final Thread thread;
+
+        Shard(int index) {
+            thread = new Thread(this::run, "purchase-intake-" + index);
+            thread.setDaemon(true);
+        }
+
+        private void run() {
+            List<Attempt> drained = new ArrayList<>();
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    Attempt first = queue.poll(1, TimeUnit.SECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    drained.add(first);
+                    queue.drainTo(drained, batchSize * 8);
+                    process(drained);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (RuntimeException e) {
+                    drained.forEach(attempt -> attempt.result.completeExceptionally(e));
+                    System.err.println("❌ Purchase intake error: " + e.getMessage());
+                } finally {
+                    drained.clear();
+                }
+            }
+        }
+    }
+}
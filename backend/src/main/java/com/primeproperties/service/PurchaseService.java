@@ -0,0 +1,153 @@
+package com.primeproperties.service;
+
+import com.primeproperties.dto.PurchaseResponse;
+import com.primeproperties.event.PropertyChangeEvent;
+import com.primeproperties.event.PropertySnapshot;
+import com.primeproperties.model.Transaction;
+import com.primeproperties.repository.PropertyRepository;
+import com.primeproperties.repository.TransactionRepository;
+import com.primeproperties.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Service for buying properties.
+ * A property is claimed with a single conditional UPDATE (AVAILABLE -> SOLD)
+ * and the transaction row is inserted in the same short database transaction,
+ * so exactly one buyer wins without holding locks across application code.
+ */
+@Service
+public class PurchaseService {
+
+    public static final String TRANSACTION_CREATED = "TRANSACTION_CREATED";
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    /**
+     * Buy an available property at its listed price
+     */
+    @Transactional
+    public PurchaseResponse purchase(Long propertyId, Long customerId) {
+        PropertySnapshot sold = propertyRepository.markSoldIfAvailable(propertyId);
+        if (sold == null) {
+            if (!propertyRepository.existsById(propertyId)) {
+                throw new RuntimeException("Property not found");
+            }
+            throw new RuntimeException("Property is no longer available");
+        }
+
+        Transaction transaction = new Transaction(
+                userRepository.getReferenceById(customerId),
+                propertyRepository.getReferenceById(propertyId),
+                sold.getPrice());
+        Transaction savedTransaction = transactionRepository.save(transaction);
+
+        PropertySnapshot before = sold.withStatus("AVAILABLE", sold.getUpdatedAt());
+        eventPublisher.publishEvent(PropertyChangeEvent.single(
+                PropertyChangeEvent.Type.STATUS_CHANGED, before, sold));
+        PurchaseResponse response = new PurchaseResponse(savedTransaction.getId(), propertyId, sold.getStatus(),
+                savedTransaction.getAmount(), savedTransaction.getTransactionDate());
+        outboxService.append(TRANSACTION_CREATED, OutboxService.TRANSACTION_AGGREGATE,
+                response.getTransactionId(), createdPayload(response, customerId));
+        return response;
+    }
+
+    /**
+     * Buy several different properties in one short transaction (used by PurchaseIntake).
+     * customerByProperty maps each property id to the customer claiming it. Properties
+     * that are not sold are reported as not found or simply absent (no longer available).
+     */
+    @Transactional
+    public BatchResult purchaseBatch(Map<Long, Long> customerByProperty) {
+        List<PropertySnapshot> sold = propertyRepository.markSoldIfAvailable(customerByProperty.keySet());
+
+        List<Transaction> transactions = new ArrayList<>(sold.size());
+        for (PropertySnapshot snapshot : sold) {
+            transactions.add(new Transaction(
+                    userRepository.getReferenceById(customerByProperty.get(snapshot.getId())),
+                    propertyRepository.getReferenceById(snapshot.getId()),
+                    snapshot.getPrice()));
+        }
+        List<Transaction> savedTransactions = transactionRepository.saveAll(transactions);
+
+        Map<Long, PurchaseResponse> purchases = new HashMap<>();
+        Map<Long, Map<String, Object>> outboxPayloads = new HashMap<>();
+        Map<Long, List<PropertyChangeEvent.Change>> changesByDeveloper = new HashMap<>();
+        for (int i = 0; i < sold.size(); i++) {
+            PropertySnapshot snapshot = sold.get(i);
+            Transaction transaction = savedTransactions.get(i);
+            PurchaseResponse response = new PurchaseResponse(transaction.getId(), snapshot.getId(),
+                    snapshot.getStatus(), transaction.getAmount(), transaction.getTransactionDate());
+            purchases.put(snapshot.getId(), response);
+            outboxPayloads.put(transaction.getId(), createdPayload(response, customerByProperty.get(snapshot.getId())));
+            changesByDeveloper.computeIfAbsent(snapshot.getDeveloperId(), developer -> new ArrayList<>())
+                    .add(new PropertyChangeEvent.Change(snapshot.withStatus("AVAILABLE", snapshot.getUpdatedAt()), snapshot));
+        }
+        changesByDeveloper.forEach((developerId, changes) -> eventPublisher.publishEvent(
+                new PropertyChangeEvent(PropertyChangeEvent.Type.STATUS_CHANGED, developerId, changes)));
+        outboxService.appendAll(TRANSACTION_CREATED, OutboxService.TRANSACTION_AGGREGATE, outboxPayloads);
+
+        Set<Long> notFound = new HashSet<>();
+        if (purchases.size() < customerByProperty.size()) {
+            Set<Long> unsold = new HashSet<>(customerByProperty.keySet());
+            unsold.removeAll(purchases.keySet());
+            notFound.addAll(unsold);
+            propertyRepository.findExistingIds(unsold).forEach(notFound::remove);
+        }
+        return new BatchResult(purchases, notFound);
+    }
+
+    private static Map<String, Object> createdPayload(PurchaseResponse response, Long customerId) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("transactionId", response.getTransactionId());
+        payload.put("propertyId", response.getPropertyId());
+        payload.put("customerId", customerId);
+        payload.put("amount", response.getAmount());
+        payload.put("transactionDate", response.getTransactionDate());
+        return payload;
+    }
+
+    /**
+     * Outcome of purchaseBatch
+     */
+    public static class BatchResult {
+        private final Map<Long, PurchaseResponse> purchases;
+        private final Set<Long> notFound;
+
+        public BatchResult(Map<Long, PurchaseResponse> purchases, Set<Long> notFound) {
+            this.purchases = purchases;
+            this.notFound = notFound;
+        }
+
+        public Map<Long, PurchaseResponse> getPurchases() {
+            return purchases;
+        }
+
+        public Set<Long> getNotFound() {
+            return notFound;
+        }
+    }
+}
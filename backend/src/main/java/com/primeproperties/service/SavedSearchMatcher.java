@@ -0,0 +1,306 @@
+package com.primeproperties.service;
+
+import com.primeproperties.config.Workload;
+import com.primeproperties.config.WorkloadPool;
+import com.primeproperties.event.InvalidationListener;
+import com.primeproperties.event.PropertySnapshot;
+import com.primeproperties.model.SavedSearch;
+import com.primeproperties.util.IntervalIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted predicate index over all saved searches.
+ * Searches are bucketed by their equality criteria (location and property type,
+ * either of which may be a wildcard); each bucket holds an interval tree over
+ * the price range. A listing is matched by probing its four candidate buckets,
+ * stabbing each tree with its price and checking the bedroom range of the hits,
+ * so the cost depends on the number of matches rather than the number of searches.
+ * A search created, edited or deleted on any node is reloaded by id from the database.
+ */
+@Service
+public class SavedSearchMatcher implements InvalidationListener {
+
+    private static final String ANY = "*";
+
+    private static final String LOAD_SQL =
+            "SELECT s.id, s.name, s.location, s.property_type, s.min_price, s.max_price, " +
+            "s.min_bedrooms, s.max_bedrooms, u.username " +
+            "FROM saved_searches s JOIN users u ON u.id = s.customer_id";
+
+    private static final String LOAD_ONE_SQL = LOAD_SQL + " WHERE s.id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<String, IntervalIndex> buckets = new HashMap<>();
+    // Serializes database reads with applying them, so an older read never overwrites a newer one
+    private final Object reloadLock = new Object();
+
+    /**
+     * Reload every saved search from the database
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @WorkloadPool(Workload.BATCH)
+    public void rebuild() {
+        synchronized (reloadLock) {
+            rebuildInternal();
+        }
+    }
+
+    private void rebuildInternal() {
+        lock.writeLock().lock();
+        try {
+            entries.clear();
+            buckets.clear();
+            // Collect price ranges per bucket so each interval tree is built once
+            Map<String, BucketLoad> loads = new HashMap<>();
+            jdbcTemplate.query(LOAD_SQL, (RowCallbackHandler) rs -> {
+                long id = rs.getLong("id");
+                Entry entry = newEntry(rs.getString("name"), rs.getString("username"),
+                        rs.getString("location"), rs.getString("property_type"),
+                        (Integer) rs.getObject("min_bedrooms"), (Integer) rs.getObject("max_bedrooms"));
+                entries.put(id, entry);
+                loads.computeIfAbsent(entry.bucket, key -> new BucketLoad())
+                        .add(id, low(rs.getBigDecimal("min_price")), high(rs.getBigDecimal("max_price")));
+            });
+            loads.forEach((key, load) -> {
+                IntervalIndex prices = new IntervalIndex();
+                prices.addAll(load.ids, load.lows, load.highs, load.count);
+                buckets.put(key, prices);
+            });
+            System.out.println("🔔 Saved search index loaded: " + entries.size() + " searches");
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public String getEntityType() {
+        return ClusterInvalidationBus.SAVED_SEARCH;
+    }
+
+    /**
+     * Created, edited or deleted on some node: reload the search, or drop it once it is gone
+     */
+    @Override
+    public void invalidate(String id, long version) {
+        long searchId = Long.parseLong(id);
+        synchronized (reloadLock) {
+            List<Runnable> reloaded = jdbcTemplate.query(LOAD_ONE_SQL, (rs, rowNum) -> {
+                String name = rs.getString("name");
+                String username = rs.getString("username");
+                String location = rs.getString("location");
+                String propertyType = rs.getString("property_type");
+                BigDecimal minPrice = rs.getBigDecimal("min_price");
+                BigDecimal maxPrice = rs.getBigDecimal("max_price");
+                Integer minBedrooms = (Integer) rs.getObject("min_bedrooms");
+                Integer maxBedrooms = (Integer) rs.getObject("max_bedrooms");
+                return () -> put(searchId, name, username, location, propertyType,
+                        minPrice, maxPrice, minBedrooms, maxBedrooms);
+            }, searchId);
+
+            lock.writeLock().lock();
+            try {
+                if (reloaded.isEmpty()) {
+                    removeInternal(searchId);
+                } else {
+                    reloaded.get(0).run();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Changes from other nodes may have been missed: reload every saved search
+     */
+    @Override
+    @WorkloadPool(Workload.BATCH)
+    public void resync() {
+        rebuild();
+    }
+
+    /**
+     * Add or replace a saved search owned by username
+     */
+    public void index(SavedSearch search, String username) {
+        lock.writeLock().lock();
+        try {
+            put(search.getId(), search.getName(), username, search.getLocation(), search.getPropertyType(),
+                    search.getMinPrice(), search.getMaxPrice(), search.getMinBedrooms(), search.getMaxBedrooms());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Saved searches matched by a listing
+     */
+    public List<Match> match(PropertySnapshot listing) {
+        String location = normalize(listing.getLocation());
+        String propertyType = normalize(listing.getPropertyType());
+        double price = listing.getPrice().doubleValue();
+        int bedrooms = listing.getBedrooms();
+
+        List<Match> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (String key : new String[] {
+                    key(location, propertyType), key(location, ANY), key(ANY, propertyType), key(ANY, ANY)}) {
+                IntervalIndex prices = buckets.get(key);
+                if (prices == null) {
+                    continue;
+                }
+                prices.stab(price, id -> {
+                    Entry entry = entries.get(id);
+                    if (entry.minBedrooms <= bedrooms && bedrooms <= entry.maxBedrooms) {
+                        matches.add(new Match(id, entry.name, entry.username));
+                    }
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return matches;
+    }
+
+    private void put(long id, String name, String username, String location, String propertyType,
+                     BigDecimal minPrice, BigDecimal maxPrice, Integer minBedrooms, Integer maxBedrooms) {
+        removeInternal(id);
+        Entry entry = newEntry(name, username, location, propertyType, minBedrooms, maxBedrooms);
+        entries.put(id, entry);
+        buckets.computeIfAbsent(entry.bucket, key -> new IntervalIndex()).add(id, low(minPrice), high(maxPrice));
+    }
+
+    private static Entry newEntry(String name, String username, String location, String propertyType,
+                                  Integer minBedrooms, Integer maxBedrooms) {
+        return new Entry(name, username, key(normalize(location), normalize(propertyType)),
+                minBedrooms != null ? minBedrooms : Integer.MIN_VALUE,
+                maxBedrooms != null ? maxBedrooms : Integer.MAX_VALUE);
+    }
+
+    private static double low(BigDecimal minPrice) {
+        return minPrice != null ? minPrice.doubleValue() : Double.NEGATIVE_INFINITY;
+    }
+
+    private static double high(BigDecimal maxPrice) {
+        return maxPrice != null ? maxPrice.doubleValue() : Double.POSITIVE_INFINITY;
+    }
+
+    private void removeInternal(long id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        IntervalIndex prices = buckets.get(entry.bucket);
+        prices.remove(id);
+        if (prices.size() == 0) {
+            buckets.remove(entry.bucket);
+        }
+    }
+
+    private static String key(String location, String propertyType) {
+        return location + '\n' + propertyType;
+    }
+
+    private static String normalize(String value) {
+        return value == null || value.isBlank() ? ANY : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static class Entry {
+        private final String name;
+        private final String username;
+        private final String bucket;
+        private final int minBedrooms;
+        private final int maxBedrooms;
+
+        Entry(String name, String username, String bucket, int minBedrooms, int maxBedrooms) {
+            this.name = name;
+            this.username = username;
+            this.bucket = bucket;
+            this.minBedrooms = minBedrooms;
+            this.maxBedrooms = maxBedrooms;
+        }
+    }
+
+    private static class BucketLoad {
+        private long[] ids = new long[16];
+        private double[] lows = new double[16];
+        private double[] highs = new double[16];
+        private int count;
+
+        void add(long id, double low, double high) {
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count * 2);
+                lows = Arrays.copyOf(lows, count * 2);
+                highs = Arrays.copyOf(highs, count * 2);
+            }
+            ids[count] = id;
+            lows[count] = low;
+            highs[count] = high;
+            count++;
+        }
+    }
+
+    /**
+     * A saved search matched by a listing
+     */
+    public static class Match {
+        private final long savedSearchId;
+        private final String savedSearchName;
+        private final String username;
+
+        public Match(long savedSearchId, String savedSearchName, String username) {
+            this.savedSearchId = savedSearchId;
+            this.savedSearchName = savedSearchName;
+            this.username = username;
+        }
+
+        public long getSavedSearchId() {
+            return savedSearchId;
+        }
+
+        public String getSavedSearchName() {
+            return savedSearchName;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+    }
+}
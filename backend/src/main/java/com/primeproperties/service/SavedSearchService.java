@@ -0,0 +1,121 @@
+package com.primeproperties.service;
+
+import com.primeproperties.dto.SavedSearchRequest;
+import com.primeproperties.dto.SavedSearchResponse;
+import com.primeproperties.model.SavedSearch;
+import com.primeproperties.model.User;
+import com.primeproperties.repository.SavedSearchRepository;
+import com.primeproperties.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Service for customer saved searches
+ */
+@Service
+public class SavedSearchService {
+
+    private static final int MAX_SAVED_SEARCHES_PER_CUSTOMER = 50;
+
+    @Autowired
+    private SavedSearchRepository savedSearchRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ClusterInvalidationBus invalidationBus;
+
+    /**
+     * Get saved searches of a customer, newest first
+     */
+    public List<SavedSearchResponse> getSavedSearches(Long customerId) {
+        return savedSearchRepository.findByCustomerIdOrderByCreatedAtDesc(customerId).stream()
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Create a saved search
+     */
+    public SavedSearchResponse createSavedSearch(SavedSearchRequest request, Long customerId) {
+        User customer = userRepository.findById(customerId)
+                .orElseThrow(() -> new RuntimeException("Customer not found"));
+        if (savedSearchRepository.countByCustomerId(customerId) >= MAX_SAVED_SEARCHES_PER_CUSTOMER) {
+            throw new IllegalArgumentException("You can keep at most " + MAX_SAVED_SEARCHES_PER_CUSTOMER + " saved searches");
+        }
+
+        SavedSearch search = new SavedSearch();
+        search.setCustomer(customer);
+        applyRequest(search, request);
+        SavedSearch saved = savedSearchRepository.save(search);
+        publishChange(saved.getId());
+        return convertToResponse(saved);
+    }
+
+    /**
+     * Update a saved search (owner only)
+     */
+    public SavedSearchResponse updateSavedSearch(Long id, SavedSearchRequest request, Long customerId) {
+        SavedSearch search = savedSearchRepository.findByIdAndCustomerId(id, customerId)
+                .orElseThrow(() -> new RuntimeException("Saved search not found"));
+        applyRequest(search, request);
+        SavedSearch saved = savedSearchRepository.save(search);
+        publishChange(saved.getId());
+        return convertToResponse(saved);
+    }
+
+    /**
+     * Delete a saved search (owner only)
+     */
+    public void deleteSavedSearch(Long id, Long customerId) {
+        SavedSearch search = savedSearchRepository.findByIdAndCustomerId(id, customerId)
+                .orElseThrow(() -> new RuntimeException("Saved search not found"));
+        savedSearchRepository.delete(search);
+        publishChange(id);
+    }
+
+    // Every node's SavedSearchMatcher, this one included, reloads the search once the change commits
+    private void publishChange(Long id) {
+        invalidationBus.publish(ClusterInvalidationBus.SAVED_SEARCH, String.valueOf(id), 0);
+    }
+
+    private void applyRequest(SavedSearch search, SavedSearchRequest request) {
+        if (request.getMinPrice() != null && request.getMaxPrice() != null
+                && request.getMinPrice().compareTo(request.getMaxPrice()) > 0) {
+            throw new IllegalArgumentException("Minimum price must not exceed maximum price");
+        }
+        if (request.getMinBedrooms() != null && request.getMaxBedrooms() != null
+                && request.getMinBedrooms() > request.getMaxBedrooms()) {
+            throw new IllegalArgumentException("Minimum bedrooms must not exceed maximum bedrooms");
+        }
+        search.setName(request.getName());
+        search.setLocation(blankToNull(request.getLocation()));
+        search.setPropertyType(blankToNull(request.getPropertyType()));
+        search.setMinPrice(request.getMinPrice());
+        search.setMaxPrice(request.getMaxPrice());
+        search.setMinBedrooms(request.getMinBedrooms());
+        search.setMaxBedrooms(request.getMaxBedrooms());
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private SavedSearchResponse convertToResponse(SavedSearch search) {
+        return new SavedSearchResponse(
+                search.getId(),
+                search.getName(),
+                search.getLocation(),
+                search.getPropertyType(),
+                search.getMinPrice(),
+                search.getMaxPrice(),
+                search.getMinBedrooms(),
+                search.getMaxBedrooms(),
+                search.getCreatedAt()
+        );
+    }
+}
@@ -0,0 +1,221 @@
+package com.primeproperties.service;
+
+import com.primeproperties.config.Workload;
+import com.primeproperties.config.WorkloadPool;
+import com.primeproperties.event.PropertyChangeEvent;
+import com.primeproperties.event.PropertySnapshot;
+import com.primeproperties.repository.PropertyRepository;
+import com.primeproperties.repository.PropertyRepositoryImpl;
+import com.primeproperties.util.IvfVectorIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Similar-listing recommendations backed by an in-memory IVF nearest-neighbour index.
+ * Each AVAILABLE property is embedded as a feature vector of standardised
+ * log price, log area, bedrooms and bathrooms, a hashed one-hot property type
+ * and a hashed location embedding (a fixed pseudo-random unit direction per
+ * location, so listings in the same location sit close together).
+ */
+@Service
+public class SimilarPropertyService {
+
+    private static final int NUMERIC_FEATURES = 4;
+    private static final int TYPE_SLOTS = 8;
+    private static final int LOCATION_DIMENSIONS = 8;
+    public static final int DIMENSIONS = NUMERIC_FEATURES + TYPE_SLOTS + LOCATION_DIMENSIONS;
+
+    private static final float TYPE_WEIGHT = 1.5f;
+    private static final float LOCATION_WEIGHT = 2.0f;
+    private static final String INDEXED_STATUS = "AVAILABLE";
+
+    private static final String SCALER_SQL =
+            "SELECT avg(ln(price)), stddev_pop(ln(price)), avg(ln(area)), stddev_pop(ln(area)), " +
+            "avg(bedrooms), stddev_pop(bedrooms), avg(bathrooms), stddev_pop(bathrooms) " +
+            "FROM properties WHERE status = 'AVAILABLE' AND price > 0 AND area > 0";
+
+    @Value("${app.similar.nprobe:12}")
+    private int nprobe;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private PropertyChangeJournal propertyChangeJournal;
+
+    @Autowired
+    @Qualifier("indexTaskExecutor")
+    private Executor indexTaskExecutor;
+
+    // Serializes rebuilds and incremental updates; queries read the current index directly.
+    // Retraining runs on indexTaskExecutor, outside this lock.
+    private final Object lock = new Object();
+    private volatile IvfVectorIndex index = new IvfVectorIndex(DIMENSIONS);
+    private volatile double[] scaler = {0, 1, 0, 1, 0, 1, 0, 1};
+
+    /**
+     * Rebuild the index from the change journal's catalog, or the properties table
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @WorkloadPool(Workload.BATCH)
+    public void rebuild() {
+        synchronized (lock) {
+            List<PropertySnapshot> available = new ArrayList<>();
+            boolean replayed = propertyChangeJournal.replayCatalog(snapshot -> {
+                if (INDEXED_STATUS.equals(snapshot.getStatus())) {
+                    available.add(snapshot);
+                }
+            });
+            scaler = replayed ? scalerOf(available) : jdbcTemplate.queryForObject(SCALER_SQL, (rs, rowNum) -> {
+                double[] values = new double[NUMERIC_FEATURES * 2];
+                for (int i = 0; i < values.length; i += 2) {
+                    values[i] = rs.getDouble(i + 1);
+                    double deviation = rs.getDouble(i + 2);
+                    values[i + 1] = deviation > 0 ? deviation : 1;
+                }
+                return values;
+            });
+
+            long[][] ids = {new long[1024]};
+            float[][] vectors = {new float[1024 * DIMENSIONS]};
+            int[] count = {0};
+            Consumer<PropertySnapshot> collect = snapshot -> {
+                int next = count[0]++;
+                if (next == ids[0].length) {
+                    ids[0] = Arrays.copyOf(ids[0], next * 2);
+                    vectors[0] = Arrays.copyOf(vectors[0], next * 2 * DIMENSIONS);
+                }
+                ids[0][next] = snapshot.getId();
+                System.arraycopy(embed(snapshot), 0, vectors[0], next * DIMENSIONS, DIMENSIONS);
+            };
+            if (replayed) {
+                available.forEach(collect);
+            } else {
+                jdbcTemplate.query("SELECT " + PropertyRepositoryImpl.SNAPSHOT_COLUMNS +
+                                " FROM properties WHERE status = '" + INDEXED_STATUS + "'",
+                        (RowCallbackHandler) rs -> collect.accept(PropertyRepositoryImpl.mapSnapshot(rs, 0)));
+            }
+
+            IvfVectorIndex rebuilt = new IvfVectorIndex(DIMENSIONS, indexTaskExecutor);
+            rebuilt.build(ids[0], vectors[0], count[0]);
+            index = rebuilt;
+            System.out.println("🧭 Similar-property index rebuilt: " + count[0] + " listings in "
+                    + rebuilt.getPartitionCount() + " partitions");
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPropertyChange(PropertyChangeEvent event) {
+        synchronized (lock) {
+            for (PropertyChangeEvent.Change change : event.getChanges()) {
+                PropertySnapshot after = change.getAfter();
+                if (after != null && INDEXED_STATUS.equals(after.getStatus())) {
+                    index.upsert(after.getId(), embed(after));
+                } else {
+                    index.remove(change.getId());
+                }
+            }
+        }
+    }
+
+    /**
+     * Ids of the available listings most similar to a property, nearest first.
+     * Empty when the property does not exist.
+     */
+    public Optional<List<Long>> findSimilar(Long propertyId, int limit) {
+        IvfVectorIndex current = index;
+        float[] query = current.vector(propertyId);
+        if (query == null) {
+            Optional<PropertySnapshot> snapshot = propertyRepository.findById(propertyId).map(PropertySnapshot::of);
+            if (snapshot.isEmpty()) {
+                return Optional.empty();
+            }
+            query = embed(snapshot.get());
+        }
+        return Optional.of(current.search(query, limit, nprobe, propertyId).stream()
+                .map(IvfVectorIndex.Neighbor::getId)
+                .toList());
+    }
+
+    // Same as SCALER_SQL: mean and population deviation of each numeric feature
+    static double[] scalerOf(List<PropertySnapshot> listings) {
+        double[] sums = new double[NUMERIC_FEATURES];
+        double[] squares = new double[NUMERIC_FEATURES];
+        int n = 0;
+        for (PropertySnapshot snapshot : listings) {
+            if (snapshot.getPrice().signum() <= 0 || snapshot.getArea() <= 0) {
+                continue;
+            }
+            double[] features = {Math.log(snapshot.getPrice().doubleValue()), Math.log(snapshot.getArea()),
+                    snapshot.getBedrooms(), snapshot.getBathrooms()};
+            for (int i = 0; i < NUMERIC_FEATURES; i++) {
+                sums[i] += features[i];
+                squares[i] += features[i] * features[i];
+            }
+            n++;
+        }
+        double[] values = new double[NUMERIC_FEATURES * 2];
+        for (int i = 0; i < NUMERIC_FEATURES; i++) {
+            double mean = n > 0 ? sums[i] / n : 0;
+            double deviation = n > 0 ? Math.sqrt(Math.max(0, squares[i] / n - mean * mean)) : 0;
+            values[i * 2] = mean;
+            values[i * 2 + 1] = deviation > 0 ? deviation : 1;
+        }
+        return values;
+    }
+
+    /**
+     * Feature vector for a listing
+     */
+    float[] embed(PropertySnapshot snapshot) {
+        double[] scale = scaler;
+        float[] vector = new float[DIMENSIONS];
+        vector[0] = standardise(Math.log(Math.max(snapshot.getPrice().doubleValue(), 1)), scale, 0);
+        vector[1] = standardise(Math.log(Math.max(snapshot.getArea(), 1)), scale, 1);
+        vector[2] = standardise(snapshot.getBedrooms(), scale, 2);
+        vector[3] = standardise(snapshot.getBathrooms(), scale, 3);
+
+        int typeSlot = Math.floorMod(normalize(snapshot.getPropertyType()).hashCode(), TYPE_SLOTS);
+        vector[NUMERIC_FEATURES + typeSlot] = TYPE_WEIGHT;
+
+        SplittableRandom random = new SplittableRandom(normalize(snapshot.getLocation()).hashCode());
+        double norm = 0;
+        double[] direction = new double[LOCATION_DIMENSIONS];
+        for (int i = 0; i < LOCATION_DIMENSIONS; i++) {
+            direction[i] = random.nextDouble() * 2 - 1;
+            norm += direction[i] * direction[i];
+        }
+        norm = Math.sqrt(norm);
+        for (int i = 0; i < LOCATION_DIMENSIONS; i++) {
+            vector[NUMERIC_FEATURES + TYPE_SLOTS + i] = (float) (LOCATION_WEIGHT * direction[i] / norm);
+        }
+        return vector;
+    }
+
+    private static float standardise(double value, double[] scale, int feature) {
+        return (float) ((value - scale[feature * 2]) / scale[feature * 2 + 1]);
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,126 @@
+package com.primeproperties.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOException;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+
+/**
+ * Generates downscaled JPEG thumbnails off the request thread and caches them on disk
+ */
+@Service
+public class ThumbnailService {
+
+    // Refuse to decode images larger than this (decompression bombs)
+    @Value("${app.media.max-source-pixels:60000000}")
+    private long maxSourcePixels;
+
+    @Autowired
+    private MediaStorageService mediaStorageService;
+
+    /**
+     * Create any missing thumbnails for a stored object. An original that cannot be
+     * decoded or is too large is marked unsupported, so it is not queued again.
+     */
+    @Async("mediaTaskExecutor")
+    public void generateThumbnails(String hash) {
+        if (mediaStorageService.isThumbnailUnsupported(hash)) {
+            return;
+        }
+        for (int width : mediaStorageService.getThumbnailWidths()) {
+            Path target = mediaStorageService.thumbnailPath(hash, width);
+            if (Files.exists(target)) {
+                continue;
+            }
+            try {
+                if (!generate(mediaStorageService.objectPath(hash), target, width)) {
+                    markUnsupported(hash);
+                    return;
+                }
+            } catch (IIOException | RuntimeException e) {
+                // Corrupt or unreadable image data: retrying would fail the same way
+                System.err.println("❌ Thumbnail generation failed for " + hash + " at " + width + "px: " + e.getMessage());
+                markUnsupported(hash);
+                return;
+            } catch (IOException e) {
+                System.err.println("❌ Thumbnail generation failed for " + hash + " at " + width + "px: " + e.getMessage());
+            }
+        }
+    }
+
+    private void markUnsupported(String hash) {
+        try {
+            mediaStorageService.markThumbnailUnsupported(hash);
+        } catch (IOException e) {
+            System.err.println("❌ Could not mark " + hash + " as unsupported: " + e.getMessage());
+        }
+    }
+
+    // False when the source cannot be thumbnailed: not decodable by ImageIO or too many pixels
+    private boolean generate(Path source, Path target, int width) throws IOException {
+        if (!Files.exists(source)) {
+            throw new NoSuchFileException(source.toString());
+        }
+        BufferedImage image;
+        try (ImageInputStream input = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                return false; // Not a format ImageIO can decode (e.g. WebP); clients fall back to the original
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int sourceWidth = reader.getWidth(0);
+                int sourceHeight = reader.getHeight(0);
+                if ((long) sourceWidth * sourceHeight > maxSourcePixels) {
+                    return false;
+                }
+                // Subsample while decoding so large photos never need full-resolution rasters
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, sourceWidth / (width * 2));
+                param.setSourceSubsampling(step, step, 0, 0);
+                image = reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+
+        int targetWidth = Math.min(width, image.getWidth());
+        int targetHeight = Math.max(1, (int) Math.round((double) image.getHeight() * targetWidth / image.getWidth()));
+        BufferedImage thumbnail = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = thumbnail.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, targetWidth, targetHeight, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+
+        Path temp = mediaStorageService.createTempFile("thumbnail-");
+        try {
+            ImageIO.write(thumbnail, "jpg", temp.toFile());
+            Files.createDirectories(target.getParent());
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,46 @@
+package com.primeproperties.service;
+
+import com.primeproperties.model.Transaction;
+import com.primeproperties.repository.TransactionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Service for transaction mutations outside the purchase path
+ */
+@Service
+public class TransactionService {
+
+    public static final String TRANSACTION_DELETED = "TRANSACTION_DELETED";
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    /**
+     * Delete a customer's own transaction
+     */
+    @Transactional
+    public void deleteTransaction(Long id, Long customerId) {
+        Transaction transaction = transactionRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Transaction not found"));
+
+        // Check if the transaction belongs to the current customer
+        if (!transaction.getCustomer().getId().equals(customerId)) {
+            throw new RuntimeException("You can only delete your own transactions");
+        }
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("transactionId", transaction.getId());
+        payload.put("propertyId", transaction.getProperty().getId());
+        payload.put("customerId", customerId);
+        transactionRepository.delete(transaction);
+        outboxService.append(TRANSACTION_DELETED, OutboxService.TRANSACTION_AGGREGATE, id, payload);
+    }
+}
@@ -1,8 +1,13 @@
 package com.primeproperties.service;
 
-import com.primeproperties.model.User;
+import com.primeproperties.config.Workload;
+import com.primeproperties.config.WorkloadPool;
+import com.primeproperties.event.InvalidationListener;
 import com.primeproperties.repository.UserRepository;
+import com.primeproperties.util.VersionedCache;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,55 +19,97 @@ import java.util.Collection;
 import java.util.Collections;
 
 /**
- * UserDetailsService implementation for Spring Security
+ * UserDetailsService implementation for Spring Security.
+ * Every authenticated request resolves its user here, so lookups are cached per
+ * login (username or email) and invalidated cluster-wide when the user changes.
  */
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, InvalidationListener {
 
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ClusterInvalidationBus invalidationBus;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Value("${app.cache.user.max-entries:10000}")
+    private int cacheMaxEntries;
+
+    @Value("${app.cache.user.ttl-seconds:300}")
+    private long cacheTtlSeconds;
+
+    private VersionedCache<String, CachedUser> userCache;
+
+    @PostConstruct
+    public void initCache() {
+        userCache = new VersionedCache<>(cacheMaxEntries, cacheTtlSeconds * 1000, user -> 0);
+    }
+
     @Override
+    @WorkloadPool(Workload.AUTH)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        System.out.println("🔍 UserDetailsService.loadUserByUsername called with: " + username);
-        
-        // Debug: Check all users first
-        var allUsers = userRepository.findAll();
-        System.out.println("🔍 UserDetailsService: Total users in DB: " + allUsers.size());
-        for (User u : allUsers) {
-            System.out.println("🔍 UserDetailsService: User - Username: " + u.getUsername() + ", Email: " + u.getEmail());
+        CachedUser user = invalidationBus.isCoherent()
+                ? userCache.getOrLoad(username, this::loadUser)
+                : loadUser(username);
+        if (user == null) {
+            System.out.println("❌ UserDetailsService: User not found with username/email: " + username);
+            throw new UsernameNotFoundException("User not found with username/email: " + username);
         }
-        
-        // Try to find user by username first, then by email
-        System.out.println("🔍 UserDetailsService: Searching by username: " + username);
-        var userByUsername = userRepository.findByUsername(username);
-        System.out.println("🔍 UserDetailsService: Username search result: " + (userByUsername.isPresent() ? "FOUND" : "NOT FOUND"));
-        
-        System.out.println("🔍 UserDetailsService: Searching by email: " + username);
-        var userByEmail = userRepository.findByEmail(username);
-        System.out.println("🔍 UserDetailsService: Email search result: " + (userByEmail.isPresent() ? "FOUND" : "NOT FOUND"));
-        
-        User user = userByUsername
-                .orElse(userByEmail
-                        .orElseThrow(() -> {
-                            System.out.println("❌ UserDetailsService: User not found with username/email: " + username);
-                            return new UsernameNotFoundException("User not found with username/email: " + username);
-                        }));
-
-        System.out.println("✅ UserDetailsService: User found - Username: " + user.getUsername() + ", Email: " + user.getEmail() + ", Role: " + user.getRole());
-        System.out.println("🔐 UserDetailsService: Password hash from DB: " + user.getPassword());
-        
+
+        // Built fresh every time: Spring Security erases credentials on the returned object
         return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getUsername())
-                .password(user.getPassword())
-                .authorities(getAuthorities(user.getRole()))
+                .username(user.username)
+                .password(user.password)
+                .authorities(getAuthorities(user.role))
                 .build();
     }
 
+    @Override
+    public String getEntityType() {
+        return ClusterInvalidationBus.USER;
+    }
+
+    @Override
+    public void invalidate(String id, long version) {
+        Long userId = Long.valueOf(id);
+        userCache.invalidateIf(user -> user.id.equals(userId));
+        entityCacheService.evictUser(userId);
+    }
+
+    @Override
+    public void resync() {
+        userCache.clear();
+    }
+
+    // Try to find user by username first, then by email
+    private CachedUser loadUser(String login) {
+        return userRepository.findByUsername(login)
+                .or(() -> userRepository.findByEmail(login))
+                .map(user -> new CachedUser(user.getId(), user.getUsername(), user.getPassword(), user.getRole()))
+                .orElse(null);
+    }
+
     /**
      * Get authorities based on user role
      */
     private Collection<? extends GrantedAuthority> getAuthorities(String role) {
         return Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role));
     }
-}
\ No newline at end of file
+
+    private static class CachedUser {
+        private final Long id;
+        private final String username;
+        private final String password;
+        private final String role;
+
+        CachedUser(Long id, String username, String password, String role) {
+            this.id = id;
+            this.username = username;
+            this.password = password;
+            this.role = role;
+        }
+    }
+}
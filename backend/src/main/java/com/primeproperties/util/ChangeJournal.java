@@ -0,0 +1,444 @@
+package com.primeproperties.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of small records in memory-mapped segment files.
+ * Records get consecutive offsets (0, 1, 2, ...) and are framed as
+ * [length][CRC32C][offset][timestamp][type][payload]. The length is written last, so a
+ * zero length ends a segment and a crash mid-append leaves a frame that fails its CRC;
+ * that torn tail is cut off when the journal is reopened. A sparse index (one entry per
+ * INDEX_INTERVAL bytes) lets readers start at any offset without scanning the segment,
+ * and is saved beside each segment when it is sealed. Appends are serialized; any number
+ * of readers may tail the journal concurrently. Retention deletes whole segments.
+ */
+public class ChangeJournal implements Closeable {
+
+    static final int INDEX_INTERVAL = 4096;
+
+    private static final int HEADER_BYTES = 8;
+    private static final int BODY_PREFIX_BYTES = 17;
+    private static final Pattern SEGMENT_NAME = Pattern.compile("\\d{20}\\.log");
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final boolean fsync;
+
+    // Keyed by base offset; the last segment is the one being appended to
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private Segment active;
+    private volatile long nextOffset;
+    private boolean closed;
+
+    public ChangeJournal(Path directory, int segmentBytes, boolean fsync) throws IOException {
+        if (segmentBytes < HEADER_BYTES + BODY_PREFIX_BYTES + INDEX_INTERVAL) {
+            throw new IllegalArgumentException("Segment size too small: " + segmentBytes);
+        }
+        this.directory = Files.createDirectories(directory);
+        this.segmentBytes = segmentBytes;
+        this.fsync = fsync;
+
+        List<Long> baseOffsets = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (SEGMENT_NAME.matcher(name).matches()) {
+                    baseOffsets.add(Long.parseLong(name.substring(0, 20)));
+                }
+            }
+        }
+        Collections.sort(baseOffsets);
+        for (int i = 0; i < baseOffsets.size(); i++) {
+            long baseOffset = baseOffsets.get(i);
+            Segment segment = i == baseOffsets.size() - 1
+                    ? Segment.recover(logPath(baseOffset), baseOffset, segmentBytes)
+                    : Segment.openSealed(logPath(baseOffset), indexPath(baseOffset), baseOffset);
+            segments.put(baseOffset, segment);
+        }
+        if (segments.isEmpty()) {
+            segments.put(0L, Segment.create(logPath(0), 0, segmentBytes));
+        }
+        active = segments.lastEntry().getValue();
+        nextOffset = active.baseOffset + active.recordCount;
+    }
+
+    /**
+     * Append a record and return its offset
+     */
+    public synchronized long append(byte type, byte[] payload) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Journal is closed");
+        }
+        int frameBytes = HEADER_BYTES + BODY_PREFIX_BYTES + payload.length;
+        if (frameBytes > segmentBytes) {
+            throw new IllegalArgumentException("Record too large for a segment: " + payload.length + " bytes");
+        }
+        if (active.size + frameBytes > active.capacity) {
+            roll();
+        }
+        long offset = nextOffset;
+        active.write(offset, System.currentTimeMillis(), type, payload, fsync);
+        nextOffset = offset + 1;
+        return offset;
+    }
+
+    /**
+     * Reader positioned at fromOffset (or the oldest retained record, if that is later)
+     */
+    public Reader reader(long fromOffset) {
+        Map.Entry<Long, Segment> entry = segments.floorEntry(fromOffset);
+        return entry != null
+                ? new Reader(entry.getValue(), entry.getValue().positionOf(fromOffset), fromOffset)
+                : new Reader(segments.firstEntry().getValue(), 0, fromOffset);
+    }
+
+    /**
+     * Delete the oldest segments, while more than keepSegments remain, as long as all their
+     * records precede offset. The active segment is always kept.
+     */
+    public synchronized int deleteSegmentsBefore(long offset, int keepSegments) throws IOException {
+        int deleted = 0;
+        for (Long baseOffset : segments.keySet()) {
+            Long following = segments.higherKey(baseOffset);
+            if (following == null || following > offset || segments.size() <= Math.max(keepSegments, 1)) {
+                break;
+            }
+            // Readers still on this segment keep their mapping; only the files go
+            segments.remove(baseOffset);
+            Files.deleteIfExists(logPath(baseOffset));
+            Files.deleteIfExists(indexPath(baseOffset));
+            deleted++;
+        }
+        return deleted;
+    }
+
+    public synchronized void flush() {
+        active.buffer.force();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            flush();
+            closed = true;
+        }
+    }
+
+    public long getFirstOffset() {
+        return segments.firstKey();
+    }
+
+    public long getNextOffset() {
+        return nextOffset;
+    }
+
+    public int getSegmentCount() {
+        return segments.size();
+    }
+
+    public long getSizeBytes() {
+        long bytes = 0;
+        for (Segment segment : segments.values()) {
+            bytes += segment.size;
+        }
+        return bytes;
+    }
+
+    private void roll() throws IOException {
+        active.seal(indexPath(active.baseOffset));
+        Segment next = Segment.create(logPath(nextOffset), nextOffset, segmentBytes);
+        segments.put(nextOffset, next);
+        active = next;
+    }
+
+    private Path logPath(long baseOffset) {
+        return directory.resolve(String.format("%020d.log", baseOffset));
+    }
+
+    private Path indexPath(long baseOffset) {
+        return directory.resolve(String.format("%020d.index", baseOffset));
+    }
+
+    /**
+     * Cursor over the journal. poll() returns null once it has caught up with the
+     * writer and picks up later appends on the next call. Not thread-safe.
+     */
+    public class Reader {
+        private Segment segment;
+        private int position;
+        private long nextOffset;
+
+        private Reader(Segment segment, int position, long fromOffset) {
+            this.segment = segment;
+            this.position = position;
+            this.nextOffset = fromOffset;
+        }
+
+        /**
+         * Next record, or null if there is none yet
+         */
+        public Record poll() {
+            while (true) {
+                if (position < segment.size) {
+                    Record record = segment.read(position);
+                    position += HEADER_BYTES + BODY_PREFIX_BYTES + record.payload.length;
+                    // A seek lands on the index entry at or before the offset asked for
+                    if (record.offset < nextOffset) {
+                        continue;
+                    }
+                    nextOffset = record.offset + 1;
+                    return record;
+                }
+                Map.Entry<Long, Segment> following = segments.higherEntry(segment.baseOffset);
+                if (following == null) {
+                    return null;
+                }
+                // Records appended just before the roll may only be visible now
+                if (position < segment.size) {
+                    continue;
+                }
+                segment = following.getValue();
+                position = 0;
+            }
+        }
+
+        /**
+         * Offset the next poll() will return at the earliest
+         */
+        public long getNextOffset() {
+            return nextOffset;
+        }
+    }
+
+    /**
+     * One journal record
+     */
+    public static final class Record {
+        private final long offset;
+        private final long timestamp;
+        private final byte type;
+        private final byte[] payload;
+
+        Record(long offset, long timestamp, byte type, byte[] payload) {
+            this.offset = offset;
+            this.timestamp = timestamp;
+            this.type = type;
+            this.payload = payload;
+        }
+
+        public long getOffset() {
+            return offset;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        public byte getType() {
+            return type;
+        }
+
+        public byte[] getPayload() {
+            return payload;
+        }
+    }
+
+    private static final class Segment {
+        private final Path file;
+        private final long baseOffset;
+        private MappedByteBuffer buffer;
+        private int capacity;
+
+        // Bytes of complete records; written after each record, so readers never see half of one
+        private volatile int size;
+        private volatile int recordCount;
+
+        // Sparse index: offset (relative to baseOffset) and position of one record per INDEX_INTERVAL bytes
+        private int[] indexOffsets = new int[64];
+        private int[] indexPositions = new int[64];
+        private int indexEntries;
+
+        private Segment(Path file, long baseOffset, MappedByteBuffer buffer) {
+            this.file = file;
+            this.baseOffset = baseOffset;
+            this.buffer = buffer;
+            this.capacity = buffer.capacity();
+        }
+
+        static Segment create(Path file, long baseOffset, int segmentBytes) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                return new Segment(file, baseOffset, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes));
+            }
+        }
+
+        static Segment recover(Path file, long baseOffset, int segmentBytes) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                int capacity = (int) Math.max(channel.size(), segmentBytes);
+                Segment segment = new Segment(file, baseOffset, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+                segment.scan();
+                // Drop whatever a crash left after the last complete record; mapping again extends with zeros
+                channel.truncate(segment.size);
+                segment.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+                segment.capacity = capacity;
+                return segment;
+            }
+        }
+
+        static Segment openSealed(Path file, Path indexFile, long baseOffset) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                Segment segment = new Segment(file, baseOffset, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+                if (!segment.loadIndex(indexFile)) {
+                    segment.scan();
+                    segment.saveIndex(indexFile);
+                }
+                return segment;
+            }
+        }
+
+        void write(long offset, long timestamp, byte type, byte[] payload, boolean force) {
+            int position = size;
+            int length = BODY_PREFIX_BYTES + payload.length;
+            ByteBuffer body = buffer.slice(position + HEADER_BYTES, length);
+            body.putLong(offset).putLong(timestamp).put(type).put(payload);
+            buffer.putInt(position + 4, crc(body.flip()));
+            buffer.putInt(position, length);
+            if (force) {
+                buffer.force(position, HEADER_BYTES + length);
+            }
+            index((int) (offset - baseOffset), position);
+            recordCount++;
+            size = position + HEADER_BYTES + length;
+        }
+
+        Record read(int position) {
+            int length = buffer.getInt(position);
+            ByteBuffer body = buffer.slice(position + HEADER_BYTES, length);
+            if (crc(body) != buffer.getInt(position + 4)) {
+                throw new IllegalStateException("Corrupt journal record in " + file.getFileName() + " at " + position);
+            }
+            byte[] payload = new byte[length - BODY_PREFIX_BYTES];
+            body.get(BODY_PREFIX_BYTES, payload);
+            return new Record(body.getLong(0), body.getLong(8), body.get(16), payload);
+        }
+
+        // Walk the frames from the start, stopping at the first empty, truncated or corrupt one
+        void scan() {
+            int position = 0;
+            int count = 0;
+            while (position + HEADER_BYTES <= capacity) {
+                int length = buffer.getInt(position);
+                if (length < BODY_PREFIX_BYTES || length > capacity - position - HEADER_BYTES) {
+                    break;
+                }
+                ByteBuffer body = buffer.slice(position + HEADER_BYTES, length);
+                if (crc(body) != buffer.getInt(position + 4) || body.getLong(0) != baseOffset + count) {
+                    break;
+                }
+                index(count, position);
+                position += HEADER_BYTES + length;
+                count++;
+            }
+            recordCount = count;
+            size = position;
+        }
+
+        synchronized void index(int relativeOffset, int position) {
+            if (indexEntries > 0 && position - indexPositions[indexEntries - 1] < INDEX_INTERVAL) {
+                return;
+            }
+            if (indexEntries == indexOffsets.length) {
+                indexOffsets = Arrays.copyOf(indexOffsets, indexEntries * 2);
+                indexPositions = Arrays.copyOf(indexPositions, indexEntries * 2);
+            }
+            indexOffsets[indexEntries] = relativeOffset;
+            indexPositions[indexEntries] = position;
+            indexEntries++;
+        }
+
+        /**
+         * Position of the last indexed record at or before offset
+         */
+        synchronized int positionOf(long offset) {
+            int low = 0;
+            int high = indexEntries - 1;
+            int found = -1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (baseOffset + indexOffsets[middle] <= offset) {
+                    found = middle;
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return found < 0 ? 0 : indexPositions[found];
+        }
+
+        void seal(Path indexFile) throws IOException {
+            buffer.force();
+            saveIndex(indexFile);
+        }
+
+        // [size][record count][entries] then one (relative offset, position) pair per entry
+        synchronized void saveIndex(Path indexFile) throws IOException {
+            ByteBuffer bytes = ByteBuffer.allocate(12 + indexEntries * 8);
+            bytes.putInt(size).putInt(recordCount).putInt(indexEntries);
+            for (int i = 0; i < indexEntries; i++) {
+                bytes.putInt(indexOffsets[i]).putInt(indexPositions[i]);
+            }
+            Path temp = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+            Files.write(temp, bytes.array());
+            Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        synchronized boolean loadIndex(Path indexFile) throws IOException {
+            if (!Files.exists(indexFile)) {
+                return false;
+            }
+            ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(indexFile));
+            if (bytes.remaining() < 12) {
+                return false;
+            }
+            int savedSize = bytes.getInt();
+            int savedCount = bytes.getInt();
+            int entries = bytes.getInt();
+            if (savedSize < 0 || savedSize > capacity || entries < 0 || bytes.remaining() != entries * 8) {
+                return false;
+            }
+            indexOffsets = new int[Math.max(entries, 1)];
+            indexPositions = new int[Math.max(entries, 1)];
+            for (int i = 0; i < entries; i++) {
+                indexOffsets[i] = bytes.getInt();
+                indexPositions[i] = bytes.getInt();
+            }
+            indexEntries = entries;
+            recordCount = savedCount;
+            size = savedSize;
+            return true;
+        }
+
+        private static int crc(ByteBuffer body) {
+            CRC32C checksum = new CRC32C();
+            checksum.update(body.duplicate());
+            return (int) checksum.getValue();
+        }
+    }
+}
@@ -0,0 +1,455 @@
+package com.primeproperties.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory spatial index of listings on a fixed latitude/longitude grid.
+ * Each occupied cell keeps its points (with price and property type, so
+ * filters never touch the database) in flat arrays sorted by price, so a
+ * price filter narrows each cell to a contiguous range. A box query visits the
+ * cells it overlaps, or every occupied cell when that is fewer, which keeps
+ * country-wide viewports as cheap as a single scan. Bounding boxes may cross
+ * the antimeridian (west greater than east).
+ * Thread-safe: queries share a read lock, updates take the write lock.
+ */
+public class GeoGridIndex {
+
+    private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+    private final double cellDegrees;
+    private final int lonCells;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Cell> cells = new HashMap<>();
+    private final Map<Long, Cell> cellById = new HashMap<>();
+    private final Map<String, Integer> typeCodes = new HashMap<>();
+
+    public GeoGridIndex(double cellDegrees) {
+        if (!(cellDegrees > 0) || cellDegrees > 90) {
+            throw new IllegalArgumentException("cellDegrees must be in (0, 90]");
+        }
+        this.cellDegrees = cellDegrees;
+        this.lonCells = (int) Math.ceil(360 / cellDegrees) + 1;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return cellById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Insert or move a point
+     */
+    public void upsert(long id, double latitude, double longitude, double price, String propertyType) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            int latIndex = latIndex(latitude);
+            int lonIndex = lonIndex(longitude);
+            Cell cell = cells.computeIfAbsent((long) latIndex * lonCells + lonIndex,
+                    key -> new Cell(latIndex, lonIndex));
+            Integer typeCode = typeCodes.computeIfAbsent(normalize(propertyType), type -> typeCodes.size());
+            cell.add(id, latitude, longitude, price, typeCode);
+            cellById.put(id, cell);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a point, returning whether it was indexed
+     */
+    public boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            return removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Points inside a bounding box; hits are in no particular order
+     */
+    public Result searchBox(double south, double west, double north, double east, Filter filter, int limit) {
+        lock.readLock().lock();
+        try {
+            BoxCollector collector = new BoxCollector(limit);
+            visit(south, west, north, east, filter, collector);
+            return new Result(collector.total, collector.hits);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Points within radiusMeters of a centre, nearest first
+     */
+    public Result searchRadius(double latitude, double longitude, double radiusMeters, Filter filter, int limit) {
+        double angularRadius = radiusMeters / EARTH_RADIUS_METERS;
+        double latSpan = Math.toDegrees(angularRadius);
+        double south = Math.max(-90, latitude - latSpan);
+        double north = Math.min(90, latitude + latSpan);
+
+        // Longitude span widens towards the poles; give up on it once a pole is inside the circle
+        double west = -180;
+        double east = 180;
+        double sinRatio = Math.sin(angularRadius) / Math.cos(Math.toRadians(latitude));
+        if (south > -90 && north < 90 && sinRatio < 1) {
+            double lonSpan = Math.toDegrees(Math.asin(sinRatio));
+            west = wrapLongitude(longitude - lonSpan);
+            east = wrapLongitude(longitude + lonSpan);
+        }
+
+        lock.readLock().lock();
+        try {
+            RadiusCollector collector = new RadiusCollector(latitude, longitude, radiusMeters, limit);
+            visit(south, west, north, east, filter, collector);
+            return new Result(collector.total, collector.sortedHits());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Great-circle distance in meters (haversine)
+     */
+    public static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private void visit(double south, double west, double north, double east, Filter filter, Collector collector) {
+        int typeCode = -1;
+        if (filter.propertyType != null) {
+            Integer code = typeCodes.get(normalize(filter.propertyType));
+            if (code == null) {
+                return;
+            }
+            typeCode = code;
+        }
+        if (west > east) {
+            visitBox(south, west, north, 180, filter, typeCode, collector);
+            visitBox(south, -180, north, east, filter, typeCode, collector);
+        } else {
+            visitBox(south, west, north, east, filter, typeCode, collector);
+        }
+    }
+
+    private void visitBox(double south, double west, double north, double east, Filter filter, int typeCode,
+                          Collector collector) {
+        int latFrom = latIndex(south);
+        int latTo = latIndex(north);
+        int lonFrom = lonIndex(west);
+        int lonTo = lonIndex(east);
+        long boxCells = (long) (latTo - latFrom + 1) * (lonTo - lonFrom + 1);
+
+        if (boxCells <= cells.size()) {
+            for (int latIndex = latFrom; latIndex <= latTo; latIndex++) {
+                for (int lonIndex = lonFrom; lonIndex <= lonTo; lonIndex++) {
+                    Cell cell = cells.get((long) latIndex * lonCells + lonIndex);
+                    if (cell != null) {
+                        scan(cell, south, west, north, east, filter, typeCode, collector);
+                    }
+                }
+            }
+        } else {
+            for (Cell cell : cells.values()) {
+                if (cell.latIndex >= latFrom && cell.latIndex <= latTo
+                        && cell.lonIndex >= lonFrom && cell.lonIndex <= lonTo) {
+                    scan(cell, south, west, north, east, filter, typeCode, collector);
+                }
+            }
+        }
+    }
+
+    private void scan(Cell cell, double south, double west, double north, double east, Filter filter,
+                      int typeCode, Collector collector) {
+        // Cells entirely inside the box skip the per-point coordinate test
+        double cellSouth = cell.latIndex * cellDegrees - 90;
+        double cellWest = cell.lonIndex * cellDegrees - 180;
+        boolean contained = cellSouth >= south && cellSouth + cellDegrees < north
+                && cellWest >= west && cellWest + cellDegrees < east;
+        int from = cell.lowerBound(filter.minPrice);
+        int to = cell.upperBound(filter.maxPrice);
+        if (contained && typeCode < 0 && collector.countWithoutVisiting(to - from)) {
+            return;
+        }
+        for (int slot = from; slot < to; slot++) {
+            if (typeCode >= 0 && cell.types[slot] != typeCode) {
+                continue;
+            }
+            double latitude = cell.latitudes[slot];
+            double longitude = cell.longitudes[slot];
+            if (contained || (latitude >= south && latitude <= north && longitude >= west && longitude <= east)) {
+                collector.accept(cell.ids[slot], latitude, longitude);
+            }
+        }
+    }
+
+    private boolean removeInternal(long id) {
+        Cell cell = cellById.remove(id);
+        if (cell == null) {
+            return false;
+        }
+        cell.remove(id);
+        if (cell.size == 0) {
+            cells.remove((long) cell.latIndex * lonCells + cell.lonIndex);
+        }
+        return true;
+    }
+
+    private int latIndex(double latitude) {
+        return (int) Math.floor((Math.max(-90, Math.min(90, latitude)) + 90) / cellDegrees);
+    }
+
+    private int lonIndex(double longitude) {
+        return (int) Math.floor((Math.max(-180, Math.min(180, longitude)) + 180) / cellDegrees);
+    }
+
+    private static double wrapLongitude(double longitude) {
+        if (longitude < -180) {
+            return longitude + 360;
+        }
+        return longitude > 180 ? longitude - 360 : longitude;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Price and property type filter applied while scanning (null means any)
+     */
+    public static class Filter {
+        private final double minPrice;
+        private final double maxPrice;
+        private final String propertyType;
+
+        public Filter(Double minPrice, Double maxPrice, String propertyType) {
+            this.minPrice = minPrice != null ? minPrice : Double.NEGATIVE_INFINITY;
+            this.maxPrice = maxPrice != null ? maxPrice : Double.POSITIVE_INFINITY;
+            this.propertyType = propertyType == null || propertyType.isBlank() ? null : propertyType;
+        }
+    }
+
+    /**
+     * A matching point; distance is NaN for box queries
+     */
+    public static class Hit {
+        private final long id;
+        private final double distanceMeters;
+
+        public Hit(long id, double distanceMeters) {
+            this.id = id;
+            this.distanceMeters = distanceMeters;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public double getDistanceMeters() {
+            return distanceMeters;
+        }
+    }
+
+    /**
+     * Up to limit hits plus the total number of matches
+     */
+    public static class Result {
+        private final int totalMatches;
+        private final List<Hit> hits;
+
+        public Result(int totalMatches, List<Hit> hits) {
+            this.totalMatches = totalMatches;
+            this.hits = hits;
+        }
+
+        public int getTotalMatches() {
+            return totalMatches;
+        }
+
+        public List<Hit> getHits() {
+            return hits;
+        }
+    }
+
+    private interface Collector {
+        void accept(long id, double latitude, double longitude);
+
+        // Count matching points without visiting them, if that is all the collector still needs
+        boolean countWithoutVisiting(int count);
+    }
+
+    private static class BoxCollector implements Collector {
+        private final int limit;
+        private final List<Hit> hits = new ArrayList<>();
+        private int total;
+
+        BoxCollector(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void accept(long id, double latitude, double longitude) {
+            total++;
+            if (hits.size() < limit) {
+                hits.add(new Hit(id, Double.NaN));
+            }
+        }
+
+        // Once the hits are taken, further points are only counted
+        @Override
+        public boolean countWithoutVisiting(int count) {
+            if (hits.size() < limit) {
+                return false;
+            }
+            total += count;
+            return true;
+        }
+    }
+
+    // Keeps the limit nearest hits in a max-heap on distance
+    private static class RadiusCollector implements Collector {
+        private final double latitude;
+        private final double longitude;
+        private final double radiusMeters;
+        private final int limit;
+        private final PriorityQueue<Hit> nearest =
+                new PriorityQueue<>(Comparator.comparingDouble(Hit::getDistanceMeters).reversed());
+        private int total;
+
+        RadiusCollector(double latitude, double longitude, double radiusMeters, int limit) {
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.radiusMeters = radiusMeters;
+            this.limit = limit;
+        }
+
+        @Override
+        public void accept(long id, double pointLatitude, double pointLongitude) {
+            double distance = distanceMeters(latitude, longitude, pointLatitude, pointLongitude);
+            if (distance > radiusMeters) {
+                return;
+            }
+            total++;
+            if (nearest.size() < limit) {
+                nearest.add(new Hit(id, distance));
+            } else if (limit > 0 && distance < nearest.peek().getDistanceMeters()) {
+                nearest.poll();
+                nearest.add(new Hit(id, distance));
+            }
+        }
+
+        // Every point needs its distance checked
+        @Override
+        public boolean countWithoutVisiting(int count) {
+            return false;
+        }
+
+        List<Hit> sortedHits() {
+            List<Hit> hits = new ArrayList<>(nearest);
+            hits.sort(Comparator.comparingDouble(Hit::getDistanceMeters));
+            return hits;
+        }
+    }
+
+    private static class Cell {
+        private final int latIndex;
+        private final int lonIndex;
+        private long[] ids = new long[4];
+        private double[] latitudes = new double[4];
+        private double[] longitudes = new double[4];
+        private double[] prices = new double[4];
+        private int[] types = new int[4];
+        private int size;
+
+        Cell(int latIndex, int lonIndex) {
+            this.latIndex = latIndex;
+            this.lonIndex = lonIndex;
+        }
+
+        void add(long id, double latitude, double longitude, double price, int type) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                latitudes = Arrays.copyOf(latitudes, capacity);
+                longitudes = Arrays.copyOf(longitudes, capacity);
+                prices = Arrays.copyOf(prices, capacity);
+                types = Arrays.copyOf(types, capacity);
+            }
+            int slot = upperBound(price);
+            shift(slot, slot + 1, size - slot);
+            ids[slot] = id;
+            latitudes[slot] = latitude;
+            longitudes[slot] = longitude;
+            prices[slot] = price;
+            types[slot] = type;
+            size++;
+        }
+
+        void remove(long id) {
+            for (int slot = 0; slot < size; slot++) {
+                if (ids[slot] == id) {
+                    shift(slot + 1, slot, size - slot - 1);
+                    size--;
+                    return;
+                }
+            }
+        }
+
+        // First slot with price >= value
+        int lowerBound(double value) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (prices[mid] < value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        // First slot with price > value
+        int upperBound(double value) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (prices[mid] <= value) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private void shift(int from, int to, int length) {
+            System.arraycopy(ids, from, ids, to, length);
+            System.arraycopy(latitudes, from, latitudes, to, length);
+            System.arraycopy(longitudes, from, longitudes, to, length);
+            System.arraycopy(prices, from, prices, to, length);
+            System.arraycopy(types, from, types, to, length);
+        }
+    }
+}
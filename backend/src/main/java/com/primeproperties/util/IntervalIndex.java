@@ -0,0 +1,231 @@
+package com.primeproperties.util;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongConsumer;
+
+/**
+ * Stabbing-query index over closed intervals [low, high] keyed by id.
+ * Intervals are held in a static centred interval tree, so finding every
+ * interval containing a point costs O(log n + matches). Intervals added since
+ * the last rebuild sit in a small pending set and removals are tombstoned;
+ * the tree is rebuilt once either grows past an eighth of its size.
+ * Unbounded ends are expressed with infinities. Not thread-safe.
+ */
+public class IntervalIndex {
+
+    private static final int MIN_REBUILD_THRESHOLD = 64;
+
+    private final Map<Long, double[]> intervals = new HashMap<>();
+    private final Set<Long> pending = new HashSet<>();
+    private final Set<Long> removed = new HashSet<>();
+    private Node root;
+    private int treeSize;
+
+    public int size() {
+        return intervals.size();
+    }
+
+    /**
+     * Insert or replace the interval for an id
+     */
+    public void add(long id, double low, double high) {
+        checkInterval(low, high);
+        remove(id);
+        intervals.put(id, new double[] {low, high});
+        pending.add(id);
+        rebuildIfNeeded();
+    }
+
+    /**
+     * Insert or replace many intervals and rebuild the tree once (bulk load)
+     */
+    public void addAll(long[] ids, double[] lows, double[] highs, int count) {
+        for (int i = 0; i < count; i++) {
+            checkInterval(lows[i], highs[i]);
+            intervals.put(ids[i], new double[] {lows[i], highs[i]});
+        }
+        rebuild();
+    }
+
+    /**
+     * Remove an id, returning whether it was indexed
+     */
+    public boolean remove(long id) {
+        if (intervals.remove(id) == null) {
+            return false;
+        }
+        if (!pending.remove(id)) {
+            removed.add(id);
+        }
+        rebuildIfNeeded();
+        return true;
+    }
+
+    /**
+     * Report the id of every interval containing x
+     */
+    public void stab(double x, LongConsumer consumer) {
+        Node node = root;
+        while (node != null) {
+            if (x < node.center) {
+                for (int i = 0; i < node.lowsAscending.length && node.lowsAscending[i] <= x; i++) {
+                    emit(node.idsByLow[i], consumer);
+                }
+                node = node.left;
+            } else if (x > node.center) {
+                for (int i = 0; i < node.highsDescending.length && node.highsDescending[i] >= x; i++) {
+                    emit(node.idsByHigh[i], consumer);
+                }
+                node = node.right;
+            } else {
+                for (long id : node.idsByLow) {
+                    emit(id, consumer);
+                }
+                node = null;
+            }
+        }
+        for (long id : pending) {
+            double[] interval = intervals.get(id);
+            if (interval[0] <= x && x <= interval[1]) {
+                consumer.accept(id);
+            }
+        }
+    }
+
+    // Intervals must contain at least one finite point
+    private static void checkInterval(double low, double high) {
+        if (!(low <= high) || low == Double.POSITIVE_INFINITY || high == Double.NEGATIVE_INFINITY) {
+            throw new IllegalArgumentException("Invalid interval [" + low + ", " + high + "]");
+        }
+    }
+
+    private void emit(long id, LongConsumer consumer) {
+        if (removed.isEmpty() || !removed.contains(id)) {
+            consumer.accept(id);
+        }
+    }
+
+    private void rebuildIfNeeded() {
+        int threshold = Math.max(MIN_REBUILD_THRESHOLD, treeSize / 8);
+        if (pending.size() > threshold || removed.size() > threshold) {
+            rebuild();
+        }
+    }
+
+    private void rebuild() {
+        int count = intervals.size();
+        long[] ids = new long[count];
+        double[] lows = new double[count];
+        double[] highs = new double[count];
+        Integer[] byLow = new Integer[count];
+        Integer[] byHigh = new Integer[count];
+        int next = 0;
+        for (Map.Entry<Long, double[]> entry : intervals.entrySet()) {
+            ids[next] = entry.getKey();
+            lows[next] = entry.getValue()[0];
+            highs[next] = entry.getValue()[1];
+            byLow[next] = next;
+            byHigh[next] = next;
+            next++;
+        }
+        Arrays.sort(byLow, Comparator.comparingDouble(i -> lows[i]));
+        Arrays.sort(byHigh, Comparator.comparingDouble(i -> -highs[i]));
+        root = build(ids, lows, highs, unbox(byLow), unbox(byHigh));
+        treeSize = count;
+        pending.clear();
+        removed.clear();
+    }
+
+    /**
+     * Build a subtree from members sorted by ascending low and by descending high.
+     * Partitioning keeps both orders, so no level needs to sort again.
+     */
+    private static Node build(long[] ids, double[] lows, double[] highs, int[] byLow, int[] byHigh) {
+        int size = byLow.length;
+        if (size == 0) {
+            return null;
+        }
+
+        // The median low is contained by its own interval, and at most half
+        // of the members lie entirely on either side of it
+        double center = lows[byLow[size / 2]];
+        int leftCount = 0;
+        int rightCount = 0;
+        for (int member : byLow) {
+            if (highs[member] < center) {
+                leftCount++;
+            } else if (lows[member] > center) {
+                rightCount++;
+            }
+        }
+
+        Node node = new Node(center, size - leftCount - rightCount);
+        int[] leftByLow = new int[leftCount];
+        int[] rightByLow = new int[rightCount];
+        int left = 0;
+        int right = 0;
+        int overlapping = 0;
+        for (int member : byLow) {
+            if (highs[member] < center) {
+                leftByLow[left++] = member;
+            } else if (lows[member] > center) {
+                rightByLow[right++] = member;
+            } else {
+                node.lowsAscending[overlapping] = lows[member];
+                node.idsByLow[overlapping++] = ids[member];
+            }
+        }
+
+        int[] leftByHigh = new int[leftCount];
+        int[] rightByHigh = new int[rightCount];
+        left = 0;
+        right = 0;
+        overlapping = 0;
+        for (int member : byHigh) {
+            if (highs[member] < center) {
+                leftByHigh[left++] = member;
+            } else if (lows[member] > center) {
+                rightByHigh[right++] = member;
+            } else {
+                node.highsDescending[overlapping] = highs[member];
+                node.idsByHigh[overlapping++] = ids[member];
+            }
+        }
+
+        node.left = build(ids, lows, highs, leftByLow, leftByHigh);
+        node.right = build(ids, lows, highs, rightByLow, rightByHigh);
+        return node;
+    }
+
+    private static int[] unbox(Integer[] values) {
+        int[] result = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            result[i] = values[i];
+        }
+        return result;
+    }
+
+    // Intervals containing the centre, sorted both ways so a stab stops at the first miss
+    private static class Node {
+        private final double center;
+        private final double[] lowsAscending;
+        private final long[] idsByLow;
+        private final double[] highsDescending;
+        private final long[] idsByHigh;
+        private Node left;
+        private Node right;
+
+        Node(double center, int size) {
+            this.center = center;
+            this.lowsAscending = new double[size];
+            this.idsByLow = new long[size];
+            this.highsDescending = new double[size];
+            this.idsByHigh = new long[size];
+        }
+    }
+}
@@ -0,0 +1,488 @@
+package com.primeproperties.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * Approximate nearest-neighbour index over fixed-length float vectors (IVF-flat).
+ * Vectors are partitioned around sqrt(n) k-means centroids; a query scans only
+ * the nprobe closest partitions, so its cost grows with sqrt(n) instead of n.
+ * Partitions store vectors in flat arrays so scans are sequential and
+ * allocation-free. Updates are incremental (assign to the nearest centroid);
+ * once the index has grown well past its training size it re-clusters a copy
+ * on the retrain executor and swaps it in, replaying ids changed meanwhile.
+ * Thread-safe: queries share a read lock, updates and the swap take the write lock.
+ */
+public class IvfVectorIndex {
+
+    private static final int KMEANS_ITERATIONS = 8;
+    private static final int SAMPLES_PER_CENTROID = 32;
+    private static final int MIN_RETRAIN_SIZE = 1024;
+
+    private final int dimensions;
+    private final Executor retrainExecutor;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Layout layout = new Layout(new float[0][], 0);
+    private int trainedSize;
+    // Bumped by build(), so a retrain that started before it is discarded
+    private long generation;
+    // Ids upserted or removed while a retrain runs; null when none is running
+    private Set<Long> changedDuringRetrain;
+
+    /**
+     * Index that retrains on the thread whose upsert triggered it
+     */
+    public IvfVectorIndex(int dimensions) {
+        this(dimensions, Runnable::run);
+    }
+
+    public IvfVectorIndex(int dimensions, Executor retrainExecutor) {
+        this.dimensions = dimensions;
+        this.retrainExecutor = retrainExecutor;
+    }
+
+    public int getDimensions() {
+        return dimensions;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return layout.positions.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getPartitionCount() {
+        lock.readLock().lock();
+        try {
+            return layout.centroids.length;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replace the index contents with count vectors (flattened, count * dimensions floats)
+     */
+    public void build(long[] ids, float[] vectors, int count) {
+        Layout trained = train(ids, vectors, count);
+        lock.writeLock().lock();
+        try {
+            layout = trained;
+            trainedSize = count;
+            generation++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Insert or replace the vector for an id
+     */
+    public void upsert(long id, float[] vector) {
+        checkDimensions(vector);
+        boolean retrain = false;
+        lock.writeLock().lock();
+        try {
+            layout.remove(id);
+            if (layout.centroids.length == 0) {
+                layout = new Layout(new float[][] {vector.clone()}, 4);
+            }
+            layout.append(nearest(layout.centroids, vector, 0), id, vector, 0);
+            if (changedDuringRetrain != null) {
+                changedDuringRetrain.add(id);
+            } else if (layout.positions.size() >= MIN_RETRAIN_SIZE && layout.positions.size() > 4 * trainedSize) {
+                changedDuringRetrain = new HashSet<>();
+                retrain = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (retrain) {
+            try {
+                retrainExecutor.execute(this::retrain);
+            } catch (RejectedExecutionException e) {
+                lock.writeLock().lock();
+                try {
+                    changedDuringRetrain = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove an id, returning whether it was indexed
+     */
+    public boolean remove(long id) {
+        lock.writeLock().lock();
+        try {
+            if (changedDuringRetrain != null) {
+                changedDuringRetrain.add(id);
+            }
+            return layout.remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Copy of the stored vector for an id, or null
+     */
+    public float[] vector(long id) {
+        lock.readLock().lock();
+        try {
+            return layout.vector(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Approximate k nearest neighbours scanning the nprobe closest partitions
+     */
+    public List<Neighbor> search(float[] query, int k, int nprobe, long excludeId) {
+        checkDimensions(query);
+        lock.readLock().lock();
+        try {
+            TopK top = new TopK(k);
+            for (int list : closestCentroids(query, Math.min(nprobe, layout.centroids.length))) {
+                scan(list, query, excludeId, top);
+            }
+            return top.toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Exact k nearest neighbours by scanning every vector (reference for recall and benchmarks)
+     */
+    public List<Neighbor> searchExact(float[] query, int k, long excludeId) {
+        checkDimensions(query);
+        lock.readLock().lock();
+        try {
+            TopK top = new TopK(k);
+            for (int list = 0; list < layout.centroids.length; list++) {
+                scan(list, query, excludeId, top);
+            }
+            return top.toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Copy under the lock, cluster without it, then swap in and re-apply what changed meanwhile
+    private void retrain() {
+        long[] ids;
+        float[] vectors;
+        int count;
+        long startedGeneration;
+        lock.readLock().lock();
+        try {
+            startedGeneration = generation;
+            count = layout.positions.size();
+            ids = new long[count];
+            vectors = new float[count * dimensions];
+            int next = 0;
+            for (int list = 0; list < layout.centroids.length; list++) {
+                System.arraycopy(layout.ids[list], 0, ids, next, layout.sizes[list]);
+                System.arraycopy(layout.vectors[list], 0, vectors, next * dimensions, layout.sizes[list] * dimensions);
+                next += layout.sizes[list];
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Layout trained = null;
+        try {
+            trained = train(ids, vectors, count);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (trained != null && generation == startedGeneration) {
+                    for (long id : changedDuringRetrain) {
+                        trained.remove(id);
+                        float[] vector = layout.vector(id);
+                        if (vector != null) {
+                            trained.append(nearest(trained.centroids, vector, 0), id, vector, 0);
+                        }
+                    }
+                    layout = trained;
+                    trainedSize = count;
+                }
+                changedDuringRetrain = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // k-means and partition assignment; touches no shared state
+    private Layout train(long[] ids, float[] vectors, int count) {
+        int partitions = Math.max(1, (int) Math.sqrt(count));
+        float[][] trained = kMeans(vectors, count, partitions);
+        int[] assignment = IntStream.range(0, count).parallel()
+                .map(i -> nearest(trained, vectors, i * dimensions))
+                .toArray();
+
+        int[] sizes = new int[trained.length];
+        for (int list : assignment) {
+            sizes[list]++;
+        }
+        Layout result = new Layout(trained, 0);
+        for (int list = 0; list < trained.length; list++) {
+            int capacity = Math.max(4, sizes[list] + sizes[list] / 4);
+            result.vectors[list] = new float[capacity * dimensions];
+            result.ids[list] = new long[capacity];
+        }
+        for (int i = 0; i < count; i++) {
+            result.append(assignment[i], ids[i], vectors, i * dimensions);
+        }
+        return result;
+    }
+
+    private void scan(int list, float[] query, long excludeId, TopK top) {
+        float[] data = layout.vectors[list];
+        long[] ids = layout.ids[list];
+        int size = layout.sizes[list];
+        for (int slot = 0; slot < size; slot++) {
+            if (ids[slot] == excludeId) {
+                continue;
+            }
+            int base = slot * dimensions;
+            float distance = 0;
+            for (int d = 0; d < dimensions; d++) {
+                float diff = data[base + d] - query[d];
+                distance += diff * diff;
+            }
+            if (distance < top.worst()) {
+                top.offer(ids[slot], distance);
+            }
+        }
+    }
+
+    private int[] closestCentroids(float[] query, int nprobe) {
+        TopK top = new TopK(nprobe);
+        for (int list = 0; list < layout.centroids.length; list++) {
+            top.offer(list, squaredDistance(layout.centroids[list], 0, query, 0));
+        }
+        int[] lists = new int[top.size];
+        for (int i = 0; i < top.size; i++) {
+            lists[i] = (int) top.ids[i];
+        }
+        return lists;
+    }
+
+    private float[][] kMeans(float[] vectors, int count, int k) {
+        if (count == 0) {
+            return new float[0][];
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        int sampleSize = Math.min(count, k * SAMPLES_PER_CENTROID);
+        int[] sample = IntStream.range(0, count).toArray();
+        for (int i = 0; i < sampleSize; i++) {
+            int j = i + random.nextInt(count - i);
+            int swap = sample[i];
+            sample[i] = sample[j];
+            sample[j] = swap;
+        }
+
+        float[][] result = new float[k][];
+        for (int c = 0; c < k; c++) {
+            int point = sample[c % sampleSize];
+            result[c] = Arrays.copyOfRange(vectors, point * dimensions, (point + 1) * dimensions);
+        }
+
+        for (int iteration = 0; iteration < KMEANS_ITERATIONS; iteration++) {
+            float[][] current = result;
+            int[] assignment = IntStream.range(0, sampleSize).parallel()
+                    .map(i -> nearest(current, vectors, sample[i] * dimensions))
+                    .toArray();
+            double[][] sums = new double[k][dimensions];
+            int[] counts = new int[k];
+            for (int i = 0; i < sampleSize; i++) {
+                int base = sample[i] * dimensions;
+                counts[assignment[i]]++;
+                for (int d = 0; d < dimensions; d++) {
+                    sums[assignment[i]][d] += vectors[base + d];
+                }
+            }
+            float[][] next = new float[k][dimensions];
+            for (int c = 0; c < k; c++) {
+                if (counts[c] == 0) {
+                    // Re-seed empty clusters from a random sample point
+                    int point = sample[random.nextInt(sampleSize)];
+                    next[c] = Arrays.copyOfRange(vectors, point * dimensions, (point + 1) * dimensions);
+                } else {
+                    for (int d = 0; d < dimensions; d++) {
+                        next[c][d] = (float) (sums[c][d] / counts[c]);
+                    }
+                }
+            }
+            result = next;
+        }
+        return result;
+    }
+
+    private int nearest(float[][] candidates, float[] vector, int offset) {
+        int best = 0;
+        float bestDistance = Float.MAX_VALUE;
+        for (int c = 0; c < candidates.length; c++) {
+            float distance = squaredDistance(candidates[c], 0, vector, offset);
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = c;
+            }
+        }
+        return best;
+    }
+
+    private float squaredDistance(float[] a, int aOffset, float[] b, int bOffset) {
+        float distance = 0;
+        for (int d = 0; d < dimensions; d++) {
+            float diff = a[aOffset + d] - b[bOffset + d];
+            distance += diff * diff;
+        }
+        return distance;
+    }
+
+    private void checkDimensions(float[] vector) {
+        if (vector.length != dimensions) {
+            throw new IllegalArgumentException("Expected " + dimensions + " dimensions, got " + vector.length);
+        }
+    }
+
+    /**
+     * Centroids plus the partitions assigned to them; swapped as a whole on build and retrain
+     */
+    private class Layout {
+        private final float[][] centroids;
+        private final float[][] vectors;
+        private final long[][] ids;
+        private final int[] sizes;
+        private final Map<Long, Long> positions = new HashMap<>();
+
+        Layout(float[][] centroids, int initialCapacity) {
+            this.centroids = centroids;
+            this.vectors = new float[centroids.length][initialCapacity * dimensions];
+            this.ids = new long[centroids.length][initialCapacity];
+            this.sizes = new int[centroids.length];
+        }
+
+        float[] vector(long id) {
+            Long position = positions.get(id);
+            if (position == null) {
+                return null;
+            }
+            int list = (int) (position >>> 32);
+            int slot = (int) (long) position;
+            return Arrays.copyOfRange(vectors[list], slot * dimensions, (slot + 1) * dimensions);
+        }
+
+        void append(int list, long id, float[] source, int sourceOffset) {
+            int slot = sizes[list];
+            if (slot == ids[list].length) {
+                int capacity = Math.max(4, slot * 2);
+                ids[list] = Arrays.copyOf(ids[list], capacity);
+                vectors[list] = Arrays.copyOf(vectors[list], capacity * dimensions);
+            }
+            System.arraycopy(source, sourceOffset, vectors[list], slot * dimensions, dimensions);
+            ids[list][slot] = id;
+            sizes[list] = slot + 1;
+            positions.put(id, ((long) list << 32) | slot);
+        }
+
+        // Swap-remove keeps each partition dense
+        boolean remove(long id) {
+            Long position = positions.remove(id);
+            if (position == null) {
+                return false;
+            }
+            int list = (int) (position >>> 32);
+            int slot = (int) (long) position;
+            int last = sizes[list] - 1;
+            if (slot != last) {
+                long movedId = ids[list][last];
+                ids[list][slot] = movedId;
+                System.arraycopy(vectors[list], last * dimensions, vectors[list], slot * dimensions, dimensions);
+                positions.put(movedId, ((long) list << 32) | slot);
+            }
+            sizes[list] = last;
+            return true;
+        }
+    }
+
+    /**
+     * A search result: id and squared Euclidean distance
+     */
+    public static class Neighbor {
+        private final long id;
+        private final float distance;
+
+        public Neighbor(long id, float distance) {
+            this.id = id;
+            this.distance = distance;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public float getDistance() {
+            return distance;
+        }
+    }
+
+    // Bounded ascending list; k is small so insertion beats a heap
+    private static class TopK {
+        private final long[] ids;
+        private final float[] distances;
+        private int size;
+
+        TopK(int k) {
+            this.ids = new long[Math.max(k, 0)];
+            this.distances = new float[Math.max(k, 0)];
+        }
+
+        float worst() {
+            return size < ids.length ? Float.MAX_VALUE : distances[size - 1];
+        }
+
+        void offer(long id, float distance) {
+            if (ids.length == 0 || distance >= worst()) {
+                return;
+            }
+            int i = size < ids.length ? size++ : size - 1;
+            while (i > 0 && distances[i - 1] > distance) {
+                ids[i] = ids[i - 1];
+                distances[i] = distances[i - 1];
+                i--;
+            }
+            ids[i] = id;
+            distances[i] = distance;
+        }
+
+        List<Neighbor> toList() {
+            List<Neighbor> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(new Neighbor(ids[i], distances[i]));
+            }
+            return result;
+        }
+    }
+}
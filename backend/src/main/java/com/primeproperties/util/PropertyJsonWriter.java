@@ -0,0 +1,93 @@
+package com.primeproperties.util;
+
+import com.primeproperties.dto.PropertyResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Reflection-free JSON for PropertyResponse. Produces the same bytes as the application's
+ * ObjectMapper (field order, null handling, ISO-8601 dates, escaping), so cached fragments can be
+ * mixed freely with Jackson output.
+ */
+public final class PropertyJsonWriter {
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    // Short escapes Jackson uses below 0x20; the other control characters are hex-escaped
+    private static final char[] CONTROL_ESCAPES = new char[0x20];
+
+    static {
+        CONTROL_ESCAPES['\b'] = 'b';
+        CONTROL_ESCAPES['\t'] = 't';
+        CONTROL_ESCAPES['\n'] = 'n';
+        CONTROL_ESCAPES['\f'] = 'f';
+        CONTROL_ESCAPES['\r'] = 'r';
+    }
+
+    private PropertyJsonWriter() {}
+
+    /**
+     * UTF-8 JSON object for one property
+     */
+    public static byte[] write(PropertyResponse property) {
+        String description = property.getDescription();
+        StringBuilder json = new StringBuilder(384 + (description != null ? description.length() : 0));
+        json.append("{\"id\":").append(property.getId());
+        string(json, "title", property.getTitle());
+        string(json, "description", description);
+        number(json, "price", property.getPrice());
+        string(json, "location", property.getLocation());
+        string(json, "propertyType", property.getPropertyType());
+        number(json, "bedrooms", property.getBedrooms());
+        number(json, "bathrooms", property.getBathrooms());
+        number(json, "area", property.getArea());
+        number(json, "latitude", property.getLatitude());
+        number(json, "longitude", property.getLongitude());
+        string(json, "status", property.getStatus());
+        dateTime(json, "createdAt", property.getCreatedAt());
+        dateTime(json, "updatedAt", property.getUpdatedAt());
+        number(json, "developerId", property.getDeveloperId());
+        // NON_NULL on the DTO
+        if (property.getDeveloperName() != null) {
+            string(json, "developerName", property.getDeveloperName());
+        }
+        if (property.getDeveloperEmail() != null) {
+            string(json, "developerEmail", property.getDeveloperEmail());
+        }
+        json.append('}');
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    // BigDecimal, Integer and Double all print like Jackson's default number output
+    private static void number(StringBuilder json, String name, Number value) {
+        json.append(",\"").append(name).append("\":").append(value != null ? value.toString() : "null");
+    }
+
+    private static void dateTime(StringBuilder json, String name, LocalDateTime value) {
+        string(json, name, value != null ? DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value) : null);
+    }
+
+    private static void string(StringBuilder json, String name, String value) {
+        json.append(",\"").append(name).append("\":");
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c >= 0x20) {
+                json.append(c);
+            } else if (CONTROL_ESCAPES[c] != 0) {
+                json.append('\\').append(CONTROL_ESCAPES[c]);
+            } else {
+                json.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+            }
+        }
+        json.append('"');
+    }
+}
@@ -0,0 +1,178 @@
+package com.primeproperties.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Mergeable quantile sketch for positive values with relative-error guarantees
+ * (the DDSketch bucketing scheme). Values are counted in logarithmic buckets
+ * of ratio gamma, so any reported quantile is within relativeAccuracy of the
+ * true value. Unlike t-digest or KLL, counts can be decremented exactly, which
+ * lets listings be removed when they are updated, sold or deleted.
+ * Not thread-safe.
+ */
+public class QuantileSketch {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+
+    private int[] counts = new int[0];
+    private int offset;
+    private long count;
+    private double sum;
+
+    public QuantileSketch(double relativeAccuracy) {
+        if (relativeAccuracy <= 0 || relativeAccuracy >= 1) {
+            throw new IllegalArgumentException("relativeAccuracy must be in (0, 1)");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    /**
+     * Record a value (ignored unless positive and finite)
+     */
+    public void add(double value) {
+        if (!(value > 0) || Double.isInfinite(value)) {
+            return;
+        }
+        int index = index(value);
+        ensureCapacity(index);
+        counts[index - offset]++;
+        count++;
+        sum += value;
+    }
+
+    /**
+     * Remove a value previously recorded with add
+     */
+    public void remove(double value) {
+        if (!(value > 0) || Double.isInfinite(value)) {
+            return;
+        }
+        int index = index(value);
+        int slot = index - offset;
+        if (slot < 0 || slot >= counts.length || counts[slot] == 0) {
+            return;
+        }
+        counts[slot]--;
+        count--;
+        sum -= value;
+        if (count == 0) {
+            sum = 0;
+        }
+    }
+
+    /**
+     * Add all values of another sketch with the same accuracy
+     */
+    public void merge(QuantileSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Cannot merge sketches with different accuracy");
+        }
+        for (int i = 0; i < other.counts.length; i++) {
+            if (other.counts[i] != 0) {
+                int index = other.offset + i;
+                ensureCapacity(index);
+                counts[index - offset] += other.counts[i];
+            }
+        }
+        count += other.count;
+        sum += other.sum;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return count == 0 ? Double.NaN : sum / count;
+    }
+
+    /**
+     * Value at quantile q in [0, 1], or NaN when empty
+     */
+    public double quantile(double q) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = (long) Math.floor(Math.max(0, Math.min(1, q)) * (count - 1));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen > rank) {
+                return value(offset + i);
+            }
+        }
+        return value(offset + counts.length - 1);
+    }
+
+    /**
+     * Collapse the occupied buckets into at most maxBins log-width bins.
+     * Each entry is {lower, upper, count}.
+     */
+    public List<double[]> histogram(int maxBins) {
+        List<double[]> bins = new ArrayList<>();
+        int first = -1;
+        int last = -1;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                if (first < 0) {
+                    first = i;
+                }
+                last = i;
+            }
+        }
+        if (first < 0 || maxBins <= 0) {
+            return bins;
+        }
+
+        int span = last - first + 1;
+        int width = (span + maxBins - 1) / maxBins;
+        for (int start = first; start <= last; start += width) {
+            int end = Math.min(start + width, last + 1);
+            long binCount = 0;
+            for (int i = start; i < end; i++) {
+                binCount += counts[i];
+            }
+            bins.add(new double[] {lowerBound(offset + start), lowerBound(offset + end), binCount});
+        }
+        return bins;
+    }
+
+    private int index(double value) {
+        return (int) Math.ceil(Math.log(value) / logGamma);
+    }
+
+    // Representative value of a bucket: within relativeAccuracy of every value it holds
+    private double value(int index) {
+        return 2 * Math.pow(gamma, index) / (gamma + 1);
+    }
+
+    private double lowerBound(int index) {
+        return Math.pow(gamma, index - 1);
+    }
+
+    private void ensureCapacity(int index) {
+        if (counts.length == 0) {
+            counts = new int[INITIAL_CAPACITY];
+            offset = index - INITIAL_CAPACITY / 2;
+            return;
+        }
+        if (index < offset) {
+            int grow = Math.max(offset - index, counts.length / 2);
+            int[] grown = new int[counts.length + grow];
+            System.arraycopy(counts, 0, grown, grow, counts.length);
+            counts = grown;
+            offset -= grow;
+        } else if (index >= offset + counts.length) {
+            int grow = Math.max(index - offset - counts.length + 1, counts.length / 2);
+            counts = Arrays.copyOf(counts, counts.length + grow);
+        }
+    }
+}
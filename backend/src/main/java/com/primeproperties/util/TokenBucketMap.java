@@ -0,0 +1,112 @@
+package com.primeproperties.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token buckets keyed by string, for rate limiting.
+ * Each bucket is a single AtomicLong holding its theoretical arrival time (the
+ * GCRA form of a token bucket): taking a token is one compare-and-set, and a
+ * bucket whose arrival time has passed is full, so it can be dropped without
+ * losing anything. Keys are spread over independent stripes, each capped in
+ * size; when a stripe is full of active buckets, new keys share one overflow
+ * bucket per prefix so memory stays bounded under key-spraying.
+ */
+public class TokenBucketMap {
+
+    private static final String OVERFLOW_KEY = "\u0000overflow";
+
+    private final ConcurrentHashMap<String, AtomicLong>[] stripes;
+    private final AtomicLong[] lastSweeps;
+    private final int maxKeysPerStripe;
+
+    @SuppressWarnings("unchecked")
+    public TokenBucketMap(int stripes, int maxKeys) {
+        int count = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new ConcurrentHashMap[count];
+        this.lastSweeps = new AtomicLong[count];
+        long start = System.nanoTime() - 2_000_000_000L;
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new ConcurrentHashMap<>();
+            this.lastSweeps[i] = new AtomicLong(start);
+        }
+        this.maxKeysPerStripe = Math.max(1, maxKeys / count);
+    }
+
+    /**
+     * Take one token from the bucket for key. Returns 0 when allowed, otherwise
+     * the nanoseconds until a token becomes available.
+     */
+    public long tryAcquire(String prefix, String key, int capacity, double refillPerSecond, long nowNanos) {
+        long interval = Math.max(1, (long) (1_000_000_000L / refillPerSecond));
+        long burst = interval * capacity;
+        AtomicLong bucket = bucket(prefix, key, nowNanos);
+        while (true) {
+            long arrival = bucket.get();
+            long next = Math.max(arrival, nowNanos) + interval;
+            if (next - nowNanos > burst) {
+                return next - burst - nowNanos;
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drop buckets that have refilled completely; returns how many were removed
+     */
+    public int evictIdle(long nowNanos) {
+        int removed = 0;
+        for (int i = 0; i < stripes.length; i++) {
+            removed += sweep(i, nowNanos);
+        }
+        return removed;
+    }
+
+    public int size() {
+        int size = 0;
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private AtomicLong bucket(String prefix, String key, long nowNanos) {
+        String fullKey = prefix + '|' + key;
+        int index = stripeIndex(fullKey);
+        ConcurrentHashMap<String, AtomicLong> stripe = stripes[index];
+        AtomicLong bucket = stripe.get(fullKey);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (stripe.size() >= maxKeysPerStripe) {
+            // At most one sweep per stripe per second, so a flood cannot turn into constant scanning
+            long lastSweep = lastSweeps[index].get();
+            if (nowNanos - lastSweep > 1_000_000_000L && lastSweeps[index].compareAndSet(lastSweep, nowNanos)) {
+                sweep(index, nowNanos);
+            }
+            if (stripe.size() >= maxKeysPerStripe) {
+                return stripe.computeIfAbsent(prefix + '|' + OVERFLOW_KEY, overflow -> new AtomicLong(Long.MIN_VALUE));
+            }
+        }
+        return stripe.computeIfAbsent(fullKey, newKey -> new AtomicLong(Long.MIN_VALUE));
+    }
+
+    private int sweep(int index, long nowNanos) {
+        int removed = 0;
+        ConcurrentHashMap<String, AtomicLong> stripe = stripes[index];
+        for (var entry : stripe.entrySet()) {
+            // A full bucket carries no state; a racing acquire at worst gets one extra token
+            if (entry.getValue().get() <= nowNanos && stripe.remove(entry.getKey(), entry.getValue())) {
+                removed++;
+            }
+        }
+        return removed;
+    }
+
+    private int stripeIndex(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+}
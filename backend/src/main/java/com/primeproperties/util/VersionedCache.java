@@ -0,0 +1,125 @@
+package com.primeproperties.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * Bounded LRU cache with TTL that cannot be re-poisoned by a load racing an invalidation.
+ * Every invalidation bumps an epoch; a value loaded while the epoch moved is returned
+ * but not stored. Invalidations that carry a version also leave a tombstone, so a later
+ * load that still sees an older version (a lagging read replica) is not stored either.
+ * Thread-safe; loads run outside the lock.
+ */
+public class VersionedCache<K, V> {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final ToLongFunction<V> versionOf;
+
+    // Access-ordered so the least recently used entries are evicted first; guarded by this
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private final LinkedHashMap<K, Long> tombstones;
+    private long epoch;
+    private long hits;
+    private long misses;
+
+    public VersionedCache(int maxEntries, long ttlMillis, ToLongFunction<V> versionOf) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.versionOf = versionOf;
+        this.entries = new LinkedHashMap<>(Math.min(maxEntries, 1024), 0.75f, true);
+        this.tombstones = new LinkedHashMap<>(Math.min(maxEntries, 1024), 0.75f, true);
+    }
+
+    /**
+     * Cached value for key, or the loader's result (null results are not cached)
+     */
+    public V getOrLoad(K key, Function<K, V> loader) {
+        long loadEpoch;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && entry.expiresAt > System.currentTimeMillis()) {
+                hits++;
+                return entry.value;
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+            misses++;
+            loadEpoch = epoch;
+        }
+
+        V value = loader.apply(key);
+        if (value == null) {
+            return null;
+        }
+        long version = versionOf.applyAsLong(value);
+        synchronized (this) {
+            Long tombstone = tombstones.get(key);
+            if (epoch == loadEpoch && (tombstone == null || version >= tombstone)) {
+                entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMillis));
+                evictOverflow(entries);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Drop key. A positive version also rejects later loads of anything older.
+     */
+    public synchronized void invalidate(K key, long version) {
+        epoch++;
+        entries.remove(key);
+        if (version > 0) {
+            tombstones.merge(key, version, Math::max);
+            evictOverflow(tombstones);
+        }
+    }
+
+    /**
+     * Drop every entry whose value matches
+     */
+    public synchronized void invalidateIf(Predicate<V> predicate) {
+        epoch++;
+        entries.values().removeIf(entry -> predicate.test(entry.value));
+    }
+
+    public synchronized void clear() {
+        epoch++;
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    private <T> void evictOverflow(LinkedHashMap<K, T> map) {
+        Iterator<Map.Entry<K, T>> iterator = map.entrySet().iterator();
+        while (map.size() > maxEntries && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
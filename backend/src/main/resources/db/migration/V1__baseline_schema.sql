@@ -0,0 +1,160 @@
+-- Prime Properties baseline schema
+-- Owns every table the backend uses (spring.jpa.hibernate.ddl-auto is off).
+-- Written to be idempotent: on databases previously created by Hibernate's
+-- ddl-auto it only adds what is missing, on empty databases it creates everything.
+
+-- ===========================================
+-- Sequences (pooled: INCREMENT BY matches allocationSize = 50 in the entities)
+-- ===========================================
+CREATE SEQUENCE IF NOT EXISTS users_id_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS properties_id_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS transactions_id_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS property_media_id_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS saved_searches_id_seq INCREMENT BY 50;
+
+-- ===========================================
+-- Users
+-- ===========================================
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT PRIMARY KEY,
+    username VARCHAR(50) UNIQUE,
+    name VARCHAR(100) NOT NULL,
+    email VARCHAR(100) UNIQUE,
+    password VARCHAR(100),
+    role VARCHAR(255) NOT NULL,
+    google_id VARCHAR(255) UNIQUE,
+    provider VARCHAR(255)
+);
+
+-- Columns added after the first Hibernate-created deployments
+ALTER TABLE users ADD COLUMN IF NOT EXISTS username VARCHAR(50) UNIQUE;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS google_id VARCHAR(255) UNIQUE;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS provider VARCHAR(255);
+
+-- ===========================================
+-- Properties
+-- ===========================================
+CREATE TABLE IF NOT EXISTS properties (
+    id BIGINT PRIMARY KEY,
+    title VARCHAR(200) NOT NULL,
+    description TEXT NOT NULL,
+    price NUMERIC(38, 2) NOT NULL,
+    location VARCHAR(100) NOT NULL,
+    property_type VARCHAR(50) NOT NULL,
+    bedrooms INTEGER NOT NULL,
+    bathrooms INTEGER NOT NULL,
+    area DOUBLE PRECISION NOT NULL,
+    latitude DOUBLE PRECISION,
+    longitude DOUBLE PRECISION,
+    status VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    developer_id BIGINT NOT NULL REFERENCES users (id)
+);
+
+ALTER TABLE properties ADD COLUMN IF NOT EXISTS latitude DOUBLE PRECISION;
+ALTER TABLE properties ADD COLUMN IF NOT EXISTS longitude DOUBLE PRECISION;
+
+-- ===========================================
+-- Transactions
+-- ===========================================
+CREATE TABLE IF NOT EXISTS transactions (
+    id BIGINT PRIMARY KEY,
+    customer_id BIGINT NOT NULL REFERENCES users (id),
+    property_id BIGINT NOT NULL REFERENCES properties (id),
+    amount NUMERIC(38, 2) NOT NULL,
+    transaction_date TIMESTAMP(6) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+-- ===========================================
+-- Property media and saved searches
+-- ===========================================
+CREATE TABLE IF NOT EXISTS property_media (
+    id BIGINT PRIMARY KEY,
+    property_id BIGINT NOT NULL,
+    content_hash VARCHAR(64) NOT NULL,
+    content_type VARCHAR(255) NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    original_filename VARCHAR(255),
+    position INTEGER NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS saved_searches (
+    id BIGINT PRIMARY KEY,
+    customer_id BIGINT NOT NULL REFERENCES users (id),
+    name VARCHAR(100) NOT NULL,
+    location VARCHAR(100),
+    property_type VARCHAR(50),
+    min_price NUMERIC(38, 2),
+    max_price NUMERIC(38, 2),
+    min_bedrooms INTEGER,
+    max_bedrooms INTEGER,
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+-- ===========================================
+-- Idempotency keys and transactional outbox
+-- ===========================================
+CREATE TABLE IF NOT EXISTS idempotency_records (
+    record_key VARCHAR(512) PRIMARY KEY,
+    fingerprint VARCHAR(64) NOT NULL,
+    status_code INTEGER NOT NULL,
+    response_body TEXT,
+    created_at TIMESTAMP(6) NOT NULL,
+    expires_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_expires ON idempotency_records (expires_at);
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    txid xid8 NOT NULL DEFAULT pg_current_xact_id(),
+    event_type VARCHAR(50) NOT NULL,
+    aggregate_type VARCHAR(50) NOT NULL,
+    aggregate_id BIGINT,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_events_position ON outbox_events (txid, id);
+
+CREATE TABLE IF NOT EXISTS outbox_offsets (
+    subscriber VARCHAR(100) PRIMARY KEY,
+    last_txid xid8 NOT NULL DEFAULT '0',
+    last_event_id BIGINT NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL
+);
+
+-- ===========================================
+-- Move sequences past existing ids
+-- ===========================================
+-- Formerly sequence-migration.sql. Databases created before the pooled sequences may still
+-- use IDENTITY or BIGSERIAL ids: keep them, only widen the increment to 50
+DO $$
+DECLARE
+    table_name TEXT;
+    sequence_name TEXT;
+    identity_kind "char";
+BEGIN
+    FOREACH table_name IN ARRAY ARRAY['users', 'properties', 'transactions', 'property_media', 'saved_searches'] LOOP
+        sequence_name := pg_get_serial_sequence(table_name, 'id');
+
+        SELECT attidentity INTO identity_kind
+        FROM pg_attribute
+        WHERE attrelid = table_name::regclass AND attname = 'id';
+
+        IF identity_kind IN ('a', 'd') THEN
+            EXECUTE format('ALTER TABLE %I ALTER COLUMN id SET INCREMENT BY 50', table_name);
+        ELSIF sequence_name IS NOT NULL THEN
+            EXECUTE format('ALTER SEQUENCE %s INCREMENT BY 50', sequence_name);
+        ELSE
+            sequence_name := table_name || '_id_seq';
+            EXECUTE format('ALTER SEQUENCE %I INCREMENT BY 50', sequence_name);
+        END IF;
+
+        -- The pooled optimizer hands out (value - 49 .. value), so the next value must be >= MAX(id) + 50
+        EXECUTE format('SELECT setval(%L, GREATEST((SELECT MAX(id) FROM %I), 1))', sequence_name, table_name);
+    END LOOP;
+END $$;
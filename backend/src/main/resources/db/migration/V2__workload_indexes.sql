@@ -0,0 +1,34 @@
+-- Prime Properties workload indexes
+-- One index per access path the repositories and JDBC queries actually use; the
+-- unique constraints from V1 already cover users.username, users.email and users.google_id.
+-- Every statement is CONCURRENTLY, so Flyway runs this migration outside a transaction
+-- and live tables keep taking writes while the indexes build.
+
+-- PropertyRepository.findByDeveloperId / findByDeveloperIdAndStatus and the bulk status update
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_properties_developer_status ON properties (developer_id, status);
+
+-- PropertyRepository.findByStatus
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_properties_status ON properties (status);
+
+-- GeoSearchService index rebuild: index-only scan over available, geocoded listings
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_properties_available_geo ON properties (id)
+    INCLUDE (latitude, longitude, price, property_type)
+    WHERE status = 'AVAILABLE' AND latitude IS NOT NULL AND longitude IS NOT NULL;
+
+-- TransactionRepository.findByCustomerId / findByPropertyId (also the foreign keys)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_customer ON transactions (customer_id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_property ON transactions (property_id);
+
+-- SavedSearchRepository.findByCustomerIdOrderByCreatedAtDesc: no sort step
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_saved_searches_customer_created ON saved_searches (customer_id, created_at DESC);
+DROP INDEX CONCURRENTLY IF EXISTS idx_saved_searches_customer;
+
+-- PropertyMediaRepository.findByPropertyIdOrderByPositionAscIdAsc: no sort step
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_property_media_property_position ON property_media (property_id, position, id);
+DROP INDEX CONCURRENTLY IF EXISTS idx_property_media_property;
+
+-- PropertyMediaRepository.findFirstByContentHash / existsByContentHash
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_property_media_hash ON property_media (content_hash);
+
+-- OutboxRelay.purge
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_outbox_events_created ON outbox_events (created_at);
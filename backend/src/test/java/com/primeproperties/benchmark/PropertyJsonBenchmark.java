@@ -0,0 +1,122 @@
+package com.primeproperties.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.primeproperties.dto.PropertyResponse;
+import com.primeproperties.util.PropertyJsonWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing a listing page: default Jackson over the DTOs, the hand-written writer on
+ * every miss, and assembling cached fragments (what a warm PropertyJsonCache does).
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.primeproperties.benchmark.PropertyJsonBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class PropertyJsonBenchmark {
+
+    private static final String[] TYPES = {"Apartment", "House", "Villa", "Condo", "Townhouse", "Land"};
+
+    @Param({"50", "500", "5000"})
+    public int pageSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private List<PropertyResponse> page;
+    private List<byte[]> fragments;
+    private ByteArrayOutputStream out;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(7);
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        page = new ArrayList<>(pageSize);
+        fragments = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            String type = TYPES[random.nextInt(TYPES.length)];
+            PropertyResponse property = new PropertyResponse((long) i, type + " in City " + random.nextInt(500),
+                    "Bright " + type.toLowerCase() + " close to schools and transport. ".repeat(1 + random.nextInt(6)),
+                    BigDecimal.valueOf(random.nextInt(50_000, 2_000_000), 2), "City " + random.nextInt(500), type,
+                    1 + random.nextInt(5), 1 + random.nextInt(3), 50 + random.nextDouble(200),
+                    random.nextDouble(-60, 60), random.nextDouble(-180, 180), "AVAILABLE",
+                    base.plusSeconds(random.nextInt(30_000_000)).plusNanos(random.nextInt(1_000_000) * 1000L),
+                    base.plusSeconds(random.nextInt(30_000_000)), 1L, "Developer " + random.nextInt(100),
+                    "developer" + random.nextInt(100) + "@example.com");
+            page.add(property);
+            fragments.add(PropertyJsonWriter.write(property));
+        }
+        out = new ByteArrayOutputStream(pageSize * 1024);
+    }
+
+    @Benchmark
+    public int jackson() throws IOException {
+        out.reset();
+        objectMapper.writeValue(out, page);
+        return out.size();
+    }
+
+    @Benchmark
+    public int handWrittenWriter() throws IOException {
+        out.reset();
+        out.write('[');
+        for (int i = 0; i < page.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(PropertyJsonWriter.write(page.get(i)));
+        }
+        out.write(']');
+        return out.size();
+    }
+
+    @Benchmark
+    public int cachedFragments() throws IOException {
+        out.reset();
+        out.write('[');
+        for (int i = 0; i < fragments.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.write(fragments.get(i));
+        }
+        out.write(']');
+        return out.size();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PropertyJsonBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
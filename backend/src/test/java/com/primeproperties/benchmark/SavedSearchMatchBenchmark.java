@@ -0,0 +1,89 @@
+package com.primeproperties.benchmark;
+
+import com.primeproperties.event.PropertySnapshot;
+import com.primeproperties.model.SavedSearch;
+import com.primeproperties.service.SavedSearchMatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of matching one new listing against the saved-search index.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.primeproperties.benchmark.SavedSearchMatchBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class SavedSearchMatchBenchmark {
+
+    private static final int LOCATIONS = 1000;
+    private static final String[] TYPES = {"Apartment", "House", "Villa", "Condo", "Townhouse", "Land"};
+    private static final int LISTINGS = 1024;
+
+    @Param({"1000000"})
+    public int savedSearches;
+
+    private SavedSearchMatcher matcher;
+    private PropertySnapshot[] listings;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(11);
+        matcher = new SavedSearchMatcher();
+        for (long id = 1; id <= savedSearches; id++) {
+            // Most searches pin a location; a third leave the type open and a fifth the price bounds
+            SavedSearch search = new SavedSearch();
+            search.setId(id);
+            search.setName("search " + id);
+            search.setLocation(random.nextInt(20) == 0 ? null : "City " + random.nextInt(LOCATIONS));
+            search.setPropertyType(random.nextInt(3) == 0 ? null : TYPES[random.nextInt(TYPES.length)]);
+            double minPrice = random.nextDouble(50_000, 2_000_000);
+            search.setMinPrice(random.nextInt(5) == 0 ? null : BigDecimal.valueOf(Math.round(minPrice)));
+            search.setMaxPrice(random.nextInt(5) == 0 ? null : BigDecimal.valueOf(Math.round(minPrice * 1.5)));
+            search.setMinBedrooms(random.nextInt(2) == 0 ? null : 1 + random.nextInt(4));
+            matcher.index(search, "customer" + (id % 10_000));
+        }
+
+        listings = new PropertySnapshot[LISTINGS];
+        for (int i = 0; i < LISTINGS; i++) {
+            listings[i] = new PropertySnapshot((long) i, 1L,
+                    BigDecimal.valueOf(random.nextInt(50_000, 2_000_000)),
+                    "City " + random.nextInt(LOCATIONS), TYPES[random.nextInt(TYPES.length)],
+                    1 + random.nextInt(5), 1 + random.nextInt(3), 50 + random.nextDouble(200),
+                    "AVAILABLE", null, null, null);
+        }
+    }
+
+    @Benchmark
+    public List<SavedSearchMatcher.Match> matchNewListing() {
+        return matcher.match(listings[next++ & (LISTINGS - 1)]);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SavedSearchMatchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,93 @@
+package com.primeproperties.benchmark;
+
+import com.primeproperties.service.SimilarPropertyService;
+import com.primeproperties.util.IvfVectorIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Top-10 query latency of the similar-property index versus a brute-force scan.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.primeproperties.benchmark.SimilarPropertyIndexBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class SimilarPropertyIndexBenchmark {
+
+    private static final int QUERIES = 1024;
+
+    @Param({"100000", "1000000"})
+    public int listings;
+
+    @Param({"12"})
+    public int nprobe;
+
+    private IvfVectorIndex index;
+    private float[][] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int dimensions = SimilarPropertyService.DIMENSIONS;
+        SplittableRandom random = new SplittableRandom(7);
+        long[] ids = new long[listings];
+        float[] vectors = new float[listings * dimensions];
+        for (int i = 0; i < listings; i++) {
+            ids[i] = i + 1;
+            fill(random, vectors, i * dimensions, dimensions);
+        }
+        index = new IvfVectorIndex(dimensions);
+        index.build(ids, vectors, listings);
+
+        queries = new float[QUERIES][dimensions];
+        for (float[] query : queries) {
+            fill(random, query, 0, dimensions);
+        }
+    }
+
+    // Clustered synthetic listings: a handful of type/location combinations plus numeric noise
+    private static void fill(SplittableRandom random, float[] target, int offset, int dimensions) {
+        int cluster = random.nextInt(64);
+        for (int d = 0; d < dimensions; d++) {
+            float centre = ((cluster * 31 + d * 17) % 11 - 5) / 2.5f;
+            target[offset + d] = centre + (float) (random.nextGaussian() * 0.5);
+        }
+    }
+
+    @Benchmark
+    public List<IvfVectorIndex.Neighbor> ivf() {
+        return index.search(queries[next++ & (QUERIES - 1)], 10, nprobe, -1);
+    }
+
+    @Benchmark
+    public List<IvfVectorIndex.Neighbor> bruteForce() {
+        return index.searchExact(queries[next++ & (QUERIES - 1)], 10, -1);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SimilarPropertyIndexBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
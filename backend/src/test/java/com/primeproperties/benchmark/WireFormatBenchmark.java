@@ -0,0 +1,106 @@
+package com.primeproperties.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.primeproperties.config.WireFormatConfig;
+import com.primeproperties.dto.PropertyResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode CPU for a listing page in JSON, CBOR and Smile. Bytes on the
+ * wire per format are printed once per trial.
+ * Run with: mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.primeproperties.benchmark.WireFormatBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx2g"})
+public class WireFormatBenchmark {
+
+    private static final String[] TYPES = {"Apartment", "House", "Villa", "Condo", "Townhouse", "Land"};
+    private static final TypeReference<List<PropertyResponse>> PAGE = new TypeReference<>() {};
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"50", "500"})
+    public int pageSize;
+
+    private ObjectMapper mapper;
+    private List<PropertyResponse> page;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        if ("cbor".equals(format)) {
+            mapper = WireFormatConfig.binaryMapper(Jackson2ObjectMapperBuilder.json(), new CBORFactory());
+        } else if ("smile".equals(format)) {
+            mapper = WireFormatConfig.binaryMapper(Jackson2ObjectMapperBuilder.json(), new SmileFactory());
+        } else {
+            mapper = Jackson2ObjectMapperBuilder.json()
+                    .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                    .build();
+        }
+
+        SplittableRandom random = new SplittableRandom(3);
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            String type = TYPES[random.nextInt(TYPES.length)];
+            page.add(new PropertyResponse((long) i, type + " in City " + random.nextInt(500),
+                    "Bright " + type.toLowerCase() + " close to schools and transport. ".repeat(1 + random.nextInt(6)),
+                    BigDecimal.valueOf(random.nextInt(50_000, 2_000_000), 2), "City " + random.nextInt(500), type,
+                    1 + random.nextInt(5), 1 + random.nextInt(3), 50 + random.nextDouble(200),
+                    random.nextDouble(-60, 60), random.nextDouble(-180, 180), "AVAILABLE",
+                    base.plusSeconds(random.nextInt(30_000_000)), base.plusSeconds(random.nextInt(30_000_000)), 1L,
+                    "Developer " + random.nextInt(100), "developer" + random.nextInt(100) + "@example.com"));
+        }
+        encoded = mapper.writeValueAsBytes(page);
+        System.out.println("\n" + format + ", " + pageSize + " listings: " + encoded.length + " bytes");
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public List<PropertyResponse> decode() throws IOException {
+        return mapper.readValue(encoded, PAGE);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(WireFormatBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,76 @@
+package com.primeproperties.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ReplicaRoutingDataSourceTest {
+
+    private final ReadYourWritesTracker tracker = new ReadYourWritesTracker(60_000);
+    private final ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+            new DriverManagerDataSource(),
+            List.of(new DriverManagerDataSource(), new DriverManagerDataSource()),
+            tracker, 1000, 0);
+
+    @AfterEach
+    public void clearContext() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void writesAlwaysUsePrimary() {
+        routing.recordLag(0, 0);
+        assertEquals("primary", routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    public void readOnlyWorkRoundRobinsOverCaughtUpReplicas() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        routing.recordLag(0, 10);
+        routing.recordLag(1, 20);
+
+        Object first = routing.determineCurrentLookupKey();
+        Object second = routing.determineCurrentLookupKey();
+        assertEquals(List.of("replica-0", "replica-1"), List.of(first, second).stream().sorted().toList());
+    }
+
+    @Test
+    public void laggingOrUncheckedReplicasFallBackToPrimary() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals("primary", routing.determineCurrentLookupKey());
+
+        routing.recordLag(0, 5000);
+        routing.recordLag(1, Long.MAX_VALUE);
+        assertEquals("primary", routing.determineCurrentLookupKey());
+
+        routing.recordLag(1, 0);
+        assertEquals("replica-1", routing.determineCurrentLookupKey());
+        assertEquals("replica-1", routing.determineCurrentLookupKey());
+    }
+
+    @Test
+    public void userWhoJustWroteReadsFromPrimary() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        routing.recordLag(0, 0);
+        routing.recordLag(1, 0);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("alice", null, List.of()));
+
+        tracker.markWrite("alice");
+        assertEquals("primary", routing.determineCurrentLookupKey());
+
+        tracker.markWrite("bob");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("carol", null, List.of()));
+        assertTrue(routing.determineCurrentLookupKey().toString().startsWith("replica-"));
+    }
+}
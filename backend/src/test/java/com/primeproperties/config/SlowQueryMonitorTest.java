@@ -0,0 +1,111 @@
+package com.primeproperties.config;
+
+import com.primeproperties.dto.SlowQueryReport;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.StatementType;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = SlowQueryMonitor.class, properties = {
+        "app.slow-query.threshold-millis=200",
+        "app.slow-query.buffer-size=3",
+        "app.slow-query.explain-sample-rate=0"
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class SlowQueryMonitorTest {
+
+    @Autowired
+    private SlowQueryMonitor monitor;
+
+    @MockBean
+    private WorkloadRoutingDataSource primaryDataSource;
+
+    @Test
+    public void everyStatementIsTimedButOnlySlowOnesAreKept() throws Exception {
+        monitor.afterQuery(execution(5), List.of(query("SELECT * FROM users WHERE email = ?",
+                operation("setString", 1, "alice@example.com"))));
+        monitor.afterQuery(execution(450), List.of(query("SELECT * FROM properties WHERE developer_id = ? AND status = ?",
+                operation("setLong", 1, 42L), operation("setString", 2, "AVAILABLE"))));
+
+        SlowQueryReport report = monitor.getReport();
+        SlowQueryReport.StatementStatistics jdbc = report.getStatements().get(0);
+        assertEquals(SlowQueryMonitor.UNATTRIBUTED, jdbc.getSource());
+        assertEquals(2, jdbc.getExecutions());
+        assertEquals(1, jdbc.getSlowExecutions());
+        assertEquals(450, jdbc.getMaxMillis());
+
+        assertEquals(1, report.getSlowQueries().size());
+        SlowQueryReport.SlowQuery slow = report.getSlowQueries().get(0);
+        assertEquals(450, slow.getElapsedMillis());
+        assertEquals(List.of("$1 Long", "$2 String(9)"), slow.getParameters());
+        assertEquals("not sampled", slow.getPlanStatus());
+    }
+
+    @Test
+    public void ringBufferKeepsTheNewestStatements() throws Exception {
+        for (int i = 1; i <= 5; i++) {
+            monitor.afterQuery(execution(1000 + i), List.of(query("SELECT " + i)));
+        }
+
+        List<SlowQueryReport.SlowQuery> kept = monitor.getReport().getSlowQueries();
+        assertEquals(3, kept.size());
+        assertEquals("SELECT 5", kept.get(0).getSql());
+        assertEquals("SELECT 3", kept.get(2).getSql());
+    }
+
+    @Test
+    public void parameterShapesNeverContainValues() {
+        assertEquals("String(5)", SlowQueryMonitor.shape("hello"));
+        assertEquals("Long[3]", SlowQueryMonitor.shape(new Long[] {1L, 2L, 3L}));
+        assertEquals("ArrayList[2]", SlowQueryMonitor.shape(new ArrayList<>(List.of(1, 2))));
+        assertEquals("null", SlowQueryMonitor.shape(null));
+    }
+
+    @Test
+    public void onlyPlannableStatementsAreExplained() {
+        assertTrue(SlowQueryMonitor.isExplainable("  select 1"));
+        assertTrue(SlowQueryMonitor.isExplainable("WITH x AS (SELECT 1) SELECT * FROM x"));
+        assertTrue(SlowQueryMonitor.isExplainable("update properties set status = ?"));
+        assertFalse(SlowQueryMonitor.isExplainable("CREATE INDEX CONCURRENTLY idx ON properties (status)"));
+        assertFalse(SlowQueryMonitor.isExplainable("LISTEN prime_invalidation"));
+    }
+
+    @Test
+    public void generatedProxyNamesAreStripped() {
+        assertEquals("PropertyService", SlowQueryMonitor.simpleName("com.primeproperties.service.PropertyService$$SpringCGLIB$$0"));
+        assertEquals("OutboxRelay", SlowQueryMonitor.simpleName("com.primeproperties.service.OutboxRelay"));
+    }
+
+    private static ExecutionInfo execution(long elapsedMillis) {
+        ExecutionInfo execution = new ExecutionInfo();
+        execution.setElapsedTime(elapsedMillis);
+        execution.setSuccess(true);
+        execution.setStatementType(StatementType.PREPARED);
+        return execution;
+    }
+
+    private static QueryInfo query(String sql, ParameterSetOperation... parameters) {
+        QueryInfo query = new QueryInfo(sql);
+        query.getParametersList().add(List.of(parameters));
+        return query;
+    }
+
+    private static ParameterSetOperation operation(String setter, int index, Object value) throws Exception {
+        Class<?> type = value instanceof Long ? long.class : value.getClass();
+        return new ParameterSetOperation(PreparedStatement.class.getMethod(setter, int.class, type),
+                new Object[] {index, value});
+    }
+}
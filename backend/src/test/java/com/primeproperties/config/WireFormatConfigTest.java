@@ -0,0 +1,67 @@
+package com.primeproperties.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.primeproperties.dto.PropertyResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WireFormatConfigTest {
+
+    private final ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper cbor = WireFormatConfig.binaryMapper(Jackson2ObjectMapperBuilder.json(), new CBORFactory());
+    private final ObjectMapper smile = WireFormatConfig.binaryMapper(Jackson2ObjectMapperBuilder.json(), new SmileFactory());
+
+    @Test
+    public void binaryFormatsRoundTripTheSameFields() throws Exception {
+        List<PropertyResponse> page = page(20);
+        String expected = json.writeValueAsString(page);
+
+        for (ObjectMapper binary : List.of(cbor, smile)) {
+            List<PropertyResponse> decoded = binary.readValue(binary.writeValueAsBytes(page), new TypeReference<>() {});
+            assertEquals(expected, json.writeValueAsString(decoded));
+        }
+    }
+
+    @Test
+    public void binaryPagesAreSmallerThanJson() throws Exception {
+        List<PropertyResponse> page = page(500);
+        int jsonBytes = json.writeValueAsBytes(page).length;
+
+        assertTrue(cbor.writeValueAsBytes(page).length < jsonBytes);
+        assertTrue(smile.writeValueAsBytes(page).length < jsonBytes);
+    }
+
+    @Test
+    public void jsonStaysTheDefault() {
+        assertFalse(WireFormatConfig.prefersBinary(MediaType.parseMediaTypes("*/*")));
+        assertFalse(WireFormatConfig.prefersBinary(MediaType.parseMediaTypes("application/json, application/cbor")));
+        assertTrue(WireFormatConfig.prefersBinary(MediaType.parseMediaTypes("application/cbor, */*")));
+        assertTrue(WireFormatConfig.prefersBinary(MediaType.parseMediaTypes("application/x-jackson-smile")));
+    }
+
+    // Millisecond timestamps: the binary formats carry epoch milliseconds
+    private static List<PropertyResponse> page(int size) {
+        LocalDateTime base = LocalDateTime.of(2024, 5, 1, 12, 0, 0, 250_000_000);
+        List<PropertyResponse> page = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            page.add(new PropertyResponse((long) i, "Apartment " + i, i % 7 == 0 ? null : "Two bedrooms near the park",
+                    new BigDecimal("350000.50").add(BigDecimal.valueOf(i)), "City " + (i % 20), "Apartment",
+                    2, 1, 85.5, 18.52 + i / 1000.0, 73.85, "AVAILABLE", base.plusMinutes(i), base.plusHours(i),
+                    (long) (i % 5), "Developer " + (i % 5), "dev" + (i % 5) + "@example.com"));
+        }
+        return page;
+    }
+}
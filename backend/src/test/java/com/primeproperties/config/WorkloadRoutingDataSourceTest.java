@@ -0,0 +1,121 @@
+package com.primeproperties.config;
+
+import com.primeproperties.dto.PoolStatisticsResponse;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class WorkloadRoutingDataSourceTest {
+
+    private final Map<Workload, FakePool> pools = new EnumMap<>(Workload.class);
+    private WorkloadRoutingDataSource routing;
+
+    @BeforeEach
+    public void createPools() {
+        Map<Workload, HikariDataSource> byWorkload = new EnumMap<>(Workload.class);
+        for (Workload workload : Workload.values()) {
+            FakePool pool = new FakePool(workload.getPoolName());
+            pools.put(workload, pool);
+            byWorkload.put(workload, pool);
+        }
+        routing = new WorkloadRoutingDataSource(byWorkload);
+    }
+
+    @AfterEach
+    public void clearContext() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        WorkloadRoutingDataSource.restore(null);
+    }
+
+    @Test
+    public void unannotatedWorkFollowsTheReadOnlyFlag() throws SQLException {
+        routing.getConnection();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        routing.getConnection();
+        routing.getConnection();
+
+        assertEquals(1, pools.get(Workload.WRITE).handedOut);
+        assertEquals(2, pools.get(Workload.INTERACTIVE_READ).handedOut);
+    }
+
+    @Test
+    public void annotatedWorkloadWinsAndIsRestored() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Workload outer = WorkloadRoutingDataSource.enter(Workload.BATCH);
+        Workload inner = WorkloadRoutingDataSource.enter(Workload.AUTH);
+        assertEquals(Workload.AUTH, WorkloadRoutingDataSource.current());
+        routing.getConnection();
+
+        WorkloadRoutingDataSource.restore(inner);
+        assertEquals(Workload.BATCH, WorkloadRoutingDataSource.current());
+        routing.getConnection();
+
+        WorkloadRoutingDataSource.restore(outer);
+        assertEquals(Workload.INTERACTIVE_READ, WorkloadRoutingDataSource.current());
+        assertEquals(1, pools.get(Workload.AUTH).handedOut);
+        assertEquals(1, pools.get(Workload.BATCH).handedOut);
+    }
+
+    @Test
+    public void exhaustedPoolOnlyFailsItsOwnWorkload() throws SQLException {
+        pools.get(Workload.BATCH).exhausted = true;
+
+        WorkloadRoutingDataSource.enter(Workload.BATCH);
+        assertThrows(SQLTransientConnectionException.class, routing::getConnection);
+        WorkloadRoutingDataSource.restore(null);
+        routing.getConnection();
+
+        Map<String, PoolStatisticsResponse.PoolStatistics> byPool = new HashMap<>();
+        routing.getPoolStatistics().forEach(pool -> byPool.put(pool.getPool(), pool));
+        assertEquals(1, byPool.get("batch").getTimeouts());
+        assertEquals(0, byPool.get("batch").getAcquisitions());
+        assertEquals(0, byPool.get("write").getTimeouts());
+        assertEquals(1, byPool.get("write").getAcquisitions());
+    }
+
+    @Test
+    public void sharedPoolIsReportedOnceWithEveryWorkload() {
+        FakePool shared = new FakePool("primary");
+        Map<Workload, HikariDataSource> sharedPools = new EnumMap<>(Workload.class);
+        for (Workload workload : Workload.values()) {
+            sharedPools.put(workload, shared);
+        }
+
+        List<PoolStatisticsResponse.PoolStatistics> statistics =
+                new WorkloadRoutingDataSource(sharedPools).getPoolStatistics();
+        assertEquals(1, statistics.size());
+        assertEquals(List.of("interactive", "write", "auth", "batch"), statistics.get(0).getWorkloads());
+    }
+
+    // Never connects: counts hand-outs, or fails like a pool at its connection timeout
+    private static class FakePool extends HikariDataSource {
+        private int handedOut;
+        private boolean exhausted;
+
+        FakePool(String name) {
+            setPoolName(name);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (exhausted) {
+                throw new SQLTransientConnectionException(getPoolName() + " - Connection is not available");
+            }
+            handedOut++;
+            return null;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.primeproperties.controller;
+
+import com.primeproperties.model.Property;
+import com.primeproperties.model.User;
+import com.primeproperties.repository.PropertyRepository;
+import com.primeproperties.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * GET /properties?normalized=true: listings carry only developerId and each developer
+ * is sent once in the developers dictionary; the default listing keeps the inline fields.
+ * Needs the configured PostgreSQL.
+ */
+@SpringBootTest
+@AutoConfigureWebMvc
+public class NormalizedListingTest {
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private MockMvc mockMvc;
+    private User developer;
+    private Property first;
+    private Property second;
+
+    @BeforeEach
+    public void createListings() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+
+        long run = System.nanoTime();
+        developer = userRepository.save(new User("normalized-dev-" + run, "Normalized Developer",
+                "normalized-dev-" + run + "@prime.com", "unused", "DEVELOPER"));
+        first = propertyRepository.save(new Property("Twin villa A", "Left half", new BigDecimal("8000000.00"),
+                "Nashik", "Villa", 3, 3, 150.0, developer));
+        second = propertyRepository.save(new Property("Twin villa B", "Right half", new BigDecimal("8100000.00"),
+                "Nashik", "Villa", 3, 3, 152.0, developer));
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        propertyRepository.deleteAllInBatch(List.of(first, second));
+        userRepository.delete(developer);
+    }
+
+    @Test
+    public void normalizedListingSendsEachDeveloperOnce() throws Exception {
+        String developerKey = "$.developers['" + developer.getId() + "']";
+
+        mockMvc.perform(get("/properties").param("normalized", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.properties[?(@.id == %d)].developerId", first.getId())
+                        .value(developer.getId().intValue()))
+                .andExpect(jsonPath("$.properties[?(@.id == %d)].developerId", second.getId())
+                        .value(developer.getId().intValue()))
+                .andExpect(jsonPath("$.properties[?(@.id == %d)].developerName", first.getId()).doesNotExist())
+                .andExpect(jsonPath("$.properties[?(@.id == %d)].developerEmail", first.getId()).doesNotExist())
+                .andExpect(jsonPath(developerKey + ".id").value(developer.getId().intValue()))
+                .andExpect(jsonPath(developerKey + ".name").value("Normalized Developer"))
+                .andExpect(jsonPath(developerKey + ".email").value(developer.getEmail()));
+    }
+
+    @Test
+    public void defaultListingKeepsTheDeveloperInline() throws Exception {
+        mockMvc.perform(get("/properties"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.id == %d)].developerId", first.getId())
+                        .value(developer.getId().intValue()))
+                .andExpect(jsonPath("$[?(@.id == %d)].developerName", first.getId())
+                        .value("Normalized Developer"))
+                .andExpect(jsonPath("$[?(@.id == %d)].developerEmail", first.getId())
+                        .value(developer.getEmail()));
+    }
+}
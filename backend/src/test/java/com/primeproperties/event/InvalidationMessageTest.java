@@ -0,0 +1,53 @@
+package com.primeproperties.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class InvalidationMessageTest {
+
+    @Test
+    public void roundTripsMessagesAndResync() {
+        List<String> payloads = InvalidationMessage.encode("node1", List.of(
+                new InvalidationMessage("property", "42", 1700000000000L),
+                new InvalidationMessage("user", "7", 0),
+                InvalidationMessage.resync()), 7900);
+
+        assertEquals(1, payloads.size());
+        assertEquals("node1", InvalidationMessage.node(payloads.get(0)));
+        List<InvalidationMessage> decoded = InvalidationMessage.decode(payloads.get(0));
+        assertEquals(3, decoded.size());
+        assertEquals("property:42", decoded.get(0).key());
+        assertEquals(1700000000000L, decoded.get(0).getVersion());
+        assertEquals("user", decoded.get(1).getEntityType());
+        assertTrue(decoded.get(2).isResync());
+    }
+
+    @Test
+    public void splitsPayloadsAtTheSizeLimit() {
+        List<InvalidationMessage> messages = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            messages.add(new InvalidationMessage("property", String.valueOf(i), i));
+        }
+
+        List<String> payloads = InvalidationMessage.encode("node1", messages, 7900);
+        assertTrue(payloads.size() > 1);
+        int decoded = 0;
+        for (String payload : payloads) {
+            assertTrue(payload.length() <= 7900);
+            decoded += InvalidationMessage.decode(payload).size();
+        }
+        assertEquals(2000, decoded);
+    }
+
+    @Test
+    public void skipsMalformedEntries() {
+        List<InvalidationMessage> decoded = InvalidationMessage.decode("node1|property:1:x;bad;user:2:3");
+        assertEquals(1, decoded.size());
+        assertEquals("user:2", decoded.get(0).key());
+    }
+}
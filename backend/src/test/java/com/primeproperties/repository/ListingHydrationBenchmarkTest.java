@@ -0,0 +1,158 @@
+package com.primeproperties.repository;
+
+import com.primeproperties.dto.PropertyResponse;
+import com.primeproperties.model.Property;
+import com.primeproperties.model.User;
+import com.sun.management.ThreadMXBean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Allocation and GC cost of hydrating one listing page: managed entities in a read-write
+ * transaction (snapshots kept), entities in a read-only transaction, and constructor-expression
+ * DTOs (what the GET endpoints now use). Run against a real PostgreSQL:
+ * mvn test -Dtest=ListingHydrationBenchmarkTest -Dbenchmark=true
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class ListingHydrationBenchmarkTest {
+
+    private static final int PAGE = 500;
+    private static final int PAGES = 10;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 100;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+    private User developer;
+    private List<List<Long>> pages;
+
+    @BeforeEach
+    public void createListings() {
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        developer = userRepository.save(new User("bench-dev-" + System.nanoTime(), "Benchmark Developer",
+                "bench-" + System.nanoTime() + "@prime.com", "unused", "DEVELOPER"));
+        pages = new ArrayList<>(PAGES);
+        for (int page = 0; page < PAGES; page++) {
+            int first = page * PAGE;
+            List<Property> chunk = new ArrayList<>(PAGE);
+            for (int i = first; i < first + PAGE; i++) {
+                chunk.add(new Property("Hydration unit " + i, "Generated for the hydration benchmark",
+                        BigDecimal.valueOf(5_000_000L + i), "Benchmark City", "Apartment",
+                        2, 1, 80.0, developer));
+            }
+            pages.add(readWrite.execute(status -> propertyRepository.saveAll(chunk)).stream()
+                    .map(Property::getId)
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        readWrite.executeWithoutResult(status -> {
+            propertyRepository.deleteAllInBatch(propertyRepository.findByDeveloperId(developer.getId()));
+            userRepository.delete(developer);
+        });
+    }
+
+    @Test
+    public void allocationPerListingPage() {
+        measure("tracked entities", () -> entityPages(readWrite));
+        measure("read-only entities", () -> entityPages(readOnly));
+        measure("DTO projection", () -> {
+            int rows = 0;
+            for (List<Long> ids : pages) {
+                rows += readOnly.execute(status -> propertyRepository.findResponsesByIdIn(ids)).size();
+            }
+            return rows;
+        });
+    }
+
+    // The listing path before DTO projection: entities, developers preloaded, then copied into DTOs
+    private int entityPages(TransactionTemplate template) {
+        int rows = 0;
+        for (List<Long> ids : pages) {
+            rows += template.execute(status -> {
+                List<Property> properties = propertyRepository.findAllById(ids);
+                userRepository.findAllById(List.of(developer.getId()));
+                List<PropertyResponse> responses = new ArrayList<>(properties.size());
+                for (Property property : properties) {
+                    User owner = property.getDeveloper();
+                    responses.add(new PropertyResponse(property.getId(), property.getTitle(),
+                            property.getDescription(), property.getPrice(), property.getLocation(),
+                            property.getPropertyType(), property.getBedrooms(), property.getBathrooms(),
+                            property.getArea(), property.getLatitude(), property.getLongitude(),
+                            property.getStatus(), property.getCreatedAt(), property.getUpdatedAt(),
+                            owner.getId(), owner.getName(), owner.getEmail()));
+                }
+                return responses.size();
+            });
+        }
+        return rows;
+    }
+
+    private void measure(String label, Supplier<Integer> run) {
+        for (int i = 0; i < WARMUP; i++) {
+            run.get();
+        }
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long gcCountBefore = gcCount();
+        long gcMillisBefore = gcMillis();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            assertEquals(PAGE * PAGES, run.get());
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        int pagesRead = ITERATIONS * PAGES;
+
+        System.out.printf("📈 %-18s %8.1f KB/page  %7.1f MB/s  %4d GCs  %5d ms GC  %.2f ms/page%n", label,
+                allocated / 1024.0 / pagesRead, allocated / 1024.0 / 1024.0 / seconds,
+                gcCount() - gcCountBefore, gcMillis() - gcMillisBefore, seconds * 1000 / pagesRead);
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, collector.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(0, collector.getCollectionTime());
+        }
+        return millis;
+    }
+}
@@ -0,0 +1,138 @@
+package com.primeproperties.repository;
+
+import com.primeproperties.dto.PropertyResponse;
+import com.primeproperties.dto.TransactionResponse;
+import com.primeproperties.model.Property;
+import com.primeproperties.model.Transaction;
+import com.primeproperties.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The constructor-expression reads behind the listing and history endpoints: they return
+ * the same values as the entities and leave nothing in the persistence context.
+ * Needs the configured PostgreSQL; ListingHydrationBenchmarkTest measures the allocation.
+ */
+@SpringBootTest
+public class ListingResponseQueryTest {
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private TransactionTemplate readOnly;
+    private User developer;
+    private User customer;
+    private Property listing;
+    private Property sold;
+    private Transaction purchase;
+
+    @BeforeEach
+    public void createListings() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        long run = System.nanoTime();
+        developer = userRepository.save(new User("dto-dev-" + run, "DTO Developer",
+                "dto-dev-" + run + "@prime.com", "unused", "DEVELOPER"));
+        customer = userRepository.save(new User("dto-buyer-" + run, "DTO Buyer",
+                "dto-buyer-" + run + "@prime.com", "unused", "CUSTOMER"));
+        listing = new Property("Garden flat", "Ground floor, private garden", new BigDecimal("6250000.00"),
+                "Pune", "Apartment", 2, 2, 88.5, developer);
+        listing.setLatitude(18.52);
+        listing.setLongitude(73.85);
+        listing = propertyRepository.save(listing);
+        sold = new Property("Corner shop", "High street frontage", new BigDecimal("9100000.00"),
+                "Pune", "Commercial", 0, 1, 40.0, developer);
+        sold.setStatus("SOLD");
+        sold = propertyRepository.save(sold);
+        purchase = transactionRepository.save(new Transaction(customer, sold, sold.getPrice()));
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        transactionRepository.deleteById(purchase.getId());
+        propertyRepository.deleteAllInBatch(List.of(listing, sold));
+        userRepository.deleteAllInBatch(List.of(developer, customer));
+    }
+
+    @Test
+    public void propertyResponsesMatchTheEntities() {
+        PropertyResponse response = readOnly.execute(status -> {
+            PropertyResponse found = propertyRepository.findResponseById(listing.getId()).orElseThrow();
+            assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+            return found;
+        });
+
+        assertEquals(listing.getId(), response.getId());
+        assertEquals("Garden flat", response.getTitle());
+        assertEquals("Ground floor, private garden", response.getDescription());
+        assertEquals(0, listing.getPrice().compareTo(response.getPrice()));
+        assertEquals("Pune", response.getLocation());
+        assertEquals("Apartment", response.getPropertyType());
+        assertEquals(2, response.getBedrooms());
+        assertEquals(2, response.getBathrooms());
+        assertEquals(88.5, response.getArea());
+        assertEquals(18.52, response.getLatitude());
+        assertEquals(73.85, response.getLongitude());
+        assertEquals("AVAILABLE", response.getStatus());
+        assertEquals(listing.getCreatedAt(), response.getCreatedAt());
+        assertEquals(listing.getUpdatedAt(), response.getUpdatedAt());
+        assertEquals(developer.getId(), response.getDeveloperId());
+        assertEquals("DTO Developer", response.getDeveloperName());
+        assertEquals(developer.getEmail(), response.getDeveloperEmail());
+    }
+
+    @Test
+    public void developerAndIdListsHydrateNoEntities() {
+        readOnly.executeWithoutResult(status -> {
+            List<PropertyResponse> byDeveloper = propertyRepository.findResponsesByDeveloperId(developer.getId());
+            List<PropertyResponse> byIds = propertyRepository.findResponsesByIdIn(List.of(sold.getId(), listing.getId()));
+
+            assertEquals(List.of(listing.getId(), sold.getId()),
+                    byDeveloper.stream().map(PropertyResponse::getId).sorted().toList());
+            assertEquals(2, byIds.size());
+            assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+        });
+    }
+
+    @Test
+    public void transactionHistoryMatchesThePurchase() {
+        List<TransactionResponse> history = readOnly.execute(status ->
+                transactionRepository.findResponsesByCustomerId(customer.getId()));
+
+        assertEquals(1, history.size());
+        TransactionResponse response = history.get(0);
+        assertEquals(purchase.getId(), response.getId());
+        assertEquals(customer.getId(), response.getCustomerId());
+        assertEquals(sold.getId(), response.getPropertyId());
+        assertEquals("Corner shop", response.getPropertyTitle());
+        assertEquals(0, sold.getPrice().compareTo(response.getAmount()));
+        assertEquals(transactionRepository.findResponseById(purchase.getId()).orElseThrow().getTransactionDate(),
+                response.getTransactionDate());
+    }
+}
@@ -0,0 +1,48 @@
+package com.primeproperties.repository;
+
+import com.primeproperties.model.PropertyField;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PropertyFieldsQueryTest {
+
+    @Test
+    public void cardPresetNeverReadsDescriptionOrJoinsUsers() {
+        String sql = PropertyRepositoryImpl.fieldsSql(columns(PropertyField.parse("card")), false, false);
+
+        assertEquals("SELECT p.id, p.title, p.price, p.location, p.property_type, p.bedrooms, p.bathrooms, " +
+                "p.area, p.status FROM properties p ORDER BY p.id", sql);
+    }
+
+    @Test
+    public void developerFieldsJoinUsersAndFiltersCombine() {
+        String sql = PropertyRepositoryImpl.fieldsSql(columns(PropertyField.parse("developerName, title")), true, true);
+
+        assertEquals("SELECT p.id, p.title, u.name FROM properties p JOIN users u ON u.id = p.developer_id " +
+                "WHERE p.developer_id = ? AND p.id = ANY(?) ORDER BY p.id", sql);
+    }
+
+    @Test
+    public void idIsAlwaysIncludedAndUnknownFieldsAreRejected() {
+        Set<PropertyField> fields = PropertyField.parse("price");
+        assertTrue(fields.contains(PropertyField.ID));
+        assertFalse(fields.contains(PropertyField.DESCRIPTION));
+        assertEquals(PropertyField.values().length, PropertyField.parse("full").size());
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> PropertyField.parse("title,password"));
+        assertEquals("Unknown field: password", error.getMessage());
+    }
+
+    private static List<PropertyField> columns(Set<PropertyField> fields) {
+        return new ArrayList<>(fields);
+    }
+}
@@ -0,0 +1,115 @@
+package com.primeproperties.repository;
+
+import com.primeproperties.model.Property;
+import com.primeproperties.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Bulk insert throughput benchmark for Property, comparing both id strategies in one run.
+ * The IDENTITY baseline inserts one row per statement into a scratch copy of properties
+ * with an identity id, as Hibernate must when the database assigns the key; the pooled
+ * sequence path is saveAll on the entity with JDBC batching.
+ * mvn test -Dtest=PropertyInsertBenchmarkTest -Dbenchmark=true
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class PropertyInsertBenchmarkTest {
+
+    private static final int ROWS = 20_000;
+    private static final int CHUNK = 1_000;
+    private static final String IDENTITY_TABLE = "property_insert_benchmark";
+
+    private static final String IDENTITY_INSERT_SQL =
+            "INSERT INTO " + IDENTITY_TABLE + " (title, description, price, location, property_type, bedrooms, " +
+            "bathrooms, area, status, created_at, updated_at, developer_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 'AVAILABLE', ?, ?, ?) RETURNING id";
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User developer;
+
+    @BeforeEach
+    public void createDeveloperAndScratchTable() {
+        developer = userRepository.save(new User("bench-dev-" + System.nanoTime(), "Benchmark Developer",
+                "bench-" + System.nanoTime() + "@prime.com", "unused", "DEVELOPER"));
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + IDENTITY_TABLE);
+        jdbcTemplate.execute("CREATE TABLE " + IDENTITY_TABLE + " (LIKE properties INCLUDING DEFAULTS INCLUDING INDEXES)");
+        jdbcTemplate.execute("ALTER TABLE " + IDENTITY_TABLE + " ALTER COLUMN id ADD GENERATED BY DEFAULT AS IDENTITY");
+        jdbcTemplate.execute("ALTER TABLE " + IDENTITY_TABLE + " ADD FOREIGN KEY (developer_id) REFERENCES users (id)");
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + IDENTITY_TABLE);
+        transactionTemplate.executeWithoutResult(status -> {
+            propertyRepository.deleteAllInBatch(propertyRepository.findByDeveloperId(developer.getId()));
+            userRepository.delete(developer);
+        });
+    }
+
+    @Test
+    public void identityVersusPooledSequenceThroughput() {
+        double identitySeconds = time(first -> {
+            for (int i = first; i < first + CHUNK; i++) {
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                jdbcTemplate.queryForObject(IDENTITY_INSERT_SQL, Long.class, "Benchmark unit " + i,
+                        "Generated for the insert benchmark", BigDecimal.valueOf(5_000_000L + i), "Benchmark City",
+                        "Apartment", 2, 1, 80.0, now, now, developer.getId());
+            }
+        });
+        double pooledSeconds = time(first -> {
+            List<Property> chunk = new ArrayList<>(CHUNK);
+            for (int i = first; i < first + CHUNK; i++) {
+                chunk.add(new Property("Benchmark unit " + i, "Generated for the insert benchmark",
+                        BigDecimal.valueOf(5_000_000L + i), "Benchmark City", "Apartment",
+                        2, 1, 80.0, developer));
+            }
+            propertyRepository.saveAll(chunk);
+        });
+
+        System.out.printf("📈 IDENTITY, one row per statement: %d rows in %.2f s (%.0f rows/s)%n",
+                ROWS, identitySeconds, ROWS / identitySeconds);
+        System.out.printf("📈 Pooled sequence, batched saveAll: %d rows in %.2f s (%.0f rows/s)%n",
+                ROWS, pooledSeconds, ROWS / pooledSeconds);
+        System.out.printf("📈 Speed-up: %.1fx%n", identitySeconds / pooledSeconds);
+
+        assertEquals(ROWS, jdbcTemplate.queryForObject("SELECT count(*) FROM " + IDENTITY_TABLE, Integer.class));
+        assertEquals(ROWS, propertyRepository.findByDeveloperId(developer.getId()).size());
+    }
+
+    // Inserts ROWS rows in CHUNK-sized transactions; chunk receives the first row number
+    private double time(IntConsumer chunk) {
+        long start = System.nanoTime();
+        for (int offset = 0; offset < ROWS; offset += CHUNK) {
+            int first = offset;
+            transactionTemplate.executeWithoutResult(status -> chunk.accept(first));
+        }
+        return (System.nanoTime() - start) / 1_000_000_000.0;
+    }
+}
@@ -0,0 +1,158 @@
+package com.primeproperties.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that every repository query is served by an index from the migrations.
+ * Seeds a realistic data set (many developers, few available listings), analyzes
+ * it and fails if EXPLAIN shows a sequential scan for any of the queries below.
+ * Everything runs in one transaction that is rolled back, seed data included.
+ * Needs the configured PostgreSQL.
+ */
+@SpringBootTest
+public class QueryPlanTest {
+
+    private static final int USERS = 4_000;
+    private static final int PROPERTIES = 60_000;
+    private static final int TRANSACTIONS = 30_000;
+    private static final int SAVED_SEARCHES = 10_000;
+    private static final int MEDIA = 60_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void repositoryQueriesUseIndexes() {
+        List<String> seqScans = transactionTemplate.execute(status -> {
+            status.setRollbackOnly();
+            seed();
+
+            Long developerId = jdbcTemplate.queryForObject(
+                    "SELECT min(id) FROM users WHERE username LIKE 'plantest\\_%' AND role = 'DEVELOPER'", Long.class);
+            Long customerId = jdbcTemplate.queryForObject(
+                    "SELECT min(id) FROM users WHERE username LIKE 'plantest\\_%' AND role = 'CUSTOMER'", Long.class);
+            Long propertyId = jdbcTemplate.queryForObject(
+                    "SELECT min(property_id) FROM transactions WHERE customer_id = ?", Long.class, customerId);
+
+            // The WHERE / ORDER BY shapes Hibernate generates for the repository methods
+            Map<String, Object[]> queries = new LinkedHashMap<>();
+            queries.put("SELECT * FROM properties WHERE developer_id = ?",
+                    new Object[] {developerId});
+            queries.put("SELECT * FROM properties WHERE developer_id = ? AND status = ?",
+                    new Object[] {developerId, "AVAILABLE"});
+            queries.put("SELECT * FROM properties WHERE status = ?",
+                    new Object[] {"AVAILABLE"});
+            queries.put("SELECT id, latitude, longitude, price, property_type FROM properties " +
+                    "WHERE status = 'AVAILABLE' AND latitude IS NOT NULL AND longitude IS NOT NULL",
+                    new Object[] {});
+            queries.put("SELECT * FROM transactions WHERE customer_id = ?",
+                    new Object[] {customerId});
+            queries.put("SELECT * FROM transactions WHERE property_id = ?",
+                    new Object[] {propertyId});
+            queries.put("SELECT * FROM users WHERE username = ?",
+                    new Object[] {"plantest_7"});
+            queries.put("SELECT * FROM users WHERE email = ?",
+                    new Object[] {"plantest_7@example.com"});
+            queries.put("SELECT * FROM users WHERE google_id = ?",
+                    new Object[] {"plantest-google-7"});
+            queries.put("SELECT * FROM saved_searches WHERE customer_id = ? ORDER BY created_at DESC",
+                    new Object[] {customerId});
+            queries.put("SELECT count(*) FROM saved_searches WHERE customer_id = ?",
+                    new Object[] {customerId});
+            queries.put("SELECT * FROM property_media WHERE property_id = ? ORDER BY position, id",
+                    new Object[] {propertyId});
+            queries.put("SELECT * FROM property_media WHERE content_hash = ? LIMIT 1",
+                    new Object[] {"plantest-hash-7"});
+
+            List<String> found = new ArrayList<>();
+            queries.forEach((sql, args) -> {
+                String plan = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class, args);
+                try {
+                    collectSeqScans(objectMapper.readTree(plan).get(0).get("Plan"), sql, found);
+                } catch (Exception e) {
+                    throw new RuntimeException("Unreadable plan for " + sql, e);
+                }
+            });
+            return found;
+        });
+
+        assertTrue(seqScans.isEmpty(), "Sequential scans found:\n" + String.join("\n", seqScans));
+    }
+
+    private void seed() {
+        jdbcTemplate.update(
+                "INSERT INTO users (id, username, name, email, password, role, google_id, provider) " +
+                "SELECT nextval('users_id_seq'), 'plantest_' || g, 'Plan Test ' || g, " +
+                "'plantest_' || g || '@example.com', 'x', CASE WHEN g % 4 = 0 THEN 'DEVELOPER' ELSE 'CUSTOMER' END, " +
+                "'plantest-google-' || g, 'local' FROM generate_series(1, ?) g", USERS);
+
+        // About 2% of listings are still available, a third have no coordinates
+        jdbcTemplate.update(
+                "WITH devs AS (SELECT array_agg(id) AS ids FROM users " +
+                "              WHERE username LIKE 'plantest\\_%' AND role = 'DEVELOPER') " +
+                "INSERT INTO properties (id, title, description, price, location, property_type, bedrooms, " +
+                "bathrooms, area, latitude, longitude, status, created_at, updated_at, developer_id) " +
+                "SELECT nextval('properties_id_seq'), 'Plan test ' || g, 'Seeded listing', 100000 + g, " +
+                "'City ' || (g % 50), 'House', 3, 2, 1200, " +
+                "CASE WHEN g % 3 = 0 THEN NULL ELSE 40 + (g % 100) / 10.0 END, " +
+                "CASE WHEN g % 3 = 0 THEN NULL ELSE -70 - (g % 100) / 10.0 END, " +
+                "CASE WHEN g % 50 = 0 THEN 'AVAILABLE' ELSE 'SOLD' END, now(), now(), " +
+                "devs.ids[1 + g % cardinality(devs.ids)] FROM devs, generate_series(1, ?) g", PROPERTIES);
+
+        jdbcTemplate.update(
+                "WITH customers AS (SELECT array_agg(id) AS ids FROM users " +
+                "                   WHERE username LIKE 'plantest\\_%' AND role = 'CUSTOMER'), " +
+                "     sold AS (SELECT array_agg(id) AS ids FROM properties " +
+                "              WHERE title LIKE 'Plan test %' AND status = 'SOLD') " +
+                "INSERT INTO transactions (id, customer_id, property_id, amount, transaction_date, created_at) " +
+                "SELECT nextval('transactions_id_seq'), customers.ids[1 + g % cardinality(customers.ids)], " +
+                "sold.ids[1 + g % cardinality(sold.ids)], 150000, now(), now() " +
+                "FROM customers, sold, generate_series(1, ?) g", TRANSACTIONS);
+
+        jdbcTemplate.update(
+                "WITH customers AS (SELECT array_agg(id) AS ids FROM users " +
+                "                   WHERE username LIKE 'plantest\\_%' AND role = 'CUSTOMER') " +
+                "INSERT INTO saved_searches (id, customer_id, name, location, created_at) " +
+                "SELECT nextval('saved_searches_id_seq'), customers.ids[1 + g % cardinality(customers.ids)], " +
+                "'Search ' || g, 'City ' || (g % 50), now() - g * interval '1 minute' " +
+                "FROM customers, generate_series(1, ?) g", SAVED_SEARCHES);
+
+        jdbcTemplate.update(
+                "WITH listings AS (SELECT array_agg(id) AS ids FROM properties WHERE title LIKE 'Plan test %') " +
+                "INSERT INTO property_media (id, property_id, content_hash, content_type, size_bytes, " +
+                "original_filename, position, created_at) " +
+                "SELECT nextval('property_media_id_seq'), listings.ids[1 + g % cardinality(listings.ids)], " +
+                "'plantest-hash-' || g, 'image/jpeg', 1000, 'photo.jpg', g % 5, now() " +
+                "FROM listings, generate_series(1, ?) g", MEDIA);
+
+        jdbcTemplate.execute("ANALYZE users, properties, transactions, saved_searches, property_media");
+    }
+
+    private void collectSeqScans(JsonNode plan, String sql, List<String> found) {
+        if ("Seq Scan".equals(plan.path("Node Type").asText())) {
+            found.add(plan.path("Relation Name").asText() + ": " + sql);
+        }
+        for (JsonNode child : plan.path("Plans")) {
+            collectSeqScans(child, sql, found);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.primeproperties.service;
+
+import com.primeproperties.dto.BulkStatusUpdateRequest;
+import com.primeproperties.dto.BulkStatusUpdateResponse;
+import com.primeproperties.event.PropertyChangeEvent;
+import com.primeproperties.model.Property;
+import com.primeproperties.model.Transaction;
+import com.primeproperties.model.User;
+import com.primeproperties.repository.PropertyRepository;
+import com.primeproperties.repository.TransactionRepository;
+import com.primeproperties.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * The set-based bulk status UPDATE: ownership filtering, the expected-status guard,
+ * purchased units, skipped ids and the change events it emits. Needs the configured PostgreSQL.
+ */
+@SpringBootTest
+@RecordApplicationEvents
+public class BulkStatusUpdateTest {
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    private User developer;
+    private User otherDeveloper;
+    private User customer;
+    private Property available;
+    private Property reserved;
+    private Property withdrawn;
+    private Property foreign;
+    private Property purchased;
+
+    @BeforeEach
+    public void createListings() {
+        long run = System.nanoTime();
+        developer = userRepository.save(new User("bulk-dev-" + run, "Bulk Developer",
+                "bulk-dev-" + run + "@prime.com", "unused", "DEVELOPER"));
+        otherDeveloper = userRepository.save(new User("bulk-other-" + run, "Other Developer",
+                "bulk-other-" + run + "@prime.com", "unused", "DEVELOPER"));
+        available = listing("Available unit", "AVAILABLE", developer);
+        reserved = listing("Reserved unit", "RESERVED", developer);
+        withdrawn = listing("Withdrawn unit", "WITHDRAWN", developer);
+        foreign = listing("Someone else's unit", "AVAILABLE", otherDeveloper);
+        customer = userRepository.save(new User("bulk-buyer-" + run, "Bulk Buyer",
+                "bulk-buyer-" + run + "@prime.com", "unused", "CUSTOMER"));
+        purchased = listing("Purchased unit", "SOLD", developer);
+        transactionRepository.save(new Transaction(customer, purchased, purchased.getPrice()));
+        applicationEvents.clear();
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            transactionRepository.deleteAllInBatch(transactionRepository.findByPropertyId(purchased.getId()));
+            propertyRepository.deleteAllInBatch(propertyRepository.findAllById(
+                    List.of(available.getId(), reserved.getId(), withdrawn.getId(), foreign.getId(), purchased.getId())));
+            userRepository.deleteAllInBatch(List.of(developer, otherDeveloper, customer));
+        });
+    }
+
+    @Test
+    public void updatesOnlyOwnRowsAndSkipsTheRest() {
+        BulkStatusUpdateResponse response = propertyService.bulkUpdateStatus(new BulkStatusUpdateRequest(
+                List.of(available.getId(), reserved.getId(), foreign.getId(), -1L), "reserved", null),
+                developer.getId());
+
+        assertEquals("RESERVED", response.getStatus());
+        assertEquals(List.of(available.getId()), response.getUpdatedIds());
+        // Already RESERVED, owned by another developer, or missing
+        assertEquals(List.of(reserved.getId(), foreign.getId(), -1L), response.getSkippedIds());
+
+        assertEquals("RESERVED", status(available));
+        assertEquals("RESERVED", status(reserved));
+        assertEquals("AVAILABLE", status(foreign));
+    }
+
+    @Test
+    public void expectedStatusMismatchIsSkipped() {
+        BulkStatusUpdateResponse response = propertyService.bulkUpdateStatus(new BulkStatusUpdateRequest(
+                List.of(available.getId(), reserved.getId(), withdrawn.getId()), "SOLD", "RESERVED"),
+                developer.getId());
+
+        assertEquals(List.of(reserved.getId()), response.getUpdatedIds());
+        assertEquals(List.of(available.getId(), withdrawn.getId()), response.getSkippedIds());
+        assertEquals("AVAILABLE", status(available));
+        assertEquals("SOLD", status(reserved));
+        assertEquals("WITHDRAWN", status(withdrawn));
+    }
+
+    @Test
+    public void purchasedUnitCannotBeRelisted() {
+        for (String status : List.of("AVAILABLE", "RESERVED", "WITHDRAWN")) {
+            BulkStatusUpdateResponse response = propertyService.bulkUpdateStatus(new BulkStatusUpdateRequest(
+                    List.of(purchased.getId(), withdrawn.getId()), status, "SOLD"), developer.getId());
+
+            assertEquals(List.of(), response.getUpdatedIds());
+            assertEquals(List.of(purchased.getId(), withdrawn.getId()), response.getSkippedIds());
+            assertEquals("SOLD", status(purchased));
+        }
+        BulkStatusUpdateResponse unguarded = propertyService.bulkUpdateStatus(new BulkStatusUpdateRequest(
+                List.of(purchased.getId()), "AVAILABLE", null), developer.getId());
+        assertEquals(List.of(purchased.getId()), unguarded.getSkippedIds());
+        assertEquals("SOLD", status(purchased));
+        assertEquals(0, applicationEvents.stream(PropertyChangeEvent.class).count());
+    }
+
+    @Test
+    public void emitsOneEventWithBeforeAndAfterForChangedRowsOnly() {
+        propertyService.bulkUpdateStatus(new BulkStatusUpdateRequest(
+                List.of(available.getId(), withdrawn.getId(), reserved.getId(), foreign.getId()), "WITHDRAWN", null),
+                developer.getId());
+
+        List<PropertyChangeEvent> events = applicationEvents.stream(PropertyChangeEvent.class).toList();
+        assertEquals(1, events.size());
+        PropertyChangeEvent event = events.get(0);
+        assertEquals(PropertyChangeEvent.Type.STATUS_CHANGED, event.getType());
+        assertEquals(developer.getId(), event.getDeveloperId());
+        assertEquals(List.of(available.getId(), reserved.getId()),
+                event.getPropertyIds().stream().sorted().toList());
+        for (PropertyChangeEvent.Change change : event.getChanges()) {
+            String before = change.getId().equals(available.getId()) ? "AVAILABLE" : "RESERVED";
+            assertEquals(before, change.getBefore().getStatus());
+            assertEquals("WITHDRAWN", change.getAfter().getStatus());
+            assertEquals(developer.getId(), change.getAfter().getDeveloperId());
+        }
+    }
+
+    @Test
+    public void noEventWhenNothingChanges() {
+        BulkStatusUpdateResponse response = propertyService.bulkUpdateStatus(new BulkStatusUpdateRequest(
+                List.of(foreign.getId(), reserved.getId()), "RESERVED", null), developer.getId());
+
+        assertEquals(List.of(), response.getUpdatedIds());
+        assertEquals(0, applicationEvents.stream(PropertyChangeEvent.class).count());
+    }
+
+    @Test
+    public void rejectsUnknownStatus() {
+        assertThrows(IllegalArgumentException.class, () -> propertyService.bulkUpdateStatus(
+                new BulkStatusUpdateRequest(List.of(available.getId()), "DEMOLISHED", null), developer.getId()));
+        assertEquals("AVAILABLE", status(available));
+    }
+
+    private Property listing(String title, String status, User owner) {
+        Property property = new Property(title, "Bulk status test listing", BigDecimal.valueOf(4_000_000),
+                "Bulk City", "Apartment", 2, 1, 70.0, owner);
+        property.setStatus(status);
+        return propertyRepository.save(property);
+    }
+
+    // Straight from the table, past the second-level cache
+    private String status(Property property) {
+        return jdbcTemplate.queryForObject("SELECT status FROM properties WHERE id = ?", String.class, property.getId());
+    }
+}
@@ -0,0 +1,79 @@
+package com.primeproperties.service;
+
+import com.primeproperties.model.CacheRegions;
+import com.primeproperties.model.User;
+import com.primeproperties.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Second-level cache behaviour: repeated username and email lookups are served
+ * from the cache, and an invalidation evicts a user changed behind Hibernate's back.
+ * Needs the configured PostgreSQL.
+ */
+@SpringBootTest
+public class EntityCacheServiceTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityCacheService entityCacheService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+
+    @BeforeEach
+    public void createUser() {
+        String username = "l2test" + System.nanoTime();
+        user = userRepository.save(new User(username, "Cache Test", username + "@example.com", "x", "CUSTOMER"));
+        statistics().clear();
+    }
+
+    @AfterEach
+    public void deleteUser() {
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    public void repeatedLookupsHitTheCache() {
+        for (int i = 0; i < 5; i++) {
+            assertTrue(userRepository.findByUsername(user.getUsername()).isPresent());
+            assertTrue(userRepository.findByEmail(user.getEmail()).isPresent());
+        }
+
+        assertTrue(statistics().getNaturalIdCacheHitCount() >= 4);
+        assertTrue(statistics().getCacheRegionStatistics(CacheRegions.USERS_QUERIES).getHitCount() >= 4);
+        assertTrue(statistics().getCacheRegionStatistics(CacheRegions.USERS).getHitCount() >= 4);
+    }
+
+    @Test
+    public void evictUserDropsStaleEntityData() {
+        assertEquals("Cache Test", userRepository.findById(user.getId()).orElseThrow().getName());
+
+        jdbcTemplate.update("UPDATE users SET name = 'Renamed' WHERE id = ?", user.getId());
+        assertEquals("Cache Test", userRepository.findById(user.getId()).orElseThrow().getName());
+
+        entityCacheService.evictUser(user.getId());
+        assertEquals("Renamed", userRepository.findById(user.getId()).orElseThrow().getName());
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class).getStatistics();
+    }
+}
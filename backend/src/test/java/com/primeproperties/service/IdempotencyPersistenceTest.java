@@ -0,0 +1,109 @@
+package com.primeproperties.service;
+
+import com.primeproperties.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Two instances sharing idempotency_records: a key is claimed there before the
+ * request runs, so the second instance never runs it. Needs the configured PostgreSQL.
+ */
+@SpringBootTest(properties = "app.idempotency.persist=true")
+public class IdempotencyPersistenceTest {
+
+    @Autowired
+    private IdempotencyService firstInstance;
+
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    // Same configuration and database, its own in-memory records
+    private IdempotencyService secondInstance;
+    private String key;
+
+    @BeforeEach
+    public void startSecondInstance() {
+        secondInstance = beanFactory.createBean(IdempotencyService.class);
+        key = "claim-" + System.nanoTime();
+    }
+
+    @AfterEach
+    public void deleteRecords() {
+        idempotencyRecordRepository.deleteById("alice\n" + key);
+    }
+
+    @Test
+    public void onlyOneInstanceRunsAKeyAndTheOtherReplaysIt() throws Exception {
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        String fingerprint = firstInstance.fingerprint("purchase", Map.of("propertyId", 7));
+
+        CompletableFuture<ResponseEntity<?>> first = CompletableFuture.supplyAsync(() ->
+                firstInstance.execute("alice", key, fingerprint, () -> {
+                    runs.incrementAndGet();
+                    running.countDown();
+                    await(finish);
+                    return ResponseEntity.status(201).body(Map.of("purchase", 1));
+                }));
+        assertTrue(running.await(10, TimeUnit.SECONDS));
+
+        ResponseEntity<?> concurrent = secondInstance.execute("alice", key, fingerprint, () -> {
+            runs.incrementAndGet();
+            return ResponseEntity.ok("second");
+        });
+        assertEquals(409, concurrent.getStatusCode().value());
+
+        finish.countDown();
+        assertEquals(201, first.get(10, TimeUnit.SECONDS).getStatusCode().value());
+
+        ResponseEntity<?> retry = secondInstance.execute("alice", key, fingerprint, () -> {
+            runs.incrementAndGet();
+            return ResponseEntity.ok("second");
+        });
+        assertEquals(1, runs.get());
+        assertEquals(201, retry.getStatusCode().value());
+        assertEquals("true", retry.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertEquals("{\"purchase\":1}", retry.getBody());
+    }
+
+    @Test
+    public void failedRequestReleasesItsClaim() {
+        String fingerprint = firstInstance.fingerprint("purchase", Map.of("propertyId", 8));
+
+        ResponseEntity<?> failed = firstInstance.execute("alice", key, fingerprint,
+                () -> ResponseEntity.status(503).build());
+        assertEquals(503, failed.getStatusCode().value());
+        assertFalse(idempotencyRecordRepository.existsById("alice\n" + key));
+
+        ResponseEntity<?> retry = secondInstance.execute("alice", key, fingerprint,
+                () -> ResponseEntity.ok("second"));
+        assertEquals("second", retry.getBody());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.primeproperties.service;
+
+import com.primeproperties.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * In-memory records only (app.idempotency.persist off); see IdempotencyPersistenceTest for the shared table
+ */
+@SpringBootTest(classes = {IdempotencyService.class, JacksonAutoConfiguration.class}, properties = {
+        "app.idempotency.ttl-minutes=60",
+        "app.idempotency.max-entries=1000",
+        "app.idempotency.persist=false"
+})
+public class IdempotencyServiceTest {
+
+    @Autowired
+    private IdempotencyService service;
+
+    @MockBean
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Test
+    public void retryReplaysFirstResponseWithoutRunningAgain() {
+        AtomicInteger runs = new AtomicInteger();
+        String fingerprint = service.fingerprint("create", Map.of("title", "Villa"));
+
+        ResponseEntity<?> first = service.execute("alice", "key-1", fingerprint,
+                () -> ResponseEntity.ok("created #" + runs.incrementAndGet()));
+        ResponseEntity<?> retry = service.execute("alice", "key-1", fingerprint,
+                () -> ResponseEntity.ok("created #" + runs.incrementAndGet()));
+
+        assertEquals(1, runs.get());
+        assertEquals("created #1", retry.getBody());
+        assertEquals("true", retry.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+        assertNull(first.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+    }
+
+    @Test
+    public void keysAreScopedPerUserAndBoundToTheRequest() {
+        String villa = service.fingerprint("create", Map.of("title", "Villa"));
+        String flat = service.fingerprint("create", Map.of("title", "Flat"));
+        service.execute("alice", "key-3", villa, () -> ResponseEntity.ok("alice"));
+
+        assertEquals("bob", service.execute("bob", "key-3", villa, () -> ResponseEntity.ok("bob")).getBody());
+        assertEquals(422, service.execute("alice", "key-3", flat, () -> ResponseEntity.ok("again"))
+                .getStatusCode().value());
+    }
+
+    @Test
+    public void serverErrorsAreNotRecorded() {
+        AtomicInteger runs = new AtomicInteger();
+        String fingerprint = service.fingerprint("purchase", 42L);
+
+        service.execute("alice", "key-2", fingerprint, () -> {
+            runs.incrementAndGet();
+            return ResponseEntity.status(503).build();
+        });
+        ResponseEntity<?> retry = service.execute("alice", "key-2", fingerprint, () -> {
+            runs.incrementAndGet();
+            return ResponseEntity.ok("done");
+        });
+
+        assertEquals(2, runs.get());
+        assertEquals("done", retry.getBody());
+    }
+
+    @Test
+    public void failedFirstAttemptRunsAgainOnRetry() {
+        AtomicInteger runs = new AtomicInteger();
+        String fingerprint = service.fingerprint("create", Map.of("title", "Townhouse"));
+
+        // The handlers answer 400 for any unexpected exception, a pool timeout included
+        ResponseEntity<?> first = service.execute("alice", "key-4", fingerprint, () -> {
+            runs.incrementAndGet();
+            return ResponseEntity.badRequest().body(Map.of("message", "Error creating property: connection timeout"));
+        });
+        ResponseEntity<?> retry = service.execute("alice", "key-4", fingerprint,
+                () -> ResponseEntity.ok("created #" + runs.incrementAndGet()));
+
+        assertEquals(400, first.getStatusCode().value());
+        assertEquals(2, runs.get());
+        assertEquals("created #2", retry.getBody());
+        assertNull(retry.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+    }
+
+    @Test
+    public void thrownFailureRunsAgainOnRetry() {
+        AtomicInteger runs = new AtomicInteger();
+        String fingerprint = service.fingerprint("purchase", 7L);
+
+        assertThrows(IllegalStateException.class, () -> service.execute("alice", "key-5", fingerprint, () -> {
+            runs.incrementAndGet();
+            throw new IllegalStateException("database unavailable");
+        }));
+        ResponseEntity<?> retry = service.execute("alice", "key-5", fingerprint,
+                () -> ResponseEntity.ok("bought #" + runs.incrementAndGet()));
+
+        assertEquals("bought #2", retry.getBody());
+    }
+
+    @Test
+    public void deterministicConflictIsReplayed() {
+        AtomicInteger runs = new AtomicInteger();
+        String fingerprint = service.fingerprint("purchase", 8L);
+
+        service.execute("alice", "key-6", fingerprint, () -> {
+            runs.incrementAndGet();
+            return ResponseEntity.status(409).body(Map.of("message", "Property is no longer available"));
+        });
+        ResponseEntity<?> retry = service.execute("alice", "key-6", fingerprint,
+                () -> ResponseEntity.ok("bought #" + runs.incrementAndGet()));
+
+        assertEquals(1, runs.get());
+        assertEquals(409, retry.getStatusCode().value());
+        assertEquals("true", retry.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER));
+    }
+
+    @Test
+    public void requestsWithoutKeyAlwaysRun() {
+        AtomicInteger runs = new AtomicInteger();
+        service.execute("alice", null, "x", () -> ResponseEntity.ok(runs.incrementAndGet()));
+        service.execute("alice", null, "x", () -> ResponseEntity.ok(runs.incrementAndGet()));
+
+        assertEquals(2, runs.get());
+        assertEquals(400, service.execute("alice", " ", "x", () -> ResponseEntity.ok("")).getStatusCode().value());
+    }
+
+}
@@ -0,0 +1,125 @@
+package com.primeproperties.service;
+
+import com.primeproperties.event.OutboxMessage;
+import com.primeproperties.event.OutboxSubscriber;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Delivery test for the transactional outbox: events from many concurrent
+ * transactions, including one that commits long after later ones, reach a
+ * subscriber exactly once and rolled-back events never do.
+ * Needs the configured PostgreSQL.
+ */
+@SpringBootTest
+public class OutboxRelayTest {
+
+    private static final int WRITERS = 200;
+    private static final String AGGREGATE = "outbox-test-" + System.nanoTime();
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private RecordingSubscriber subscriber;
+
+    @TestConfiguration
+    static class SubscriberConfig {
+        @Bean
+        public RecordingSubscriber recordingSubscriber() {
+            return new RecordingSubscriber();
+        }
+    }
+
+    static class RecordingSubscriber implements OutboxSubscriber {
+        private final List<Long> received = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public String getSubscriberName() {
+            return "outbox-relay-test";
+        }
+
+        @Override
+        public void handle(List<OutboxMessage> messages) {
+            for (OutboxMessage message : messages) {
+                if (AGGREGATE.equals(message.getAggregateType())) {
+                    received.add(message.getAggregateId());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void deliversEveryCommittedEventOnceDespiteLateCommits() throws Exception {
+        CountDownLatch slowWriterAppended = new CountDownLatch(1);
+        CountDownLatch releaseSlowWriter = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            // Appends first, commits last: its event must not be skipped by an offset that moved past it
+            pool.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                outboxService.append("TEST", AGGREGATE, -1L, Map.of("slow", true));
+                slowWriterAppended.countDown();
+                try {
+                    releaseSlowWriter.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            slowWriterAppended.await(10, TimeUnit.SECONDS);
+
+            for (long i = 0; i < WRITERS; i++) {
+                long id = i;
+                pool.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                    outboxService.append("TEST", AGGREGATE, id, Map.of("n", id));
+                    if (id % 10 == 0) {
+                        status.setRollbackOnly();
+                    }
+                }));
+            }
+
+            Thread.sleep(1000);
+            outboxRelay.poll();
+            assertTrue(subscriber.received.isEmpty(), "nothing is visible while an older transaction is open");
+
+            releaseSlowWriter.countDown();
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        int expected = WRITERS - WRITERS / 10 + 1;
+        while (subscriber.received.size() < expected && System.currentTimeMillis() < deadline) {
+            outboxRelay.poll();
+            Thread.sleep(50);
+        }
+
+        assertEquals(expected, subscriber.received.size());
+        assertEquals(expected, subscriber.received.stream().distinct().count());
+        assertTrue(subscriber.received.contains(-1L));
+        assertTrue(subscriber.received.stream().noneMatch(id -> id >= 0 && id % 10 == 0));
+    }
+}
@@ -0,0 +1,98 @@
+package com.primeproperties.service;
+
+import com.primeproperties.dto.ChangeJournalResponse;
+import com.primeproperties.dto.CreatePropertyRequest;
+import com.primeproperties.dto.PropertyResponse;
+import com.primeproperties.dto.UpdatePropertyRequest;
+import com.primeproperties.event.PropertySnapshot;
+import com.primeproperties.model.User;
+import com.primeproperties.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A restart after entity edits rebuilds the catalog from the checkpoint and journal tail,
+ * which only works if the journaled after-images carry the updated_at that was committed.
+ * Needs the configured PostgreSQL.
+ */
+@SpringBootTest(properties = "app.journal.dir=target/change-journal-restart-test")
+public class PropertyChangeJournalRestartTest {
+
+    @Autowired
+    private PropertyService propertyService;
+
+    @Autowired
+    private PropertyChangeJournal propertyChangeJournal;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+
+    private User developer;
+    private Long propertyId;
+
+    @BeforeEach
+    public void createListing() {
+        long run = System.nanoTime();
+        developer = userRepository.save(new User("journal-dev-" + run, "Journal Developer",
+                "journal-dev-" + run + "@prime.com", "unused", "DEVELOPER"));
+        // The running instance's catalog is loaded (and checkpointed) before the edits below
+        propertyChangeJournal.replayCatalog(snapshot -> { });
+
+        CreatePropertyRequest request = new CreatePropertyRequest();
+        request.setTitle("Journal test flat");
+        request.setDescription("Edited, then sold, before a restart");
+        request.setPrice(BigDecimal.valueOf(5_000_000));
+        request.setLocation("Journal City");
+        request.setPropertyType("Apartment");
+        request.setBedrooms(2);
+        request.setBathrooms(1);
+        request.setArea(80.0);
+        propertyId = propertyService.createProperty(request, developer.getId()).getId();
+    }
+
+    @AfterEach
+    public void deleteListing() {
+        propertyService.deleteProperty(propertyId, developer.getId());
+        userRepository.delete(developer);
+    }
+
+    @Test
+    public void restartAfterEditsRestoresFromTheJournalWithoutScanning() throws Exception {
+        PropertyResponse updated = propertyService.updateProperty(propertyId, new UpdatePropertyRequest(
+                "Journal test flat, renovated", "Edited, then sold, before a restart", BigDecimal.valueOf(5_500_000),
+                "Journal City", "Apartment", 3, 2, 95.0), developer.getId());
+        propertyService.markPropertyAsSold(propertyId, developer.getId());
+
+        PropertyChangeJournal restarted = beanFactory.createBean(PropertyChangeJournal.class);
+        try {
+            Map<Long, PropertySnapshot> catalog = new HashMap<>();
+            restarted.replayCatalog(snapshot -> catalog.put(snapshot.getId(), snapshot));
+
+            PropertySnapshot listing = catalog.get(propertyId);
+            assertEquals("SOLD", listing.getStatus());
+            assertEquals(0, updated.getPrice().compareTo(listing.getPrice()));
+            assertEquals(3, listing.getBedrooms());
+
+            // A table scan checkpoints at the journal's end; a restore keeps the older checkpoint and replays past it
+            ChangeJournalResponse position = restarted.read(null, 0);
+            assertTrue(position.getCheckpointOffset() < position.getNextOffset(),
+                    "catalog was rebuilt from the table instead of the journal");
+        } finally {
+            restarted.close();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.primeproperties.service;
+
+import com.primeproperties.event.PropertyChangeEvent;
+import com.primeproperties.event.PropertySnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class PropertyChangeJournalTest {
+
+    @Test
+    public void afterImageSurvivesTheRoundTrip() {
+        PropertySnapshot snapshot = new PropertySnapshot(42L, 7L, new BigDecimal("8500000.50"), "Pune", "Apartment",
+                3, 2, 120.5, "AVAILABLE", LocalDateTime.of(2026, 3, 14, 9, 26, 53, 589_793_000), 18.52, 73.85);
+
+        PropertySnapshot decoded = PropertyChangeJournal.decodeSnapshot(PropertyChangeJournal.encode(42L, snapshot));
+
+        assertEquals(42L, decoded.getId());
+        assertEquals(7L, decoded.getDeveloperId());
+        assertEquals(new BigDecimal("8500000.50"), decoded.getPrice());
+        assertEquals("Pune", decoded.getLocation());
+        assertEquals("Apartment", decoded.getPropertyType());
+        assertEquals(3, decoded.getBedrooms());
+        assertEquals(2, decoded.getBathrooms());
+        assertEquals(120.5, decoded.getArea());
+        assertEquals("AVAILABLE", decoded.getStatus());
+        assertEquals(snapshot.getUpdatedAt(), decoded.getUpdatedAt());
+        assertEquals(18.52, decoded.getLatitude());
+        assertEquals(73.85, decoded.getLongitude());
+    }
+
+    @Test
+    public void missingCoordinatesAndDeletionsDecode() {
+        PropertySnapshot snapshot = new PropertySnapshot(1L, 2L, BigDecimal.TEN, "Goa", "House",
+                1, 1, 50.0, "SOLD", null, null, null);
+
+        PropertySnapshot decoded = PropertyChangeJournal.decodeSnapshot(PropertyChangeJournal.encode(1L, snapshot));
+        assertFalse(decoded.hasCoordinates());
+        assertNull(decoded.getUpdatedAt());
+        assertNull(PropertyChangeJournal.decodeSnapshot(PropertyChangeJournal.encode(1L, null)));
+    }
+
+    @Test
+    public void salesAreJournaledAsTheirOwnType() {
+        PropertySnapshot sold = new PropertySnapshot(1L, 2L, BigDecimal.TEN, "Goa", "House",
+                1, 1, 50.0, "SOLD", null, null, null);
+
+        assertEquals(PropertyChangeJournal.EntryType.SOLD,
+                PropertyChangeJournal.EntryType.of(PropertyChangeEvent.Type.STATUS_CHANGED, sold));
+        assertEquals(PropertyChangeJournal.EntryType.STATUS_CHANGED,
+                PropertyChangeJournal.EntryType.of(PropertyChangeEvent.Type.STATUS_CHANGED, sold.withStatus("RESERVED", null)));
+        assertEquals(PropertyChangeJournal.EntryType.DELETED,
+                PropertyChangeJournal.EntryType.of(PropertyChangeEvent.Type.DELETED, null));
+    }
+}
@@ -0,0 +1,121 @@
+package com.primeproperties.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.primeproperties.dto.PropertyImportResponse;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PropertyImportParserTest {
+
+    private static final Validator VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+    private static final String HEADER =
+            "title,description,price,location,property_type,bedrooms,bathrooms,area,latitude,longitude\n";
+
+    private final StringWriter staging = new StringWriter();
+    private final PropertyImportParser parser = new PropertyImportParser(VALIDATOR, new ObjectMapper(), staging);
+
+    @Test
+    public void stagesValidCsvRowsForCopy() throws IOException {
+        parse(PropertyImportService.Format.CSV, HEADER
+                + "\"Loft, \"\"north\"\"\",Bright,4500000,Pune,Apartment,2,1,80.5,18.52,73.85\n"
+                + "\n"
+                + "Villa,Garden,12000000.50,Goa,Villa,4,3,300,,\n");
+
+        assertEquals(2, parser.getTotalRows());
+        assertEquals(2, parser.getAcceptedRows());
+        assertEquals(0, parser.getRejectedRows());
+        assertTrue(parser.getErrors().isEmpty());
+        assertEquals("1,\"Loft, \"\"north\"\"\",\"Bright\",4500000,\"Pune\",\"Apartment\",2,1,80.5,18.52,73.85\n"
+                + "2,\"Villa\",\"Garden\",12000000.50,\"Goa\",\"Villa\",4,3,300.0,,\n", staging.toString());
+    }
+
+    @Test
+    public void reportsEveryProblemPerRowAndStagesOnlyValidRows() throws IOException {
+        parse(PropertyImportService.Format.CSV, HEADER
+                + "Flat,Ok,100,Pune,Apartment,1,1,40,,\n"
+                + ",Missing title,abc,Pune,Apartment,0,1,40,,\n"
+                + "Flat,Half located,100,Pune,Apartment,1,1,40,18.5,\n");
+
+        assertEquals(3, parser.getTotalRows());
+        assertEquals(1, parser.getAcceptedRows());
+        assertEquals(2, parser.getRejectedRows());
+        assertFalse(parser.isErrorsTruncated());
+
+        List<PropertyImportResponse.RowError> errors = parser.getErrors();
+        assertEquals(2, errors.get(0).getRow());
+        assertEquals(List.of("price: must be a number"), errors.get(0).getMessages());
+        assertEquals(3, errors.get(1).getRow());
+        assertEquals(List.of("latitude: latitude and longitude must be provided together"),
+                errors.get(1).getMessages());
+        assertTrue(staging.toString().startsWith("1,\"Flat\""));
+        assertEquals(1, staging.toString().lines().count());
+    }
+
+    @Test
+    public void reportsConstraintViolationsSorted() throws IOException {
+        parse(PropertyImportService.Format.CSV, HEADER + ",Desc,100,Pune,Apartment,0,1,40,,\n");
+
+        assertEquals(List.of("bedrooms: Bedrooms must be positive", "title: Title is required"),
+                parser.getErrors().get(0).getMessages());
+        assertEquals("", staging.toString());
+    }
+
+    @Test
+    public void rejectsHeaderWithoutRequiredColumns() {
+        assertThrows(IllegalArgumentException.class,
+                () -> parse(PropertyImportService.Format.CSV, "title,price\nFlat,100\n"));
+    }
+
+    @Test
+    public void parsesNdjsonAndReportsMalformedLines() throws IOException {
+        parse(PropertyImportService.Format.NDJSON,
+                "{\"title\":\"Flat\",\"description\":\"Ok\",\"price\":100,\"location\":\"Pune\","
+                        + "\"propertyType\":\"Apartment\",\"bedrooms\":1,\"bathrooms\":1,\"area\":40}\n"
+                        + "\n"
+                        + "{not json\n");
+
+        assertEquals(2, parser.getTotalRows());
+        assertEquals(1, parser.getAcceptedRows());
+        assertEquals(2, parser.getErrors().get(0).getRow());
+        assertTrue(parser.getErrors().get(0).getMessages().get(0).startsWith("Malformed JSON: "));
+    }
+
+    @Test
+    public void capsTheErrorReport() throws IOException {
+        StringBuilder csv = new StringBuilder(HEADER);
+        for (int i = 0; i < PropertyImportParser.MAX_REPORTED_ERRORS + 5; i++) {
+            csv.append("Flat,Ok,-1,Pune,Apartment,1,1,40,,\n");
+        }
+        parse(PropertyImportService.Format.CSV, csv.toString());
+
+        assertEquals(PropertyImportParser.MAX_REPORTED_ERRORS + 5, parser.getRejectedRows());
+        assertEquals(PropertyImportParser.MAX_REPORTED_ERRORS, parser.getErrors().size());
+        assertTrue(parser.isErrorsTruncated());
+    }
+
+    @Test
+    public void resolvesFormatsAndRejectsUnknownOnes() {
+        assertEquals(PropertyImportService.Format.NDJSON, PropertyImportService.Format.resolve("ndjson", null, null));
+        assertEquals(PropertyImportService.Format.NDJSON,
+                PropertyImportService.Format.resolve(null, "application/x-ndjson", null));
+        assertEquals(PropertyImportService.Format.NDJSON, PropertyImportService.Format.resolve(null, null, "a.jsonl"));
+        assertEquals(PropertyImportService.Format.CSV, PropertyImportService.Format.resolve(null, "text/csv", "a.csv"));
+        assertThrows(IllegalArgumentException.class, () -> PropertyImportService.Format.resolve("xml", null, null));
+    }
+
+    private void parse(PropertyImportService.Format format, String body) throws IOException {
+        parser.parse(new BufferedReader(new StringReader(body)), format);
+    }
+}
@@ -0,0 +1,80 @@
+package com.primeproperties.service;
+
+import com.primeproperties.dto.PropertyResponse;
+import com.primeproperties.util.PropertyJsonWriter;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PropertyJsonCacheTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2026, 5, 1, 12, 0);
+    private static final int FRAGMENT_BYTES = PropertyJsonWriter.write(listing(1L)).length;
+
+    private final AtomicInteger writes = new AtomicInteger();
+
+    @Test
+    public void evictsTheLeastRecentlyUsedFragmentOnceFull() {
+        PropertyJsonCache cache = new PropertyJsonCache(FRAGMENT_BYTES * 3L);
+        get(cache, 1L);
+        get(cache, 2L);
+        get(cache, 3L);
+        get(cache, 1L);
+        assertEquals(3, writes.get());
+
+        // Over budget: 2 is the least recently used, 1 was just read
+        get(cache, 4L);
+        assertEquals(4, writes.get());
+        get(cache, 1L);
+        get(cache, 3L);
+        get(cache, 4L);
+        assertEquals(4, writes.get());
+        get(cache, 2L);
+        assertEquals(5, writes.get());
+        assertTrue(cache.getCachedBytes() <= FRAGMENT_BYTES * 3L);
+    }
+
+    @Test
+    public void changedVersionIsRewrittenInPlace() {
+        PropertyJsonCache cache = new PropertyJsonCache(FRAGMENT_BYTES * 3L);
+        get(cache, 1L);
+        cache.getOrWrite(1L, UPDATED_AT.plusSeconds(1), "Prime Builders", "sales@prime.example", () -> {
+            writes.incrementAndGet();
+            return listing(1L);
+        });
+        assertEquals(2, writes.get());
+        assertEquals(FRAGMENT_BYTES, cache.getCachedBytes());
+
+        cache.invalidate(1L);
+        assertEquals(0, cache.getCachedBytes());
+    }
+
+    @Test
+    public void fragmentLargerThanTheBudgetIsServedUncached() {
+        PropertyJsonCache cache = new PropertyJsonCache(FRAGMENT_BYTES - 1L);
+        get(cache, 1L);
+        get(cache, 1L);
+        assertEquals(2, writes.get());
+        assertEquals(0, cache.getCachedBytes());
+    }
+
+    private void get(PropertyJsonCache cache, Long id) {
+        byte[] json = cache.getOrWrite(id, UPDATED_AT, "Prime Builders", "sales@prime.example", () -> {
+            writes.incrementAndGet();
+            return listing(id);
+        });
+        assertEquals(FRAGMENT_BYTES, json.length);
+    }
+
+    // Same length for every single-digit id
+    private static PropertyResponse listing(Long id) {
+        return new PropertyResponse(id, "Lake-view flat", "Two bedrooms", new BigDecimal("4500000.00"), "Pune",
+                "Apartment", 2, 2, 95.0, null, null, "AVAILABLE", UPDATED_AT, UPDATED_AT, 9L,
+                "Prime Builders", "sales@prime.example");
+    }
+}
@@ -0,0 +1,137 @@
+package com.primeproperties.service;
+
+import com.primeproperties.model.Property;
+import com.primeproperties.model.User;
+import com.primeproperties.repository.PropertyRepository;
+import com.primeproperties.repository.TransactionRepository;
+import com.primeproperties.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The purchase paths under contention: many customers try to buy the same unit
+ * at once, directly or through PurchaseIntake, and exactly one may succeed.
+ * Needs the configured PostgreSQL.
+ */
+@SpringBootTest
+public class PurchaseConcurrencyTest {
+
+    private static final int BUYERS = 60;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private PurchaseService purchaseService;
+
+    @Autowired
+    private PurchaseIntake purchaseIntake;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User developer;
+    private Property property;
+    private final List<User> customers = new ArrayList<>();
+
+    @BeforeEach
+    public void createListingAndBuyers() {
+        long run = System.nanoTime();
+        developer = userRepository.save(new User("stress-dev-" + run, "Stress Developer",
+                "stress-dev-" + run + "@prime.com", "unused", "DEVELOPER"));
+        property = propertyRepository.save(new Property("Contested unit", "Everyone wants it",
+                BigDecimal.valueOf(7_500_000), "Stress City", "Apartment", 2, 2, 90.0, developer));
+        for (int i = 0; i < BUYERS; i++) {
+            customers.add(new User("stress-buyer-" + run + "-" + i, "Buyer " + i,
+                    "stress-buyer-" + run + "-" + i + "@prime.com", "unused", "CUSTOMER"));
+        }
+        userRepository.saveAll(customers);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            transactionRepository.deleteAllInBatch(transactionRepository.findByPropertyId(property.getId()));
+            propertyRepository.deleteById(property.getId());
+            userRepository.deleteAllInBatch(customers);
+            userRepository.delete(developer);
+        });
+    }
+
+    @Test
+    public void exactlyOneConcurrentBuyerWins() throws Exception {
+        assertOneWinner(customerId -> purchaseService.purchase(property.getId(), customerId));
+    }
+
+    @Test
+    public void exactlyOneConcurrentBuyerWinsThroughTheIntake() throws Exception {
+        assertOneWinner(customerId -> {
+            try {
+                purchaseIntake.submit(property.getId(), customerId).join();
+            } catch (CompletionException e) {
+                throw (RuntimeException) e.getCause();
+            }
+        });
+    }
+
+    private void assertOneWinner(Consumer<Long> purchase) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger wins = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        List<Future<?>> attempts = new ArrayList<>();
+        for (User customer : customers) {
+            attempts.add(executor.submit(() -> {
+                start.await();
+                try {
+                    purchase.accept(customer.getId());
+                    wins.incrementAndGet();
+                } catch (RuntimeException e) {
+                    if (!e.getMessage().contains("no longer available")) {
+                        throw e;
+                    }
+                    conflicts.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> attempt : attempts) {
+            attempt.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(1, wins.get());
+        assertEquals(BUYERS - 1, conflicts.get());
+        assertEquals(1, transactionRepository.findByPropertyId(property.getId()).size());
+        assertEquals("SOLD", propertyRepository.findById(property.getId()).orElseThrow().getStatus());
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,85 @@
+package com.primeproperties.service;
+
+import com.primeproperties.dto.PurchaseResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.when;
+
+/**
+ * Claim handling in the intake, with PurchaseService mocked: one shard, so a
+ * blocked commit holds back the next drain and its attempts arrive together.
+ */
+@SpringBootTest(classes = PurchaseIntake.class, properties = "app.purchase.intake.shards=1")
+public class PurchaseIntakeTest {
+
+    private static final Long BLOCKER = 99L;
+    private static final Long UNIT = 5L;
+
+    @Autowired
+    private PurchaseIntake purchaseIntake;
+
+    @MockBean
+    private PurchaseService purchaseService;
+
+    @Test
+    public void nextClaimantGetsTheUnitWhenTheFirstCommitFails() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Long> attemptedBy = new ArrayList<>();
+        when(purchaseService.purchaseBatch(anyMap())).thenAnswer(invocation -> {
+            Map<Long, Long> customerByProperty = invocation.getArgument(0);
+            if (customerByProperty.containsKey(BLOCKER)) {
+                release.await(10, TimeUnit.SECONDS);
+                return sold(BLOCKER, 100L);
+            }
+            Long customerId = customerByProperty.get(UNIT);
+            attemptedBy.add(customerId);
+            if (customerId == 1L) {
+                throw new IllegalStateException("Could not open JDBC connection");
+            }
+            return sold(UNIT, customerId);
+        });
+
+        CompletableFuture<PurchaseResponse> blocker = purchaseIntake.submit(BLOCKER, 100L);
+        Thread.sleep(200);
+        CompletableFuture<PurchaseResponse> first = purchaseIntake.submit(UNIT, 1L);
+        CompletableFuture<PurchaseResponse> second = purchaseIntake.submit(UNIT, 2L);
+        CompletableFuture<PurchaseResponse> third = purchaseIntake.submit(UNIT, 3L);
+        CompletableFuture<PurchaseResponse> secondAgain = purchaseIntake.submit(UNIT, 2L);
+        release.countDown();
+
+        blocker.get(10, TimeUnit.SECONDS);
+        assertEquals("Could not open JDBC connection", failure(first));
+        assertEquals(2000L, second.get(10, TimeUnit.SECONDS).getTransactionId());
+        assertEquals(2000L, secondAgain.get(10, TimeUnit.SECONDS).getTransactionId());
+        assertEquals(PurchaseIntake.UNAVAILABLE_MESSAGE, failure(third));
+        assertEquals(List.of(1L, 2L), attemptedBy);
+    }
+
+    private static String failure(CompletableFuture<PurchaseResponse> result) {
+        CompletionException e = assertThrows(CompletionException.class, result::join);
+        return e.getCause().getMessage();
+    }
+
+    private static PurchaseService.BatchResult sold(Long propertyId, Long customerId) {
+        PurchaseResponse purchase = new PurchaseResponse(customerId * 1000, propertyId, "SOLD",
+                BigDecimal.valueOf(5_000_000), LocalDateTime.now());
+        return new PurchaseService.BatchResult(Map.of(propertyId, purchase), Set.of());
+    }
+}
@@ -0,0 +1,190 @@
+package com.primeproperties.service;
+
+import com.primeproperties.model.Property;
+import com.primeproperties.model.User;
+import com.primeproperties.repository.PropertyRepository;
+import com.primeproperties.repository.TransactionRepository;
+import com.primeproperties.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Launch-day burst benchmark: thousands of buyers hit a few dozen units at once,
+ * most of them the same handful of hot units. Compares the naive per-request
+ * conditional UPDATE path with the sharded PurchaseIntake and prints throughput
+ * and latency percentiles for both.
+ * Needs a real PostgreSQL: mvn test -Dtest=PurchaseLaunchBenchmarkTest -Dbenchmark=true
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class PurchaseLaunchBenchmarkTest {
+
+    private static final int UNITS = 40;
+    private static final int HOT_UNITS = 4;
+    private static final int BUYERS = 3_000;
+    private static final int THREADS = 200;
+
+    @Autowired
+    private PurchaseService purchaseService;
+
+    @Autowired
+    private PurchaseIntake purchaseIntake;
+
+    @Autowired
+    private PropertyRepository propertyRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User developer;
+    private final List<User> customers = new ArrayList<>();
+    private final List<Property> units = new ArrayList<>();
+
+    @BeforeEach
+    public void createLaunch() {
+        long run = System.nanoTime();
+        developer = userRepository.save(new User("launch-dev-" + run, "Launch Developer",
+                "launch-dev-" + run + "@prime.com", "unused", "DEVELOPER"));
+        for (int i = 0; i < BUYERS; i++) {
+            customers.add(new User("launch-buyer-" + run + "-" + i, "Buyer " + i,
+                    "launch-buyer-" + run + "-" + i + "@prime.com", "unused", "CUSTOMER"));
+        }
+        userRepository.saveAll(customers);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (Property unit : units) {
+                transactionRepository.deleteAllInBatch(transactionRepository.findByPropertyId(unit.getId()));
+            }
+            propertyRepository.deleteAllInBatch(units);
+            userRepository.deleteAllInBatch(customers);
+            userRepository.delete(developer);
+        });
+    }
+
+    @Test
+    public void launchBurstNaiveVersusIntake() throws Exception {
+        List<Long> naiveUnits = createUnits("Naive");
+        List<Long> intakeUnits = createUnits("Intake");
+
+        Result naive = burst(naiveUnits, (propertyId, customerId) -> () -> {
+            purchaseService.purchase(propertyId, customerId);
+            return null;
+        });
+        Result intake = burst(intakeUnits, (propertyId, customerId) -> () -> {
+            purchaseIntake.submit(propertyId, customerId).join();
+            return null;
+        });
+
+        naive.print("naive conditional UPDATE");
+        intake.print("sharded intake");
+        assertEquals(UNITS, naive.wins);
+        assertEquals(UNITS, intake.wins);
+    }
+
+    private List<Long> createUnits(String label) {
+        List<Property> created = new ArrayList<>();
+        for (int i = 0; i < UNITS; i++) {
+            created.add(new Property(label + " launch unit " + i, "Launch inventory",
+                    BigDecimal.valueOf(6_000_000L + i * 10_000L), "Launch City", "Apartment",
+                    2, 2, 85.0, developer));
+        }
+        units.addAll(propertyRepository.saveAll(created));
+        return created.stream().map(Property::getId).toList();
+    }
+
+    // Every unit is wanted by someone; most buyers pile onto the few hot units
+    private Result burst(List<Long> unitIds, AttemptFactory factory) throws Exception {
+        SplittableRandom random = new SplittableRandom(7);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger wins = new AtomicInteger();
+        long[] latencies = new long[BUYERS];
+        List<Future<?>> attempts = new ArrayList<>(BUYERS);
+
+        for (int i = 0; i < BUYERS; i++) {
+            int buyer = i;
+            Long propertyId = i < UNITS ? unitIds.get(i)
+                    : unitIds.get(random.nextInt(10) < 8 ? random.nextInt(HOT_UNITS) : random.nextInt(UNITS));
+            Callable<Void> attempt = factory.create(propertyId, customers.get(i).getId());
+            attempts.add(executor.submit(() -> {
+                start.await();
+                long begin = System.nanoTime();
+                try {
+                    attempt.call();
+                    wins.incrementAndGet();
+                } catch (RuntimeException e) {
+                    // 409s are the expected outcome for almost every buyer
+                }
+                latencies[buyer] = System.nanoTime() - begin;
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> attempt : attempts) {
+            attempt.get(120, TimeUnit.SECONDS);
+        }
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+        Arrays.sort(latencies);
+        return new Result(wins.get(), elapsed, latencies);
+    }
+
+    private interface AttemptFactory {
+        Callable<Void> create(Long propertyId, Long customerId);
+    }
+
+    private static class Result {
+        private final int wins;
+        private final long elapsedNanos;
+        private final long[] sortedLatencies;
+
+        Result(int wins, long elapsedNanos, long[] sortedLatencies) {
+            this.wins = wins;
+            this.elapsedNanos = elapsedNanos;
+            this.sortedLatencies = sortedLatencies;
+        }
+
+        void print(String label) {
+            double seconds = elapsedNanos / 1_000_000_000.0;
+            System.out.printf("📈 %-26s %6.0f attempts/s  p50 %6.1f ms  p99 %7.1f ms  p99.9 %7.1f ms  max %7.1f ms (%d sold)%n",
+                    label, BUYERS / seconds, percentile(0.50), percentile(0.99), percentile(0.999),
+                    sortedLatencies[sortedLatencies.length - 1] / 1_000_000.0, wins);
+        }
+
+        private double percentile(double q) {
+            int index = (int) Math.min(sortedLatencies.length - 1, Math.ceil(q * sortedLatencies.length) - 1);
+            return sortedLatencies[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.primeproperties.service;
+
+import com.primeproperties.event.PropertySnapshot;
+import com.primeproperties.model.SavedSearch;
+import com.primeproperties.model.User;
+import com.primeproperties.repository.SavedSearchRepository;
+import com.primeproperties.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Saved searches changed on another node: the rows are written straight to the table,
+ * as another node would, and only the invalidation tells this node's matcher.
+ * Needs the configured PostgreSQL.
+ */
+@SpringBootTest
+public class SavedSearchMatcherTest {
+
+    @Autowired
+    private SavedSearchMatcher savedSearchMatcher;
+
+    @Autowired
+    private SavedSearchRepository savedSearchRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User customer;
+    private SavedSearch search;
+
+    @BeforeEach
+    public void createCustomer() {
+        long run = System.nanoTime();
+        customer = userRepository.save(new User("matcher-buyer-" + run, "Matcher Buyer",
+                "matcher-buyer-" + run + "@prime.com", "unused", "CUSTOMER"));
+        search = new SavedSearch();
+        search.setCustomer(customer);
+        search.setName("Flats in Matcher City");
+        search.setLocation("Matcher City");
+        search.setPropertyType("Apartment");
+        search.setMaxPrice(BigDecimal.valueOf(6_000_000));
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        if (search.getId() != null && savedSearchRepository.existsById(search.getId())) {
+            savedSearchRepository.deleteById(search.getId());
+            savedSearchMatcher.invalidate(String.valueOf(search.getId()), 0);
+        }
+        userRepository.delete(customer);
+    }
+
+    @Test
+    public void invalidationReloadsCreatedEditedAndDeletedSearches() {
+        search = savedSearchRepository.save(search);
+        assertEquals(List.of(), matchedIds(listing("Matcher City", 5_000_000)));
+
+        savedSearchMatcher.invalidate(String.valueOf(search.getId()), 0);
+        assertEquals(List.of(search.getId()), matchedIds(listing("Matcher City", 5_000_000)));
+        assertEquals("Flats in Matcher City", savedSearchMatcher.match(listing("Matcher City", 5_000_000))
+                .get(0).getSavedSearchName());
+
+        search.setLocation("Other Town");
+        search = savedSearchRepository.save(search);
+        savedSearchMatcher.invalidate(String.valueOf(search.getId()), 0);
+        assertEquals(List.of(), matchedIds(listing("Matcher City", 5_000_000)));
+        assertEquals(List.of(search.getId()), matchedIds(listing("Other Town", 5_000_000)));
+
+        savedSearchRepository.deleteById(search.getId());
+        savedSearchMatcher.invalidate(String.valueOf(search.getId()), 0);
+        assertEquals(List.of(), matchedIds(listing("Other Town", 5_000_000)));
+    }
+
+    private List<Long> matchedIds(PropertySnapshot listing) {
+        return savedSearchMatcher.match(listing).stream()
+                .map(SavedSearchMatcher.Match::getSavedSearchId)
+                .filter(id -> search.getId().equals(id))
+                .toList();
+    }
+
+    private static PropertySnapshot listing(String location, long price) {
+        return new PropertySnapshot(-1L, -1L, BigDecimal.valueOf(price), location, "Apartment",
+                2, 1, 80.0, "AVAILABLE", LocalDateTime.now(), null, null);
+    }
+}
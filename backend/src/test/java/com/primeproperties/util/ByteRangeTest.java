@@ -0,0 +1,49 @@
+package com.primeproperties.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ByteRangeTest {
+
+    @Test
+    public void parsesClosedAndOpenRanges() {
+        ByteRange closed = ByteRange.parse("bytes=0-99", 1000);
+        assertEquals(0, closed.getStart());
+        assertEquals(99, closed.getEnd());
+        assertEquals(100, closed.getLength());
+        assertEquals("bytes 0-99/1000", closed.toContentRange(1000));
+
+        ByteRange open = ByteRange.parse("bytes=900-", 1000);
+        assertEquals(900, open.getStart());
+        assertEquals(999, open.getEnd());
+    }
+
+    @Test
+    public void clampsEndAndResolvesSuffixRanges() {
+        assertEquals(999, ByteRange.parse("bytes=500-5000", 1000).getEnd());
+
+        ByteRange suffix = ByteRange.parse("bytes=-100", 1000);
+        assertEquals(900, suffix.getStart());
+        assertEquals(999, suffix.getEnd());
+        assertEquals(0, ByteRange.parse("bytes=-5000", 1000).getStart());
+    }
+
+    @Test
+    public void ignoresMalformedAndMultipleRanges() {
+        assertNull(ByteRange.parse(null, 1000));
+        assertNull(ByteRange.parse("items=0-10", 1000));
+        assertNull(ByteRange.parse("bytes=0-10,20-30", 1000));
+        assertNull(ByteRange.parse("bytes=abc-", 1000));
+        assertNull(ByteRange.parse("bytes=50-10", 1000));
+    }
+
+    @Test
+    public void rejectsUnsatisfiableRanges() {
+        assertThrows(IllegalArgumentException.class, () -> ByteRange.parse("bytes=1000-", 1000));
+        assertThrows(IllegalArgumentException.class, () -> ByteRange.parse("bytes=-0", 1000));
+        assertThrows(IllegalArgumentException.class, () -> ByteRange.parse("bytes=0-", 0));
+    }
+}
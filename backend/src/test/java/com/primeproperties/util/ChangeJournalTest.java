@@ -0,0 +1,157 @@
+package com.primeproperties.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ChangeJournalTest {
+
+    private static final int SEGMENT_BYTES = 16 * 1024;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void readsBackRecordsAcrossSegmentsAndSeeks() throws IOException {
+        try (ChangeJournal journal = new ChangeJournal(directory, SEGMENT_BYTES, false)) {
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(i, journal.append((byte) (i % 5), payload(i)));
+            }
+            assertTrue(journal.getSegmentCount() > 3);
+
+            assertEquals(List.of(0L, 1L, 2L), offsets(journal.reader(0), 3));
+            ChangeJournal.Record record = journal.reader(737).poll();
+            assertEquals(737, record.getOffset());
+            assertEquals(737 % 5, record.getType());
+            assertArrayEquals(payload(737), record.getPayload());
+            assertEquals(1000, offsets(journal.reader(0), Integer.MAX_VALUE).size());
+        }
+    }
+
+    @Test
+    public void tailingReaderPicksUpLaterAppends() throws IOException {
+        try (ChangeJournal journal = new ChangeJournal(directory, SEGMENT_BYTES, false)) {
+            ChangeJournal.Reader reader = journal.reader(0);
+            assertNull(reader.poll());
+
+            journal.append((byte) 1, payload(0));
+            assertEquals(0, reader.poll().getOffset());
+            assertNull(reader.poll());
+
+            // Enough to roll several segments while the reader waits
+            for (int i = 1; i < 500; i++) {
+                journal.append((byte) 1, payload(i));
+            }
+            assertEquals(499, offsets(reader, Integer.MAX_VALUE).size());
+            assertEquals(500, reader.getNextOffset());
+        }
+    }
+
+    @Test
+    public void reopensWhereItLeftOffAndCutsATornTail() throws IOException {
+        try (ChangeJournal journal = new ChangeJournal(directory, SEGMENT_BYTES, false)) {
+            for (int i = 0; i < 300; i++) {
+                journal.append((byte) 1, payload(i));
+            }
+        }
+        // A crash halfway through the next append: header written, body never completed
+        Path active;
+        try (Stream<Path> files = Files.list(directory)) {
+            active = files.filter(file -> file.toString().endsWith(".log")).sorted().reduce((a, b) -> b).get();
+        }
+        try (FileChannel channel = FileChannel.open(active, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(12).putInt(40).putInt(12345).putInt(7).flip(), endOfRecords(channel));
+        }
+
+        try (ChangeJournal journal = new ChangeJournal(directory, SEGMENT_BYTES, false)) {
+            assertEquals(300, journal.getNextOffset());
+            assertEquals(300, journal.append((byte) 2, payload(300)));
+            assertEquals(301, offsets(journal.reader(0), Integer.MAX_VALUE).size());
+        }
+        try (ChangeJournal journal = new ChangeJournal(directory, SEGMENT_BYTES, false)) {
+            assertEquals(301, journal.getNextOffset());
+            assertArrayEquals(payload(300), journal.reader(300).poll().getPayload());
+        }
+    }
+
+    @Test
+    public void detectsCorruptionInCommittedRecords() throws IOException {
+        try (ChangeJournal journal = new ChangeJournal(directory, SEGMENT_BYTES, false)) {
+            journal.append((byte) 1, payload(0));
+            journal.append((byte) 1, payload(1));
+            ChangeJournal.Reader reader = journal.reader(0);
+
+            Path segment = directory.resolve(String.format("%020d.log", 0));
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.wrap(new byte[]{(byte) 0xff}), 30);
+            }
+            assertThrows(IllegalStateException.class, reader::poll);
+        }
+    }
+
+    @Test
+    public void retentionDeletesOnlyWholeSegmentsBeforeTheOffset() throws IOException {
+        try (ChangeJournal journal = new ChangeJournal(directory, SEGMENT_BYTES, false)) {
+            for (int i = 0; i < 1000; i++) {
+                journal.append((byte) 1, payload(i));
+            }
+            int segments = journal.getSegmentCount();
+
+            assertEquals(0, journal.deleteSegmentsBefore(0, 1));
+            assertEquals(segments - 2, journal.deleteSegmentsBefore(journal.getNextOffset(), 2));
+            assertEquals(2, journal.getSegmentCount());
+            long first = journal.getFirstOffset();
+            assertTrue(first > 0);
+            assertEquals(first, journal.reader(0).poll().getOffset());
+        }
+        try (ChangeJournal journal = new ChangeJournal(directory, SEGMENT_BYTES, false)) {
+            assertEquals(2, journal.getSegmentCount());
+            assertEquals(1000, journal.getNextOffset());
+        }
+    }
+
+    private static long endOfRecords(FileChannel channel) throws IOException {
+        ByteBuffer length = ByteBuffer.allocate(4);
+        long position = 0;
+        while (true) {
+            length.clear();
+            channel.read(length, position);
+            int bytes = length.flip().getInt();
+            if (bytes == 0) {
+                return position;
+            }
+            position += 8 + bytes;
+        }
+    }
+
+    private static byte[] payload(int i) {
+        return ("property " + i + " " + "x".repeat(i % 40)).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<Long> offsets(ChangeJournal.Reader reader, int max) {
+        List<Long> offsets = new ArrayList<>();
+        for (ChangeJournal.Record record = reader.poll(); record != null; record = reader.poll()) {
+            offsets.add(record.getOffset());
+            if (offsets.size() == max) {
+                break;
+            }
+        }
+        return offsets;
+    }
+}
@@ -0,0 +1,55 @@
+package com.primeproperties.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CsvReaderTest {
+
+    @Test
+    public void readsPlainRecordsWithAnyLineEnding() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("a,b,c\n1,2,3\r\n4,,6\r7,8,9"));
+        assertEquals(List.of("a", "b", "c"), csv.readRecord());
+        assertEquals(List.of("1", "2", "3"), csv.readRecord());
+        assertEquals(List.of("4", "", "6"), csv.readRecord());
+        assertEquals(List.of("7", "8", "9"), csv.readRecord());
+        assertNull(csv.readRecord());
+    }
+
+    @Test
+    public void handlesQuotesEscapesAndEmbeddedLineBreaks() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader(
+                "\"Sea view, top floor\",\"He said \"\"wow\"\"\",\"two\nlines\"\n\"\",x\n"));
+        assertEquals(List.of("Sea view, top floor", "He said \"wow\"", "two\nlines"), csv.readRecord());
+        assertEquals(List.of("", "x"), csv.readRecord());
+        assertNull(csv.readRecord());
+    }
+
+    @Test
+    public void keepsQuotesThatDoNotStartAField() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("5\" pipe,ok\n"));
+        assertEquals(List.of("5\" pipe", "ok"), csv.readRecord());
+    }
+
+    @Test
+    public void returnsBlankLinesAsSingleEmptyField() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("a\n\nb\n"));
+        assertEquals(List.of("a"), csv.readRecord());
+        assertEquals(List.of(""), csv.readRecord());
+        assertEquals(List.of("b"), csv.readRecord());
+        assertNull(csv.readRecord());
+    }
+
+    @Test
+    public void rejectsUnterminatedQuotedField() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("ok\n\"never closed,1,2\n"));
+        assertEquals(List.of("ok"), csv.readRecord());
+        assertThrows(IOException.class, csv::readRecord);
+    }
+}
@@ -0,0 +1,75 @@
+package com.primeproperties.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GeoGridIndexTest {
+
+    private static final GeoGridIndex.Filter ANY = new GeoGridIndex.Filter(null, null, null);
+
+    @Test
+    public void radiusSearchMatchesBruteForce() {
+        SplittableRandom random = new SplittableRandom(9);
+        GeoGridIndex index = new GeoGridIndex(0.1);
+        int count = 20000;
+        double[][] points = new double[count][];
+        for (int i = 0; i < count; i++) {
+            points[i] = new double[] {
+                    19 + random.nextGaussian() * 0.3, 72.8 + random.nextGaussian() * 0.3, random.nextDouble(1e5, 1e7)};
+            index.upsert(i, points[i][0], points[i][1], points[i][2], i % 2 == 0 ? "Apartment" : "House");
+        }
+
+        GeoGridIndex.Filter filter = new GeoGridIndex.Filter(2e6, 8e6, "apartment");
+        GeoGridIndex.Result result = index.searchRadius(19.05, 72.85, 10_000, filter, 25);
+
+        int expected = 0;
+        for (int i = 0; i < count; i += 2) {
+            if (points[i][2] >= 2e6 && points[i][2] <= 8e6
+                    && GeoGridIndex.distanceMeters(19.05, 72.85, points[i][0], points[i][1]) <= 10_000) {
+                expected++;
+            }
+        }
+        assertEquals(expected, result.getTotalMatches());
+
+        List<GeoGridIndex.Hit> hits = result.getHits();
+        assertEquals(25, hits.size());
+        for (int i = 1; i < hits.size(); i++) {
+            assertTrue(hits.get(i - 1).getDistanceMeters() <= hits.get(i).getDistanceMeters());
+        }
+    }
+
+    @Test
+    public void boxSearchCrossesAntimeridianAndSeesUpdates() {
+        GeoGridIndex index = new GeoGridIndex(0.1);
+        index.upsert(1, 0, 179.95, 100, "House");
+        index.upsert(2, 0, -179.95, 100, "House");
+        index.upsert(3, 0, 0, 100, "House");
+
+        assertEquals(2, index.searchBox(-1, 179, 1, -179, ANY, 10).getTotalMatches());
+
+        index.upsert(3, 0.5, 179.5, 100, "House");
+        index.remove(1);
+        assertEquals(2, index.searchBox(-1, 179, 1, -179, ANY, 10).getTotalMatches());
+        assertEquals(0, index.searchBox(-1, -1, 1, 1, ANY, 10).getTotalMatches());
+    }
+
+    @Test
+    public void boxSearchCountsPastTheLimitWithoutCollecting() {
+        SplittableRandom random = new SplittableRandom(4);
+        GeoGridIndex index = new GeoGridIndex(0.1);
+        for (int i = 0; i < 5000; i++) {
+            index.upsert(i, 10 + random.nextDouble() * 2, 20 + random.nextDouble() * 2, 100, "House");
+        }
+
+        GeoGridIndex.Result result = index.searchBox(9, 19, 13, 23, ANY, 7);
+        assertEquals(5000, result.getTotalMatches());
+        assertEquals(7, result.getHits().size());
+        assertEquals(0, index.searchBox(9, 19, 13, 23, ANY, 0).getHits().size());
+        assertEquals(5000, index.searchBox(9, 19, 13, 23, ANY, 0).getTotalMatches());
+    }
+}
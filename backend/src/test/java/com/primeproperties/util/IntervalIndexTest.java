@@ -0,0 +1,64 @@
+package com.primeproperties.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IntervalIndexTest {
+
+    @Test
+    public void stabMatchesLinearScanAcrossUpdates() {
+        SplittableRandom random = new SplittableRandom(3);
+        IntervalIndex index = new IntervalIndex();
+        double[][] intervals = new double[5000][];
+
+        for (int round = 0; round < 20000; round++) {
+            int id = random.nextInt(intervals.length);
+            if (intervals[id] != null && random.nextInt(4) == 0) {
+                assertTrue(index.remove(id));
+                intervals[id] = null;
+            } else {
+                double start = random.nextDouble(1000);
+                double low = random.nextInt(10) == 0 ? Double.NEGATIVE_INFINITY : start;
+                double high = random.nextInt(10) == 0 ? Double.POSITIVE_INFINITY : start + random.nextDouble(200);
+                index.add(id, low, high);
+                intervals[id] = new double[] {low, high};
+            }
+
+            if (round % 500 == 0) {
+                double x = random.nextDouble(1200);
+                Set<Long> expected = new HashSet<>();
+                for (int i = 0; i < intervals.length; i++) {
+                    if (intervals[i] != null && intervals[i][0] <= x && x <= intervals[i][1]) {
+                        expected.add((long) i);
+                    }
+                }
+                Set<Long> actual = new HashSet<>();
+                index.stab(x, actual::add);
+                assertEquals(expected, actual);
+            }
+        }
+    }
+
+    @Test
+    public void boundsAreInclusive() {
+        IntervalIndex index = new IntervalIndex();
+        index.add(1, 100, 200);
+        Set<Long> hits = new HashSet<>();
+        index.stab(100, hits::add);
+        index.stab(200, hits::add);
+        assertEquals(Set.of(1L), hits);
+
+        hits.clear();
+        index.stab(200.01, hits::add);
+        assertTrue(hits.isEmpty());
+        assertTrue(index.remove(1));
+        assertFalse(index.remove(1));
+    }
+}
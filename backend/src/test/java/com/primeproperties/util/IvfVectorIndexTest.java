@@ -0,0 +1,120 @@
+package com.primeproperties.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IvfVectorIndexTest {
+
+    private static final int DIMENSIONS = 8;
+
+    @Test
+    public void probingEveryPartitionMatchesExactSearch() {
+        IvfVectorIndex index = randomIndex(5000);
+        float[] query = index.vector(42);
+
+        List<IvfVectorIndex.Neighbor> approximate = index.search(query, 10, index.getPartitionCount(), 42);
+        List<IvfVectorIndex.Neighbor> exact = index.searchExact(query, 10, 42);
+
+        assertEquals(10, approximate.size());
+        for (int i = 0; i < exact.size(); i++) {
+            assertEquals(exact.get(i).getDistance(), approximate.get(i).getDistance(), 1e-6);
+        }
+        assertTrue(approximate.stream().noneMatch(neighbor -> neighbor.getId() == 42));
+    }
+
+    @Test
+    public void incrementalUpdatesAreVisibleToSearch() {
+        IvfVectorIndex index = randomIndex(2000);
+        float[] target = new float[DIMENSIONS];
+        Arrays.fill(target, 100f);
+
+        index.upsert(9999, target);
+        assertEquals(9999, index.search(target, 1, 4, -1).get(0).getId());
+        assertEquals(2001, index.size());
+
+        assertTrue(index.remove(9999));
+        assertFalse(index.remove(9999));
+        assertNull(index.vector(9999));
+        assertNotEquals(9999, index.search(target, 1, 4, -1).get(0).getId());
+    }
+
+    @Test
+    public void retrainRunsOnTheExecutorAndKeepsConcurrentChanges() {
+        List<Runnable> retrains = new ArrayList<>();
+        IvfVectorIndex index = new IvfVectorIndex(DIMENSIONS, retrains::add);
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 1024; i++) {
+            index.upsert(i, randomVector(random));
+        }
+        assertEquals(1, retrains.size());
+        assertEquals(1, index.getPartitionCount());
+
+        // Changes made while the retrain is pending must survive the swap
+        float[] moved = new float[DIMENSIONS];
+        Arrays.fill(moved, 50f);
+        index.upsert(5, moved);
+        index.upsert(5000, randomVector(random));
+        assertTrue(index.remove(7));
+        for (int i = 1024; i < 1100; i++) {
+            index.upsert(i, randomVector(random));
+        }
+        assertEquals(1, retrains.size());
+
+        retrains.get(0).run();
+        assertEquals(1024 - 1 + 1 + 76, index.size());
+        assertEquals((int) Math.sqrt(index.size()), index.getPartitionCount());
+        assertArrayEquals(moved, index.vector(5));
+        assertNull(index.vector(7));
+        assertTrue(index.vector(5000) != null && index.vector(1099) != null);
+        assertEquals(5, index.search(moved, 1, 1, -1).get(0).getId());
+    }
+
+    @Test
+    public void retrainStartedBeforeABuildIsDiscarded() {
+        List<Runnable> retrains = new ArrayList<>();
+        IvfVectorIndex index = new IvfVectorIndex(DIMENSIONS, retrains::add);
+        SplittableRandom random = new SplittableRandom(3);
+        for (int i = 0; i < 1024; i++) {
+            index.upsert(i, randomVector(random));
+        }
+        index.build(new long[] {1, 2}, new float[2 * DIMENSIONS], 2);
+
+        retrains.get(0).run();
+        assertEquals(2, index.size());
+        assertNull(index.vector(500));
+    }
+
+    private static float[] randomVector(SplittableRandom random) {
+        float[] vector = new float[DIMENSIONS];
+        for (int d = 0; d < DIMENSIONS; d++) {
+            vector[d] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+
+    private static IvfVectorIndex randomIndex(int count) {
+        SplittableRandom random = new SplittableRandom(1);
+        long[] ids = new long[count];
+        float[] vectors = new float[count * DIMENSIONS];
+        for (int i = 0; i < count; i++) {
+            ids[i] = i;
+            for (int d = 0; d < DIMENSIONS; d++) {
+                vectors[i * DIMENSIONS + d] = (float) random.nextGaussian();
+            }
+        }
+        IvfVectorIndex index = new IvfVectorIndex(DIMENSIONS);
+        index.build(ids, vectors, count);
+        return index;
+    }
+}
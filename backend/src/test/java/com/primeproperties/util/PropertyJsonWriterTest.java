@@ -0,0 +1,42 @@
+package com.primeproperties.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.primeproperties.dto.PropertyResponse;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PropertyJsonWriterTest {
+
+    // Configured like Spring Boot's ObjectMapper
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @Test
+    public void matchesJacksonForATypicalListing() throws Exception {
+        assertSameAsJackson(new PropertyResponse(42L, "Sea-view villa", "Four bedrooms,\nprivate pool",
+                new BigDecimal("1250000.00"), "Goa", "Villa", 4, 3, 3200.5, 15.2993, 74.124,
+                "AVAILABLE", LocalDateTime.of(2024, 3, 1, 9, 30, 15, 123_456_000),
+                LocalDateTime.of(2024, 3, 2, 10, 0), 9L, "Prime Builders", "sales@prime.example"));
+    }
+
+    @Test
+    public void matchesJacksonForNullsAndAwkwardText() throws Exception {
+        assertSameAsJackson(new PropertyResponse(7L, "Quote \" backslash \\ slash / tab \t",
+                "Controls \u0000\u0001\u001f\b\f\r del \u007f, unicode café ₹ 🏠", new BigDecimal("1E+6"),
+                null, null, null, null, null, null, null, "SOLD", null,
+                LocalDateTime.of(2024, 12, 31, 23, 59, 59, 1), null, null, null));
+    }
+
+    private void assertSameAsJackson(PropertyResponse property) throws Exception {
+        assertEquals(objectMapper.writeValueAsString(property),
+                new String(PropertyJsonWriter.write(property), StandardCharsets.UTF_8));
+    }
+}
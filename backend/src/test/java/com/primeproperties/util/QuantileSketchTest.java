@@ -0,0 +1,54 @@
+package com.primeproperties.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class QuantileSketchTest {
+
+    @Test
+    public void quantilesStayWithinRelativeAccuracy() {
+        QuantileSketch sketch = new QuantileSketch(0.01);
+        for (int i = 1; i <= 10_000; i++) {
+            sketch.add(i * 1000.0);
+        }
+
+        assertEquals(10_000, sketch.getCount());
+        assertEquals(5_000_000.0, sketch.quantile(0.5), 5_000_000.0 * 0.01);
+        assertEquals(9_000_000.0, sketch.quantile(0.9), 9_000_000.0 * 0.01);
+    }
+
+    @Test
+    public void removeUndoesAdd() {
+        QuantileSketch sketch = new QuantileSketch(0.01);
+        sketch.add(100.0);
+        sketch.add(200.0);
+        sketch.add(1_000_000.0);
+        sketch.remove(1_000_000.0);
+
+        assertEquals(2, sketch.getCount());
+        assertEquals(150.0, sketch.getMean(), 1e-9);
+        assertTrue(sketch.quantile(1.0) < 210.0);
+    }
+
+    @Test
+    public void mergeMatchesCombinedInput() {
+        QuantileSketch left = new QuantileSketch(0.01);
+        QuantileSketch right = new QuantileSketch(0.01);
+        for (int i = 1; i <= 500; i++) {
+            left.add(i);
+            right.add(i + 500);
+        }
+        left.merge(right);
+
+        assertEquals(1000, left.getCount());
+        assertEquals(500.0, left.quantile(0.5), 500.0 * 0.01);
+
+        List<double[]> histogram = left.histogram(10);
+        assertTrue(histogram.size() <= 10);
+        assertEquals(1000.0, histogram.stream().mapToDouble(bin -> bin[2]).sum(), 0.0);
+    }
+}
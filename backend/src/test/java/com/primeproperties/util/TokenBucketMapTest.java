@@ -0,0 +1,79 @@
+package com.primeproperties.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TokenBucketMapTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    public void allowsBurstThenRefillsAtRate() {
+        TokenBucketMap buckets = new TokenBucketMap(4, 1000);
+        long now = 0;
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, buckets.tryAcquire("login", "10.0.0.1", 5, 1.0, now));
+        }
+        long wait = buckets.tryAcquire("login", "10.0.0.1", 5, 1.0, now);
+        assertTrue(wait > 0 && wait <= SECOND, "wait " + wait);
+
+        assertEquals(0, buckets.tryAcquire("login", "10.0.0.1", 5, 1.0, now + SECOND));
+        assertTrue(buckets.tryAcquire("login", "10.0.0.1", 5, 1.0, now + SECOND) > 0);
+    }
+
+    @Test
+    public void keysAndPrefixesAreIndependent() {
+        TokenBucketMap buckets = new TokenBucketMap(4, 1000);
+        assertEquals(0, buckets.tryAcquire("login", "a", 1, 1.0, 0));
+        assertTrue(buckets.tryAcquire("login", "a", 1, 1.0, 0) > 0);
+        assertEquals(0, buckets.tryAcquire("login", "b", 1, 1.0, 0));
+        assertEquals(0, buckets.tryAcquire("register", "a", 1, 1.0, 0));
+    }
+
+    @Test
+    public void evictsOnlyRefilledBuckets() {
+        TokenBucketMap buckets = new TokenBucketMap(4, 1000);
+        buckets.tryAcquire("login", "a", 5, 1.0, 0);
+        buckets.tryAcquire("login", "b", 5, 1.0, 10 * SECOND);
+        assertEquals(2, buckets.size());
+
+        assertEquals(1, buckets.evictIdle(5 * SECOND));
+        assertEquals(1, buckets.size());
+    }
+
+    @Test
+    public void sharesOverflowBucketWhenFull() {
+        TokenBucketMap buckets = new TokenBucketMap(1, 2);
+        long now = 100 * SECOND;
+        buckets.tryAcquire("login", "a", 1, 1.0, now);
+        buckets.tryAcquire("login", "b", 1, 1.0, now);
+
+        // Both active, so new keys land in the overflow bucket and share its single token
+        assertEquals(0, buckets.tryAcquire("login", "c", 1, 1.0, now));
+        assertTrue(buckets.tryAcquire("login", "d", 1, 1.0, now) > 0);
+    }
+
+    @Test
+    public void concurrentAcquiresNeverExceedCapacity() throws Exception {
+        TokenBucketMap buckets = new TokenBucketMap(16, 1000);
+        AtomicInteger allowed = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 10_000; i++) {
+            pool.submit(() -> {
+                if (buckets.tryAcquire("login", "shared", 100, 0.001, 0) == 0) {
+                    allowed.incrementAndGet();
+                }
+            });
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(100, allowed.get());
+    }
+}
@@ -0,0 +1,74 @@
+package com.primeproperties.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class VersionedCacheTest {
+
+    @Test
+    public void servesHitsAndReloadsAfterInvalidation() {
+        VersionedCache<Long, String> cache = new VersionedCache<>(100, 60_000, value -> 0);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("v1", cache.getOrLoad(1L, key -> "v" + loads.incrementAndGet()));
+        assertEquals("v1", cache.getOrLoad(1L, key -> "v" + loads.incrementAndGet()));
+        assertEquals(1, loads.get());
+
+        cache.invalidate(1L, 0);
+        assertEquals("v2", cache.getOrLoad(1L, key -> "v" + loads.incrementAndGet()));
+        assertEquals(1, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void doesNotStoreLoadThatRacedAnInvalidation() {
+        VersionedCache<Long, String> cache = new VersionedCache<>(100, 60_000, value -> 0);
+
+        String stale = cache.getOrLoad(1L, key -> {
+            cache.invalidate(1L, 0);
+            return "stale";
+        });
+        assertEquals("stale", stale);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void rejectsValuesOlderThanTheInvalidatedVersion() {
+        VersionedCache<Long, Long> cache = new VersionedCache<>(100, 60_000, value -> value);
+        cache.invalidate(1L, 10);
+
+        assertEquals(9L, cache.getOrLoad(1L, key -> 9L));
+        assertEquals(0, cache.size());
+        assertEquals(10L, cache.getOrLoad(1L, key -> 10L));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedAndSkipsNulls() {
+        VersionedCache<Long, String> cache = new VersionedCache<>(2, 60_000, value -> 0);
+        cache.getOrLoad(1L, key -> "a");
+        cache.getOrLoad(2L, key -> "b");
+        cache.getOrLoad(1L, key -> "unused");
+        cache.getOrLoad(3L, key -> "c");
+
+        assertEquals(2, cache.size());
+        assertEquals("a", cache.getOrLoad(1L, key -> "reloaded"));
+        assertEquals("b2", cache.getOrLoad(2L, key -> "b2"));
+        assertNull(cache.getOrLoad(4L, key -> null));
+    }
+
+    @Test
+    public void invalidateIfDropsMatchingValues() {
+        VersionedCache<String, Long> cache = new VersionedCache<>(100, 60_000, value -> 0);
+        cache.getOrLoad("alice", key -> 1L);
+        cache.getOrLoad("alice@prime.com", key -> 1L);
+        cache.getOrLoad("bob", key -> 2L);
+
+        cache.invalidateIf(id -> id == 1L);
+        assertEquals(1, cache.size());
+    }
+}